@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -57,6 +58,9 @@ public abstract class BaseComputeStep implements ComputeStep {
 
     double[] pageRank;
     double[] deltas;
+    private double[] baseScores;
+    private NodeProperties seedScores;
+    private boolean deltaPropagation;
     float[][] nextScores;
     float[][] prevScores;
 
@@ -132,6 +136,16 @@ public abstract class BaseComputeStep implements ComputeStep {
         this.lengths = lengths;
     }
 
+    @Override
+    public void setSeedScores(NodeProperties seedScores) {
+        this.seedScores = seedScores;
+    }
+
+    @Override
+    public void setDeltaPropagation(boolean deltaPropagation) {
+        this.deltaPropagation = deltaPropagation;
+    }
+
     @Override
     public void run() {
         if (state == S_CALC) {
@@ -139,6 +153,10 @@ public abstract class BaseComputeStep implements ComputeStep {
             state = S_SYNC;
         } else if (state == S_SYNC) {
             this.shouldBreak = combineScores();
+            if (baseScores != null) {
+                tracker.remove(sizeOfDoubleArray(partitionSize));
+                baseScores = null;
+            }
             state = S_NORM;
         } else if (state == S_NORM) {
             normalizeDeltas();
@@ -152,12 +170,7 @@ public abstract class BaseComputeStep implements ComputeStep {
     void normalizeDeltas() {}
 
     private void initialize() {
-        this.nextScores = new float[starts.length][];
-        Arrays.setAll(nextScores, i -> {
-            int size = lengths[i];
-            tracker.add(sizeOfFloatArray(size));
-            return new float[size];
-        });
+        this.nextScores = initialNextScores(starts, lengths, tracker);
 
         tracker.add(sizeOfDoubleArray(partitionSize) << 1);
 
@@ -177,8 +190,30 @@ public abstract class BaseComputeStep implements ComputeStep {
             }
         }
 
-        this.pageRank = partitionRank;
-        this.deltas = Arrays.copyOf(partitionRank, partitionSize);
+        if (seedScores == null) {
+            this.pageRank = partitionRank;
+        } else {
+            // Warm start: the first iteration pushes the seed scores as deltas and replaces
+            // the delta of every node with its residual, see `updateScore`.
+            this.baseScores = partitionRank;
+            tracker.add(sizeOfDoubleArray(partitionSize));
+            this.pageRank = new double[partitionSize];
+            for (int i = 0; i < partitionSize; i++) {
+                double seedScore = seedScores.doubleValue(startNode + i);
+                this.pageRank[i] = Double.isNaN(seedScore) ? partitionRank[i] : seedScore;
+            }
+        }
+        this.deltas = Arrays.copyOf(this.pageRank, partitionSize);
+    }
+
+    float[][] initialNextScores(long[] starts, int[] lengths, AllocationTracker tracker) {
+        float[][] nextScores = new float[starts.length][];
+        Arrays.setAll(nextScores, i -> {
+            int size = lengths[i];
+            tracker.add(sizeOfFloatArray(size));
+            return new float[size];
+        });
+        return nextScores;
     }
 
     double initialValue() {
@@ -187,6 +222,30 @@ public abstract class BaseComputeStep implements ComputeStep {
 
     abstract void singleIteration();
 
+    /**
+     * Whether the given delta of a node is propagated to its neighbours in the next iteration.
+     * In delta propagation mode, nodes whose delta did not exceed the tolerance stay inactive.
+     */
+    boolean isActive(double delta) {
+        // the first iteration after a warm start needs to push all seed scores to compute the residuals
+        return deltaPropagation && baseScores == null ? Math.abs(delta) > tolerance : delta != 0.0;
+    }
+
+    /**
+     * Adds the damped sum of the incoming deltas to the score at the given index and returns the applied delta.
+     * After a warm start, the first delta is the residual of the seed scores instead,
+     * which can be negative for nodes whose in-neighbourhood changed.
+     */
+    double updateScore(int index, double sum) {
+        double delta = dampingFactor * sum;
+        if (baseScores != null) {
+            delta += baseScores[index] - pageRank[index];
+        }
+        pageRank[index] += delta;
+        deltas[index] = delta;
+        return delta;
+    }
+
     @Override
     public void prepareNormalizeDeltas(double l2Norm) {
         this.l2Norm = l2Norm;
@@ -213,12 +272,10 @@ public abstract class BaseComputeStep implements ComputeStep {
                 sum += scores[i];
                 scores[i] = 0F;
             }
-            double delta = dampingFactor * sum;
-            if (delta > tolerance) {
+            double delta = updateScore(i, sum);
+            if (Math.abs(delta) > tolerance) {
                 shouldBreak = false;
             }
-            pageRank[i] += delta;
-            deltas[i] = delta;
         }
 
         return shouldBreak;
@@ -51,4 +51,10 @@ public class DegreeCache {
     public DegreeCache withAverage(double newAverage) {
         return new DegreeCache(aggregatedDegrees, weights, newAverage);
     }
+
+    /**
+     * Releases the data that is only needed while the scores are computed.
+     */
+    public void release(AllocationTracker tracker) {
+    }
 }
@@ -24,6 +24,7 @@ import com.carrotsearch.hppc.LongArrayList;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -113,6 +114,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
     private final Graph graph;
     private final LongStream sourceNodeIds;
     private final PageRankVariant pageRankVariant;
+    private final NodeProperties seedScores;
+    private final boolean deltaPropagation;
 
     private ComputeSteps computeSteps;
 
@@ -147,6 +150,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         this.toleranceValue = algoConfig.tolerance();
         this.sourceNodeIds = sourceNodeIds;
         this.pageRankVariant = pageRankVariant;
+        this.seedScores = algoConfig.isIncremental() ? graph.nodeProperties(algoConfig.seedProperty()) : null;
+        this.deltaPropagation = algoConfig.deltaPropagation();
         this.result = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
         this.progressLogger = progressLogger;
     }
@@ -275,8 +280,10 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         int[] lengthArray = lengths.toArray();
         for (ComputeStep computeStep : computeSteps) {
             computeStep.setStarts(startArray, lengthArray);
+            computeStep.setSeedScores(seedScores);
+            computeStep.setDeltaPropagation(deltaPropagation);
         }
-        return new ComputeSteps(tracker, computeSteps, concurrency, pool);
+        return new ComputeSteps(tracker, computeSteps, degreeCache, concurrency, pool);
     }
 
     @Override
@@ -291,6 +298,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
 
     public final class ComputeSteps {
         private List<ComputeStep> steps;
+        private final DegreeCache degreeCache;
         private final ExecutorService pool;
         private float[][][] scores;
         private final int concurrency;
@@ -298,12 +306,14 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         private ComputeSteps(
             AllocationTracker tracker,
             List<ComputeStep> steps,
+            DegreeCache degreeCache,
             int concurrency,
             ExecutorService pool
         ) {
             this.concurrency = concurrency;
             assert !steps.isEmpty();
             this.steps = steps;
+            this.degreeCache = degreeCache;
             this.pool = pool;
             int stepSize = steps.size();
             scores = new float[stepSize][stepSize][];
@@ -391,6 +401,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             if (AllocationTracker.isTracking(tracker)) {
                 tracker.remove((scores.length + 1) * sizeOfObjectArray(scores.length));
             }
+            degreeCache.release(tracker);
             steps.clear();
             steps = null;
             scores = null;
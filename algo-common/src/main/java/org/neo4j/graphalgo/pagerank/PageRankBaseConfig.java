@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.IterationsConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.config.SeedConfig;
 import org.neo4j.graphalgo.config.SourceNodesConfig;
 import org.neo4j.graphalgo.config.ToleranceConfig;
 
@@ -32,7 +33,8 @@ public interface PageRankBaseConfig extends
     RelationshipWeightConfig,
     ToleranceConfig,
     IterationsConfig,
-    SourceNodesConfig {
+    SourceNodesConfig,
+    SeedConfig {
 
     @Value.Default
     @Override
@@ -52,6 +54,28 @@ public interface PageRankBaseConfig extends
         return 0.85;
     }
 
+    /**
+     * Whether the scores are pulled from the incoming relationships of a node
+     * instead of being pushed along the outgoing relationships.
+     * Pull mode does not exchange partial scores between the compute steps
+     * and therefore scales to higher concurrencies.
+     */
+    @Value.Default
+    default boolean pullMode() {
+        return false;
+    }
+
+    /**
+     * Whether only nodes whose score changed by more than the tolerance in the previous iteration
+     * propagate their change to their neighbours.
+     * Combined with a `seedProperty` holding the scores of a previous run, only the parts of the graph
+     * whose in-neighbourhood changed since that run are recomputed.
+     */
+    @Value.Default
+    default boolean deltaPropagation() {
+        return false;
+    }
+
     // TODO: consider moving this to WeightConfig or create a sub interface of that
     @Value.Default
     default boolean cacheWeights() {
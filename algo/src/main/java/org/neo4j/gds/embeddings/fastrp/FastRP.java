@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 import org.neo4j.graphalgo.utils.CloseableThreadLocal;
 
 import java.util.Arrays;
@@ -171,7 +172,8 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
             double iterationWeight = iterationWeights.get(i).doubleValue();
 
             try (var concurrentGraphCopy = CloseableThreadLocal.withInitial(graph::concurrentCopy)) {
-                ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+                // the work per node is proportional to its degree
+                ParallelUtil.parallelForEachNode(graph, concurrency, Partitioning.DEGREE, nodeId -> {
                     float[] embedding = embeddings.get(nodeId);
                     float[] currentEmbedding = localCurrent.get(nodeId);
                     Arrays.fill(currentEmbedding, 0.0f);
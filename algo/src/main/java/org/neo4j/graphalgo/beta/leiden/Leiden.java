@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.beta.modularity.ContractedGraph;
+import org.neo4j.graphalgo.beta.modularity.GraphContraction;
+import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The Leiden algorithm improves on Louvain by refining the communities found by the local moving phase
+ * before the graph is aggregated. The aggregated graph is built from the refined communities, while the
+ * unrefined communities are used as the initial partition of the next level.
+ * This guarantees that all communities are connected.
+ *
+ * Local moving is done by {@link ModularityOptimization}, aggregation by {@link GraphContraction}.
+ */
+public final class Leiden extends Algorithm<Leiden, Leiden> {
+
+    private final Graph rootGraph;
+    private final LeidenBaseConfig config;
+    private final NodeProperties seedingValues;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+    // results
+    private HugeLongArray[] dendrograms;
+    private double[] modularities;
+    private int ranLevels;
+
+    public Leiden(
+        Graph graph,
+        LeidenBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.config = config;
+        this.rootGraph = graph;
+        this.seedingValues = Optional.ofNullable(config.seedProperty()).map(graph::nodeProperties).orElse(null);
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.dendrograms = new HugeLongArray[config.maxLevels()];
+        this.modularities = new double[config.maxLevels()];
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public Leiden compute() {
+        getProgressLogger().logMessage(":: Start");
+
+        Graph workingGraph = rootGraph;
+        NodeProperties nextSeedingValues = seedingValues;
+        // maps every node of the root graph to the node of the working graph that contains it
+        HugeLongArray workingNodes = null;
+        HugeLongArray previousCommunities = null;
+
+        for (ranLevels = 0; ranLevels < config.maxLevels(); ranLevels++) {
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Start", ranLevels + 1));
+
+            assertRunning();
+
+            ModularityOptimization modularityOptimization = runModularityOptimization(
+                workingGraph,
+                nextSeedingValues
+            );
+            modularityOptimization.release();
+            if (previousCommunities != null) {
+                tracker.remove(previousCommunities.release());
+            }
+
+            modularities[ranLevels] = modularityOptimization.getModularity();
+
+            HugeLongArray communities = HugeLongArray.newArray(workingGraph.nodeCount(), tracker);
+            ParallelUtil.parallelForEachNode(
+                workingGraph,
+                config.concurrency(),
+                nodeId -> communities.set(nodeId, modularityOptimization.getCommunityId(nodeId))
+            );
+            buildDendrogram(workingNodes, communities);
+
+            assertRunning();
+
+            HugeLongArray refinedCommunities = new Refinement(
+                workingGraph,
+                communities,
+                config.concurrency(),
+                executorService,
+                tracker
+            ).compute();
+
+            assertRunning();
+
+            ContractedGraph aggregatedGraph = GraphContraction.contract(
+                workingGraph,
+                refinedCommunities::get,
+                workingGraph.nodeCount() - 1,
+                config.concurrency(),
+                executorService,
+                tracker
+            );
+            workingNodes = updateWorkingNodes(workingNodes, refinedCommunities, aggregatedGraph);
+            nextSeedingValues = new CommunityNodeProperties(aggregatedGraph, communities);
+            tracker.remove(refinedCommunities.release());
+            previousCommunities = communities;
+
+            long oldNodeCount = workingGraph.nodeCount();
+            if (workingGraph != rootGraph) {
+                workingGraph.release();
+            }
+            workingGraph = aggregatedGraph;
+
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Finished", ranLevels + 1));
+
+            if (workingGraph.nodeCount() == oldNodeCount
+                || workingGraph.nodeCount() == 1
+                || hasConverged()
+            ) {
+                ranLevels++;
+                resizeResultArrays();
+                getProgressLogger().logMessage(":: Finished");
+                break;
+            }
+        }
+
+        if (workingGraph != rootGraph) {
+            workingGraph.release();
+        }
+        if (workingNodes != null) {
+            tracker.remove(workingNodes.release());
+        }
+        if (previousCommunities != null) {
+            tracker.remove(previousCommunities.release());
+        }
+
+        return this;
+    }
+
+    private void buildDendrogram(HugeLongArray workingNodes, HugeLongArray communities) {
+        HugeLongArray dendrogram = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+        ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), nodeId -> {
+            long workingNode = workingNodes == null ? nodeId : workingNodes.get(nodeId);
+            dendrogram.set(nodeId, communities.get(workingNode));
+        });
+        dendrograms[ranLevels] = dendrogram;
+    }
+
+    private HugeLongArray updateWorkingNodes(
+        HugeLongArray workingNodes,
+        HugeLongArray refinedCommunities,
+        ContractedGraph aggregatedGraph
+    ) {
+        HugeLongArray nextWorkingNodes = workingNodes == null
+            ? HugeLongArray.newArray(rootGraph.nodeCount(), tracker)
+            : workingNodes;
+        ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), nodeId -> {
+            long workingNode = workingNodes == null ? nodeId : workingNodes.get(nodeId);
+            nextWorkingNodes.set(nodeId, aggregatedGraph.toMappedNodeId(refinedCommunities.get(workingNode)));
+        });
+        return nextWorkingNodes;
+    }
+
+    private void resizeResultArrays() {
+        HugeLongArray[] resizedDendrogram = new HugeLongArray[ranLevels];
+        double[] resizedModularities = new double[ranLevels];
+        System.arraycopy(this.dendrograms, 0, resizedDendrogram, 0, ranLevels);
+        System.arraycopy(this.modularities, 0, resizedModularities, 0, ranLevels);
+        this.dendrograms = resizedDendrogram;
+        this.modularities = resizedModularities;
+    }
+
+    private ModularityOptimization runModularityOptimization(Graph graph, NodeProperties seed) {
+        ModularityOptimizationStreamConfig modularityOptimizationConfig = ImmutableModularityOptimizationStreamConfig
+            .builder()
+            .maxIterations(config.maxIterations())
+            .tolerance(config.tolerance())
+            .concurrency(config.concurrency())
+            .batchSize(DEFAULT_BATCH_SIZE)
+            .build();
+
+        ModularityOptimization modularityOptimization = new ModularityOptimizationFactory<>()
+            .build(
+                graph,
+                modularityOptimizationConfig,
+                seed,
+                tracker,
+                progressLogger.getLog()
+            ).withTerminationFlag(terminationFlag);
+
+        modularityOptimization.compute();
+
+        return modularityOptimization;
+    }
+
+    private boolean hasConverged() {
+        if (ranLevels == 0) {
+            return false;
+        }
+
+        double previousModularity = modularities[ranLevels - 1];
+        double currentModularity = modularities[ranLevels];
+        return !(currentModularity > previousModularity && Math.abs(currentModularity - previousModularity) > config.tolerance());
+    }
+
+    public LeidenBaseConfig config() {
+        return this.config;
+    }
+
+    public HugeLongArray[] dendrograms() {
+        return this.dendrograms;
+    }
+
+    public HugeLongArray finalDendrogram() {
+        return this.dendrograms[levels() - 1];
+    }
+
+    public long getCommunity(long nodeId) {
+        return dendrograms[levels() - 1].get(nodeId);
+    }
+
+    public int levels() {
+        return this.ranLevels == 0 ? 1 : this.ranLevels;
+    }
+
+    public double[] modularities() {
+        return this.modularities;
+    }
+
+    @Override
+    public void release() {
+        this.rootGraph.releaseTopology();
+    }
+
+    @Override
+    public Leiden me() {
+        return this;
+    }
+
+    /**
+     * Seeds the nodes of the aggregated graph with the community of the refined community they represent.
+     */
+    static final class CommunityNodeProperties implements LongNodeProperties {
+        private final Graph aggregatedGraph;
+        private final HugeLongArray communities;
+
+        CommunityNodeProperties(Graph aggregatedGraph, HugeLongArray communities) {
+            this.aggregatedGraph = aggregatedGraph;
+            this.communities = communities;
+        }
+
+        @Override
+        public long longValue(long nodeId) {
+            return communities.get(aggregatedGraph.toOriginalNodeId(nodeId));
+        }
+
+        @Override
+        public OptionalLong getMaxLongPropertyValue() {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.modularity.GraphContraction;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.logging.Log;
+
+public class LeidenFactory<CONFIG extends LeidenBaseConfig> implements AlgorithmFactory<Leiden, CONFIG> {
+
+    @Override
+    public Leiden build(
+        Graph graph,
+        CONFIG configuration,
+        AllocationTracker tracker,
+        Log log
+    ) {
+        var progressLogger = new BatchingProgressLogger(log, 1, "Leiden", configuration.concurrency());
+
+        return new Leiden(
+            graph,
+            configuration,
+            Pools.DEFAULT,
+            progressLogger,
+            tracker
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG config) {
+        return MemoryEstimations.builder(Leiden.class)
+            .add("modularityOptimization()", ModularityOptimizationFactory.MEMORY_ESTIMATION)
+            .perNode("communities", nodeCount -> 2 * HugeLongArray.memoryEstimation(nodeCount))
+            .add(MemoryEstimations.builder("refinement")
+                .perNode("refined communities", HugeLongArray::memoryEstimation)
+                .perNode("node weights", HugeDoubleArray::memoryEstimation)
+                .perNode("members", nodeCount -> 3 * HugeLongArray.memoryEstimation(nodeCount))
+                .perNode(
+                    "refined community state",
+                    nodeCount -> 2 * HugeLongArray.memoryEstimation(nodeCount) + 2 * HugeDoubleArray.memoryEstimation(nodeCount)
+                )
+                .add("community index", HugeLongLongMap.memoryEstimation())
+                .build())
+            .rangePerGraphDimension("subGraph", (graphDimensions, concurrency) -> {
+                long maxGraphSize = GraphContraction
+                    .memoryEstimation()
+                    .estimate(graphDimensions, concurrency)
+                    .memoryUsage()
+                    .max;
+
+                return MemoryRange.of(1L, maxGraphSize);
+            })
+            .perNode("working nodes", HugeLongArray::memoryEstimation)
+            .rangePerNode("dendrograms", (nodeCount) -> MemoryRange.of(
+                HugeLongArray.memoryEstimation(nodeCount),
+                HugeLongArray.memoryEstimation(nodeCount) * config.maxLevels()
+            ))
+            .build();
+    }
+}
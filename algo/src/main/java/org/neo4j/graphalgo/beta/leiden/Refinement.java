@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Refinement phase of the Leiden algorithm.
+ *
+ * Every community found by the local moving phase is split into sub-communities that are guaranteed
+ * to be connected. Each community starts out as singletons; in ascending node id order, every node that
+ * is still a singleton and well connected to its community is merged into the well connected
+ * sub-community of the same community that yields the largest positive modularity gain.
+ * Ties are broken by the smaller sub-community, which makes the refinement deterministic.
+ * Communities are independent of each other and are refined in parallel.
+ *
+ * The state of the refinement is kept in arrays over all nodes, indexed by the position of a node
+ * in the members array, so that communities of any size are refined without allocating per community.
+ */
+final class Refinement {
+
+    private static final long NO_INDEX = -1L;
+
+    private final Graph graph;
+    private final HugeLongArray communities;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private HugeDoubleArray nodeWeights;
+    private double totalWeight;
+
+    // indexed by member position, refined communities are identified by the position of their first member
+    private HugeLongArray refinedCommunity;
+    private HugeLongArray refinedSize;
+    private HugeDoubleArray refinedWeight;
+    // weight of the relationships from a refined community to the rest of its community
+    private HugeDoubleArray externalWeight;
+
+    Refinement(
+        Graph graph,
+        HugeLongArray communities,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.communities = communities;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    /**
+     * @return for every node the id of the node representing its refined community
+     */
+    HugeLongArray compute() {
+        long nodeCount = graph.nodeCount();
+
+        computeNodeWeights();
+
+        // group the nodes by community, members of a community are in ascending node id order
+        HugeLongLongMap communityIndex = new HugeLongLongMap(nodeCount, tracker);
+        HugeLongArray nodeIndex = HugeLongArray.newArray(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long community = communities.get(nodeId);
+            long index = communityIndex.getOrDefault(community, NO_INDEX);
+            if (index == NO_INDEX) {
+                index = communityIndex.size();
+                communityIndex.addTo(community, index);
+            }
+            nodeIndex.set(nodeId, index);
+        }
+        long communityCount = communityIndex.size();
+        communityIndex.release();
+
+        HugeLongArray memberOffsets = HugeLongArray.newArray(communityCount + 1, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long index = nodeIndex.get(nodeId) + 1;
+            memberOffsets.set(index, memberOffsets.get(index) + 1);
+        }
+        for (long index = 1; index <= communityCount; index++) {
+            memberOffsets.set(index, memberOffsets.get(index) + memberOffsets.get(index - 1));
+        }
+        HugeLongArray members = HugeLongArray.newArray(nodeCount, tracker);
+        HugeLongArray cursors = HugeLongArray.newArray(communityCount, tracker);
+        memberOffsets.copyTo(cursors, communityCount);
+        // the node index is reused for the position of every node in the members array
+        HugeLongArray positions = nodeIndex;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long index = nodeIndex.get(nodeId);
+            long cursor = cursors.get(index);
+            members.set(cursor, nodeId);
+            positions.set(nodeId, cursor);
+            cursors.set(index, cursor + 1);
+        }
+        tracker.remove(cursors.release());
+
+        refinedCommunity = HugeLongArray.newArray(nodeCount, tracker);
+        refinedSize = HugeLongArray.newArray(nodeCount, tracker);
+        refinedWeight = HugeDoubleArray.newArray(nodeCount, tracker);
+        externalWeight = HugeDoubleArray.newArray(nodeCount, tracker);
+
+        HugeLongArray refinedCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.parallelPartitionsConsume(
+            PartitionUtils.rangePartition(concurrency, communityCount, ParallelUtil.DEFAULT_BATCH_SIZE),
+            concurrency,
+            executor,
+            partition -> {
+                Graph localGraph = graph.concurrentCopy();
+                LongDoubleHashMap neighbourWeights = new LongDoubleHashMap();
+                long end = partition.startNode() + partition.nodeCount();
+                for (long index = partition.startNode(); index < end; index++) {
+                    refineCommunity(
+                        localGraph,
+                        members,
+                        positions,
+                        memberOffsets.get(index),
+                        memberOffsets.get(index + 1),
+                        neighbourWeights,
+                        refinedCommunities
+                    );
+                }
+            }
+        );
+
+        tracker.remove(memberOffsets.release());
+        tracker.remove(members.release());
+        tracker.remove(positions.release());
+        tracker.remove(nodeWeights.release());
+        tracker.remove(refinedCommunity.release());
+        tracker.remove(refinedSize.release());
+        tracker.remove(refinedWeight.release());
+        tracker.remove(externalWeight.release());
+        nodeWeights = null;
+        refinedCommunity = null;
+        refinedSize = null;
+        refinedWeight = null;
+        externalWeight = null;
+
+        return refinedCommunities;
+    }
+
+    private void computeNodeWeights() {
+        nodeWeights = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
+        DoubleAdder weightSum = new DoubleAdder();
+        ParallelUtil.parallelPartitionsConsume(
+            PartitionUtils.rangePartition(concurrency, graph.nodeCount(), ParallelUtil.DEFAULT_BATCH_SIZE),
+            concurrency,
+            executor,
+            partition -> {
+                Graph localGraph = graph.concurrentCopy();
+                double localSum = 0.0;
+                long end = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                    double[] nodeWeight = {0.0};
+                    localGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                        nodeWeight[0] += weight;
+                        return true;
+                    });
+                    nodeWeights.set(nodeId, nodeWeight[0]);
+                    localSum += nodeWeight[0];
+                }
+                weightSum.add(localSum);
+            }
+        );
+        totalWeight = weightSum.sum();
+    }
+
+    private void refineCommunity(
+        Graph localGraph,
+        HugeLongArray members,
+        HugeLongArray positions,
+        long start,
+        long end,
+        LongDoubleHashMap neighbourWeights,
+        HugeLongArray refinedCommunities
+    ) {
+        if (end - start == 1) {
+            long nodeId = members.get(start);
+            refinedCommunities.set(nodeId, nodeId);
+            return;
+        }
+
+        double communityWeight = 0.0;
+        for (long position = start; position < end; position++) {
+            long nodeId = members.get(position);
+            double nodeWeight = nodeWeights.get(nodeId);
+            refinedCommunity.set(position, position);
+            refinedSize.set(position, 1L);
+            refinedWeight.set(position, nodeWeight);
+            communityWeight += nodeWeight;
+
+            double[] weightToCommunity = {0.0};
+            localGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                long targetPosition = positions.get(target);
+                if (target != source && targetPosition >= start && targetPosition < end) {
+                    weightToCommunity[0] += weight;
+                }
+                return true;
+            });
+            externalWeight.set(position, weightToCommunity[0]);
+        }
+
+        for (long position = start; position < end; position++) {
+            if (refinedCommunity.get(position) != position || refinedSize.get(position) != 1L) {
+                continue;
+            }
+
+            double nodeWeight = refinedWeight.get(position);
+            if (!isWellConnected(externalWeight.get(position), nodeWeight, communityWeight)) {
+                continue;
+            }
+
+            neighbourWeights.clear();
+            localGraph.forEachRelationship(members.get(position), 1.0, (source, target, weight) -> {
+                long targetPosition = positions.get(target);
+                if (target != source && targetPosition >= start && targetPosition < end) {
+                    neighbourWeights.addTo(refinedCommunity.get(targetPosition), weight);
+                }
+                return true;
+            });
+
+            long bestCommunity = NO_INDEX;
+            double bestGain = 0.0;
+            double bestWeight = 0.0;
+            for (LongDoubleCursor neighbour : neighbourWeights) {
+                long candidate = neighbour.key;
+                double candidateWeight = refinedWeight.get(candidate);
+                if (!isWellConnected(externalWeight.get(candidate), candidateWeight, communityWeight)) {
+                    continue;
+                }
+                double gain = neighbour.value - nodeWeight * candidateWeight / totalWeight;
+                if (gain > bestGain || (gain == bestGain && bestCommunity != NO_INDEX && candidate < bestCommunity)) {
+                    bestCommunity = candidate;
+                    bestGain = gain;
+                    bestWeight = neighbour.value;
+                }
+            }
+
+            if (bestCommunity != NO_INDEX) {
+                refinedCommunity.set(position, bestCommunity);
+                refinedSize.set(bestCommunity, refinedSize.get(bestCommunity) + 1);
+                refinedWeight.set(bestCommunity, refinedWeight.get(bestCommunity) + nodeWeight);
+                externalWeight.set(
+                    bestCommunity,
+                    externalWeight.get(bestCommunity) + externalWeight.get(position) - 2 * bestWeight
+                );
+            }
+        }
+
+        for (long position = start; position < end; position++) {
+            refinedCommunities.set(members.get(position), members.get(refinedCommunity.get(position)));
+        }
+    }
+
+    private boolean isWellConnected(double externalWeight, double weight, double communityWeight) {
+        return externalWeight >= weight * (communityWeight - weight) / totalWeight;
+    }
+}
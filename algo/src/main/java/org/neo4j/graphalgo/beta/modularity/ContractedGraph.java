@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.BatchNodeIterable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.ImmutableRelationshipCursor;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipCursor;
+import org.neo4j.graphalgo.api.RelationshipIntersect;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.GraphSchema;
+import org.neo4j.graphalgo.api.schema.NodeSchema;
+import org.neo4j.graphalgo.api.schema.RelationshipSchema;
+import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
+import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Weighted graph produced by {@link GraphContraction}, stored as an uncompressed CSR.
+ * Every node is a community of the contracted graph; its original id is the community id.
+ * The relationships of each node are sorted by target and do not contain parallel relationships,
+ * their property is the summed weight of all relationships between the two communities.
+ * The target and weight arrays may be larger than the number of relationships, as they are
+ * the bucket arrays of the contraction, the relationships occupy the front of the arrays.
+ */
+public final class ContractedGraph implements Graph {
+
+    private static final Set<NodeLabel> ALL_NODES_LABELS = Set.of(NodeLabel.ALL_NODES);
+    private static final GraphSchema SCHEMA = GraphSchema.of(
+        NodeSchema.builder().addLabel(NodeLabel.ALL_NODES).build(),
+        RelationshipSchema.builder().addProperty(RelationshipType.of("REL"), "property", ValueType.DOUBLE).build()
+    );
+
+    private final long nodeCount;
+    private final long relationshipCount;
+    private final boolean isUndirected;
+    private final AllocationTracker tracker;
+
+    private HugeLongArray originalIds;
+    private HugeLongArray mappedIds;
+    private HugeLongArray offsets;
+    private HugeLongArray targets;
+    private HugeDoubleArray weights;
+    private boolean canRelease = true;
+
+    ContractedGraph(
+        HugeLongArray originalIds,
+        HugeLongArray mappedIds,
+        HugeLongArray offsets,
+        HugeLongArray targets,
+        HugeDoubleArray weights,
+        long relationshipCount,
+        boolean isUndirected,
+        AllocationTracker tracker
+    ) {
+        this.nodeCount = originalIds.size();
+        this.relationshipCount = relationshipCount;
+        this.originalIds = originalIds;
+        this.mappedIds = mappedIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.isUndirected = isUndirected;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public GraphSchema schema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public NodeMapping nodeMapping() {
+        return this;
+    }
+
+    @Override
+    public long toMappedNodeId(long nodeId) {
+        return nodeId >= 0 && nodeId < mappedIds.size() ? mappedIds.get(nodeId) : -1L;
+    }
+
+    @Override
+    public long toOriginalNodeId(long nodeId) {
+        return originalIds.get(nodeId);
+    }
+
+    @Override
+    public boolean contains(long nodeId) {
+        return toMappedNodeId(nodeId) != -1L;
+    }
+
+    @Override
+    public long nodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public Set<NodeLabel> nodeLabels(long nodeId) {
+        return ALL_NODES_LABELS;
+    }
+
+    @Override
+    public Set<NodeLabel> availableNodeLabels() {
+        return ALL_NODES_LABELS;
+    }
+
+    @Override
+    public void forEachNode(LongPredicate consumer) {
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (!consumer.test(nodeId)) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public PrimitiveLongIterator nodeIterator() {
+        return new BatchNodeIterable.IdIterator(nodeCount);
+    }
+
+    @Override
+    public Collection<PrimitiveLongIterable> batchIterables(int batchSize) {
+        return LazyBatchCollection.of(nodeCount, batchSize, BatchNodeIterable.IdIterable::new);
+    }
+
+    @Override
+    public NodeProperties nodeProperties(String propertyKey) {
+        return null;
+    }
+
+    @Override
+    public Set<String> availableNodeProperties() {
+        return Set.of();
+    }
+
+    @Override
+    public long relationshipCount() {
+        return relationshipCount;
+    }
+
+    @Override
+    public boolean isUndirected() {
+        return isUndirected;
+    }
+
+    @Override
+    public boolean isMultiGraph() {
+        return false;
+    }
+
+    @Override
+    public boolean hasRelationshipProperty() {
+        return true;
+    }
+
+    @Override
+    public int degree(long nodeId) {
+        return (int) (offsets.get(nodeId + 1) - offsets.get(nodeId));
+    }
+
+    @Override
+    public int degreeWithoutParallelRelationships(long nodeId) {
+        return degree(nodeId);
+    }
+
+    @Override
+    public void forEachRelationship(long nodeId, RelationshipConsumer consumer) {
+        long end = offsets.get(nodeId + 1);
+        for (long offset = offsets.get(nodeId); offset < end; offset++) {
+            if (!consumer.accept(nodeId, targets.get(offset))) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void forEachRelationship(long nodeId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
+        long end = offsets.get(nodeId + 1);
+        for (long offset = offsets.get(nodeId); offset < end; offset++) {
+            if (!consumer.accept(nodeId, targets.get(offset), weights.get(offset))) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public Stream<RelationshipCursor> streamRelationships(long nodeId, double fallbackValue) {
+        return LongStream
+            .range(offsets.get(nodeId), offsets.get(nodeId + 1))
+            .mapToObj(offset -> ImmutableRelationshipCursor.of(nodeId, targets.get(offset), weights.get(offset)));
+    }
+
+    @Override
+    public boolean exists(long sourceNodeId, long targetNodeId) {
+        return findOffset(sourceNodeId, targetNodeId) != -1L;
+    }
+
+    @Override
+    public long getTarget(long sourceNodeId, long index) {
+        return index < degree(sourceNodeId) ? targets.get(offsets.get(sourceNodeId) + index) : -1L;
+    }
+
+    @Override
+    public double relationshipProperty(long sourceNodeId, long targetNodeId, double fallbackValue) {
+        long offset = findOffset(sourceNodeId, targetNodeId);
+        return offset == -1L ? fallbackValue : weights.get(offset);
+    }
+
+    @Override
+    public double relationshipProperty(long sourceNodeId, long targetNodeId) {
+        return relationshipProperty(sourceNodeId, targetNodeId, Double.NaN);
+    }
+
+    @Override
+    public RelationshipIntersect intersection(long maxDegree) {
+        throw new UnsupportedOperationException("Contracted graphs do not support relationship intersection.");
+    }
+
+    @Override
+    public Graph concurrentCopy() {
+        return this;
+    }
+
+    @Override
+    public void canRelease(boolean canRelease) {
+        this.canRelease = canRelease;
+    }
+
+    @Override
+    public void releaseTopology() {
+        if (!canRelease || targets == null) {
+            return;
+        }
+        tracker.remove(offsets.release());
+        tracker.remove(targets.release());
+        tracker.remove(weights.release());
+        offsets = null;
+        targets = null;
+        weights = null;
+    }
+
+    @Override
+    public void release() {
+        releaseTopology();
+        if (!canRelease || originalIds == null) {
+            return;
+        }
+        tracker.remove(originalIds.release());
+        tracker.remove(mappedIds.release());
+        originalIds = null;
+        mappedIds = null;
+    }
+
+    private long findOffset(long sourceNodeId, long targetNodeId) {
+        long low = offsets.get(sourceNodeId);
+        long high = offsets.get(sourceNodeId + 1) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long target = targets.get(mid);
+            if (target < targetNodeId) {
+                low = mid + 1;
+            } else if (target > targetNodeId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Contracts a graph along a node partition: every community becomes a single node and
+ * all relationships between two communities are merged into one relationship whose
+ * weight is the sum of the merged weights. Relationships inside a community become a self-loop.
+ *
+ * The contraction is computed directly into a CSR without going through the generic graph builders:
+ * relationships are bucketed by the community of their source node in parallel, every bucket is
+ * sorted by target community in place and runs of equal targets are collapsed into a single entry.
+ * The merged buckets are then moved to the front of the bucket arrays, which become the arrays of the CSR.
+ */
+public final class GraphContraction {
+
+    private static final long NOT_MAPPED = -1L;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private GraphContraction() {}
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(GraphContraction.class)
+            .perNode("community mapping", nodeCount -> 2 * HugeLongArray.memoryEstimation(nodeCount))
+            .perNode(
+                "offsets",
+                nodeCount -> HugeAtomicLongArray.memoryEstimation(nodeCount + 1) + HugeLongArray.memoryEstimation(nodeCount + 1)
+            )
+            .perGraphDimension("relationships", (dimensions, concurrency) -> {
+                long relationshipCount = dimensions.maxRelCount();
+                // the buckets are sorted, merged and compacted in place and become the final adjacency
+                return MemoryRange.of(
+                    HugeLongArray.memoryEstimation(relationshipCount) + HugeDoubleArray.memoryEstimation(relationshipCount)
+                );
+            })
+            .build();
+    }
+
+    /**
+     * @param graph          the graph to contract
+     * @param communityId    assigns every node of {@code graph} to a non-negative community id
+     * @param maxCommunityId an upper bound (inclusive) for the community ids returned by {@code communityId}
+     * @return the contracted graph, whose original node ids are the community ids
+     */
+    public static ContractedGraph contract(
+        Graph graph,
+        LongUnaryOperator communityId,
+        long maxCommunityId,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        var nodePartitions = PartitionUtils.rangePartition(concurrency, nodeCount, ParallelUtil.DEFAULT_BATCH_SIZE);
+
+        // dense ids for all communities, assigned in ascending community order
+        HugeLongArray mappedIds = HugeLongArray.newArray(maxCommunityId + 1, tracker);
+        mappedIds.fill(NOT_MAPPED);
+        ParallelUtil.parallelPartitionsConsume(nodePartitions, concurrency, executor, partition -> forEach(
+            partition,
+            nodeId -> mappedIds.set(communityId.applyAsLong(nodeId), 0L)
+        ));
+
+        long communityCount = 0L;
+        for (long community = 0; community <= maxCommunityId; community++) {
+            if (mappedIds.get(community) != NOT_MAPPED) {
+                mappedIds.set(community, communityCount++);
+            }
+        }
+        HugeLongArray originalIds = HugeLongArray.newArray(communityCount, tracker);
+        for (long community = 0; community <= maxCommunityId; community++) {
+            long mappedId = mappedIds.get(community);
+            if (mappedId != NOT_MAPPED) {
+                originalIds.set(mappedId, community);
+            }
+        }
+
+        // bucket the relationships by the community of their source node,
+        // the bucket offsets are used as insertion cursors and afterwards point to the end of every bucket
+        HugeAtomicLongArray bucketOffsets = HugeAtomicLongArray.newArray(communityCount + 1, tracker);
+        ParallelUtil.parallelPartitionsConsume(nodePartitions, concurrency, executor, partition -> forEach(
+            partition,
+            nodeId -> bucketOffsets.getAndAdd(mappedIds.get(communityId.applyAsLong(nodeId)), graph.degree(nodeId))
+        ));
+        long bucketOffset = 0L;
+        for (long community = 0; community <= communityCount; community++) {
+            long bucketSize = bucketOffsets.get(community);
+            bucketOffsets.set(community, bucketOffset);
+            bucketOffset += bucketSize;
+        }
+
+        HugeLongArray targets = HugeLongArray.newArray(bucketOffset, tracker);
+        HugeDoubleArray weights = HugeDoubleArray.newArray(bucketOffset, tracker);
+        ParallelUtil.parallelPartitionsConsume(nodePartitions, concurrency, executor, partition -> {
+            Graph localGraph = graph.concurrentCopy();
+            forEach(partition, nodeId -> {
+                long source = mappedIds.get(communityId.applyAsLong(nodeId));
+                localGraph.forEachRelationship(nodeId, 1.0, (s, t, weight) -> {
+                    long index = bucketOffsets.getAndAdd(source, 1L);
+                    targets.set(index, mappedIds.get(communityId.applyAsLong(t)));
+                    weights.set(index, weight);
+                    return true;
+                });
+            });
+        });
+        for (long community = communityCount; community > 0; community--) {
+            bucketOffsets.set(community, bucketOffsets.get(community - 1));
+        }
+        bucketOffsets.set(0, 0L);
+
+        // sort every bucket by target and merge parallel relationships in place,
+        // the degree of every community is stored at its offset until the offsets are computed
+        HugeLongArray offsets = HugeLongArray.newArray(communityCount + 1, tracker);
+        ParallelUtil.parallelPartitionsConsume(
+            bucketPartitions(bucketOffsets, communityCount, concurrency),
+            concurrency,
+            executor,
+            partition -> forEach(
+                partition,
+                community -> offsets.set(community, mergeBucket(
+                    bucketOffsets.get(community),
+                    bucketOffsets.get(community + 1),
+                    targets,
+                    weights
+                ))
+            )
+        );
+
+        // compact the merged buckets to the front of the arrays,
+        // every bucket moves towards the front, so the buckets are moved in ascending order
+        long relationshipCount = 0L;
+        for (long community = 0; community < communityCount; community++) {
+            long from = bucketOffsets.get(community);
+            long degree = offsets.get(community);
+            offsets.set(community, relationshipCount);
+            if (from != relationshipCount) {
+                for (long i = 0; i < degree; i++) {
+                    targets.set(relationshipCount + i, targets.get(from + i));
+                    weights.set(relationshipCount + i, weights.get(from + i));
+                }
+            }
+            relationshipCount += degree;
+        }
+        offsets.set(communityCount, relationshipCount);
+        tracker.remove(bucketOffsets.release());
+
+        return new ContractedGraph(
+            originalIds,
+            mappedIds,
+            offsets,
+            targets,
+            weights,
+            relationshipCount,
+            graph.isUndirected(),
+            tracker
+        );
+    }
+
+    /**
+     * Sorts the bucket {@code [start, end)} by target and sums up the weights of equal targets.
+     * The merged relationships are written back to the beginning of the bucket.
+     *
+     * @return the number of relationships after merging
+     */
+    private static long mergeBucket(long start, long end, HugeLongArray targets, HugeDoubleArray weights) {
+        if (start == end) {
+            return 0L;
+        }
+
+        sort(targets, weights, start, end);
+
+        long writeIndex = start;
+        long currentTarget = targets.get(start);
+        double currentWeight = weights.get(start);
+        for (long index = start + 1; index < end; index++) {
+            long target = targets.get(index);
+            if (target == currentTarget) {
+                currentWeight += weights.get(index);
+            } else {
+                targets.set(writeIndex, currentTarget);
+                weights.set(writeIndex, currentWeight);
+                writeIndex++;
+                currentTarget = target;
+                currentWeight = weights.get(index);
+            }
+        }
+        targets.set(writeIndex, currentTarget);
+        weights.set(writeIndex, currentWeight);
+
+        return writeIndex + 1 - start;
+    }
+
+    /**
+     * Sorts {@code [start, end)} of the targets in place and applies the same permutation to the weights.
+     * This is an introsort: a quicksort that falls back to heapsort once the recursion gets too deep,
+     * so that buckets of any size are sorted in O(n log n) without allocating.
+     */
+    static void sort(HugeLongArray targets, HugeDoubleArray weights, long start, long end) {
+        int depthLimit = 2 * (Long.SIZE - Long.numberOfLeadingZeros(end - start));
+        quickSort(targets, weights, start, end, depthLimit);
+    }
+
+    private static void quickSort(HugeLongArray targets, HugeDoubleArray weights, long start, long end, int depthLimit) {
+        while (end - start > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(targets, weights, start, end);
+                return;
+            }
+
+            // order the first, middle and last element, so the middle one is a median of three
+            long middle = start + ((end - start) >>> 1);
+            long last = end - 1;
+            if (targets.get(middle) < targets.get(start)) {
+                swap(targets, weights, middle, start);
+            }
+            if (targets.get(last) < targets.get(start)) {
+                swap(targets, weights, last, start);
+            }
+            if (targets.get(last) < targets.get(middle)) {
+                swap(targets, weights, last, middle);
+            }
+            long pivot = targets.get(middle);
+
+            // Hoare partitioning, as the pivot is in the middle neither side can be empty
+            long left = start - 1;
+            long right = end;
+            while (true) {
+                do {
+                    left++;
+                } while (targets.get(left) < pivot);
+                do {
+                    right--;
+                } while (targets.get(right) > pivot);
+                if (left >= right) {
+                    break;
+                }
+                swap(targets, weights, left, right);
+            }
+
+            // recurse into the smaller side to bound the stack depth
+            long split = right + 1;
+            if (split - start < end - split) {
+                quickSort(targets, weights, start, split, depthLimit);
+                start = split;
+            } else {
+                quickSort(targets, weights, split, end, depthLimit);
+                end = split;
+            }
+        }
+        insertionSort(targets, weights, start, end);
+    }
+
+    private static void insertionSort(HugeLongArray targets, HugeDoubleArray weights, long start, long end) {
+        for (long i = start + 1; i < end; i++) {
+            long target = targets.get(i);
+            double weight = weights.get(i);
+            long j = i - 1;
+            while (j >= start && targets.get(j) > target) {
+                targets.set(j + 1, targets.get(j));
+                weights.set(j + 1, weights.get(j));
+                j--;
+            }
+            targets.set(j + 1, target);
+            weights.set(j + 1, weight);
+        }
+    }
+
+    private static void heapSort(HugeLongArray targets, HugeDoubleArray weights, long start, long end) {
+        long length = end - start;
+        for (long root = (length >>> 1) - 1; root >= 0; root--) {
+            siftDown(targets, weights, start, root, length);
+        }
+        for (long last = length - 1; last > 0; last--) {
+            swap(targets, weights, start, start + last);
+            siftDown(targets, weights, start, 0, last);
+        }
+    }
+
+    private static void siftDown(HugeLongArray targets, HugeDoubleArray weights, long start, long root, long length) {
+        while (true) {
+            long child = 2 * root + 1;
+            if (child >= length) {
+                return;
+            }
+            if (child + 1 < length && targets.get(start + child + 1) > targets.get(start + child)) {
+                child++;
+            }
+            if (targets.get(start + root) >= targets.get(start + child)) {
+                return;
+            }
+            swap(targets, weights, start + root, start + child);
+            root = child;
+        }
+    }
+
+    private static void swap(HugeLongArray targets, HugeDoubleArray weights, long i, long j) {
+        long target = targets.get(i);
+        targets.set(i, targets.get(j));
+        targets.set(j, target);
+        double weight = weights.get(i);
+        weights.set(i, weights.get(j));
+        weights.set(j, weight);
+    }
+
+    /**
+     * Partitions the communities into ranges with roughly the same number of relationships,
+     * so that large buckets do not end up in the same partition.
+     */
+    private static List<Partition> bucketPartitions(HugeAtomicLongArray bucketOffsets, long communityCount, int concurrency) {
+        long relationshipCount = bucketOffsets.get(communityCount);
+        long batchSize = Math.max(ParallelUtil.DEFAULT_BATCH_SIZE, BitUtil.ceilDiv(relationshipCount, concurrency));
+        List<Partition> partitions = new ArrayList<>();
+        long start = 0L;
+        while (start < communityCount) {
+            long end = start + 1;
+            while (end < communityCount && bucketOffsets.get(end + 1) - bucketOffsets.get(start) <= batchSize) {
+                end++;
+            }
+            partitions.add(Partition.of(start, end - start));
+            start = end;
+        }
+        return partitions;
+    }
+
+    private static void forEach(Partition partition, LongConsumer consumer) {
+        long end = partition.startNode() + partition.nodeCount();
+        for (long id = partition.startNode(); id < end; id++) {
+            consumer.accept(id);
+        }
+    }
+}
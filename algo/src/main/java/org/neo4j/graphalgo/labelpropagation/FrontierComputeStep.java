@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.labelpropagation;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import static org.neo4j.graphalgo.labelpropagation.LabelPropagation.DEFAULT_WEIGHT;
+
+/**
+ * Recomputes the labels of all nodes within a node range that are marked in the frontier.
+ * A node is removed from the frontier before its label is computed. If its label changes,
+ * all of its neighbours are added to the frontier, as their vote might now be different.
+ * Nodes whose neighbourhood did not change since their last computation are skipped,
+ * since recomputing them would yield the same label.
+ */
+final class FrontierComputeStep implements Runnable {
+
+    private final RelationshipIterator localRelationshipIterator;
+    private final HugeLongArray existingLabels;
+    private final HugeAtomicBitSet frontier;
+    private final long startNode;
+    private final long endNode;
+    private final ProgressLogger progressLogger;
+    private final ComputeStepConsumer consumer;
+    private final RelationshipConsumer markNeighbour;
+    private final Graph graph;
+
+    FrontierComputeStep(
+        Graph graph,
+        NodeProperties nodeWeights,
+        ProgressLogger progressLogger,
+        HugeLongArray existingLabels,
+        HugeAtomicBitSet frontier,
+        long startNode,
+        long nodeCount
+    ) {
+        this.existingLabels = existingLabels;
+        this.frontier = frontier;
+        this.startNode = startNode;
+        this.endNode = startNode + nodeCount;
+        this.progressLogger = progressLogger;
+        this.graph = graph;
+        this.localRelationshipIterator = graph.concurrentCopy();
+        this.consumer = new ComputeStepConsumer(nodeWeights, existingLabels);
+        this.markNeighbour = (source, target) -> {
+            frontier.set(target);
+            return true;
+        };
+    }
+
+    @Override
+    public void run() {
+        long nodeId = frontier.nextSetBit(startNode);
+        while (nodeId != -1 && nodeId < endNode) {
+            frontier.clear(nodeId);
+            compute(nodeId);
+            progressLogger.logProgress(graph.degree(nodeId));
+            nodeId = frontier.nextSetBit(nodeId + 1);
+        }
+    }
+
+    private void compute(long nodeId) {
+        consumer.clearVotes();
+        long label = existingLabels.get(nodeId);
+        localRelationshipIterator.forEachRelationship(nodeId, DEFAULT_WEIGHT, consumer);
+        long newLabel = consumer.tallyVotes(label);
+        if (newLabel != label) {
+            existingLabels.set(nodeId, newLabel);
+            localRelationshipIterator.forEachRelationship(nodeId, markNeighbour);
+        }
+    }
+
+    void release() {
+        consumer.release();
+    }
+}
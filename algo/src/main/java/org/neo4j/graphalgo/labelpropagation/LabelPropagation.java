@@ -31,12 +31,16 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -136,6 +140,21 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
 
         List<StepRunner> stepRunners = stepRunners();
 
+        if (graph.isUndirected()) {
+            // a label change only affects the votes of the node's own neighbours,
+            // so every iteration can be restricted to the nodes next to a change
+            runFrontierIterations();
+        } else {
+            runIterations(stepRunners);
+        }
+
+        stepRunners.forEach(StepRunner::release);
+        getProgressLogger().logMessage(":: Finished");
+
+        return me();
+    }
+
+    private void runIterations(List<StepRunner> stepRunners) {
         while (ranIterations < config.maxIterations()) {
             getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Start", ranIterations + 1));
             ParallelUtil.runWithConcurrency(config.concurrency(), stepRunners, 1L, MICROSECONDS, terminationFlag, executor);
@@ -147,11 +166,72 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
             getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Finished", ranIterations));
             getProgressLogger().reset(graph.relationshipCount());
         }
+    }
+
+    private void runFrontierIterations() {
+        if (nodeCount == 0) {
+            ranIterations = 1L;
+            didConverge = true;
+            return;
+        }
 
-        stepRunners.forEach(StepRunner::release);
-        getProgressLogger().logMessage(":: Finished");
+        HugeAtomicBitSet frontier = HugeAtomicBitSet.create(nodeCount, tracker);
+        frontier.set(0, nodeCount);
 
-        return me();
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            graph.relationshipCount(),
+            config.concurrency(),
+            this.batchSize,
+            Integer.MAX_VALUE
+        );
+
+        while (ranIterations < config.maxIterations()) {
+            getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Start", ranIterations + 1));
+
+            List<FrontierComputeStep> steps = frontierPartitions(frontier, batchSize)
+                .stream()
+                .map(partition -> new FrontierComputeStep(
+                    graph,
+                    nodeWeights,
+                    getProgressLogger(),
+                    labels,
+                    frontier,
+                    partition.startNode(),
+                    partition.nodeCount()
+                ))
+                .collect(Collectors.toList());
+            ParallelUtil.runWithConcurrency(config.concurrency(), steps, 1L, MICROSECONDS, terminationFlag, executor);
+            steps.forEach(FrontierComputeStep::release);
+
+            ++ranIterations;
+            didConverge = frontier.isEmpty();
+            if (didConverge) {
+                break;
+            }
+            getProgressLogger().logMessage(formatWithLocale(":: Iteration %d :: Finished", ranIterations));
+            getProgressLogger().reset(graph.relationshipCount());
+        }
+    }
+
+    /**
+     * Splits the node space into ranges that hold roughly the same number of
+     * relationships of nodes in the frontier. The last range is extended to the
+     * end of the node space so that nodes which are added to the frontier during
+     * the iteration are still visited within the same iteration.
+     */
+    private List<Partition> frontierPartitions(HugeAtomicBitSet frontier, long batchSize) {
+        List<Partition> partitions = PartitionUtils.degreePartition(
+            new SetBitsIterator(frontier),
+            graph,
+            batchSize
+        );
+        if (partitions.isEmpty()) {
+            return List.of(Partition.of(0, nodeCount));
+        }
+        int lastIndex = partitions.size() - 1;
+        long lastStart = partitions.get(lastIndex).startNode();
+        partitions.set(lastIndex, Partition.of(lastStart, nodeCount - lastStart));
+        return partitions;
     }
 
     private List<StepRunner> stepRunners() {
@@ -189,4 +269,24 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
     void withBatchSize(int batchSize) {
         this.batchSize = batchSize;
     }
+
+    private static final class SetBitsIterator extends PrimitiveLongCollections.PrimitiveLongBaseIterator {
+
+        private final HugeAtomicBitSet bitSet;
+        private long nextIndex;
+
+        SetBitsIterator(HugeAtomicBitSet bitSet) {
+            this.bitSet = bitSet;
+        }
+
+        @Override
+        protected boolean fetchNext() {
+            long setBit = bitSet.nextSetBit(nextIndex);
+            if (setBit == -1) {
+                return false;
+            }
+            nextIndex = setBit + 1;
+            return next(setBit);
+        }
+    }
 }
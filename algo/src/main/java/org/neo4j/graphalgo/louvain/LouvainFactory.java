@@ -20,19 +20,10 @@
 package org.neo4j.graphalgo.louvain;
 
 import org.neo4j.graphalgo.AlgorithmFactory;
-import org.neo4j.graphalgo.NodeProjections;
-import org.neo4j.graphalgo.Orientation;
-import org.neo4j.graphalgo.RelationshipProjection;
-import org.neo4j.graphalgo.RelationshipProjections;
-import org.neo4j.graphalgo.RelationshipType;
-import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.modularity.GraphContraction;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
-import org.neo4j.graphalgo.core.Aggregation;
-import org.neo4j.graphalgo.core.GraphDimensions;
-import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
-import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -68,26 +59,10 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> implements Algorit
         return MemoryEstimations.builder(Louvain.class)
             .add("modularityOptimization()", ModularityOptimizationFactory.MEMORY_ESTIMATION)
             .rangePerGraphDimension("subGraph", (graphDimensions, concurrency) -> {
-                ImmutableGraphDimensions.Builder dimensionsBuilder = ImmutableGraphDimensions.builder().from(graphDimensions);
-
-                GraphDimensions sparseDimensions = dimensionsBuilder.build();
-
-                // Louvain creates a new graph every iteration, this graph has one relationship property
-                RelationshipProjections relationshipProjections = RelationshipProjections.builder()
-                    .putProjection(
-                        RelationshipType.of("AGGREGATE"),
-                        RelationshipProjection.builder()
-                            .type("AGGREGATE")
-                            .orientation(Orientation.UNDIRECTED)
-                            .aggregation(Aggregation.SUM)
-                            .addProperty("prop", "prop", DefaultValue.of(0.0))
-                            .build()
-                    )
-                    .build();
-
-                long maxGraphSize = NativeFactory
-                    .getMemoryEstimation(NodeProjections.all(), relationshipProjections)
-                    .estimate(sparseDimensions, concurrency)
+                // Louvain contracts the graph every level, the contracted graph is at most as large as the input graph
+                long maxGraphSize = GraphContraction
+                    .memoryEstimation()
+                    .estimate(graphDimensions, concurrency)
                     .memoryUsage()
                     .max;
 
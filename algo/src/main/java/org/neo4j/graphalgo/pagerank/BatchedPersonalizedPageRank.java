@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.pagerank.PageRank.DEFAULT_WEIGHT;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Computes personalized Page Rank for many sets of source nodes.
+ * <p>
+ * The sets are processed in batches of {@code batchSize}. The scores of all sets in a batch
+ * are stored interleaved, i.e. the scores of node {@code n} for the sets in the batch are
+ * located at {@code [n * batchSize, (n + 1) * batchSize)}.
+ * That way, a single pass over the incoming relationships of a node updates the scores for
+ * all sets in the batch at once.
+ * <p>
+ * Only the {@code topK} highest scores per set are kept, so the memory usage is
+ * bounded by the batch size instead of by the number of sets.
+ */
+public class BatchedPersonalizedPageRank extends Algorithm<BatchedPersonalizedPageRank, BatchedPersonalizedPageRank.Result> {
+
+    private final Graph graph;
+    private final List<long[]> sourceNodeSets;
+    private final BatchedPersonalizedPageRankStreamConfig config;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final double alpha;
+    private final boolean weighted;
+
+    BatchedPersonalizedPageRank(
+        Graph graph,
+        BatchedPersonalizedPageRankStreamConfig config,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.sourceNodeSets = config.sourceNodeIdSets();
+        this.config = config;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.progressLogger = progressLogger;
+        this.alpha = 1.0 - config.dampingFactor();
+        this.weighted = config.relationshipWeightProperty() != null;
+    }
+
+    @Override
+    public Result compute() {
+        progressLogger.logMessage(":: Start");
+
+        long nodeCount = graph.nodeCount();
+        int setCount = sourceNodeSets.size();
+        int batchSize = Math.min(config.batchSize(), setCount);
+        List<Partition> partitions = PartitionUtils.rangePartition(config.concurrency(), nodeCount);
+
+        HugeDoubleArray inverseDegrees = inverseDegrees(partitions);
+        InverseAdjacencyIndex inverseIndex = graph.isUndirected()
+            ? null
+            : InverseAdjacencyIndex.build(graph, weighted, config.concurrency(), executor, tracker);
+
+        HugeDoubleArray scores = HugeDoubleArray.newArray(nodeCount * batchSize, tracker);
+        HugeDoubleArray nextScores = HugeDoubleArray.newArray(nodeCount * batchSize, tracker);
+        BoundedLongPriorityQueue[] topK = new BoundedLongPriorityQueue[setCount];
+
+        for (int batchStart = 0; batchStart < setCount; batchStart += batchSize) {
+            int batchLength = Math.min(batchSize, setCount - batchStart);
+            progressLogger.logMessage(formatWithLocale(
+                ":: Source node sets %d to %d :: Start",
+                batchStart,
+                batchStart + batchLength - 1
+            ));
+
+            BitSet sourceNodes = new BitSet(nodeCount * batchSize);
+            scores.fill(0.0);
+            for (int set = 0; set < batchLength; set++) {
+                for (long sourceNodeId : sourceNodeSets.get(batchStart + set)) {
+                    long mappedId = graph.toMappedNodeId(sourceNodeId);
+                    if (mappedId != -1L) {
+                        sourceNodes.set(mappedId * batchSize + set);
+                        scores.set(mappedId * batchSize + set, alpha);
+                    }
+                }
+            }
+
+            for (int iteration = 0; iteration < config.maxIterations(); iteration++) {
+                assertRunning();
+                double maxDelta = iterate(
+                    partitions,
+                    inverseIndex,
+                    inverseDegrees,
+                    sourceNodes,
+                    scores,
+                    nextScores,
+                    batchSize,
+                    batchLength
+                );
+
+                HugeDoubleArray tmp = scores;
+                scores = nextScores;
+                nextScores = tmp;
+
+                if (maxDelta <= config.tolerance()) {
+                    break;
+                }
+            }
+
+            collectTopK(partitions, scores, batchSize, batchLength, batchStart, topK);
+
+            progressLogger.logProgress(batchLength);
+            progressLogger.logMessage(formatWithLocale(
+                ":: Source node sets %d to %d :: Finished",
+                batchStart,
+                batchStart + batchLength - 1
+            ));
+        }
+
+        tracker.remove(scores.release());
+        tracker.remove(nextScores.release());
+        tracker.remove(inverseDegrees.release());
+        if (inverseIndex != null) {
+            inverseIndex.release(tracker);
+        }
+
+        progressLogger.logMessage(":: Finished");
+        return new Result(topK);
+    }
+
+    @Override
+    public BatchedPersonalizedPageRank me() {
+        return this;
+    }
+
+    @Override
+    public void release() {}
+
+    private HugeDoubleArray inverseDegrees(List<Partition> partitions) {
+        HugeDoubleArray inverseDegrees = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
+        List<Runnable> tasks = partitions.stream()
+            .map(partition -> (Runnable) () -> {
+                RelationshipIterator relationships = graph.concurrentCopy();
+                double[] degree = new double[1];
+                long endNode = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                    if (weighted) {
+                        degree[0] = 0.0;
+                        relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, (source, target, weight) -> {
+                            if (weight > 0) {
+                                degree[0] += weight;
+                            }
+                            return true;
+                        });
+                    } else {
+                        degree[0] = graph.degree(nodeId);
+                    }
+                    inverseDegrees.set(nodeId, degree[0] > 0 ? 1.0 / degree[0] : 0.0);
+                }
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
+        return inverseDegrees;
+    }
+
+    private double iterate(
+        List<Partition> partitions,
+        InverseAdjacencyIndex inverseIndex,
+        HugeDoubleArray inverseDegrees,
+        BitSet sourceNodes,
+        HugeDoubleArray scores,
+        HugeDoubleArray nextScores,
+        int batchSize,
+        int batchLength
+    ) {
+        double dampingFactor = config.dampingFactor();
+        double[] maxDeltas = new double[partitions.size()];
+        List<Runnable> tasks = new ArrayList<>(partitions.size());
+
+        for (int i = 0; i < partitions.size(); i++) {
+            int partitionIndex = i;
+            Partition partition = partitions.get(i);
+            tasks.add(() -> {
+                RelationshipIterator relationships = graph.concurrentCopy();
+                double[] sums = new double[batchLength];
+                RelationshipWithPropertyConsumer pull = (source, target, property) -> {
+                    double weight = weighted ? property : DEFAULT_WEIGHT;
+                    if (weight > 0) {
+                        double scale = weight * inverseDegrees.get(target);
+                        if (scale != 0.0) {
+                            long offset = target * batchSize;
+                            for (int set = 0; set < batchLength; set++) {
+                                sums[set] += scores.get(offset + set) * scale;
+                            }
+                        }
+                    }
+                    return true;
+                };
+
+                double maxDelta = 0.0;
+                long endNode = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                    Arrays.fill(sums, 0.0);
+                    if (inverseIndex == null) {
+                        relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, pull);
+                    } else {
+                        long end = inverseIndex.endOffset(nodeId);
+                        for (long offset = inverseIndex.startOffset(nodeId); offset < end; offset++) {
+                            double property = weighted ? inverseIndex.weight(offset) : DEFAULT_WEIGHT;
+                            pull.accept(nodeId, inverseIndex.source(offset), property);
+                        }
+                    }
+
+                    long offset = nodeId * batchSize;
+                    for (int set = 0; set < batchLength; set++) {
+                        double score = dampingFactor * sums[set];
+                        if (sourceNodes.get(offset + set)) {
+                            score += alpha;
+                        }
+                        maxDelta = Math.max(maxDelta, Math.abs(score - scores.get(offset + set)));
+                        nextScores.set(offset + set, score);
+                    }
+                }
+                maxDeltas[partitionIndex] = maxDelta;
+            });
+        }
+
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
+        return Arrays.stream(maxDeltas).max().orElse(0.0);
+    }
+
+    private void collectTopK(
+        List<Partition> partitions,
+        HugeDoubleArray scores,
+        int batchSize,
+        int batchLength,
+        int batchStart,
+        BoundedLongPriorityQueue[] topK
+    ) {
+        int k = config.topK();
+        BoundedLongPriorityQueue[][] partitionTopK = new BoundedLongPriorityQueue[partitions.size()][batchLength];
+        List<Runnable> tasks = new ArrayList<>(partitions.size());
+
+        for (int i = 0; i < partitions.size(); i++) {
+            BoundedLongPriorityQueue[] queues = partitionTopK[i];
+            Partition partition = partitions.get(i);
+            tasks.add(() -> {
+                Arrays.setAll(queues, set -> BoundedLongPriorityQueue.max(k));
+                long endNode = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                    long offset = nodeId * batchSize;
+                    for (int set = 0; set < batchLength; set++) {
+                        double score = scores.get(offset + set);
+                        if (score > 0) {
+                            queues[set].offer(nodeId, score);
+                        }
+                    }
+                }
+            });
+        }
+
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
+
+        for (int set = 0; set < batchLength; set++) {
+            BoundedLongPriorityQueue queue = BoundedLongPriorityQueue.max(k);
+            for (BoundedLongPriorityQueue[] queues : partitionTopK) {
+                queues[set].forEach(queue::offer);
+            }
+            topK[batchStart + set] = queue;
+        }
+    }
+
+    public static final class Result {
+
+        private final BoundedLongPriorityQueue[] topK;
+
+        Result(BoundedLongPriorityQueue[] topK) {
+            this.topK = topK;
+        }
+
+        public int sourceNodeSetCount() {
+            return topK.length;
+        }
+
+        /**
+         * Calls the consumer with the internal node id and score of the top-k nodes
+         * of the given source node set, in descending order of their score.
+         */
+        public void forEachTopK(int sourceNodeSet, BoundedLongPriorityQueue.Consumer consumer) {
+            topK[sourceNodeSet].forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
+import org.neo4j.logging.Log;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfBitset;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+public class BatchedPersonalizedPageRankFactory implements AlgorithmFactory<BatchedPersonalizedPageRank, BatchedPersonalizedPageRankStreamConfig> {
+
+    @Override
+    public BatchedPersonalizedPageRank build(
+        Graph graph,
+        BatchedPersonalizedPageRankStreamConfig configuration,
+        AllocationTracker tracker,
+        Log log
+    ) {
+        var progressLogger = new BatchingProgressLogger(
+            log,
+            configuration.sourceNodeSets().size(),
+            "BatchedPersonalizedPageRank",
+            configuration.concurrency()
+        );
+
+        return new BatchedPersonalizedPageRank(
+            graph,
+            configuration,
+            Pools.DEFAULT,
+            progressLogger,
+            tracker
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(BatchedPersonalizedPageRankStreamConfig config) {
+        int setCount = config.sourceNodeSets().size();
+        int batchSize = Math.min(config.batchSize(), setCount);
+        boolean weighted = config.relationshipWeightProperty() != null;
+
+        return MemoryEstimations.builder(BatchedPersonalizedPageRank.class)
+            .perNode("inverse degrees", HugeDoubleArray::memoryEstimation)
+            .add("inverse index", InverseAdjacencyIndex.memoryEstimation(weighted))
+            .perNode("scores", nodeCount -> 2 * HugeDoubleArray.memoryEstimation(nodeCount * batchSize))
+            .perNode("source nodes", nodeCount -> sizeOfBitset(nodeCount * batchSize))
+            .fixed("top-k wrapper", sizeOfObjectArray(setCount))
+            .add("top-k", BoundedLongPriorityQueue.memoryEstimation(config.topK()).times(setCount))
+            .add(
+                "top-k per thread",
+                MemoryEstimations.setup("", (dimensions, concurrency) ->
+                    BoundedLongPriorityQueue.memoryEstimation(config.topK()).times((long) batchSize * concurrency)
+                )
+            )
+            .build();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.IterationsConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.config.ToleranceConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphdb.Node;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@ValueClass
+@Configuration
+@SuppressWarnings("immutables:subtype")
+public interface BatchedPersonalizedPageRankStreamConfig extends
+    AlgoBaseConfig,
+    RelationshipWeightConfig,
+    ToleranceConfig,
+    IterationsConfig {
+
+    String SOURCE_NODE_SETS_KEY = "sourceNodeSets";
+
+    /**
+     * The personalization vectors, one list of source nodes or node ids per vector.
+     */
+    List<List<Object>> sourceNodeSets();
+
+    @Value.Default
+    @Override
+    default double tolerance() {
+        return 1E-7;
+    }
+
+    @Value.Default
+    @Override
+    default int maxIterations() {
+        return 20;
+    }
+
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, maxInclusive = false)
+    default double dampingFactor() {
+        return 0.85;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int topK() {
+        return 10;
+    }
+
+    /**
+     * The number of personalization vectors that are computed together in one pass over the relationships.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int batchSize() {
+        return 32;
+    }
+
+    @Configuration.Ignore
+    default List<long[]> sourceNodeIdSets() {
+        return sourceNodeSets()
+            .stream()
+            .map(sourceNodes -> sourceNodes.stream().mapToLong(BatchedPersonalizedPageRankStreamConfig::nodeId).toArray())
+            .collect(Collectors.toList());
+    }
+
+    @Value.Check
+    default void validateSourceNodeSets() {
+        List<?> sourceNodeSets = sourceNodeSets();
+        if (sourceNodeSets.isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The `%s` parameter must contain at least one list of source nodes.",
+                SOURCE_NODE_SETS_KEY
+            ));
+        }
+        for (Object sourceNodes : sourceNodeSets) {
+            if (!(sourceNodes instanceof List)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The `%s` parameter must contain lists of source nodes, but found `%s`.",
+                    SOURCE_NODE_SETS_KEY,
+                    sourceNodes
+                ));
+            }
+            ((List<?>) sourceNodes).forEach(BatchedPersonalizedPageRankStreamConfig::nodeId);
+        }
+    }
+
+    static long nodeId(Object sourceNode) {
+        if (sourceNode instanceof Node) {
+            return ((Node) sourceNode).getId();
+        }
+        if (sourceNode instanceof Number) {
+            return ((Number) sourceNode).longValue();
+        }
+        throw new IllegalArgumentException(formatWithLocale(
+            "The `%s` parameter must contain lists of nodes or node ids, but found `%s`.",
+            SOURCE_NODE_SETS_KEY,
+            sourceNode
+        ));
+    }
+
+    static BatchedPersonalizedPageRankStreamConfig of(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return new BatchedPersonalizedPageRankStreamConfigImpl(
+            graphName,
+            maybeImplicitCreate,
+            username,
+            userInput
+        );
+    }
+}
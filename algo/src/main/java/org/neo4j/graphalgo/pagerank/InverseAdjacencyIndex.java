@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.pagerank.PageRank.DEFAULT_WEIGHT;
+
+/**
+ * Compressed sparse row index of the incoming relationships of a graph.
+ * The sources of the incoming relationships of node {@code n} are stored
+ * in {@code sources} in the range {@code [offsets[n], offsets[n + 1])}.
+ * If weights are indexed, the weight of each incoming relationship is stored
+ * at the same position in {@code weights}.
+ */
+final class InverseAdjacencyIndex {
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray sources;
+    private final HugeDoubleArray weights;
+
+    private InverseAdjacencyIndex(HugeLongArray offsets, HugeLongArray sources, HugeDoubleArray weights) {
+        this.offsets = offsets;
+        this.sources = sources;
+        this.weights = weights;
+    }
+
+    static MemoryEstimation memoryEstimation(boolean weighted) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(InverseAdjacencyIndex.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perGraphDimension("sources", (dimensions, concurrency) -> MemoryRange.of(
+                HugeLongArray.memoryEstimation(dimensions.maxRelCount())
+            ));
+        if (weighted) {
+            builder.perGraphDimension("weights", (dimensions, concurrency) -> MemoryRange.of(
+                HugeDoubleArray.memoryEstimation(dimensions.maxRelCount())
+            ));
+        }
+        return builder.build();
+    }
+
+    static InverseAdjacencyIndex build(
+        Graph graph,
+        boolean indexWeights,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+
+        // count the incoming relationships of each node
+        HugeAtomicLongArray positions = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        runForEachRelationship(graph, partitions, executor, (source, target, weight) -> {
+            positions.getAndAdd(target, 1L);
+            return true;
+        });
+
+        // turn the in-degrees into offsets and use them as insert positions
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += positions.get(nodeId);
+            positions.set(nodeId, offsets.get(nodeId));
+        }
+        offsets.set(nodeCount, offset);
+
+        HugeLongArray sources = HugeLongArray.newArray(offset, tracker);
+        HugeDoubleArray weights = indexWeights ? HugeDoubleArray.newArray(offset, tracker) : null;
+        runForEachRelationship(graph, partitions, executor, (source, target, weight) -> {
+            long position = positions.getAndAdd(target, 1L);
+            sources.set(position, source);
+            if (weights != null) {
+                weights.set(position, weight);
+            }
+            return true;
+        });
+
+        tracker.remove(positions.release());
+        return new InverseAdjacencyIndex(offsets, sources, weights);
+    }
+
+    private static void runForEachRelationship(
+        Graph graph,
+        List<Partition> partitions,
+        ExecutorService executor,
+        RelationshipWithPropertyConsumer consumer
+    ) {
+        List<Runnable> tasks = partitions.stream()
+            .map(partition -> (Runnable) () -> {
+                RelationshipIterator relationships = graph.concurrentCopy();
+                long endNode = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                    relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, consumer);
+                }
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(partitions.size(), tasks, executor);
+    }
+
+    long startOffset(long nodeId) {
+        return offsets.get(nodeId);
+    }
+
+    long endOffset(long nodeId) {
+        return offsets.get(nodeId + 1);
+    }
+
+    long source(long offset) {
+        return sources.get(offset);
+    }
+
+    double weight(long offset) {
+        return weights.get(offset);
+    }
+
+    void release(AllocationTracker tracker) {
+        tracker.remove(offsets.release());
+        tracker.remove(sources.release());
+        if (weights != null) {
+            tracker.remove(weights.release());
+        }
+    }
+}
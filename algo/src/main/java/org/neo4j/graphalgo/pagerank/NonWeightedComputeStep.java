@@ -59,7 +59,7 @@ public class NonWeightedComputeStep extends BaseComputeStep implements Relations
         RelationshipIterator rels = this.relationshipIterator;
         for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
             double delta = deltas[(int) (nodeId - startNode)];
-            if (delta > 0.0) {
+            if (isActive(delta)) {
                 int degree = degrees.degree(nodeId);
                 if (degree > 0) {
                     srcRankDelta = (float) (delta / degree);
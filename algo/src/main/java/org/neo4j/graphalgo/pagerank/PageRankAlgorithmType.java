@@ -19,6 +19,11 @@
  */
 package org.neo4j.graphalgo.pagerank;
 
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
 public enum PageRankAlgorithmType implements PageRankAlgorithm {
 
     WEIGHTED {
@@ -43,5 +48,25 @@ public enum PageRankAlgorithmType implements PageRankAlgorithm {
         public Class<NonWeightedComputeStep> computeStepClass() {
             return NonWeightedComputeStep.class;
         }
+    },
+
+    PULL {
+        @Override
+        public PageRankVariant variant(final PageRankBaseConfig config) {
+            return new PullPageRankVariant(config.relationshipWeightProperty() != null);
+        }
+
+        @Override
+        public Class<PullComputeStep> computeStepClass() {
+            return PullComputeStep.class;
+        }
+
+        @Override
+        public MemoryEstimation memoryEstimation() {
+            return MemoryEstimations.setup("ComputeStep", (dimensions, concurrency) -> {
+                long nodesPerThread = ceilDiv(dimensions.nodeCount(), concurrency);
+                return PullComputeStep.estimateMemory((int) nodesPerThread);
+            });
+        }
     }
 }
@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.logging.Log;
 
 public class PageRankFactory<CONFIG extends PageRankBaseConfig> implements AlgorithmFactory<PageRank, CONFIG> {
@@ -57,7 +58,7 @@ public class PageRankFactory<CONFIG extends PageRankBaseConfig> implements Algor
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG config) {
-        return MemoryEstimations.builder(PageRank.class)
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(PageRank.class)
             .add(MemoryEstimations.setup("computeSteps", (dimensions, concurrency) -> MemoryEstimations
                 .builder(PageRank.ComputeSteps.class)
                 .perThread("scores[] wrapper", MemoryUsage::sizeOfObjectArray)
@@ -65,11 +66,25 @@ public class PageRankFactory<CONFIG extends PageRankBaseConfig> implements Algor
                 .perThread("lengths[]", MemoryUsage::sizeOfLongArray)
                 .perThread("list of computeSteps", MemoryUsage::sizeOfObjectArray)
                 .perThread("ComputeStep", algorithmType(config).memoryEstimation())
-                .build()))
-            .build();
+                .build()));
+
+        if (config.pullMode()) {
+            builder
+                .perNode("contributions", HugeDoubleArray::memoryEstimation)
+                .add("inverse index", InverseAdjacencyIndex.memoryEstimation(config.relationshipWeightProperty() != null));
+        }
+
+        if (config.isIncremental()) {
+            builder.perNode("base scores", MemoryUsage::sizeOfDoubleArray);
+        }
+
+        return builder.build();
     }
 
     private PageRankAlgorithmType algorithmType(PageRankBaseConfig configuration) {
+        if (configuration.pullMode()) {
+            return PageRankAlgorithmType.PULL;
+        }
         return configuration.relationshipWeightProperty() == null
             ? PageRankAlgorithmType.NON_WEIGHTED
             : PageRankAlgorithmType.WEIGHTED;
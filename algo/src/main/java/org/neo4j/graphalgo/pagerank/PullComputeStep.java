@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.pagerank.PageRank.DEFAULT_WEIGHT;
+
+/**
+ * The calculation phase publishes the score contribution of every node in the partition,
+ * i.e. its delta divided by its (weighted) degree.
+ * The synchronization phase then sums up the contributions of the predecessors of every node
+ * in the partition. As every step only writes to its own nodes, no partial scores are exchanged.
+ */
+public class PullComputeStep extends BaseComputeStep implements RelationshipWithPropertyConsumer {
+
+    private static final float[][] NO_SCORES = new float[0][];
+
+    private final HugeDoubleArray aggregatedDegrees;
+    private final InverseAdjacencyIndex inverseIndex;
+    private final HugeDoubleArray contributions;
+    private double sum;
+
+    PullComputeStep(
+        double dampingFactor,
+        double toleranceValue,
+        long[] sourceNodeIds,
+        Graph graph,
+        AllocationTracker tracker,
+        int partitionSize,
+        long startNode,
+        PullPageRankVariant.PullDegreeCache degreeCache,
+        ProgressLogger progressLogger
+    ) {
+        super(
+            dampingFactor,
+            toleranceValue,
+            sourceNodeIds,
+            graph,
+            tracker,
+            partitionSize,
+            startNode,
+            progressLogger
+        );
+        this.aggregatedDegrees = degreeCache.aggregatedDegrees();
+        this.inverseIndex = degreeCache.inverseIndex();
+        this.contributions = degreeCache.contributions();
+    }
+
+    static MemoryEstimation estimateMemory(int partitionSize) {
+        return MemoryEstimations.builder(PullComputeStep.class)
+            .fixed("pageRank[]", sizeOfDoubleArray(partitionSize))
+            .fixed("deltas[]", sizeOfDoubleArray(partitionSize))
+            .build();
+    }
+
+    @Override
+    float[][] initialNextScores(long[] starts, int[] lengths, AllocationTracker tracker) {
+        return NO_SCORES;
+    }
+
+    @Override
+    void singleIteration() {
+        long startNode = this.startNode;
+        long endNode = this.endNode;
+        for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
+            double delta = deltas[(int) (nodeId - startNode)];
+            double contribution = 0.0;
+            if (isActive(delta)) {
+                double degree = aggregatedDegrees == null
+                    ? degrees.degree(nodeId)
+                    : aggregatedDegrees.get(nodeId);
+                if (degree > 0) {
+                    contribution = delta / degree;
+                }
+            }
+            contributions.set(nodeId, contribution);
+        }
+    }
+
+    @Override
+    boolean combineScores() {
+        long startNode = this.startNode;
+        long endNode = this.endNode;
+        boolean shouldBreak = true;
+
+        for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
+            sum = 0.0;
+            if (inverseIndex == null) {
+                relationshipIterator.forEachRelationship(nodeId, DEFAULT_WEIGHT, this);
+                progressLogger.logProgress(graph.degree(nodeId));
+            } else {
+                long start = inverseIndex.startOffset(nodeId);
+                long end = inverseIndex.endOffset(nodeId);
+                for (long offset = start; offset < end; offset++) {
+                    pull(
+                        inverseIndex.source(offset),
+                        aggregatedDegrees == null ? DEFAULT_WEIGHT : inverseIndex.weight(offset)
+                    );
+                }
+                progressLogger.logProgress(end - start);
+            }
+
+            double delta = updateScore((int) (nodeId - startNode), sum);
+            if (Math.abs(delta) > tolerance) {
+                shouldBreak = false;
+            }
+        }
+
+        return shouldBreak;
+    }
+
+    @Override
+    public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+        pull(targetNodeId, property);
+        return true;
+    }
+
+    private void pull(long predecessor, double weight) {
+        if (aggregatedDegrees == null) {
+            sum += contributions.get(predecessor);
+        } else if (weight > 0) {
+            sum += contributions.get(predecessor) * weight;
+        }
+    }
+}
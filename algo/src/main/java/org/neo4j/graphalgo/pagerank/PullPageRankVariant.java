@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+/**
+ * Page Rank variant that pulls the scores of the predecessors of a node
+ * instead of pushing partial scores to the successors.
+ * For directed graphs, the predecessors are looked up in an {@link InverseAdjacencyIndex}
+ * that is built once before the first iteration. Undirected graphs are their own inverse.
+ */
+public class PullPageRankVariant implements PageRankVariant {
+
+    private final boolean weighted;
+
+    PullPageRankVariant(boolean weighted) {
+        this.weighted = weighted;
+    }
+
+    @Override
+    public PullComputeStep createComputeStep(
+            double dampingFactor,
+            double toleranceValue,
+            long[] sourceNodeIds,
+            Graph graph,
+            AllocationTracker tracker,
+            int partitionSize,
+            long start,
+            DegreeCache aggregatedDegrees,
+            long nodeCount,
+            ProgressLogger progressLogger
+    ) {
+        return new PullComputeStep(
+                dampingFactor,
+                toleranceValue,
+                sourceNodeIds,
+                graph,
+                tracker,
+                partitionSize,
+                start,
+                (PullDegreeCache) aggregatedDegrees,
+                progressLogger
+        );
+    }
+
+    @Override
+    public DegreeComputer degreeComputer(Graph graph) {
+        return (executor, concurrency, tracker) -> {
+            HugeDoubleArray aggregatedDegrees = weighted
+                ? new WeightedDegreeComputer(graph, false).degree(executor, concurrency, tracker).aggregatedDegrees()
+                : null;
+            InverseAdjacencyIndex inverseIndex = graph.isUndirected()
+                ? null
+                : InverseAdjacencyIndex.build(graph, weighted, concurrency, executor, tracker);
+            return new PullDegreeCache(
+                aggregatedDegrees,
+                inverseIndex,
+                HugeDoubleArray.newArray(graph.nodeCount(), tracker)
+            );
+        };
+    }
+
+    /**
+     * Shares the inverse index and the published score contributions between all compute steps.
+     */
+    static final class PullDegreeCache extends DegreeCache {
+
+        private final InverseAdjacencyIndex inverseIndex;
+        private final HugeDoubleArray contributions;
+
+        PullDegreeCache(
+            HugeDoubleArray aggregatedDegrees,
+            InverseAdjacencyIndex inverseIndex,
+            HugeDoubleArray contributions
+        ) {
+            super(
+                aggregatedDegrees,
+                HugeObjectArray.newArray(HugeDoubleArray.class, 0, AllocationTracker.empty()),
+                0.0
+            );
+            this.inverseIndex = inverseIndex;
+            this.contributions = contributions;
+        }
+
+        InverseAdjacencyIndex inverseIndex() {
+            return inverseIndex;
+        }
+
+        HugeDoubleArray contributions() {
+            return contributions;
+        }
+
+        @Override
+        public void release(AllocationTracker tracker) {
+            if (inverseIndex != null) {
+                inverseIndex.release(tracker);
+            }
+            tracker.remove(contributions.release());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Brings an {@link HnswIndex} in sync with the node property and queries it
+ * for the most similar nodes of the source nodes.
+ */
+public class Hnsw extends Algorithm<Hnsw, Hnsw.Result> {
+
+    private final Graph graph;
+    private final HnswIndex index;
+    private final List<NodeProperties> sources;
+    private final HnswStreamConfig config;
+    private final ExecutorService executor;
+
+    Hnsw(
+        Graph graph,
+        HnswIndex index,
+        List<NodeProperties> sources,
+        HnswStreamConfig config,
+        ExecutorService executor,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.index = index;
+        this.sources = sources;
+        this.config = config;
+        this.executor = executor;
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public Result compute() {
+        var nodeProperties = Objects.requireNonNull(
+            graph.nodeProperties(config.nodeWeightProperty()),
+            () -> formatWithLocale("The property `%s` has not been loaded", config.nodeWeightProperty())
+        );
+
+        progressLogger.logMessage(":: Index update :: Start");
+        var insertedNodes = index.update(nodeProperties, sources, config.concurrency(), executor);
+        progressLogger.logMessage(formatWithLocale(":: Index update :: Inserted %d nodes", insertedNodes));
+
+        var sourceNodes = config.sourceNodes().isEmpty()
+            ? LongStream.range(0, graph.nodeCount()).toArray()
+            : Arrays.stream(config.sourceNodeIds()).map(graph::toMappedNodeId).filter(nodeId -> nodeId != -1L).toArray();
+
+        var topK = config.topK();
+        var ef = config.ef();
+        var neighbors = new SimilarityResult[sourceNodes.length][];
+        ParallelUtil.readParallel(config.concurrency(), sourceNodes.length, executor, (start, end) -> {
+            for (long i = start; i < end; i++) {
+                neighbors[(int) i] = index.search(sourceNodes[(int) i], topK, ef);
+                progressLogger.logProgress();
+            }
+        });
+
+        return new Result(neighbors, insertedNodes);
+    }
+
+    @Override
+    public Hnsw me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+
+    }
+
+    public static final class Result {
+        private final SimilarityResult[][] neighbors;
+        private final long insertedNodes;
+
+        Result(SimilarityResult[][] neighbors, long insertedNodes) {
+            this.neighbors = neighbors;
+            this.insertedNodes = insertedNodes;
+        }
+
+        /**
+         * The most similar nodes per source node with internal node ids, most similar first.
+         */
+        public Stream<SimilarityResult> streamSimilarityResult() {
+            return Arrays.stream(neighbors).flatMap(Arrays::stream);
+        }
+
+        /**
+         * The number of nodes that have been (re-)inserted into the index to bring it in sync with the property.
+         */
+        public long insertedNodes() {
+            return insertedNodes;
+        }
+    }
+}
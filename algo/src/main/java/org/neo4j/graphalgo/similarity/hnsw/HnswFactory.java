@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+import org.neo4j.logging.Log;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * Builds {@link Hnsw} with the index that is kept next to the graph in the catalog.
+ * Graphs that are not from the catalog get a new index that is dropped after the query.
+ */
+public final class HnswFactory implements AlgorithmFactory<Hnsw, HnswStreamConfig> {
+
+    private final @Nullable GraphStore graphStore;
+
+    public HnswFactory() {
+        this(null);
+    }
+
+    public HnswFactory(@Nullable GraphStore graphStore) {
+        this.graphStore = graphStore;
+    }
+
+    @Override
+    public Hnsw build(Graph graph, HnswStreamConfig configuration, AllocationTracker tracker, Log log) {
+        var progressLogger = new BatchingProgressLogger(
+            log,
+            configuration.sourceNodes().isEmpty() ? graph.nodeCount() : configuration.sourceNodes().size(),
+            "HNSW",
+            configuration.concurrency()
+        );
+
+        if (graphStore == null) {
+            var index = HnswIndex.of(graph.nodeCount(), List.of(), configuration);
+            return new Hnsw(graph, index, List.of(), configuration, Pools.DEFAULT, progressLogger);
+        }
+
+        Collection<NodeLabel> nodeLabels = configuration.nodeLabelIdentifiers(graphStore);
+        var property = configuration.nodeWeightProperty();
+        List<NodeProperties> sources = nodeLabels
+            .stream()
+            .filter(label -> graphStore.nodePropertyKeys(label).contains(property))
+            .map(label -> graphStore.nodePropertyValues(label, property))
+            .collect(Collectors.toList());
+
+        var index = configuration.graphName()
+            .map(graphName -> GraphStoreCatalog
+                .computeAlgorithmStateIfAbsent(
+                    configuration.username(),
+                    graphStore.databaseId(),
+                    graphName,
+                    HnswIndexes.class,
+                    HnswIndexes::new
+                )
+                .getOrCreate(graph.nodeCount(), nodeLabels, configuration))
+            .orElseGet(() -> HnswIndex.of(graph.nodeCount(), nodeLabels, configuration));
+
+        return new Hnsw(graph, index, sources, configuration, Pools.DEFAULT, progressLogger);
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(HnswStreamConfig configuration) {
+        return MemoryEstimations.builder(Hnsw.class)
+            .add("index", HnswIndex.memoryEstimation(configuration.maxConnections()))
+            .perNode("results", nodeCount -> {
+                var sourceNodeCount = configuration.sourceNodes().isEmpty()
+                    ? nodeCount
+                    : configuration.sourceNodes().size();
+                var topK = configuration.topK();
+                return sizeOfObjectArray(sourceNodeCount)
+                       + sourceNodeCount * (sizeOfObjectArray(topK) + topK * sizeOfInstance(SimilarityResult.class));
+            })
+            .build();
+    }
+}
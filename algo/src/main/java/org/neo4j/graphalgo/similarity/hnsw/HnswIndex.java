@@ -0,0 +1,709 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A hierarchical navigable small world graph over a float or double array node property,
+ * which answers approximate top-k cosine similarity queries by walking the graph
+ * instead of comparing the query to every other node.
+ *
+ * https://arxiv.org/abs/1603.09320
+ *
+ * The index does not copy the vectors, it only keeps their norms and hashes.
+ * {@link #update} compares these to the current property values and (re-)inserts only those nodes
+ * whose vector has changed, which keeps an index in the catalog in sync with a property that is mutated again.
+ * Nodes without a vector, or with a zero vector, are never returned.
+ */
+public final class HnswIndex {
+
+    static final int MAX_LEVEL = 16;
+
+    private static final SimilarityResult[] NO_RESULTS = new SimilarityResult[0];
+
+    // every search state holds an int[nodeCount], more states than cores cannot be in use at the same time
+    private static final int MAX_POOLED_SEARCH_STATES = Runtime.getRuntime().availableProcessors();
+
+    private final int nodeCount;
+    private final int maxConnections;
+    private final int maxLevelZeroConnections;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final long seed;
+    private final Set<NodeLabel> nodeLabels;
+
+    // -1 for nodes that have not been inserted
+    private final int[] levels;
+    // links[node][level] holds the number of neighbors followed by the neighbors, it is also the lock for them
+    private final int[][][] links;
+    private final float[] inverseNorms;
+    private final int[] hashes;
+
+    private final ReadWriteLock lock;
+    private final Object entryPointLock;
+    private final Queue<SearchState> searchStates;
+    private final AtomicInteger pooledSearchStates;
+
+    private int entryPoint;
+    private int maxLevel;
+    private @Nullable NodeProperties nodeProperties;
+    private boolean floatVectors;
+    private @Nullable List<NodeProperties> sources;
+
+    public static HnswIndex of(long nodeCount, Collection<NodeLabel> nodeLabels, HnswStreamConfig config) {
+        if (!supports(nodeCount)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The HNSW index supports at most %d nodes, but the graph has %d nodes.",
+                Integer.MAX_VALUE - 8,
+                nodeCount
+            ));
+        }
+        var seed = config.randomSeed() == -1L ? new SplittableRandom().nextLong() : config.randomSeed();
+        return new HnswIndex(
+            (int) nodeCount,
+            config.maxConnections(),
+            config.efConstruction(),
+            seed,
+            Set.copyOf(nodeLabels)
+        );
+    }
+
+    static boolean supports(long nodeCount) {
+        return nodeCount <= Integer.MAX_VALUE - 8;
+    }
+
+    private HnswIndex(int nodeCount, int maxConnections, int efConstruction, long seed, Set<NodeLabel> nodeLabels) {
+        this.nodeCount = nodeCount;
+        this.maxConnections = maxConnections;
+        this.maxLevelZeroConnections = 2 * maxConnections;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(maxConnections);
+        this.seed = seed;
+        this.nodeLabels = nodeLabels;
+        this.levels = new int[nodeCount];
+        Arrays.fill(levels, -1);
+        this.links = new int[nodeCount][][];
+        this.inverseNorms = new float[nodeCount];
+        this.hashes = new int[nodeCount];
+        this.lock = new ReentrantReadWriteLock();
+        this.entryPointLock = new Object();
+        this.searchStates = new ConcurrentLinkedQueue<>();
+        this.pooledSearchStates = new AtomicInteger();
+        this.entryPoint = -1;
+        this.maxLevel = -1;
+    }
+
+    public static MemoryEstimation memoryEstimation(int maxConnections) {
+        // every level above zero holds about 1/maxConnections of the nodes of the level below
+        return MemoryEstimations.builder(HnswIndex.class)
+            .perNode("levels", nodeCount -> sizeOfIntArray(nodeCount))
+            .perNode("inverse norms", nodeCount -> sizeOfFloatArray(nodeCount))
+            .perNode("hashes", nodeCount -> sizeOfIntArray(nodeCount))
+            .perNode("level zero links", nodeCount -> sizeOfObjectArray(nodeCount)
+                     + nodeCount * (sizeOfObjectArray(1) + sizeOfIntArray(2L * maxConnections + 1)))
+            .perNode("upper level links", nodeCount -> nodeCount / (maxConnections - 1)
+                     * (sizeOfObjectArray(1) + sizeOfIntArray(maxConnections + 1L)))
+            .perThread("search state", MemoryEstimations.builder(SearchState.class)
+                .perNode("visited", nodeCount -> sizeOfIntArray(nodeCount))
+                .build())
+            .build();
+    }
+
+    /**
+     * Returns true if the index has been built for the given node labels and construction parameters.
+     */
+    public boolean canBeUsedFor(Collection<NodeLabel> nodeLabels, HnswStreamConfig config) {
+        return this.nodeLabels.equals(Set.copyOf(nodeLabels))
+               && maxConnections == config.maxConnections()
+               && efConstruction == config.efConstruction();
+    }
+
+    /**
+     * Brings the index in sync with the given property values, unless they are taken from the same
+     * {@code sources} as during the last update, and returns the number of (re-)inserted nodes.
+     *
+     * @param nodeProperties the vectors for the nodes of the indexed graph
+     * @param sources        the property values in the graph store that back {@code nodeProperties}
+     */
+    public long update(
+        NodeProperties nodeProperties,
+        List<NodeProperties> sources,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        var valueType = nodeProperties.valueType();
+        if (valueType != ValueType.FLOAT_ARRAY && valueType != ValueType.DOUBLE_ARRAY) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The HNSW index requires a property of type [%s] or [%s], but got [%s].",
+                ValueType.FLOAT_ARRAY,
+                ValueType.DOUBLE_ARRAY,
+                valueType
+            ));
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (isBackedBy(sources)) {
+                return 0;
+            }
+            this.nodeProperties = nodeProperties;
+            this.floatVectors = valueType == ValueType.FLOAT_ARRAY;
+
+            var changed = new boolean[nodeCount];
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                for (int nodeId = (int) start; nodeId < end; nodeId++) {
+                    var hash = hash(nodeId);
+                    var inverseNorm = inverseNorm(nodeId);
+                    if (hash != hashes[nodeId]
+                        || Float.compare(inverseNorm, inverseNorms[nodeId]) != 0
+                        || (levels[nodeId] == -1 && inverseNorm != 0)) {
+                        hashes[nodeId] = hash;
+                        inverseNorms[nodeId] = inverseNorm;
+                        changed[nodeId] = true;
+                    }
+                }
+            });
+
+            // nodes that lost their vector stay in the graph, so that it remains connected
+            var insertedNodes = IntStream
+                .range(0, nodeCount)
+                .filter(nodeId -> changed[nodeId] && inverseNorms[nodeId] != 0)
+                .toArray();
+            ParallelUtil.readParallel(concurrency, insertedNodes.length, executor, (start, end) -> {
+                var state = searchState();
+                for (long i = start; i < end; i++) {
+                    insert(insertedNodes[(int) i], state);
+                }
+                releaseSearchState(state);
+            });
+            // the states of the construction threads are not needed for the following searches
+            searchStates.clear();
+            pooledSearchStates.set(0);
+
+            this.sources = List.copyOf(sources);
+            return insertedNodes.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isBackedBy(List<NodeProperties> sources) {
+        var currentSources = this.sources;
+        if (currentSources == null || currentSources.size() != sources.size()) {
+            return false;
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            if (currentSources.get(i) != sources.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the approximately {@code topK} most similar nodes to the given node, most similar first.
+     *
+     * @param ef the number of candidates that are tracked during the search, higher values increase the recall
+     */
+    public SimilarityResult[] search(long nodeId, int topK, int ef) {
+        lock.readLock().lock();
+        try {
+            var query = (int) nodeId;
+            if (inverseNorms[query] == 0) {
+                return NO_RESULTS;
+            }
+
+            int entryPoint;
+            int maxLevel;
+            synchronized (entryPointLock) {
+                entryPoint = this.entryPoint;
+                maxLevel = this.maxLevel;
+            }
+            if (entryPoint == -1) {
+                return NO_RESULTS;
+            }
+
+            var state = searchState();
+            try {
+                setQuery(query, state);
+                var current = entryPoint;
+                for (int level = maxLevel; level > 0; level--) {
+                    current = closest(query, current, level, state);
+                }
+                var candidates = searchLevel(query, current, Math.max(ef, topK), 0, state);
+                var count = state.sortDescending(candidates);
+
+                var results = new SimilarityResult[Math.min(topK, count)];
+                var resultCount = 0;
+                for (int i = 0; i < count && resultCount < results.length; i++) {
+                    var neighbor = state.sortedNodes[i];
+                    if (inverseNorms[neighbor] != 0) {
+                        results[resultCount++] = new SimilarityResult(nodeId, neighbor, state.sortedSimilarities[i]);
+                    }
+                }
+                return resultCount == results.length ? results : Arrays.copyOf(results, resultCount);
+            } finally {
+                releaseSearchState(state);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(int nodeId, SearchState state) {
+        var level = levels[nodeId];
+        if (level == -1) {
+            level = randomLevel(nodeId);
+            var nodeLinks = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                nodeLinks[l] = new int[capacity(l) + 1];
+            }
+            links[nodeId] = nodeLinks;
+            levels[nodeId] = level;
+        }
+
+        int entryPoint;
+        int maxLevel;
+        synchronized (entryPointLock) {
+            entryPoint = this.entryPoint;
+            maxLevel = this.maxLevel;
+            if (entryPoint == -1) {
+                this.entryPoint = nodeId;
+                this.maxLevel = level;
+                return;
+            }
+        }
+
+        setQuery(nodeId, state);
+        var current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = closest(nodeId, current, l, state);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            var candidates = searchLevel(nodeId, current, efConstruction, l, state);
+            var count = state.sortDescending(candidates);
+            if (count == 0) {
+                continue;
+            }
+            current = state.sortedNodes[0];
+
+            var selectedCount = selectNeighbors(
+                state.sortedNodes,
+                state.sortedSimilarities,
+                count,
+                maxConnections,
+                state.selected
+            );
+            var nodeLinks = links[nodeId][l];
+            synchronized (nodeLinks) {
+                nodeLinks[0] = selectedCount;
+                System.arraycopy(state.selected, 0, nodeLinks, 1, selectedCount);
+            }
+            for (int i = 0; i < selectedCount; i++) {
+                link(state.selected[i], nodeId, l, state);
+            }
+        }
+
+        if (level > maxLevel) {
+            synchronized (entryPointLock) {
+                if (level > this.maxLevel) {
+                    this.entryPoint = nodeId;
+                    this.maxLevel = level;
+                }
+            }
+        }
+    }
+
+    // adds the back link from the neighbor to the node, pruning the links of the neighbor if it has too many
+    private void link(int neighbor, int nodeId, int level, SearchState state) {
+        var neighborLinks = links[neighbor][level];
+        synchronized (neighborLinks) {
+            var count = neighborLinks[0];
+            for (int i = 1; i <= count; i++) {
+                if (neighborLinks[i] == nodeId) {
+                    return;
+                }
+            }
+            if (count < neighborLinks.length - 1) {
+                neighborLinks[count + 1] = nodeId;
+                neighborLinks[0] = count + 1;
+                return;
+            }
+
+            var candidates = state.pruneCandidates;
+            var similarities = state.pruneSimilarities;
+            for (int i = 0; i < count; i++) {
+                candidates[i] = neighborLinks[i + 1];
+                similarities[i] = similarity(neighbor, candidates[i]);
+            }
+            candidates[count] = nodeId;
+            similarities[count] = similarity(neighbor, nodeId);
+            sortDescending(candidates, similarities, count + 1);
+
+            var selectedCount = selectNeighbors(candidates, similarities, count + 1, count, state.pruneSelected);
+            neighborLinks[0] = selectedCount;
+            System.arraycopy(state.pruneSelected, 0, neighborLinks, 1, selectedCount);
+        }
+    }
+
+    /**
+     * Keeps a candidate only if it is more similar to the node than to all candidates kept so far,
+     * which spreads the links of a node into different directions (Algorithm 4 of the paper).
+     *
+     * @param candidates   the candidates sorted by their similarity to the node, most similar first
+     * @param similarities the similarities of the candidates to the node
+     */
+    private int selectNeighbors(int[] candidates, double[] similarities, int count, int maxCount, int[] selected) {
+        var selectedCount = 0;
+        for (int i = 0; i < count && selectedCount < maxCount; i++) {
+            var candidate = candidates[i];
+            var keep = true;
+            for (int j = 0; j < selectedCount; j++) {
+                if (similarity(candidate, selected[j]) > similarities[i]) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[selectedCount++] = candidate;
+            }
+        }
+        return selectedCount;
+    }
+
+    private int closest(int query, int start, int level, SearchState state) {
+        var current = start;
+        var currentSimilarity = similarityToQuery(current, state);
+        var buffer = state.neighbors;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            var count = copyLinks(current, level, buffer);
+            for (int i = 0; i < count; i++) {
+                var neighbor = buffer[i];
+                var similarity = similarityToQuery(neighbor, state);
+                if (similarity > currentSimilarity) {
+                    currentSimilarity = similarity;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // returns the (at most) ef nodes most similar to the query that are found from the entry point, excluding the query
+    private NodeHeap searchLevel(int query, int entryPoint, int ef, int level, SearchState state) {
+        state.startVisit();
+        var candidates = state.candidates;
+        var results = state.results;
+        var buffer = state.neighbors;
+        candidates.clear();
+        results.clear();
+
+        state.visit(entryPoint);
+        var entrySimilarity = similarityToQuery(entryPoint, state);
+        candidates.push(entryPoint, entrySimilarity);
+        if (entryPoint != query) {
+            results.push(entryPoint, -entrySimilarity);
+        }
+
+        while (!candidates.isEmpty()) {
+            var candidateSimilarity = candidates.topPriority();
+            if (results.size() >= ef && candidateSimilarity < -results.topPriority()) {
+                break;
+            }
+            var candidate = candidates.pop();
+
+            var count = copyLinks(candidate, level, buffer);
+            for (int i = 0; i < count; i++) {
+                var neighbor = buffer[i];
+                if (!state.visit(neighbor)) {
+                    continue;
+                }
+                var similarity = similarityToQuery(neighbor, state);
+                if (results.size() < ef || similarity > -results.topPriority()) {
+                    candidates.push(neighbor, similarity);
+                    if (neighbor != query) {
+                        results.push(neighbor, -similarity);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int copyLinks(int nodeId, int level, int[] buffer) {
+        var nodeLinks = links[nodeId];
+        if (nodeLinks == null || level >= nodeLinks.length) {
+            return 0;
+        }
+        var levelLinks = nodeLinks[level];
+        synchronized (levelLinks) {
+            var count = levelLinks[0];
+            System.arraycopy(levelLinks, 1, buffer, 0, count);
+            return count;
+        }
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? maxLevelZeroConnections : maxConnections;
+    }
+
+    private int randomLevel(int nodeId) {
+        // derived from the node id, so that the levels do not depend on the order of insertion
+        var uniform = new SplittableRandom(seed ^ nodeId).nextDouble();
+        return Math.min(MAX_LEVEL, (int) (-Math.log(1.0 - uniform) * levelMultiplier));
+    }
+
+    private void setQuery(int query, SearchState state) {
+        state.queryInverseNorm = inverseNorms[query];
+        if (floatVectors) {
+            state.queryFloats = nodeProperties.floatArrayValue(query);
+        } else {
+            state.queryDoubles = nodeProperties.doubleArrayValue(query);
+        }
+    }
+
+    // the query vector is looked up once per search, as it is compared to every visited node
+    private double similarityToQuery(int nodeId, SearchState state) {
+        var inverseNorms = state.queryInverseNorm * this.inverseNorms[nodeId];
+        if (inverseNorms == 0) {
+            return 0;
+        }
+        return floatVectors
+            ? dotProduct(state.queryFloats, nodeProperties.floatArrayValue(nodeId)) * (double) inverseNorms
+            : dotProduct(state.queryDoubles, nodeProperties.doubleArrayValue(nodeId)) * inverseNorms;
+    }
+
+    private double similarity(int nodeId1, int nodeId2) {
+        var inverseNorms = this.inverseNorms[nodeId1] * this.inverseNorms[nodeId2];
+        if (inverseNorms == 0) {
+            return 0;
+        }
+        return floatVectors
+            ? dotProduct(nodeProperties.floatArrayValue(nodeId1), nodeProperties.floatArrayValue(nodeId2)) * (double) inverseNorms
+            : dotProduct(nodeProperties.doubleArrayValue(nodeId1), nodeProperties.doubleArrayValue(nodeId2)) * inverseNorms;
+    }
+
+    private static double dotProduct(float[] vector1, float[] vector2) {
+        return Intersections.dotProduct(vector1, 0, vector2, 0, Math.min(vector1.length, vector2.length));
+    }
+
+    private static double dotProduct(double[] vector1, double[] vector2) {
+        var length = Math.min(vector1.length, vector2.length);
+        double dotProduct = 0;
+        for (int i = 0; i < length; i++) {
+            dotProduct += vector1[i] * vector2[i];
+        }
+        return dotProduct;
+    }
+
+    private float inverseNorm(int nodeId) {
+        double squaredNorm = 0;
+        if (floatVectors) {
+            var vector = nodeProperties.floatArrayValue(nodeId);
+            if (vector != null) {
+                for (float value : vector) {
+                    squaredNorm += value * value;
+                }
+            }
+        } else {
+            var vector = nodeProperties.doubleArrayValue(nodeId);
+            if (vector != null) {
+                for (double value : vector) {
+                    squaredNorm += value * value;
+                }
+            }
+        }
+        return squaredNorm == 0 ? 0 : (float) (1 / Math.sqrt(squaredNorm));
+    }
+
+    private int hash(int nodeId) {
+        return floatVectors
+            ? Arrays.hashCode(nodeProperties.floatArrayValue(nodeId))
+            : Arrays.hashCode(nodeProperties.doubleArrayValue(nodeId));
+    }
+
+    /**
+     * The number of bytes held by the index, including the pooled search states.
+     */
+    public long memoryUsage() {
+        lock.readLock().lock();
+        try {
+            long bytes = sizeOfIntArray(nodeCount) + sizeOfFloatArray(nodeCount) + sizeOfIntArray(nodeCount);
+            bytes += sizeOfObjectArray(nodeCount);
+            for (int[][] nodeLinks : links) {
+                if (nodeLinks != null) {
+                    bytes += sizeOfObjectArray(nodeLinks.length);
+                    for (int[] levelLinks : nodeLinks) {
+                        bytes += sizeOfIntArray(levelLinks.length);
+                    }
+                }
+            }
+            for (SearchState state : searchStates) {
+                bytes += state.memoryUsage();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchState searchState() {
+        var state = searchStates.poll();
+        if (state == null) {
+            return new SearchState();
+        }
+        pooledSearchStates.decrementAndGet();
+        return state;
+    }
+
+    private void releaseSearchState(SearchState state) {
+        if (pooledSearchStates.incrementAndGet() <= MAX_POOLED_SEARCH_STATES) {
+            searchStates.add(state);
+        } else {
+            pooledSearchStates.decrementAndGet();
+        }
+    }
+
+    private static void sortDescending(int[] nodes, double[] similarities, int count) {
+        // insertion sort, there are at most 2 * maxConnections + 1 elements
+        for (int i = 1; i < count; i++) {
+            var node = nodes[i];
+            var similarity = similarities[i];
+            var j = i - 1;
+            while (j >= 0 && similarities[j] < similarity) {
+                nodes[j + 1] = nodes[j];
+                similarities[j + 1] = similarities[j];
+                j--;
+            }
+            nodes[j + 1] = node;
+            similarities[j + 1] = similarity;
+        }
+    }
+
+    /**
+     * The buffers of one search, which are reused for later searches.
+     */
+    private final class SearchState {
+        private final int[] visitedEpochs;
+        private int epoch;
+        private final NodeHeap candidates;
+        private final NodeHeap results;
+        private final int[] neighbors;
+        private final int[] selected;
+        private final int[] pruneCandidates;
+        private final double[] pruneSimilarities;
+        private final int[] pruneSelected;
+        private int[] sortedNodes;
+        private double[] sortedSimilarities;
+        private float queryInverseNorm;
+        private float[] queryFloats;
+        private double[] queryDoubles;
+
+        SearchState() {
+            this.visitedEpochs = new int[nodeCount];
+            this.candidates = new NodeHeap();
+            this.results = new NodeHeap();
+            this.neighbors = new int[maxLevelZeroConnections];
+            this.selected = new int[maxLevelZeroConnections];
+            this.pruneCandidates = new int[maxLevelZeroConnections + 1];
+            this.pruneSimilarities = new double[maxLevelZeroConnections + 1];
+            this.pruneSelected = new int[maxLevelZeroConnections];
+            this.sortedNodes = new int[0];
+            this.sortedSimilarities = new double[0];
+        }
+
+        long memoryUsage() {
+            return sizeOfIntArray(visitedEpochs.length)
+                   + candidates.memoryUsage()
+                   + results.memoryUsage()
+                   + sizeOfIntArray(neighbors.length)
+                   + sizeOfIntArray(selected.length)
+                   + sizeOfIntArray(pruneCandidates.length)
+                   + sizeOfDoubleArray(pruneSimilarities.length)
+                   + sizeOfIntArray(pruneSelected.length)
+                   + sizeOfIntArray(sortedNodes.length)
+                   + sizeOfDoubleArray(sortedSimilarities.length);
+        }
+
+        void startVisit() {
+            if (++epoch == 0) {
+                Arrays.fill(visitedEpochs, 0);
+                epoch = 1;
+            }
+        }
+
+        // returns true if the node has not been visited before
+        boolean visit(int nodeId) {
+            if (visitedEpochs[nodeId] == epoch) {
+                return false;
+            }
+            visitedEpochs[nodeId] = epoch;
+            return true;
+        }
+
+        // empties the results of searchLevel into sortedNodes and sortedSimilarities, most similar first
+        int sortDescending(NodeHeap results) {
+            var count = results.size();
+            if (sortedNodes.length < count) {
+                sortedNodes = new int[count];
+                sortedSimilarities = new double[count];
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                sortedSimilarities[i] = -results.topPriority();
+                sortedNodes[i] = results.pop();
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.neo4j.graphalgo.NodeLabel;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The HNSW indexes that are kept next to a graph in the catalog, one per indexed node property.
+ */
+public final class HnswIndexes {
+
+    private final Map<String, HnswIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the index for the property of the given configuration.
+     * An existing index that has been built for other node labels or construction parameters is replaced.
+     */
+    public HnswIndex getOrCreate(long nodeCount, Collection<NodeLabel> nodeLabels, HnswStreamConfig config) {
+        return indexes.compute(
+            config.nodeWeightProperty(),
+            (property, index) -> index != null && index.canBeUsedFor(nodeLabels, config)
+                ? index
+                : HnswIndex.of(nodeCount, nodeLabels, config)
+        );
+    }
+
+    /**
+     * The number of bytes held by all indexes.
+     */
+    public long memoryUsage() {
+        return indexes.values().stream().mapToLong(HnswIndex::memoryUsage).sum();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.immutables.value.Value;
+import org.jetbrains.annotations.NotNull;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.NodeWeightConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphdb.Node;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@ValueClass
+@Configuration
+@SuppressWarnings("immutables:subtype")
+public interface HnswStreamConfig extends AlgoBaseConfig, NodeWeightConfig {
+
+    String SOURCE_NODES_KEY = "sourceNodes";
+
+    @NotNull
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    @Override
+    String nodeWeightProperty();
+
+    /**
+     * The nodes or node ids to find the most similar nodes for. All nodes are queried if empty.
+     */
+    @Value.Default
+    default List<Object> sourceNodes() {
+        return List.of();
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int topK() {
+        return 10;
+    }
+
+    /**
+     * The number of candidates that are tracked during a query, values below {@link #topK()} are raised to it.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int ef() {
+        return 64;
+    }
+
+    /**
+     * The number of links per node and level in the index, level zero has twice as many.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 2, max = 512)
+    default int maxConnections() {
+        return 16;
+    }
+
+    /**
+     * The number of candidates that are tracked while inserting a node into the index.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int efConstruction() {
+        return 200;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return -1L;
+    }
+
+    @Configuration.Ignore
+    default long[] sourceNodeIds() {
+        return sourceNodes().stream().mapToLong(HnswStreamConfig::nodeId).toArray();
+    }
+
+    @Value.Check
+    default void validateSourceNodes() {
+        sourceNodes().forEach(HnswStreamConfig::nodeId);
+    }
+
+    static long nodeId(Object sourceNode) {
+        if (sourceNode instanceof Node) {
+            return ((Node) sourceNode).getId();
+        }
+        if (sourceNode instanceof Number) {
+            return ((Number) sourceNode).longValue();
+        }
+        throw new IllegalArgumentException(formatWithLocale(
+            "The `%s` parameter must contain nodes or node ids, but found `%s`.",
+            SOURCE_NODES_KEY,
+            sourceNode
+        ));
+    }
+
+    static HnswStreamConfig of(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return new HnswStreamConfigImpl(
+            graphName,
+            maybeImplicitCreate,
+            username,
+            userInput
+        );
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+
+/**
+ * A binary max-heap of int nodes by double priority that grows as needed.
+ * Min-heaps are modelled by pushing the negated priority.
+ */
+final class NodeHeap {
+
+    private int[] nodes;
+    private double[] priorities;
+    private int size;
+
+    NodeHeap() {
+        this.nodes = new int[64];
+        this.priorities = new double[64];
+    }
+
+    long memoryUsage() {
+        return sizeOfIntArray(nodes.length) + sizeOfDoubleArray(priorities.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    double topPriority() {
+        return priorities[0];
+    }
+
+    void push(int node, double priority) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        var index = size++;
+        while (index > 0) {
+            var parent = (index - 1) >>> 1;
+            if (priorities[parent] >= priority) {
+                break;
+            }
+            nodes[index] = nodes[parent];
+            priorities[index] = priorities[parent];
+            index = parent;
+        }
+        nodes[index] = node;
+        priorities[index] = priority;
+    }
+
+    int pop() {
+        var top = nodes[0];
+        var last = --size;
+        var node = nodes[last];
+        var priority = priorities[last];
+        var index = 0;
+        while (true) {
+            var child = 2 * index + 1;
+            if (child >= last) {
+                break;
+            }
+            if (child + 1 < last && priorities[child + 1] > priorities[child]) {
+                child++;
+            }
+            if (priorities[child] <= priority) {
+                break;
+            }
+            nodes[index] = nodes[child];
+            priorities[index] = priorities[child];
+            index = child;
+        }
+        nodes[index] = node;
+        priorities[index] = priority;
+        return top;
+    }
+}
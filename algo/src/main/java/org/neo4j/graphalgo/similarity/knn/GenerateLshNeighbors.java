@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.core.utils.BiLongConsumer;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.SplittableRandom;
+
+/**
+ * Initial step in KNN calculation when using {@link KnnSampler#LSH}.
+ * Every node starts with the nodes that are closest to it in the order of {@link LocalitySensitiveHashing}
+ * for one half of its neighbors and with random nodes for the other half.
+ * Without the random half, the nodes of a window only know each other and the joins have nothing left to find.
+ */
+final class GenerateLshNeighbors implements BiLongConsumer {
+    private final SplittableRandom random;
+    private final SimilarityComputer computer;
+    private final LocalitySensitiveHashing hashing;
+    private final HugeObjectArray<NeighborList> neighbors;
+    private final long n;
+    private final int k;
+    private final int k2;
+
+    GenerateLshNeighbors(
+        SplittableRandom random,
+        SimilarityComputer computer,
+        LocalitySensitiveHashing hashing,
+        HugeObjectArray<NeighborList> neighbors,
+        long n,
+        int k,
+        int k2
+    ) {
+        this.random = random;
+        this.computer = computer;
+        this.hashing = hashing;
+        this.neighbors = neighbors;
+        this.n = n;
+        this.k = k;
+        this.k2 = k2;
+    }
+
+    @Override
+    public void apply(long start, long end) {
+        var rng = random.split();
+        var computer = this.computer;
+        var hashing = this.hashing;
+        var n = this.n;
+        var k = this.k;
+        var k2 = this.k2;
+        var windowSize = (k2 + 1) / 2;
+        // (int) is safe since LocalitySensitiveHashing only supports int sized graphs
+        var lastWindowStart = (int) n - 1 - windowSize;
+        var chosen = new LongHashSet(k2);
+
+        for (long nodeId = start; nodeId < end; nodeId++) {
+            chosen.clear();
+
+            var position = hashing.position(nodeId);
+            // a window of windowSize + 1 positions around the node, shifted inwards at both ends of the order
+            var windowStart = Math.max(0, Math.min(position - windowSize / 2, lastWindowStart));
+            for (int p = windowStart; p <= windowStart + windowSize; p++) {
+                if (p != position) {
+                    chosen.add(hashing.nodeAt(p));
+                }
+            }
+
+            for (int i = windowSize; i < k2; i++) {
+                var randomNode = rng.nextLong(n - 1);
+                if (randomNode >= nodeId) {
+                    ++randomNode;
+                }
+                chosen.add(randomNode);
+            }
+            assert chosen.size() <= k2;
+
+            var neighbors = new NeighborList(k);
+            for (var chosenCursor : chosen) {
+                var neighborNode = chosenCursor.value;
+                assert nodeId != neighborNode;
+                var similarity = computer.safeSimilarity(nodeId, neighborNode);
+                neighbors.add(neighborNode, similarity, rng);
+            }
+
+            assert neighbors.size() > 0; // because K > 0 and N > 1
+            assert neighbors.size() <= k;
+
+            this.neighbors.set(nodeId, neighbors);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.BiLongConsumer;
@@ -49,12 +50,19 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
     private final KnnContext context;
     private final SplittableRandom random;
     private final SimilarityComputer computer;
+    private final @Nullable NodeProperties nodeProperties;
 
     public Knn(Graph graph, KnnBaseConfig config, KnnContext context) {
         this(
             graph.nodeCount(),
             config,
-            SimilarityComputer.ofProperty(graph, config.nodeWeightProperty()),
+            SimilarityComputer.ofProperty(
+                graph,
+                config.nodeWeightProperty(),
+                config.concurrency(),
+                context.tracker()
+            ),
+            graph.nodeProperties(config.nodeWeightProperty()),
             context
         );
     }
@@ -64,11 +72,27 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
         KnnBaseConfig config,
         SimilarityComputer similarityComputer,
         KnnContext context
+    ) {
+        this(nodeCount, config, similarityComputer, null, context);
+    }
+
+    Knn(
+        long nodeCount,
+        KnnBaseConfig config,
+        SimilarityComputer similarityComputer,
+        @Nullable NodeProperties nodeProperties,
+        KnnContext context
     ) {
         this.nodeCount = nodeCount;
         this.config = config;
         this.context = context;
         this.computer = similarityComputer;
+        this.nodeProperties = nodeProperties;
+        if (config.initialSampler() == KnnSampler.LSH && nodeProperties == null) {
+            throw new IllegalArgumentException(
+                "The initial sampler `lsh` requires the node properties, but only a similarity computer was given."
+            );
+        }
         this.random = this.config.randomSeed() == -1L
             ? new SplittableRandom()
             : new SplittableRandom(this.config.randomSeed());
@@ -138,6 +162,23 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
 
         var neighbors = HugeObjectArray.newArray(NeighborList.class, nodeCount, this.context.tracker());
 
+        if (this.config.initialSampler() == KnnSampler.LSH && LocalitySensitiveHashing.supports(nodeCount)) {
+            var hashing = LocalitySensitiveHashing.of(
+                this.nodeProperties,
+                nodeCount,
+                random.nextLong(),
+                this.config.concurrency(),
+                this.context.executor()
+            );
+            ParallelUtil.readParallel(
+                this.config.concurrency(),
+                nodeCount,
+                this.context.executor(),
+                new GenerateLshNeighbors(random, this.computer, hashing, neighbors, nodeCount, k, boundedK)
+            );
+            return neighbors;
+        }
+
         ParallelUtil.readParallel(
             this.config.concurrency(),
             nodeCount,
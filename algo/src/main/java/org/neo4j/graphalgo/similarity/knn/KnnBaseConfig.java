@@ -78,6 +78,13 @@ public interface KnnBaseConfig extends AlgoBaseConfig, IterationsConfig, NodeWei
         return -1;
     }
 
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.graphalgo.similarity.knn.KnnSampler#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.similarity.knn.KnnSampler#toString")
+    default KnnSampler initialSampler() {
+        return KnnSampler.UNIFORM;
+    }
+
     @Configuration.Ignore
     default int sampledK(long nodeCount) {
         // (int) is safe because value is at most `topK`, which is an int
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Orders the nodes by a 32 bit locality sensitive hash of their property,
+ * so that nodes with similar properties are likely to end up close to each other.
+ *
+ * <ul>
+ *     <li>Float and double arrays are hashed by the sides of 32 random hyperplanes they lie on (cosine).</li>
+ *     <li>Long arrays are hashed by the smallest hash of their elements (MinHash, Jaccard).</li>
+ *     <li>Scalar values are hashed by their leading bits, which preserves their order.</li>
+ * </ul>
+ *
+ * The alpha ApproxNearestNeighbors procedures use the same order to seed their initial neighbors.
+ *
+ * https://doi.org/10.1145/509907.509965
+ */
+public final class LocalitySensitiveHashing {
+
+    private static final int SIGNATURE_BITS = Integer.SIZE;
+
+    private final long[] sortedNodes;
+    private final int[] positions;
+
+    private LocalitySensitiveHashing(long[] sortedNodes, int[] positions) {
+        this.sortedNodes = sortedNodes;
+        this.positions = positions;
+    }
+
+    public static boolean supports(long nodeCount) {
+        return nodeCount <= Integer.MAX_VALUE - 8;
+    }
+
+    static long memoryEstimation(long nodeCount) {
+        return MemoryUsage.sizeOfLongArray(nodeCount) + MemoryUsage.sizeOfIntArray(nodeCount);
+    }
+
+    public static LocalitySensitiveHashing of(
+        NodeProperties nodeProperties,
+        long nodeCount,
+        long seed,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        assert supports(nodeCount);
+        var signature = signature(nodeProperties, seed);
+
+        // the signature is stored in the upper half, so that sorting the keys orders the nodes by signature
+        long[] keys = new long[(int) nodeCount];
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                keys[(int) nodeId] = ((long) signature.of(nodeId) << 32) | nodeId;
+            }
+        });
+        if (concurrency > 1) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+
+        int[] positions = new int[(int) nodeCount];
+        for (int position = 0; position < keys.length; position++) {
+            keys[position] &= 0xFFFF_FFFFL;
+            positions[(int) keys[position]] = position;
+        }
+        return new LocalitySensitiveHashing(keys, positions);
+    }
+
+    public int position(long nodeId) {
+        return positions[(int) nodeId];
+    }
+
+    public long nodeAt(int position) {
+        return sortedNodes[position];
+    }
+
+    @FunctionalInterface
+    interface Signature {
+        int of(long nodeId);
+    }
+
+    static Signature signature(NodeProperties nodeProperties, long seed) {
+        switch (nodeProperties.valueType()) {
+            case LONG:
+                return nodeId -> orderPreserving(nodeProperties.longValue(nodeId));
+            case DOUBLE:
+                return nodeId -> orderPreserving(nodeProperties.doubleValue(nodeId));
+            case FLOAT_ARRAY:
+                return floatArraySignature(nodeProperties, seed);
+            case DOUBLE_ARRAY:
+                return doubleArraySignature(nodeProperties, seed);
+            case LONG_ARRAY:
+                return nodeId -> minHash(nodeProperties.longArrayValue(nodeId), seed);
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Locality sensitive hashing is not supported for properties of type [%s].",
+                    nodeProperties.valueType()
+                ));
+        }
+    }
+
+    private static Signature floatArraySignature(NodeProperties nodeProperties, long seed) {
+        var hyperplanes = hyperplanes(dimension(nodeProperties.floatArrayValue(0)), seed);
+        return nodeId -> {
+            var value = nodeProperties.floatArrayValue(nodeId);
+            int signature = 0;
+            if (value != null) {
+                for (double[] hyperplane : hyperplanes) {
+                    double dotProduct = 0;
+                    for (int i = 0, len = Math.min(value.length, hyperplane.length); i < len; i++) {
+                        dotProduct += value[i] * hyperplane[i];
+                    }
+                    signature = (signature << 1) | (dotProduct >= 0 ? 1 : 0);
+                }
+            }
+            return signature;
+        };
+    }
+
+    private static Signature doubleArraySignature(NodeProperties nodeProperties, long seed) {
+        var hyperplanes = hyperplanes(dimension(nodeProperties.doubleArrayValue(0)), seed);
+        return nodeId -> {
+            var value = nodeProperties.doubleArrayValue(nodeId);
+            int signature = 0;
+            if (value != null) {
+                for (double[] hyperplane : hyperplanes) {
+                    double dotProduct = 0;
+                    for (int i = 0, len = Math.min(value.length, hyperplane.length); i < len; i++) {
+                        dotProduct += value[i] * hyperplane[i];
+                    }
+                    signature = (signature << 1) | (dotProduct >= 0 ? 1 : 0);
+                }
+            }
+            return signature;
+        };
+    }
+
+    private static int dimension(float[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static int dimension(double[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    // the normals of random hyperplanes through the origin, Gaussian entries make their directions uniform
+    private static double[][] hyperplanes(int dimension, long seed) {
+        var random = new Random(seed);
+        var hyperplanes = new double[SIGNATURE_BITS][dimension];
+        for (double[] hyperplane : hyperplanes) {
+            for (int i = 0; i < dimension; i++) {
+                hyperplane[i] = random.nextGaussian();
+            }
+        }
+        return hyperplanes;
+    }
+
+    // two sets have the same minimum hash with a probability equal to their Jaccard similarity
+    static int minHash(long[] value, long seed) {
+        long minimum = Long.MAX_VALUE;
+        if (value != null) {
+            for (long element : value) {
+                minimum = Math.min(minimum, mix(element ^ seed));
+            }
+        }
+        return (int) (minimum >>> 32);
+    }
+
+    // the finalizer of SplitMix64
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    static int orderPreserving(double value) {
+        long bits = Double.doubleToLongBits(value);
+        // flip all but the sign bit of negative values, so that the bits compare like the values
+        long sortableBits = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        return (int) (sortableBits >> 32);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+
+/**
+ * Computes the cosine similarity of float array properties that have been copied into a paged
+ * matrix, instead of loading two arrays from the node properties for every comparison.
+ * Each row holds the values of one node, followed by their squared norm, so that a comparison
+ * only needs to compute a single dot product over two contiguous ranges.
+ */
+final class PackedFloatArraySimilarityComputer implements SimilarityComputer {
+
+    // in floats, a page holds at least one row
+    static final int PAGE_SIZE = 1 << 20;
+
+    private final float[][] pages;
+    private final int dimension;
+    private final int rowLength;
+    private final int pageShift;
+    private final long pageMask;
+
+    private PackedFloatArraySimilarityComputer(float[][] pages, int dimension, int pageShift) {
+        this.pages = pages;
+        this.dimension = dimension;
+        this.rowLength = dimension + 1;
+        this.pageShift = pageShift;
+        this.pageMask = (1L << pageShift) - 1;
+    }
+
+    /**
+     * Packs the properties of all nodes, which must be arrays of the same length.
+     *
+     * @return the computer, or nothing if some node has no value or a value of a different length
+     */
+    static Optional<SimilarityComputer> of(
+        NodeProperties nodeProperties,
+        long nodeCount,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (nodeProperties.valueType() != ValueType.FLOAT_ARRAY) {
+            throw new IllegalArgumentException("The property is not of type FLOAT_ARRAY");
+        }
+        if (nodeCount == 0) {
+            return Optional.empty();
+        }
+        float[] firstValue = nodeProperties.floatArrayValue(0);
+        if (firstValue == null) {
+            return Optional.empty();
+        }
+
+        int dimension = firstValue.length;
+        int rowLength = dimension + 1;
+        int rowsPerPage = Integer.highestOneBit(Math.max(1, PAGE_SIZE / rowLength));
+        int pageShift = Integer.numberOfTrailingZeros(rowsPerPage);
+        int pageCount = Math.toIntExact(BitUtil.ceilDiv(nodeCount, rowsPerPage));
+
+        float[][] pages = new float[pageCount][];
+        AtomicBoolean packable = new AtomicBoolean(true);
+        ParallelUtil.parallelStreamConsume(LongStream.range(0, pageCount), concurrency, stream -> stream.forEach(pageIndex -> {
+            long startNode = pageIndex << pageShift;
+            int rows = (int) Math.min(rowsPerPage, nodeCount - startNode);
+            float[] page = new float[rows * rowLength];
+            tracker.add(sizeOfFloatArray(page.length));
+
+            for (int row = 0; row < rows && packable.get(); row++) {
+                float[] value = nodeProperties.floatArrayValue(startNode + row);
+                if (value == null || value.length != dimension) {
+                    packable.set(false);
+                    break;
+                }
+                int offset = row * rowLength;
+                System.arraycopy(value, 0, page, offset, dimension);
+                page[offset + dimension] = Intersections.dotProduct(page, offset, page, offset, dimension);
+            }
+            pages[(int) pageIndex] = page;
+        }));
+
+        if (!packable.get()) {
+            for (float[] page : pages) {
+                if (page != null) {
+                    tracker.remove(sizeOfFloatArray(page.length));
+                }
+            }
+            return Optional.empty();
+        }
+        return Optional.of(new PackedFloatArraySimilarityComputer(pages, dimension, pageShift));
+    }
+
+    @Override
+    public double similarity(long firstNodeId, long secondNodeId) {
+        float[] firstPage = pages[(int) (firstNodeId >>> pageShift)];
+        float[] secondPage = pages[(int) (secondNodeId >>> pageShift)];
+        int firstOffset = (int) (firstNodeId & pageMask) * rowLength;
+        int secondOffset = (int) (secondNodeId & pageMask) * rowLength;
+
+        float dotProduct = Intersections.dotProduct(firstPage, firstOffset, secondPage, secondOffset, dimension);
+        float firstSquaredNorm = firstPage[firstOffset + dimension];
+        float secondSquaredNorm = secondPage[secondOffset + dimension];
+        return (float) (dotProduct / Math.sqrt(firstSquaredNorm * secondSquaredNorm));
+    }
+}
@@ -19,10 +19,12 @@
  */
 package org.neo4j.graphalgo.similarity.knn;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.NodePropertyContainer;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -46,6 +48,34 @@ public interface SimilarityComputer {
         return ofProperty(nodeProperties, propertyName);
     }
 
+    /**
+     * Like {@link #ofProperty(NodePropertyContainer, String)}, but float arrays of equal length
+     * are first packed into a paged matrix, which makes comparing them considerably cheaper.
+     */
+    static SimilarityComputer ofProperty(
+        Graph graph,
+        String propertyName,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        var nodeProperties = Objects.requireNonNull(
+            graph.nodeProperties(propertyName),
+            () -> formatWithLocale("The property `%s` has not been loaded", propertyName)
+        );
+        if (nodeProperties.valueType() == ValueType.FLOAT_ARRAY) {
+            var packedComputer = PackedFloatArraySimilarityComputer.of(
+                nodeProperties,
+                graph.nodeCount(),
+                concurrency,
+                tracker
+            );
+            if (packedComputer.isPresent()) {
+                return packedComputer.get();
+            }
+        }
+        return ofProperty(nodeProperties, propertyName);
+    }
+
     static SimilarityComputer ofProperty(NodeProperties nodeProperties, String propertyName) {
         switch (nodeProperties.valueType()) {
             case LONG:
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.nodesim;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * The neighbour vectors of all compared nodes, packed back to back into a few large pages.
+ * A vector never spans two pages, so that it can be intersected as a plain array range.
+ * The address of a vector encodes the index of its page and its int offset within the page.
+ */
+final class FlatVectors {
+
+    static final int PAGE_SIZE = 1 << 16;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(FlatVectors.class)
+            .perNode("addresses", HugeLongArray::memoryEstimation)
+            .perNode("degrees", HugeIntArray::memoryEstimation)
+            .perGraphDimension("targets", (dimensions, concurrency) ->
+                MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount())))
+            .perGraphDimension("weights", (dimensions, concurrency) ->
+                MemoryRange.of(0, HugeDoubleArray.memoryEstimation(dimensions.maxRelCount())))
+            .build();
+    }
+
+    private final long[][] targetPages;
+    private final double[][] weightPages;
+    private final HugeLongArray addresses;
+    private final HugeIntArray degrees;
+
+    private FlatVectors(long[][] targetPages, double[][] weightPages, HugeLongArray addresses, HugeIntArray degrees) {
+        this.targetPages = targetPages;
+        this.weightPages = weightPages;
+        this.addresses = addresses;
+        this.degrees = degrees;
+    }
+
+    int degree(long node) {
+        return degrees.get(node);
+    }
+
+    long[] targets(long node) {
+        return targetPages[pageIndex(addresses.get(node))];
+    }
+
+    double[] weights(long node) {
+        return weightPages[pageIndex(addresses.get(node))];
+    }
+
+    int offset(long node) {
+        return indexInPage(addresses.get(node));
+    }
+
+    private static int pageIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int indexInPage(long address) {
+        return (int) address;
+    }
+
+    static Builder builder(long nodeCount, boolean weighted, AllocationTracker tracker) {
+        return new Builder(nodeCount, weighted, tracker);
+    }
+
+    static final class Builder {
+
+        private final boolean weighted;
+        private final AllocationTracker tracker;
+        private final HugeLongArray addresses;
+        private final HugeIntArray degrees;
+        private final IntArrayList pageSizes;
+        private int currentPageSize;
+
+        private Builder(long nodeCount, boolean weighted, AllocationTracker tracker) {
+            this.weighted = weighted;
+            this.tracker = tracker;
+            this.addresses = HugeLongArray.newArray(nodeCount, tracker);
+            this.degrees = HugeIntArray.newArray(nodeCount, tracker);
+            this.pageSizes = new IntArrayList();
+        }
+
+        /**
+         * Reserves space for the vector of the given node.
+         * Must be called in ascending node order.
+         */
+        void reserve(long node, int degree) {
+            if (currentPageSize > 0 && currentPageSize + degree > PAGE_SIZE) {
+                pageSizes.add(currentPageSize);
+                currentPageSize = 0;
+            }
+            addresses.set(node, ((long) pageSizes.size() << 32) | currentPageSize);
+            degrees.set(node, degree);
+            currentPageSize += degree;
+        }
+
+        /**
+         * Allocates the pages, each one exactly as large as the vectors reserved in it.
+         * The vectors still need to be written to their reserved ranges.
+         */
+        FlatVectors build() {
+            pageSizes.add(currentPageSize);
+            int pageCount = pageSizes.size();
+
+            long[][] targetPages = new long[pageCount][];
+            double[][] weightPages = weighted ? new double[pageCount][] : null;
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                int pageSize = pageSizes.get(pageIndex);
+                targetPages[pageIndex] = new long[pageSize];
+                tracker.add(sizeOfLongArray(pageSize));
+                if (weighted) {
+                    weightPages[pageIndex] = new double[pageSize];
+                    tracker.add(sizeOfDoubleArray(pageSize));
+                }
+            }
+            return new FlatVectors(targetPages, weightPages, addresses, degrees);
+        }
+    }
+}
@@ -29,7 +29,6 @@ import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.similarity.SimilarityGraphBuilder;
 import org.neo4j.graphalgo.similarity.SimilarityGraphResult;
 import org.neo4j.graphalgo.similarity.SimilarityResult;
@@ -51,8 +50,7 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
     private final BitSet nodeFilter;
 
-    private HugeObjectArray<long[]> vectors;
-    private HugeObjectArray<double[]> weights;
+    private FlatVectors vectors;
     private long nodesToCompare;
 
     private final boolean weighted;
@@ -153,34 +151,29 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     private void prepare() {
         progressLogger.logMessage("Start :: NodeSimilarity#prepare");
 
-        vectors = HugeObjectArray.newArray(long[].class, graph.nodeCount(), tracker);
-        if (weighted) {
-            weights = HugeObjectArray.newArray(double[].class, graph.nodeCount(), tracker);
-        }
-
+        FlatVectors.Builder vectorsBuilder = FlatVectors.builder(graph.nodeCount(), weighted, tracker);
         DegreeComputer degreeComputer = new DegreeComputer();
-        VectorComputer vectorComputer = VectorComputer.of(graph, weighted);
-        vectors.setAll(node -> {
+        for (long node = 0; node < graph.nodeCount(); node++) {
             graph.forEachRelationship(node, degreeComputer);
             int degree = degreeComputer.degree;
             degreeComputer.reset();
-            vectorComputer.reset(degree);
 
             if (degree >= config.degreeCutoff()) {
                 nodesToCompare++;
                 nodeFilter.set(node);
+                vectorsBuilder.reserve(node, degree);
+            }
+        }
+        vectors = vectorsBuilder.build();
 
-                progressLogger.logProgress(graph.degree(node));
+        VectorComputer vectorComputer = VectorComputer.of(graph, weighted);
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            if (nodeFilter.get(node)) {
+                vectorComputer.reset(vectors, node);
                 vectorComputer.forEachRelationship(node);
-                if (weighted) {
-                    weights.set(node, vectorComputer.getWeights());
-                }
-                return vectorComputer.targetIds.buffer;
             }
-
             progressLogger.logProgress(graph.degree(node));
-            return null;
-        });
+        }
         progressLogger.logMessage("Finish :: NodeSimilarity#prepare");
     }
 
@@ -206,12 +199,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return loggableAndTerminatableNodeStream()
             .boxed()
             .flatMap(node1 -> {
-                long[] vector1 = vectors.get(node1);
                 return nodeStream(node1 + 1)
                     .mapToObj(node2 -> {
-                        double similarity = weighted
-                            ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                            : jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, node2);
                         return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
                     })
                     .filter(Objects::nonNull);
@@ -225,12 +215,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             loggableAndTerminatableNodeStream(), config.concurrency(), stream -> stream
                 .boxed()
                 .flatMap(node1 -> {
-                    long[] vector1 = vectors.get(node1);
                     return nodeStream(node1 + 1)
                         .mapToObj(node2 -> {
-                            double similarity = weighted
-                                ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                                : jaccard(vector1, vectors.get(node2));
+                            double similarity = similarity(node1, node2);
                             return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
                         })
                         .filter(Objects::nonNull);
@@ -242,15 +229,12 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.logMessage("Start :: NodeSimilarity#computeTopKMap");
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
-        TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        TopKMap topKMap = new TopKMap(graph.nodeCount(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
-                long[] vector1 = vectors.get(node1);
                 nodeStream(node1 + 1)
                     .forEach(node2 -> {
-                        double similarity = weighted
-                            ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                            : jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, node2);
                         if (!Double.isNaN(similarity)) {
                             topKMap.put(node1, node2, similarity);
                             topKMap.put(node2, node1, similarity);
@@ -265,25 +249,22 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.logMessage("Start :: NodeSimilarity#computeTopKMapParallel");
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
-        TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        TopKMap topKMap = new TopKMap(graph.nodeCount(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
         ParallelUtil.parallelStreamConsume(
             loggableAndTerminatableNodeStream(),
             config.concurrency(),
             stream -> stream
                 .forEach(node1 -> {
-                    long[] vector1 = vectors.get(node1);
                     // We deliberately compute the full matrix (except the diagonal).
                     // The parallel workload is partitioned based on the outer stream.
-                    // The TopKMap stores a priority queue for each node. Writing
-                    // into these queues is not considered to be thread-safe.
-                    // Hence, we need to ensure that down the stream, exactly one queue
-                    // within the TopKMap processes all pairs for a single node.
+                    // The TopKMap stores a row of topK slots for each node. Writing
+                    // into a row is not considered to be thread-safe.
+                    // Hence, we need to ensure that down the stream, exactly one thread
+                    // fills the row of a single node.
                     nodeStream()
                         .filter(node2 -> node1 != node2)
                         .forEach(node2 -> {
-                            double similarity = weighted
-                                ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                                : jaccard(vector1, vectors.get(node2));
+                            double similarity = similarity(node1, node2);
                             if (!Double.isNaN(similarity)) {
                                 topKMap.put(node1, node2, similarity);
                             }
@@ -301,13 +282,10 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         TopNList topNList = new TopNList(config.normalizedN());
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
-                long[] vector1 = vectors.get(node1);
 
                 nodeStream(node1 + 1)
                     .forEach(node2 -> {
-                        double similarity = weighted
-                            ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                            : jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, node2);
                         if (!Double.isNaN(similarity)) {
                             topNList.add(node1, node2, similarity);
                         }
@@ -327,26 +305,47 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return topNList.stream();
     }
 
-    private double jaccard(long[] vector1, long[] vector2) {
-        long intersection = Intersections.intersection3(vector1, vector2);
-        double union = vector1.length + vector2.length - intersection;
-        double similarity = union == 0 ? 0 : intersection / union;
+    private double similarity(long node1, long node2) {
+        return weighted
+            ? weightedJaccard(node1, node2)
+            : jaccard(node1, node2);
+    }
+
+    private double jaccard(long node1, long node2) {
         getProgressLogger().logProgress();
-        return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
 
+        int degree1 = vectors.degree(node1);
+        int degree2 = vectors.degree(node2);
+        // The intersection is at most as large as the smaller vector and the union at least as
+        // large as the larger one, so pairs with very different degrees cannot reach the cutoff.
+        if ((double) Math.min(degree1, degree2) / Math.max(degree1, degree2) < config.similarityCutoff()) {
+            return Double.NaN;
+        }
+
+        int offset1 = vectors.offset(node1);
+        int offset2 = vectors.offset(node2);
+        long intersection = Intersections.intersection(
+            vectors.targets(node1), offset1, offset1 + degree1,
+            vectors.targets(node2), offset2, offset2 + degree2
+        );
+        double union = degree1 + degree2 - intersection;
+        double similarity = union == 0 ? 0 : intersection / union;
+        return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
     }
 
-    private double weightedJaccard(long[] vector1, long[] vector2, double[] weights1, double[] weights2) {
-        assert vector1.length == weights1.length;
-        assert vector2.length == weights2.length;
+    private double weightedJaccard(long node1, long node2) {
+        long[] vector1 = vectors.targets(node1);
+        long[] vector2 = vectors.targets(node2);
+        double[] weights1 = vectors.weights(node1);
+        double[] weights2 = vectors.weights(node2);
 
-        int offset1 = 0;
-        int offset2 = 0;
-        int length1 = weights1.length;
-        int length2 = weights2.length;
+        int offset1 = vectors.offset(node1);
+        int offset2 = vectors.offset(node2);
+        int end1 = offset1 + vectors.degree(node1);
+        int end2 = offset2 + vectors.degree(node2);
         double max = 0;
         double min = 0;
-        while (offset1 < length1 && offset2 < length2) {
+        while (offset1 < end1 && offset2 < end2) {
             long target1 = vector1[offset1];
             long target2 = vector2[offset2];
             if (target1 == target2) {
@@ -369,10 +368,10 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
                 offset2++;
             }
         }
-        for (; offset1 < length1; offset1++) {
+        for (; offset1 < end1; offset1++) {
             max += weights1[offset1];
         }
-        for (; offset2 < length2; offset2++) {
+        for (; offset2 < end2; offset2++) {
             max += weights2[offset2];
         }
         double similarity = min / max;
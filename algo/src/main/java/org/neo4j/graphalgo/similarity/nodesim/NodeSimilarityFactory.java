@@ -27,12 +27,9 @@ import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
-import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.similarity.SimilarityGraphBuilder;
 import org.neo4j.logging.Log;
 
-import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
 
 public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> implements AlgorithmFactory<NodeSimilarity, CONFIG> {
@@ -56,27 +53,7 @@ public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> impl
 
         MemoryEstimations.Builder builder = MemoryEstimations.builder(NodeSimilarity.class)
             .perNode("node filter", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
-            .add(
-                "vectors",
-                MemoryEstimations.setup("", (dimensions, concurrency) -> {
-                    int averageDegree = dimensions.nodeCount() == 0
-                        ? 0
-                        : Math.toIntExact(dimensions.maxRelCount() / dimensions.nodeCount());
-                    long averageVectorSize = sizeOfLongArray(averageDegree);
-                    return MemoryEstimations.builder(HugeObjectArray.class)
-                        .perNode("array", nodeCount -> nodeCount * averageVectorSize).build();
-                })
-            )
-            .add("weights",
-                MemoryEstimations.setup("", (dimensions, concurrency) -> {
-                int averageDegree = dimensions.nodeCount() == 0
-                    ? 0
-                    : Math.toIntExact(dimensions.maxRelCount() / dimensions.nodeCount());
-                long averageVectorSize = sizeOfDoubleArray(averageDegree);
-                return MemoryEstimations.builder(HugeObjectArray.class)
-                    .rangePerNode("array", nodeCount -> MemoryRange.of(0, nodeCount * averageVectorSize))
-                    .build();
-            }));
+            .add("vectors", FlatVectors.memoryEstimation());
         if (config.computeToGraph() && !config.hasTopK()) {
             builder.add(
                 "similarity graph",
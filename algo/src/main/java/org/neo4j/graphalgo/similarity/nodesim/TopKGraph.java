@@ -35,8 +35,7 @@ public class TopKGraph extends FilterGraph {
 
     @Override
     public int degree(long nodeId) {
-        TopKMap.TopKList topKList = topKMap.get(nodeId);
-        return topKList != null ? topKList.size() : 0;
+        return topKMap.size(nodeId);
     }
 
     @Override
@@ -46,18 +45,12 @@ public class TopKGraph extends FilterGraph {
 
     @Override
     public void forEachRelationship(long node1, RelationshipConsumer consumer) {
-        TopKMap.TopKList topKList = topKMap.get(node1);
-        if (topKList != null) {
-            topKList.forEach((node2, similarity) -> consumer.accept(node1, node2));
-        }
+        topKMap.forEach(node1, (node2, similarity) -> consumer.accept(node1, node2));
     }
 
     @Override
     public void forEachRelationship(long node1, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
-        TopKMap.TopKList topKList = topKMap.get(node1);
-        if (topKList != null) {
-            topKList.forEach((node2, similarity) -> consumer.accept(node1, node2, similarity));
-        }
+        topKMap.forEach(node1, (node2, similarity) -> consumer.accept(node1, node2, similarity));
    }
 
     @Override
@@ -24,33 +24,42 @@ import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.queue.BoundedLongLongPriorityQueue;
 import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
 import org.neo4j.graphalgo.similarity.SimilarityResult;
 
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
+/**
+ * The topK neighbours of every node, stored in fixed rows of {@code topK} slots in flat primitive arrays.
+ * A row is kept sorted by its priority, which is the similarity for ascending order and the negated
+ * similarity otherwise, and keeps the same order as a {@link BoundedLongPriorityQueue} for equal values.
+ *
+ * Rows of different nodes are independent, so that threads which own disjoint sets of nodes
+ * can fill their rows concurrently without synchronization.
+ */
 public class TopKMap {
 
-    private final BitSet nodeFilter;
-
     static MemoryEstimation memoryEstimation(long nodes, int topK) {
         return MemoryEstimations.builder(TopKMap.class)
-            .add("topK lists",
-                MemoryEstimations.builder("topK lists", TopKList.class)
-                    .add("queues", BoundedLongPriorityQueue.memoryEstimation(topK))
-                    .build()
-                    .times(nodes)
-            )
+            .fixed("neighbours", HugeLongArray.memoryEstimation(nodes * topK))
+            .fixed("priorities", HugeDoubleArray.memoryEstimation(nodes * topK))
+            .fixed("sizes", HugeIntArray.memoryEstimation(nodes))
             .build();
     }
 
-    private final HugeObjectArray<TopKList> topKLists;
+    private final BitSet nodeFilter;
+    private final int topK;
+    private final boolean ascending;
+    private final HugeLongArray neighbours;
+    private final HugeDoubleArray priorities;
+    private final HugeIntArray sizes;
 
     TopKMap(
         long items,
@@ -60,22 +69,47 @@ public class TopKMap {
         AllocationTracker tracker
     ) {
         this.nodeFilter = nodeFilter;
-        int boundedTopK = (int) Math.min(topK, items);
-        topKLists = HugeObjectArray.newArray(TopKList.class, items, tracker);
-        topKLists.setAll(node1 -> nodeFilter.get(node1)
-            ? new TopKList(comparator.equals(SimilarityResult.ASCENDING)
-                ? BoundedLongPriorityQueue.min(boundedTopK)
-                : BoundedLongPriorityQueue.max(boundedTopK)
-            ) : null
-        );
+        this.topK = (int) Math.min(topK, items);
+        this.ascending = comparator.equals(SimilarityResult.ASCENDING);
+        this.neighbours = HugeLongArray.newArray(items * this.topK, tracker);
+        this.priorities = HugeDoubleArray.newArray(items * this.topK, tracker);
+        this.sizes = HugeIntArray.newArray(items, tracker);
     }
 
     public void put(long node1, long node2, double similarity) {
-        topKLists.get(node1).accept(node2, similarity);
+        double priority = ascending ? similarity : -similarity;
+        long rowStart = node1 * topK;
+        int size = sizes.get(node1);
+        if (size == topK) {
+            double lowestPriority = priorities.get(rowStart + size - 1);
+            if (!(priority < lowestPriority || Double.isNaN(lowestPriority))) {
+                return;
+            }
+        }
+
+        int index = insertionIndex(rowStart, size, priority);
+        // shift the lower priorities by one slot, dropping the last one if the row is full
+        for (int i = Math.min(size, topK - 1); i > index; i--) {
+            neighbours.set(rowStart + i, neighbours.get(rowStart + i - 1));
+            priorities.set(rowStart + i, priorities.get(rowStart + i - 1));
+        }
+        neighbours.set(rowStart + index, node2);
+        priorities.set(rowStart + index, priority);
+        if (size < topK) {
+            sizes.set(node1, size + 1);
+        }
+    }
+
+    int size(long node1) {
+        return sizes.get(node1);
     }
 
-    public TopKList get(long node1) {
-        return topKLists.get(node1);
+    void forEach(long node1, BoundedLongPriorityQueue.Consumer consumer) {
+        long rowStart = node1 * topK;
+        int size = sizes.get(node1);
+        for (int i = 0; i < size; i++) {
+            consumer.accept(neighbours.get(rowStart + i), similarity(rowStart + i));
+        }
     }
 
     long similarityPairCount() {
@@ -84,7 +118,7 @@ public class TopKMap {
 
         long size = 0L;
         while (iterator.hasNext()) {
-            size += topKLists.get(iterator.next()).size();
+            size += sizes.get(iterator.next());
         }
 
         return size;
@@ -92,62 +126,48 @@ public class TopKMap {
 
     public void forEach(BoundedLongLongPriorityQueue.Consumer consumer) {
         SetBitsIterable items = new SetBitsIterable(nodeFilter);
-        items.stream().forEach(element1 -> {
-            BoundedLongPriorityQueue queue = topKLists.get(element1).queue;
-            PrimitiveIterator.OfLong node2Iterator = queue.elements().iterator();
-            PrimitiveIterator.OfDouble priorityIterator = queue.priorities().iterator();
-            while (node2Iterator.hasNext()) {
-                consumer.accept(element1, node2Iterator.nextLong(), priorityIterator.nextDouble());
-            }
-        });
+        items.stream().forEach(node1 -> forEach(node1, (node2, similarity) -> consumer.accept(node1, node2, similarity)));
     }
 
     public Stream<SimilarityResult> stream() {
         return new SetBitsIterable(nodeFilter).stream()
             .boxed()
-            .flatMap(node1 -> topKLists.get(node1).stream(node1));
+            .flatMap(node1 -> {
+                long rowStart = node1 * topK;
+                return LongStream.range(rowStart, rowStart + sizes.get(node1))
+                    .mapToObj(slot -> new SimilarityResult(node1, neighbours.get(slot), similarity(slot)));
+            });
     }
 
-    public static final class TopKList {
-
-        private final BoundedLongPriorityQueue queue;
-
-        TopKList(BoundedLongPriorityQueue queue) {
-            this.queue = queue;
-        }
-
-        int size() {
-            return queue.size();
-        }
-
-        void accept(long node2, double similarity) {
-            queue.offer(node2, similarity);
-        }
-
-        void forEach(BoundedLongPriorityQueue.Consumer consumer) {
-            queue.forEach(consumer);
-        }
-
-        Stream<SimilarityResult> stream(long node1) {
-
-            Iterable<SimilarityResult> iterable = () -> new Iterator<SimilarityResult>() {
-
-                PrimitiveIterator.OfLong elementsIter = queue.elements().iterator();
-                PrimitiveIterator.OfDouble prioritiesIter = queue.priorities().iterator();
-
-                @Override
-                public boolean hasNext() {
-                    return elementsIter.hasNext() && prioritiesIter.hasNext();
-                }
+    private double similarity(long slot) {
+        double priority = priorities.get(slot);
+        return ascending ? priority : -priority;
+    }
 
-                @Override
-                public SimilarityResult next() {
-                    return new SimilarityResult(node1, elementsIter.nextLong(), prioritiesIter.nextDouble());
+    // Locates the slot of a new priority exactly like Arrays#binarySearch does in the
+    // BoundedLongPriorityQueue, so that rows break ties between equal priorities in the same way.
+    private int insertionIndex(long rowStart, int size, double priority) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            double midPriority = priorities.get(rowStart + mid);
+            if (midPriority < priority) {
+                low = mid + 1;
+            } else if (midPriority > priority) {
+                high = mid - 1;
+            } else {
+                long midBits = Double.doubleToLongBits(midPriority);
+                long priorityBits = Double.doubleToLongBits(priority);
+                if (midBits == priorityBits) {
+                    return mid;
+                } else if (midBits < priorityBits) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
                 }
-            };
-
-            return StreamSupport.stream(iterable.spliterator(), false);
+            }
         }
+        return low;
     }
 }
-
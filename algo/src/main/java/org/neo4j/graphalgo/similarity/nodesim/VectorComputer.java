@@ -19,19 +19,18 @@
  */
 package org.neo4j.graphalgo.similarity.nodesim;
 
-import com.carrotsearch.hppc.ArraySizingStrategy;
-import com.carrotsearch.hppc.DoubleArrayList;
-import com.carrotsearch.hppc.LongArrayList;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 
-import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
-
+/**
+ * Writes the neighbour vector of a node into the range reserved for it in {@link FlatVectors}.
+ */
 abstract class VectorComputer {
 
     final Graph graph;
-    LongArrayList targetIds;
+    long[] targets;
+    int index;
     private long lastTarget = -1;
 
     VectorComputer(Graph graph) {
@@ -40,11 +39,10 @@ abstract class VectorComputer {
 
     abstract void forEachRelationship(long node);
 
-    public abstract double[] getWeights();
-
-    void reset(int degree) {
+    void reset(FlatVectors vectors, long node) {
         lastTarget = -1;
-        targetIds = new LongArrayList(degree, ARRAY_SIZING_STRATEGY);
+        targets = vectors.targets(node);
+        index = vectors.offset(node);
     }
 
     boolean consumeRelationship(long source, long target) {
@@ -56,10 +54,6 @@ abstract class VectorComputer {
         return consume;
     }
 
-    // The buffer is sized on the first call to the sizing strategy to hold exactly node degree elements
-    private static final ArraySizingStrategy ARRAY_SIZING_STRATEGY =
-        (currentBufferLength, elementsCount, degree) -> elementsCount + degree;
-
     static VectorComputer of(
         Graph graph,
         boolean weighted
@@ -78,19 +72,11 @@ abstract class VectorComputer {
         @Override
         public boolean accept(long source, long target) {
             if (consumeRelationship(source, target)) {
-                targetIds.add(target);
+                targets[index++] = target;
             }
             return true;
         }
 
-        @Override
-        public double[] getWeights() {
-            throw new UnsupportedOperationException(formatWithLocale(
-                "Method `getWeights` is not supported for %s",
-                this.getClass().getSimpleName()
-            ));
-        }
-
         @Override
         void forEachRelationship(long node) {
             graph.forEachRelationship(node, this);
@@ -99,7 +85,7 @@ abstract class VectorComputer {
 
     static final class WeightedVectorComputer extends VectorComputer implements RelationshipWithPropertyConsumer {
 
-        DoubleArrayList weights;
+        double[] weights;
 
         WeightedVectorComputer(Graph graph) {
             super(graph);
@@ -108,26 +94,21 @@ abstract class VectorComputer {
         @Override
         public boolean accept(long source, long target, double property) {
             if (consumeRelationship(source, target)) {
-                targetIds.add(target);
-                weights.add(property);
+                weights[index] = property;
+                targets[index++] = target;
             }
             return true;
         }
 
-        @Override
-        public double[] getWeights() {
-            return weights.buffer;
-        }
-
         @Override
         void forEachRelationship(long node) {
             graph.forEachRelationship(node, 1.0D, this);
         }
 
         @Override
-        void reset(int degree) {
-            super.reset(degree);
-            weights = new DoubleArrayList(degree, ARRAY_SIZING_STRATEGY);
+        void reset(FlatVectors vectors, long node) {
+            super.reset(vectors, node);
+            weights = vectors.weights(node);
         }
     }
 }
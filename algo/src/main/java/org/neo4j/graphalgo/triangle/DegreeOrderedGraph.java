@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * An uncompressed, forward-only copy of an undirected graph.
+ *
+ * Nodes are relabelled by their rank in ascending (degree, node id) order and every
+ * relationship is only kept in the adjacency list of its lower ranked end.
+ * Self-loops, parallel relationships, and relationships to nodes with a degree
+ * above {@code maxDegree} are dropped.
+ * If a {@code samplingRate} below {@code 1} is given, every relationship is only
+ * kept with that probability, independently of all others.
+ * The adjacency lists are sorted by rank, which allows every triangle to be found
+ * exactly once by intersecting the lists of its two lower ranked nodes.
+ * Ranking by degree bounds the length of every list by {@code sqrt(2 * relationshipCount)}.
+ *
+ * https://doi.org/10.1109/TKDE.2013.2297929
+ */
+final class DegreeOrderedGraph {
+
+    private static final long BATCH_SIZE = 1024L;
+
+    private final HugeIntArray nodeByRank;
+    private final HugeLongArray offsets;
+    private final HugeIntArray degrees;
+    private final HugeIntArray targets;
+    private final long nodeCount;
+
+    private DegreeOrderedGraph(
+        HugeIntArray nodeByRank,
+        HugeLongArray offsets,
+        HugeIntArray degrees,
+        HugeIntArray targets,
+        long nodeCount
+    ) {
+        this.nodeByRank = nodeByRank;
+        this.offsets = offsets;
+        this.degrees = degrees;
+        this.targets = targets;
+        this.nodeCount = nodeCount;
+    }
+
+    static boolean supports(Graph graph) {
+        return graph.nodeCount() <= Integer.MAX_VALUE;
+    }
+
+    static DegreeOrderedGraph build(
+        Graph graph,
+        long maxDegree,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return build(graph, maxDegree, 1.0, 0L, concurrency, executor, tracker);
+    }
+
+    static DegreeOrderedGraph build(
+        Graph graph,
+        long maxDegree,
+        double samplingRate,
+        long samplingSeed,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        assert supports(graph);
+        RelationshipSampler sampler = new RelationshipSampler(samplingRate, samplingSeed);
+        long nodeCount = graph.nodeCount();
+
+        HugeIntArray rankOf = HugeIntArray.newArray(nodeCount, tracker);
+        HugeIntArray nodeByRank = HugeIntArray.newArray(nodeCount, tracker);
+        rankByDegree(graph, rankOf, nodeByRank, tracker);
+
+        // count the forward relationships of every node, including parallel ones
+        HugeIntArray degrees = HugeIntArray.newArray(nodeCount, tracker);
+        forEachNode(nodeCount, concurrency, executor, () -> {
+            Graph localGraph = graph.concurrentCopy();
+            return nodeId -> {
+                if (localGraph.degree(nodeId) > maxDegree) {
+                    return;
+                }
+                int rank = rankOf.get(nodeId);
+                int[] forwardDegree = {0};
+                localGraph.forEachRelationship(nodeId, (source, target) -> {
+                    if (isForward(localGraph, rankOf, maxDegree, rank, target) && sampler.keep(source, target)) {
+                        forwardDegree[0]++;
+                    }
+                    return true;
+                });
+                degrees.set(rank, forwardDegree[0]);
+            };
+        });
+
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long rank = 0; rank < nodeCount; rank++) {
+            offsets.set(rank, offset);
+            offset += degrees.get(rank);
+        }
+        offsets.set(nodeCount, offset);
+
+        // fill the adjacency lists, then sort and deduplicate them in place
+        HugeIntArray targets = HugeIntArray.newArray(offset, tracker);
+        forEachNode(nodeCount, concurrency, executor, () -> {
+            Graph localGraph = graph.concurrentCopy();
+            int[][] buffer = {new int[0]};
+            return nodeId -> {
+                if (localGraph.degree(nodeId) > maxDegree) {
+                    return;
+                }
+                int rank = rankOf.get(nodeId);
+                int degree = degrees.get(rank);
+                if (buffer[0].length < degree) {
+                    buffer[0] = new int[degree];
+                }
+                int[] neighbours = buffer[0];
+                int[] length = {0};
+                localGraph.forEachRelationship(nodeId, (source, target) -> {
+                    if (isForward(localGraph, rankOf, maxDegree, rank, target) && sampler.keep(source, target)) {
+                        neighbours[length[0]++] = rankOf.get(target);
+                    }
+                    return true;
+                });
+                Arrays.sort(neighbours, 0, degree);
+
+                long start = offsets.get(rank);
+                int uniqueDegree = 0;
+                for (int i = 0; i < degree; i++) {
+                    if (i == 0 || neighbours[i] != neighbours[i - 1]) {
+                        targets.set(start + uniqueDegree++, neighbours[i]);
+                    }
+                }
+                degrees.set(rank, uniqueDegree);
+            };
+        });
+
+        tracker.remove(rankOf.release());
+
+        return new DegreeOrderedGraph(nodeByRank, offsets, degrees, targets, nodeCount);
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(DegreeOrderedGraph.class)
+            .perNode("rank of node", HugeIntArray::memoryEstimation)
+            .perNode("node by rank", HugeIntArray::memoryEstimation)
+            .perNode("degree histogram", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 2))
+            .perNode("degrees", HugeIntArray::memoryEstimation)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .rangePerGraphDimension("targets", (dimensions, concurrency) -> {
+                // every relationship of an undirected graph is stored in both directions,
+                // only one of which is kept
+                long relationshipCount = dimensions.maxRelCount();
+                return MemoryRange.of(
+                    HugeIntArray.memoryEstimation(relationshipCount / 2),
+                    HugeIntArray.memoryEstimation(relationshipCount)
+                );
+            })
+            .build();
+    }
+
+    long nodeCount() {
+        return nodeCount;
+    }
+
+    long toOriginalNodeId(long rank) {
+        return nodeByRank.get(rank);
+    }
+
+    int degree(long rank) {
+        return degrees.get(rank);
+    }
+
+    /**
+     * Copies the adjacency list of the given rank into the buffer,
+     * which is replaced by a larger one if it cannot hold all neighbours.
+     *
+     * @return the buffer that holds the neighbours
+     */
+    int[] neighbours(long rank, int[] buffer) {
+        int degree = degrees.get(rank);
+        if (buffer.length < degree) {
+            buffer = new int[degree];
+        }
+        long offset = offsets.get(rank);
+        for (int i = 0; i < degree; i++) {
+            buffer[i] = targets.get(offset + i);
+        }
+        return buffer;
+    }
+
+    void release(AllocationTracker tracker) {
+        tracker.remove(nodeByRank.release());
+        tracker.remove(offsets.release());
+        tracker.remove(degrees.release());
+        tracker.remove(targets.release());
+    }
+
+    /**
+     * Keeps a relationship depending on a hash of its end nodes,
+     * which gives the same decision for both of its directions.
+     */
+    private static final class RelationshipSampler {
+
+        private final boolean keepAll;
+        // relationships with a hash below this threshold are kept
+        private final long threshold;
+        private final long seed;
+
+        RelationshipSampler(double samplingRate, long seed) {
+            this.keepAll = samplingRate >= 1.0;
+            this.threshold = (long) (samplingRate * (1L << 53));
+            this.seed = seed;
+        }
+
+        boolean keep(long source, long target) {
+            if (keepAll) {
+                return true;
+            }
+            long hash = mix(seed + mix(Math.min(source, target)) + Math.max(source, target));
+            return (hash >>> 11) < threshold;
+        }
+
+        // finalizer of the SplitMix64 generator
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+            return value ^ (value >>> 31);
+        }
+    }
+
+    private static boolean isForward(Graph graph, HugeIntArray rankOf, long maxDegree, int rank, long target) {
+        return rankOf.get(target) > rank && graph.degree(target) <= maxDegree;
+    }
+
+    /**
+     * Counting sort of all nodes by degree. Nodes with the same degree keep their id order.
+     */
+    private static void rankByDegree(Graph graph, HugeIntArray rankOf, HugeIntArray nodeByRank, AllocationTracker tracker) {
+        long nodeCount = graph.nodeCount();
+        int maxDegree = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            maxDegree = Math.max(maxDegree, graph.degree(nodeId));
+        }
+
+        HugeLongArray histogram = HugeLongArray.newArray(maxDegree + 2L, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            histogram.addTo(graph.degree(nodeId) + 1L, 1L);
+        }
+        for (long degree = 1; degree < histogram.size(); degree++) {
+            histogram.addTo(degree, histogram.get(degree - 1));
+        }
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int degree = graph.degree(nodeId);
+            long rank = histogram.get(degree);
+            histogram.set(degree, rank + 1);
+            rankOf.set(nodeId, (int) rank);
+            nodeByRank.set(rank, (int) nodeId);
+        }
+
+        tracker.remove(histogram.release());
+    }
+
+    private static void forEachNode(
+        long nodeCount,
+        int concurrency,
+        ExecutorService executor,
+        Supplier<LongConsumer> newTask
+    ) {
+        AtomicLong queue = new AtomicLong();
+        ParallelUtil.run(ParallelUtil.tasks(concurrency, () -> {
+            LongConsumer task = newTask.get();
+            return (Runnable) () -> {
+                long start;
+                while ((start = queue.getAndAdd(BATCH_SIZE)) < nodeCount) {
+                    long end = Math.min(start + BATCH_SIZE, nodeCount);
+                    for (long nodeId = start; nodeId < end; nodeId++) {
+                        task.accept(nodeId);
+                    }
+                }
+            };
+        }), executor);
+    }
+}
@@ -27,15 +27,20 @@ import org.neo4j.graphalgo.api.IntersectionConsumer;
 import org.neo4j.graphalgo.api.RelationshipIntersect;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 
 import java.util.Collection;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 /**
  * TriangleCount counts the number of triangles in the Graph as well
  * as the number of triangles that passes through a node.
@@ -56,6 +61,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     private Graph graph;
     private final TriangleCountBaseConfig config;
     private ExecutorService executorService;
+    private final AllocationTracker tracker;
     private final AtomicLong queue;
 
     // results
@@ -74,6 +80,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         this.graph = graph;
         this.config = config;
         this.executorService = executorService;
+        this.tracker = tracker;
         triangleCounts = HugeAtomicLongArray.newArray(graph.nodeCount(), tracker);
         globalTriangleCounter = new LongAdder();
         queue = new AtomicLong();
@@ -106,19 +113,96 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     public TriangleCountResult compute() {
         queue.set(0);
         globalTriangleCounter.reset();
-        // create tasks
-        final Collection<? extends Runnable> tasks = ParallelUtil.tasks(config.concurrency(), () -> new IntersectTask(graph));
-        // run
-        ParallelUtil.run(tasks, executorService);
+        boolean sampled = config.isSampled();
+        if (sampled && !DegreeOrderedGraph.supports(graph)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Sampling is only supported for graphs with at most %d nodes.",
+                Integer.MAX_VALUE
+            ));
+        }
+
+        if (sampled || (config.degreeOrdering() && DegreeOrderedGraph.supports(graph))) {
+            long samplingSeed = config.randomSeed() == -1L
+                ? new SplittableRandom().nextLong()
+                : config.randomSeed();
+            DegreeOrderedGraph degreeOrderedGraph = DegreeOrderedGraph.build(
+                graph,
+                config.maxDegree(),
+                config.samplingRate(),
+                samplingSeed,
+                config.concurrency(),
+                executorService,
+                tracker
+            );
+            final Collection<? extends Runnable> tasks = ParallelUtil.tasks(
+                config.concurrency(),
+                () -> new DegreeOrderedIntersectTask(degreeOrderedGraph)
+            );
+            ParallelUtil.run(tasks, executorService);
+            degreeOrderedGraph.release(tracker);
+        } else {
+            // create tasks
+            final Collection<? extends Runnable> tasks = ParallelUtil.tasks(config.concurrency(), () -> new IntersectTask(graph));
+            // run
+            ParallelUtil.run(tasks, executorService);
+        }
 
         globalTriangleCount = globalTriangleCounter.longValue();
 
+        if (sampled) {
+            return extrapolateSampledCounts();
+        }
+
         return TriangleCountResult.of(
             triangleCounts,
             globalTriangleCount
         );
     }
 
+    /**
+     * Scales the triangle counts of the sparsified graph up to estimates for the full graph.
+     * A triangle survives the sampling iff all three of its relationships do, which happens
+     * with probability {@code p^3}.
+     *
+     * The variance of the global estimate is {@code T * (1/p^3 - 1) + 2k * (1/p - 1)}, where
+     * {@code k} is the number of pairs of triangles that share a relationship [Tsourakakis et al.].
+     * Such a pair shares two nodes, so {@code 2k} is bounded by the number of pairs of triangles
+     * that share a node, which is known from the local estimates.
+     * The confidence interval follows from Chebyshev's inequality, which does not depend on the
+     * distribution of the estimate and is therefore conservative.
+     *
+     * https://doi.org/10.1145/1557019.1557111
+     */
+    private TriangleCountResult extrapolateSampledCounts() {
+        double samplingRate = config.samplingRate();
+        double scale = 1.0 / (samplingRate * samplingRate * samplingRate);
+
+        DoubleAdder pairsOfTrianglesSharingANode = new DoubleAdder();
+        ParallelUtil.parallelForEachNode(graph, config.concurrency(), nodeId -> {
+            long sampledTriangles = triangleCounts.get(nodeId);
+            if (sampledTriangles > 0) {
+                double estimate = sampledTriangles * scale;
+                triangleCounts.set(nodeId, Math.round(estimate));
+                pairsOfTrianglesSharingANode.add(estimate * (estimate - 1) / 2);
+            }
+        });
+
+        long sampledTriangles = globalTriangleCount;
+        double estimate = sampledTriangles * scale;
+        double variance = estimate * (scale - 1) + pairsOfTrianglesSharingANode.doubleValue() * (1 / samplingRate - 1);
+        double errorBound = Math.sqrt(variance / (1 - config.confidenceLevel()));
+
+        globalTriangleCount = Math.round(estimate);
+
+        return TriangleCountResult.of(
+            triangleCounts,
+            globalTriangleCount,
+            // every sampled triangle exists in the full graph
+            Math.max(sampledTriangles, (long) Math.floor(estimate - errorBound)),
+            (long) Math.ceil(estimate + errorBound)
+        );
+    }
+
     private class IntersectTask implements Runnable, IntersectionConsumer {
 
         private final RelationshipIntersect intersect;
@@ -152,6 +236,79 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         }
     }
 
+    /**
+     * Counts every triangle exactly once from its lowest ranked node {@code u}:
+     * for each forward neighbour {@code v} of {@code u}, the common forward
+     * neighbours {@code w} of both close a triangle.
+     */
+    private class DegreeOrderedIntersectTask implements Runnable {
+
+        private final DegreeOrderedGraph dag;
+        private int[] neighboursU;
+        private int[] neighboursV;
+        private int[] common;
+
+        DegreeOrderedIntersectTask(DegreeOrderedGraph dag) {
+            this.dag = dag;
+            this.neighboursU = new int[0];
+            this.neighboursV = new int[0];
+            this.common = new int[0];
+        }
+
+        @Override
+        public void run() {
+            long rank;
+            while ((rank = queue.getAndIncrement()) < dag.nodeCount() && running()) {
+                long nodeU = dag.toOriginalNodeId(rank);
+                if (graph.degree(nodeU) <= config.maxDegree()) {
+                    countTriangles(rank, nodeU);
+                } else {
+                    triangleCounts.set(nodeU, EXCLUDED_NODE_TRIANGLE_COUNT);
+                }
+                getProgressLogger().logProgress();
+            }
+        }
+
+        private void countTriangles(long rank, long nodeU) {
+            int degreeU = dag.degree(rank);
+            if (degreeU < 2) {
+                return;
+            }
+            neighboursU = dag.neighbours(rank, neighboursU);
+            if (common.length < degreeU) {
+                common = new int[degreeU];
+            }
+
+            long trianglesOfU = 0L;
+            for (int i = 0; i < degreeU - 1; i++) {
+                int rankV = neighboursU[i];
+                int degreeV = dag.degree(rankV);
+                if (degreeV == 0) {
+                    continue;
+                }
+                neighboursV = dag.neighbours(rankV, neighboursV);
+                // all common neighbours are ranked higher than v, so only the tail of u's list is relevant
+                int triangles = Intersections.intersection(
+                    neighboursU, i + 1, degreeU,
+                    neighboursV, 0, degreeV,
+                    common
+                );
+                if (triangles > 0) {
+                    triangleCounts.getAndAdd(dag.toOriginalNodeId(rankV), triangles);
+                    for (int j = 0; j < triangles; j++) {
+                        triangleCounts.getAndAdd(dag.toOriginalNodeId(common[j]), 1L);
+                    }
+                    trianglesOfU += triangles;
+                }
+            }
+
+            if (trianglesOfU > 0) {
+                triangleCounts.getAndAdd(nodeU, trianglesOfU);
+                globalTriangleCounter.add(trianglesOfU);
+            }
+        }
+    }
+
     @ValueClass
     public interface TriangleCountResult {
         // value at index `i` is number of triangles for node with id `i`
@@ -159,14 +316,30 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
 
         long globalTriangles();
 
+        // bounds of the confidence interval of the global count, equal to it unless the graph was sampled
+        long globalTrianglesLowerBound();
+
+        long globalTrianglesUpperBound();
+
         static TriangleCountResult of(
             HugeAtomicLongArray triangles,
             long globalTriangles
+        ) {
+            return of(triangles, globalTriangles, globalTriangles, globalTriangles);
+        }
+
+        static TriangleCountResult of(
+            HugeAtomicLongArray triangles,
+            long globalTriangles,
+            long globalTrianglesLowerBound,
+            long globalTrianglesUpperBound
         ) {
             return ImmutableTriangleCountResult
                 .builder()
                 .localTriangles(triangles)
                 .globalTriangles(globalTriangles)
+                .globalTrianglesLowerBound(globalTrianglesLowerBound)
+                .globalTrianglesUpperBound(globalTrianglesUpperBound)
                 .build();
         }
 
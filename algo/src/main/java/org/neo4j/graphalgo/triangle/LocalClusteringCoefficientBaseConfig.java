@@ -44,6 +44,22 @@ public interface LocalClusteringCoefficientBaseConfig extends AlgoBaseConfig, Co
         return null;
     }
 
+    @Value.Default
+    default boolean degreeOrdering() {
+        return false;
+    }
+
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false)
+    default double samplingRate() {
+        return 1.0;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return -1;
+    }
+
     @Override
     @Configuration.Ignore
     default String propertyNameOverride() {
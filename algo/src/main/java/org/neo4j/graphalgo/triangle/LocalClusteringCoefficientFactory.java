@@ -73,6 +73,9 @@ public class LocalClusteringCoefficientFactory<CONFIG extends LocalClusteringCoe
             .graphName(configuration.graphName())
             .implicitCreateConfig(configuration.implicitCreateConfig())
             .concurrency(configuration.concurrency())
+            .degreeOrdering(configuration.degreeOrdering())
+            .samplingRate(configuration.samplingRate())
+            .randomSeed(configuration.randomSeed())
             .build();
     }
 
@@ -39,6 +39,33 @@ public interface TriangleCountBaseConfig extends AlgoBaseConfig {
         return Long.MAX_VALUE;
     }
 
+    @Value.Default
+    default boolean degreeOrdering() {
+        return false;
+    }
+
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false)
+    default double samplingRate() {
+        return 1.0;
+    }
+
+    @Value.Default
+    @Configuration.DoubleRange(min = 0, max = 1, minInclusive = false, maxInclusive = false)
+    default double confidenceLevel() {
+        return 0.95;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return -1;
+    }
+
+    @Configuration.Ignore
+    default boolean isSampled() {
+        return samplingRate() < 1.0;
+    }
+
     @Value.Check
     default void validateMaxDegree() {
         if (maxDegree() < 2) {
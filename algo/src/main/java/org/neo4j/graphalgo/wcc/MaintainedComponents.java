@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Components that are kept next to a graph in the catalog and that are updated
+ * by linking only those relationship types that have not been linked before.
+ *
+ * Linking relationships only ever merges components, so the components of a graph
+ * remain valid as long as every linked relationship type is part of the graph.
+ * Relationship types are identified by their topology in the graph store, so that
+ * components become stale once a linked relationship type is deleted from the graph,
+ * even if a relationship type with the same name is added again.
+ *
+ * The components are tracked by their own {@link AllocationTracker}, as they outlive
+ * the query that creates them. Updates are serialized and every query receives
+ * a copy of the components, which is not affected by later updates.
+ */
+public final class MaintainedComponents {
+
+    private final AllocationTracker tracker;
+    private final HugeAtomicDisjointSetStruct dss;
+    private final Set<NodeLabel> nodeLabels;
+    private final @Nullable String relationshipWeightProperty;
+    private final double threshold;
+    private final Map<RelationshipType, Relationships.Topology> linkedRelationships;
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations
+            .builder(MaintainedComponents.class)
+            .add("dss", HugeAtomicDisjointSetStruct.memoryEstimation(false))
+            .build();
+    }
+
+    public static MaintainedComponents of(long nodeCount, Collection<NodeLabel> nodeLabels, WccBaseConfig config) {
+        var tracker = AllocationTracker.create();
+        return new MaintainedComponents(
+            tracker,
+            new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency()),
+            Set.copyOf(nodeLabels),
+            config.relationshipWeightProperty(),
+            config.threshold()
+        );
+    }
+
+    private MaintainedComponents(
+        AllocationTracker tracker,
+        HugeAtomicDisjointSetStruct dss,
+        Set<NodeLabel> nodeLabels,
+        @Nullable String relationshipWeightProperty,
+        double threshold
+    ) {
+        this.tracker = tracker;
+        this.dss = dss;
+        this.nodeLabels = nodeLabels;
+        this.relationshipWeightProperty = relationshipWeightProperty;
+        this.threshold = threshold;
+        this.linkedRelationships = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns true if every linked relationship type is still stored in the graph store.
+     * Stale components can never be updated and should be replaced.
+     */
+    public boolean isValid(GraphStore graphStore) {
+        return linkedRelationships.entrySet().stream().allMatch(linked ->
+            graphStore.hasRelationshipType(linked.getKey())
+            && graphStore.relationshipTopology(linked.getKey()) == linked.getValue()
+        );
+    }
+
+    /**
+     * Returns true if the components can be updated to the components of the graph
+     * with the given node labels and relationship types.
+     */
+    public boolean canBeUpdated(
+        GraphStore graphStore,
+        Collection<NodeLabel> nodeLabels,
+        Collection<RelationshipType> relationshipTypes,
+        WccBaseConfig config
+    ) {
+        return this.nodeLabels.equals(Set.copyOf(nodeLabels))
+               && Objects.equals(relationshipWeightProperty, config.relationshipWeightProperty())
+               && Double.compare(threshold, config.threshold()) == 0
+               && relationshipTypes.containsAll(linkedRelationships.keySet())
+               && isValid(graphStore);
+    }
+
+    /**
+     * Returns the given relationship types that have not been linked yet.
+     */
+    public List<RelationshipType> unlinkedRelationshipTypes(Collection<RelationshipType> relationshipTypes) {
+        return relationshipTypes
+            .stream()
+            .filter(relationshipType -> !linkedRelationships.containsKey(relationshipType))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The number of bytes held by the components.
+     */
+    public long memoryUsage() {
+        return tracker.trackedBytes();
+    }
+
+    /**
+     * Links the given relationships into the components, unless they have been linked already,
+     * and returns a copy of the updated components that is tracked by the given tracker.
+     */
+    synchronized DisjointSetStruct update(
+        Map<RelationshipType, Relationships.Topology> relationships,
+        Consumer<HugeAtomicDisjointSetStruct> linkFunction,
+        AllocationTracker tracker,
+        int concurrency
+    ) {
+        if (!linkedRelationships.keySet().containsAll(relationships.keySet())) {
+            linkFunction.accept(dss);
+            linkedRelationships.putAll(relationships);
+        }
+        return dss.copy(tracker, concurrency);
+    }
+}
@@ -19,12 +19,16 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.api.Relationships;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -35,6 +39,8 @@ import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -43,11 +49,31 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * Parallel Union-Find Algorithm based on the
  * "Wait-free Parallel Algorithms for the Union-Find Problem" paper.
  *
+ *
+ * If {@link WccBaseConfig#sampling()} is enabled, the algorithm follows the subgraph sampling
+ * approach of Afforest: it first links only a few neighbors per node, identifies the largest
+ * intermediate component from a sample of nodes, and finally links the remaining relationships
+ * of all nodes that are not part of that component. The relationships of the largest component
+ * are skipped in the final phase, which is only correct for undirected graphs. For other graphs
+ * all remaining relationships are linked.
+ *
+ * If {@link MaintainedComponents} are given, the relationships of the graph are linked into those
+ * components instead of new ones. The graph is then expected to only contain the relationships
+ * of the relationship types that have not been linked into the components before.
+ * The result is a copy of the maintained components, as those are shared with other queries.
+ *
  * @see HugeAtomicDisjointSetStruct
  * @see <a href="http://citeseerx.ist.psu.edu/viewdoc/download?doi=10.1.1.56.8354&rep=rep1&type=pdf">the paper</a>
+ * @see <a href="https://arxiv.org/abs/1808.02876">Afforest: A Fast Concurrent Algorithm for Connected Components</a>
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    static final int NEIGHBOR_ROUNDS = 2;
+    static final int SAMPLING_SIZE = 1024;
+
+    private static final long NO_COMPONENT = -1L;
+    private static final long SAMPLING_SEED = 42L;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
@@ -55,6 +81,8 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
     private final long nodeCount;
     private final long batchSize;
     private final int threadSize;
+    private final @Nullable MaintainedComponents maintainedComponents;
+    private final Map<RelationshipType, Relationships.Topology> unlinkedRelationships;
 
     private Graph graph;
 
@@ -72,8 +100,23 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         WccBaseConfig config,
         ProgressLogger progressLogger,
         AllocationTracker tracker
+    ) {
+        this(graph, executor, minBatchSize, config, progressLogger, tracker, null, Map.of());
+    }
+
+    public Wcc(
+        Graph graph,
+        ExecutorService executor,
+        int minBatchSize,
+        WccBaseConfig config,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker,
+        @Nullable MaintainedComponents maintainedComponents,
+        Map<RelationshipType, Relationships.Topology> unlinkedRelationships
     ) {
         this.graph = graph;
+        this.maintainedComponents = maintainedComponents;
+        this.unlinkedRelationships = unlinkedRelationships;
         this.config = config;
         this.initialComponents = config.isIncremental()
             ? graph.nodeProperties(config.seedProperty())
@@ -108,21 +151,66 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         long nodeCount = graph.nodeCount();
 
-        DisjointSetStruct dss = config.isIncremental()
+        if (maintainedComponents != null) {
+            DisjointSetStruct components = maintainedComponents.update(
+                unlinkedRelationships,
+                this::computeComponents,
+                tracker,
+                config.concurrency()
+            );
+            progressLogger.logMessage(":: Finished");
+            return components;
+        }
+
+        HugeAtomicDisjointSetStruct dss = config.isIncremental()
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
+        computeComponents(dss);
+
+        progressLogger.logMessage(":: Finished");
+        return dss;
+    }
+
+    private void computeComponents(HugeAtomicDisjointSetStruct dss) {
+        if (config.sampling()) {
+            link(dss, 0, NEIGHBOR_ROUNDS, NO_COMPONENT);
+            long largestComponent = graph.isUndirected() ? sampleLargestComponent(dss) : NO_COMPONENT;
+            link(dss, NEIGHBOR_ROUNDS, Long.MAX_VALUE, largestComponent);
+        } else {
+            link(dss, 0, Long.MAX_VALUE, NO_COMPONENT);
+        }
+    }
+
+    private void link(HugeAtomicDisjointSetStruct dss, long skipNeighbors, long maxNeighbors, long skipComponent) {
         final Collection<Runnable> tasks = new ArrayList<>(threadSize);
         for (long i = 0L; i < this.nodeCount; i += batchSize) {
             WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold(), dss, i);
+                ? new WCCTask(dss, i, skipNeighbors, maxNeighbors, skipComponent)
+                : new WCCWithThresholdTask(threshold(), dss, i, skipNeighbors, maxNeighbors, skipComponent);
             tasks.add(wccTask);
         }
         ParallelUtil.run(tasks, executor);
+    }
 
-        progressLogger.logMessage(":: Finished");
-        return dss;
+    /**
+     * Approximates the largest component by the most frequent set root within a random sample of nodes.
+     */
+    private long sampleLargestComponent(HugeAtomicDisjointSetStruct dss) {
+        var random = new SplittableRandom(SAMPLING_SEED);
+        var componentCounts = new LongIntHashMap();
+
+        long largestComponent = NO_COMPONENT;
+        int largestCount = 0;
+        for (int i = 0; i < SAMPLING_SIZE && nodeCount > 0; i++) {
+            long component = dss.find(random.nextLong(nodeCount));
+            int count = componentCounts.addTo(component, 1);
+            if (count > largestCount) {
+                largestCount = count;
+                largestComponent = component;
+            }
+        }
+        return largestComponent;
     }
 
     @Override
@@ -145,27 +233,47 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
     private class WCCTask implements Runnable, RelationshipConsumer {
 
-        final DisjointSetStruct struct;
+        final HugeAtomicDisjointSetStruct struct;
         final RelationshipIterator rels;
         private final long offset;
         private final long end;
+        private final long skipNeighbors;
+        private final long maxNeighbors;
+        private final long skipComponent;
 
-        WCCTask(DisjointSetStruct struct, long offset) {
+        private long visitedNeighbors;
+
+        WCCTask(
+            HugeAtomicDisjointSetStruct struct,
+            long offset,
+            long skipNeighbors,
+            long maxNeighbors,
+            long skipComponent
+        ) {
             this.struct = struct;
             this.rels = graph.concurrentCopy();
             this.offset = offset;
             this.end = Math.min(offset + batchSize, nodeCount);
+            this.skipNeighbors = skipNeighbors;
+            this.maxNeighbors = maxNeighbors;
+            this.skipComponent = skipComponent;
         }
 
         @Override
         public void run() {
             for (long node = offset; node < end; node++) {
-                compute(node);
+                long degree = graph.degree(node);
+                long remainingDegree = degree - Math.min(degree, skipNeighbors);
+
+                if (remainingDegree > 0 && (skipComponent == NO_COMPONENT || struct.find(node) != skipComponent)) {
+                    visitedNeighbors = 0;
+                    compute(node);
+                }
                 if (node % RUN_CHECK_NODE_COUNT == 0) {
                     assertRunning();
                 }
 
-                getProgressLogger().logProgress(graph.degree(node));
+                getProgressLogger().logProgress(Math.min(remainingDegree, maxNeighbors));
             }
         }
 
@@ -173,10 +281,24 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             rels.forEachRelationship(node, this);
         }
 
+        /**
+         * Returns true if the next neighbor of the current node is in the range of neighbors this task links.
+         */
+        final boolean nextNeighborInRange() {
+            long index = visitedNeighbors++;
+            return index >= skipNeighbors && index - skipNeighbors < maxNeighbors;
+        }
+
+        final boolean hasMoreNeighborsInRange() {
+            return visitedNeighbors - skipNeighbors < maxNeighbors;
+        }
+
         @Override
         public boolean accept(final long sourceNodeId, final long targetNodeId) {
-            struct.union(sourceNodeId, targetNodeId);
-            return true;
+            if (nextNeighborInRange()) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+            return hasMoreNeighborsInRange();
         }
     }
 
@@ -184,8 +306,15 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         private final double threshold;
 
-        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset) {
-            super(struct, offset);
+        WCCWithThresholdTask(
+            double threshold,
+            HugeAtomicDisjointSetStruct struct,
+            long offset,
+            long skipNeighbors,
+            long maxNeighbors,
+            long skipComponent
+        ) {
+            super(struct, offset, skipNeighbors, maxNeighbors, skipComponent);
             this.threshold = threshold;
         }
 
@@ -196,10 +325,10 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         @Override
         public boolean accept(final long sourceNodeId, final long targetNodeId, final double property) {
-            if (property > threshold) {
+            if (nextNeighborInRange() && property > threshold) {
                 struct.union(sourceNodeId, targetNodeId);
             }
-            return true;
+            return hasMoreNeighborsInRange();
         }
     }
 }
@@ -32,6 +32,16 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, ConsecutiveId
         return 0D;
     }
 
+    @Value.Default
+    default boolean sampling() {
+        return false;
+    }
+
+    @Value.Default
+    default boolean maintainComponents() {
+        return false;
+    }
+
     @Value.Check
     default void validate() {
         if (threshold() > 0 && relationshipWeightProperty() == null) {
@@ -41,5 +51,9 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, ConsecutiveId
         if (isIncremental() && consecutiveIds()) {
            throw new IllegalArgumentException("Seeding and the `consecutiveIds` option cannot be used at the same time.");
         }
+
+        if (isIncremental() && maintainComponents()) {
+           throw new IllegalArgumentException("Seeding and the `maintainComponents` option cannot be used at the same time.");
+        }
     }
 }
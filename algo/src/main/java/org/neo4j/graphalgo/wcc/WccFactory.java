@@ -19,8 +19,11 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.Relationships;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
@@ -28,8 +31,25 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.logging.Log;
 
+import java.util.Map;
+
 public class WccFactory<CONFIG extends WccBaseConfig> implements AlgorithmFactory<Wcc, CONFIG> {
 
+    private final @Nullable MaintainedComponents maintainedComponents;
+    private final Map<RelationshipType, Relationships.Topology> unlinkedRelationships;
+
+    public WccFactory() {
+        this(null, Map.of());
+    }
+
+    public WccFactory(
+        @Nullable MaintainedComponents maintainedComponents,
+        Map<RelationshipType, Relationships.Topology> unlinkedRelationships
+    ) {
+        this.maintainedComponents = maintainedComponents;
+        this.unlinkedRelationships = unlinkedRelationships;
+    }
+
     @Override
     public Wcc build(Graph graph, CONFIG configuration, AllocationTracker tracker, Log log) {
         var progressLogger = new BatchingProgressLogger(
@@ -49,7 +69,9 @@ public class WccFactory<CONFIG extends WccBaseConfig> implements AlgorithmFactor
             ParallelUtil.DEFAULT_BATCH_SIZE,
             configuration,
             progressLogger,
-            tracker
+            tracker,
+            maintainedComponents,
+            unlinkedRelationships
         );
     }
 
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongHashSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.louvain.ImmutableLouvainStreamConfig;
+import org.neo4j.graphalgo.louvain.Louvain;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
+import static org.neo4j.graphalgo.TestSupport.ids;
+import static org.neo4j.graphalgo.core.ProcedureConstants.TOLERANCE_DEFAULT;
+
+@GdlExtension
+class LeidenTest {
+
+    static ImmutableLeidenStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableLeidenStreamConfig.builder()
+            .maxLevels(10)
+            .maxIterations(10)
+            .tolerance(TOLERANCE_DEFAULT)
+            .concurrency(1);
+    }
+
+    @GdlGraph(orientation = Orientation.UNDIRECTED)
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {seed: 1})" +
+        ", (b:Node {seed: 1})" +
+        ", (c:Node {seed: 1})" +
+        ", (d:Node {seed: 1})" +
+        ", (e:Node {seed: 1})" +
+        ", (f:Node {seed: 1})" +
+        ", (g:Node {seed: 2})" +
+        ", (h:Node {seed: 2})" +
+        ", (i:Node {seed: 2})" +
+        ", (j:Node {seed: 42})" +
+        ", (k:Node {seed: 42})" +
+        ", (l:Node {seed: 42})" +
+        ", (m:Node {seed: 42})" +
+        ", (n:Node {seed: 42})" +
+        ", (x:Node {seed: 1})" +
+
+        ", (a)-[:TYPE {weight: 1.0}]->(b)" +
+        ", (a)-[:TYPE {weight: 1.0}]->(d)" +
+        ", (a)-[:TYPE {weight: 1.0}]->(f)" +
+        ", (b)-[:TYPE {weight: 1.0}]->(d)" +
+        ", (b)-[:TYPE {weight: 1.0}]->(x)" +
+        ", (b)-[:TYPE {weight: 1.0}]->(g)" +
+        ", (b)-[:TYPE {weight: 1.0}]->(e)" +
+        ", (c)-[:TYPE {weight: 1.0}]->(x)" +
+        ", (c)-[:TYPE {weight: 1.0}]->(f)" +
+        ", (d)-[:TYPE {weight: 1.0}]->(k)" +
+        ", (e)-[:TYPE {weight: 1.0}]->(x)" +
+        ", (e)-[:TYPE {weight: 0.01}]->(f)" +
+        ", (e)-[:TYPE {weight: 1.0}]->(h)" +
+        ", (f)-[:TYPE {weight: 1.0}]->(g)" +
+        ", (g)-[:TYPE {weight: 1.0}]->(h)" +
+        ", (h)-[:TYPE {weight: 1.0}]->(i)" +
+        ", (h)-[:TYPE {weight: 1.0}]->(j)" +
+        ", (i)-[:TYPE {weight: 1.0}]->(k)" +
+        ", (j)-[:TYPE {weight: 1.0}]->(k)" +
+        ", (j)-[:TYPE {weight: 1.0}]->(m)" +
+        ", (j)-[:TYPE {weight: 1.0}]->(n)" +
+        ", (k)-[:TYPE {weight: 1.0}]->(m)" +
+        ", (k)-[:TYPE {weight: 1.0}]->(l)" +
+        ", (l)-[:TYPE {weight: 1.0}]->(n)" +
+        ", (m)-[:TYPE {weight: 1.0}]->(n)";
+
+    @GdlGraph(graphNamePrefix = "disconnected", orientation = Orientation.UNDIRECTED)
+    private static final String DISCONNECTED_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (a)-[:TYPE]->(b)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(a)" +
+        ", (d)-[:TYPE]->(e)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(d)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Inject
+    private Graph disconnectedGraph;
+
+    @Inject
+    private IdFunction disconnectedIdFunction;
+
+    @Test
+    void testUnweighted() {
+        var graph = graphStore.getGraph(NodeLabel.listOf("Node"), RelationshipType.listOf("TYPE"), Optional.empty());
+
+        Leiden algorithm = compute(graph, defaultConfigBuilder().build());
+
+        assertCommunities(
+            algorithm.finalDendrogram(),
+            ids(idFunction, "a", "b", "c", "d", "e", "f", "x"),
+            ids(idFunction, "g", "h", "i"),
+            ids(idFunction, "j", "k", "l", "m", "n")
+        );
+        assertEquals(0.38, algorithm.modularities()[algorithm.levels() - 1], 0.01);
+        assertConnectedCommunities(graph, algorithm);
+    }
+
+    @Test
+    void testWeighted() {
+        var graph = graphStore.getGraph(NodeLabel.listOf("Node"), RelationshipType.listOf("TYPE"), Optional.of("weight"));
+
+        Leiden algorithm = compute(graph, defaultConfigBuilder().build());
+
+        assertCommunities(
+            algorithm.finalDendrogram(),
+            ids(idFunction, "a", "b", "c", "d", "e", "f", "g", "x"),
+            ids(idFunction, "h", "i", "j", "k", "l", "m", "n")
+        );
+        assertEquals(0.37, algorithm.modularities()[algorithm.levels() - 1], 0.01);
+        assertConnectedCommunities(graph, algorithm);
+    }
+
+    @Test
+    void testSeeded() {
+        var graph = graphStore.getGraph(NodeLabel.listOf("Node"), RelationshipType.listOf("TYPE"), Optional.of("weight"));
+
+        Leiden algorithm = compute(graph, defaultConfigBuilder().seedProperty("seed").build());
+
+        var dendrogram = algorithm.dendrograms()[0];
+        assertEquals(1L, dendrogram.get(idFunction.of("a")));
+        assertEquals(2L, dendrogram.get(idFunction.of("g")));
+        assertEquals(42L, dendrogram.get(idFunction.of("j")));
+        assertCommunities(
+            dendrogram,
+            ids(idFunction, "a", "b", "c", "d", "e", "f", "x"),
+            ids(idFunction, "g", "h", "i"),
+            ids(idFunction, "j", "k", "l", "m", "n")
+        );
+    }
+
+    @Test
+    void testMaxLevels() {
+        var graph = graphStore.getGraph(NodeLabel.listOf("Node"), RelationshipType.listOf("TYPE"), Optional.empty());
+
+        Leiden algorithm = compute(graph, defaultConfigBuilder().maxLevels(1).build());
+
+        assertEquals(1, algorithm.levels());
+        assertEquals(1, algorithm.dendrograms().length);
+    }
+
+    @Test
+    void testRefinementSplitsDisconnectedCommunities() {
+        var communities = HugeLongArray.newArray(disconnectedGraph.nodeCount(), AllocationTracker.empty());
+        communities.fill(0L);
+
+        var refined = new Refinement(
+            disconnectedGraph,
+            communities,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).compute();
+
+        for (String left : new String[]{"a", "b", "c"}) {
+            for (String right : new String[]{"d", "e", "f"}) {
+                assertTrue(
+                    refined.get(disconnectedIdFunction.of(left)) != refined.get(disconnectedIdFunction.of(right)),
+                    "refined communities must not span disconnected components"
+                );
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldFindConnectedCommunitiesOnRandomGraphs(int concurrency) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(1_000)
+            .averageDegree(5)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        Leiden leiden = compute(graph, defaultConfigBuilder().concurrency(concurrency).build());
+        Louvain louvain = new Louvain(
+            graph,
+            ImmutableLouvainStreamConfig.builder().concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE).compute();
+
+        assertConnectedCommunities(graph, leiden);
+        double leidenModularity = leiden.modularities()[leiden.levels() - 1];
+        double louvainModularity = louvain.modularities()[louvain.levels() - 1];
+        assertTrue(
+            leidenModularity >= louvainModularity - 0.01,
+            "Leiden modularity " + leidenModularity + " should not be worse than Louvain modularity " + louvainModularity
+        );
+    }
+
+    @Test
+    void testMemoryEstimation() {
+        // refined communities and their sizes, weights and external weights per node
+        long refinementState = 2 * HugeLongArray.memoryEstimation(100_000L) + 2 * HugeDoubleArray.memoryEstimation(100_000L);
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000L)
+            .maxRelCount(500_000L)
+            .build();
+
+        assertMemoryEstimation(
+            () -> new LeidenFactory<>().memoryEstimation(defaultConfigBuilder().build()),
+            dimensions,
+            1,
+            14414681L + refinementState,
+            35614344L + refinementState
+        );
+    }
+
+    private Leiden compute(Graph graph, LeidenStreamConfig config) {
+        return new Leiden(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE).compute();
+    }
+
+    private static void assertConnectedCommunities(Graph graph, Leiden leiden) {
+        for (HugeLongArray dendrogram : leiden.dendrograms()) {
+            Map<Long, LongHashSet> members = new HashMap<>();
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                members.computeIfAbsent(dendrogram.get(nodeId), ignore -> new LongHashSet()).add(nodeId);
+            }
+
+            members.forEach((community, nodes) -> {
+                var visited = new LongHashSet();
+                var queue = new LongArrayDeque();
+                long start = nodes.iterator().next().value;
+                queue.addLast(start);
+                visited.add(start);
+                while (!queue.isEmpty()) {
+                    long nodeId = queue.removeFirst();
+                    graph.forEachRelationship(nodeId, (source, target) -> {
+                        if (nodes.contains(target) && visited.add(target)) {
+                            queue.addLast(target);
+                        }
+                        return true;
+                    });
+                }
+                assertEquals(nodes.size(), visited.size(), "community " + community + " is not connected");
+            });
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@GdlExtension
+class GraphContractionTest {
+
+    @GdlGraph(orientation = Orientation.UNDIRECTED)
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (a)-[:TYPE {weight: 1.0}]->(b)" +
+        ", (a)-[:TYPE {weight: 2.0}]->(c)" +
+        ", (b)-[:TYPE {weight: 3.0}]->(c)" +
+        ", (c)-[:TYPE {weight: 4.0}]->(d)" +
+        ", (b)-[:TYPE {weight: 5.0}]->(d)" +
+        ", (d)-[:TYPE {weight: 6.0}]->(e)" +
+        ", (e)-[:TYPE {weight: 7.0}]->(f)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    private HugeLongArray communities() {
+        // {a, b, c} -> 7, {d, e} -> 3, {f} -> 5
+        var communities = HugeLongArray.newArray(graph.nodeCount(), AllocationTracker.empty());
+        communities.set(idFunction.of("a"), 7);
+        communities.set(idFunction.of("b"), 7);
+        communities.set(idFunction.of("c"), 7);
+        communities.set(idFunction.of("d"), 3);
+        communities.set(idFunction.of("e"), 3);
+        communities.set(idFunction.of("f"), 5);
+        return communities;
+    }
+
+    @Test
+    void shouldContractCommunitiesIntoNodes() {
+        var contracted = contract(communities(), 4);
+
+        assertEquals(3, contracted.nodeCount());
+        assertTrue(contracted.isUndirected());
+        assertFalse(contracted.isMultiGraph());
+
+        // dense ids are assigned in ascending community order
+        assertEquals(3, contracted.toOriginalNodeId(0));
+        assertEquals(5, contracted.toOriginalNodeId(1));
+        assertEquals(7, contracted.toOriginalNodeId(2));
+        assertEquals(0, contracted.toMappedNodeId(3));
+        assertEquals(2, contracted.toMappedNodeId(7));
+        assertEquals(-1, contracted.toMappedNodeId(4));
+        assertFalse(contracted.contains(0));
+    }
+
+    @Test
+    void shouldMergeRelationshipsBetweenCommunities() {
+        var contracted = contract(communities(), 4);
+
+        long de = contracted.toMappedNodeId(3);
+        long f = contracted.toMappedNodeId(5);
+        long abc = contracted.toMappedNodeId(7);
+
+        // internal relationships become self-loops, counted once per direction
+        assertEquals(2 * 6.0, contracted.relationshipProperty(abc, abc), 1E-9);
+        assertEquals(2 * 6.0, contracted.relationshipProperty(de, de), 1E-9);
+        assertFalse(contracted.exists(f, f));
+
+        assertEquals(9.0, contracted.relationshipProperty(abc, de), 1E-9);
+        assertEquals(9.0, contracted.relationshipProperty(de, abc), 1E-9);
+        assertEquals(7.0, contracted.relationshipProperty(de, f), 1E-9);
+        assertEquals(7.0, contracted.relationshipProperty(f, de), 1E-9);
+        assertFalse(contracted.exists(abc, f));
+        assertEquals(42.0, contracted.relationshipProperty(abc, f, 42.0));
+
+        assertEquals(2, contracted.degree(abc));
+        assertEquals(3, contracted.degree(de));
+        assertEquals(1, contracted.degree(f));
+        assertEquals(6, contracted.relationshipCount());
+    }
+
+    @Test
+    void shouldSortTargets() {
+        var contracted = contract(communities(), 4);
+
+        for (long nodeId = 0; nodeId < contracted.nodeCount(); nodeId++) {
+            List<Long> targets = new ArrayList<>();
+            contracted.forEachRelationship(nodeId, (source, target) -> {
+                targets.add(target);
+                return true;
+            });
+            for (int i = 1; i < targets.size(); i++) {
+                assertTrue(targets.get(i - 1) < targets.get(i));
+            }
+            for (int i = 0; i < targets.size(); i++) {
+                assertEquals(targets.get(i), contracted.getTarget(nodeId, i));
+            }
+            assertEquals(-1, contracted.getTarget(nodeId, targets.size()));
+        }
+    }
+
+    @Test
+    void shouldPreserveTotalWeight() {
+        var singletons = HugeLongArray.newArray(graph.nodeCount(), AllocationTracker.empty());
+        singletons.setAll(nodeId -> nodeId);
+
+        var contracted = contract(singletons, 1);
+
+        assertEquals(graph.nodeCount(), contracted.nodeCount());
+        assertEquals(graph.relationshipCount(), contracted.relationshipCount());
+        assertEquals(totalWeight(graph), totalWeight(contracted), 1E-9);
+        assertEquals(totalWeight(graph), totalWeight(contract(communities(), 4)), 1E-9);
+    }
+
+    private ContractedGraph contract(HugeLongArray communities, int concurrency) {
+        long maxCommunityId = 0;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            maxCommunityId = Math.max(maxCommunityId, communities.get(nodeId));
+        }
+        return GraphContraction.contract(
+            graph,
+            communities::get,
+            maxCommunityId,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+    }
+
+    @Test
+    void shouldSortBucketsInPlace() {
+        var random = new Random(42L);
+        // few distinct values produce many duplicates, sorted inputs are degenerate for a naive quicksort
+        long[][] inputs = {
+            random.longs(10_000, 0, 100).toArray(),
+            random.longs(10_000, 0, Long.MAX_VALUE).toArray(),
+            random.longs(10, 0, 5).toArray(),
+            LongStream.range(0, 10_000).toArray(),
+            LongStream.range(0, 10_000).map(i -> 10_000 - i).toArray(),
+        };
+        for (long[] input : inputs) {
+            int offset = 3;
+            var targets = HugeLongArray.newArray(input.length + 2 * offset, AllocationTracker.empty());
+            var weights = HugeDoubleArray.newArray(input.length + 2 * offset, AllocationTracker.empty());
+            targets.fill(-1L);
+            for (int i = 0; i < input.length; i++) {
+                targets.set(offset + i, input[i]);
+                // the weight identifies its target, so it must be moved along with it
+                weights.set(offset + i, input[i] / 2.0);
+            }
+
+            GraphContraction.sort(targets, weights, offset, offset + input.length);
+
+            long[] expected = input.clone();
+            Arrays.sort(expected);
+            for (int i = 0; i < input.length; i++) {
+                assertEquals(expected[i], targets.get(offset + i));
+                assertEquals(expected[i] / 2.0, weights.get(offset + i));
+            }
+            assertEquals(-1L, targets.get(offset - 1));
+            assertEquals(-1L, targets.get(offset + input.length));
+        }
+    }
+
+    private static double totalWeight(Graph graph) {
+        double[] sum = {0.0};
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                sum[0] += weight;
+                return true;
+            });
+            return true;
+        });
+        return sum[0];
+    }
+}
@@ -27,13 +27,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NullPropertyMap.DoubleNullPropertyMap;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -204,9 +209,9 @@ class LabelPropagationTest {
 
     static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1, 800_480L, 4_994_656L),
-            Arguments.of(4, 801_560L, 17_578_264L),
-            Arguments.of(42, 815_240L, 176_970_632L)
+            Arguments.of(1, 813_048L, 5_007_224L),
+            Arguments.of(4, 814_128L, 17_590_832L),
+            Arguments.of(42, 827_808L, 176_983_200L)
         );
     }
 
@@ -267,4 +272,71 @@ class LabelPropagationTest {
         });
         assertTrue(testLogger.containsMessage(TestLog.INFO, ":: Finished"));
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldComputeStableLabelsOnUndirectedGraphs(int concurrency) {
+        var undirectedGraph = randomUndirectedGraph();
+
+        var lp = new LabelPropagation(
+            undirectedGraph,
+            ImmutableLabelPropagationStreamConfig.builder().concurrency(concurrency).maxIterations(100).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        );
+        HugeLongArray labels = lp.compute().labels();
+        assertTrue(lp.didConverge());
+
+        // recomputing any node must not change its label anymore
+        var consumer = new ComputeStepConsumer(new DoubleNullPropertyMap(1.0), labels);
+        for (long nodeId = 0; nodeId < undirectedGraph.nodeCount(); nodeId++) {
+            consumer.clearVotes();
+            undirectedGraph.forEachRelationship(nodeId, LabelPropagation.DEFAULT_WEIGHT, consumer);
+            long label = labels.get(nodeId);
+            assertEquals(label, consumer.tallyVotes(label), "label of node " + nodeId + " is not stable");
+        }
+    }
+
+    @Test
+    void shouldOnlyRevisitNodesNextToChangesOnUndirectedGraphs() {
+        var undirectedGraph = randomUndirectedGraph();
+        var testLogger = new TestProgressLogger(
+            undirectedGraph.relationshipCount(),
+            "LabelPropagation",
+            1
+        );
+
+        var lp = new LabelPropagation(
+            undirectedGraph,
+            ImmutableLabelPropagationStreamConfig.builder().concurrency(1).maxIterations(100).build(),
+            Pools.DEFAULT,
+            testLogger,
+            AllocationTracker.empty()
+        );
+        lp.compute();
+
+        List<AtomicLong> progresses = testLogger.getProgresses();
+        assertEquals(lp.ranIterations() + 1, progresses.size());
+        // the first iteration visits every node, the last one only the neighbours of the last changes
+        long firstIteration = progresses.get(1).get();
+        long lastIteration = progresses.get(progresses.size() - 1).get();
+        assertEquals(undirectedGraph.relationshipCount(), firstIteration);
+        assertTrue(
+            lastIteration < firstIteration,
+            formatWithLocale("expected the last iteration to visit less than %d relationships, got %d", firstIteration, lastIteration)
+        );
+    }
+
+    private static Graph randomUndirectedGraph() {
+        return RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(5)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+    }
 }
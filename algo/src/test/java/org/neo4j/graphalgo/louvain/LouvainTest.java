@@ -322,12 +322,12 @@ class LouvainTest {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 1, 6414145, 23941616),
-            arguments(1, 10, 6414145, 31141976),
-            arguments(4, 1, 6417433, 29745992),
-            arguments(4, 10, 6417433, 36946352),
-            arguments(42, 1, 6459081, 105719480),
-            arguments(42, 10, 6459081, 112919840)
+            arguments(1, 1, 6414145, 20413448),
+            arguments(1, 10, 6414145, 27613808),
+            arguments(4, 1, 6417433, 26413712),
+            arguments(4, 10, 6417433, 33614072),
+            arguments(42, 1, 6459081, 102417056),
+            arguments(42, 10, 6459081, 109617416)
         );
     }
 
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.extension.TestGraph;
+import org.neo4j.graphalgo.result.CentralityResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@GdlExtension
+final class BatchedPersonalizedPageRankTest {
+
+    @GdlGraph(graphNamePrefix = "natural", orientation = Orientation.NATURAL)
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String GRAPH =
+        "CREATE" +
+        "  (a:Label)" +
+        ", (b:Label)" +
+        ", (c:Label)" +
+        ", (d:Label)" +
+        ", (e:Label)" +
+        ", (f:Label)" +
+        ", (g:Label)" +
+        ", (h:Label)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(b)" +
+        ", (d)-[:TYPE]->(a)" +
+        ", (d)-[:TYPE]->(b)" +
+        ", (e)-[:TYPE]->(b)" +
+        ", (e)-[:TYPE]->(d)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(b)" +
+        ", (f)-[:TYPE]->(e)" +
+        ", (g)-[:TYPE]->(h)";
+
+    @Inject
+    private TestGraph naturalGraph;
+
+    @Inject
+    private TestGraph undirectedGraph;
+
+    static Stream<Arguments> batchSizesAndConcurrencies() {
+        return Stream.of(
+            Arguments.of(1, 1),
+            Arguments.of(2, 1),
+            Arguments.of(2, 4),
+            Arguments.of(32, 4)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchSizesAndConcurrencies")
+    void shouldMatchPersonalizedPageRankPerSourceNodeSet(int batchSize, int concurrency) {
+        for (TestGraph graph : List.of(naturalGraph, undirectedGraph)) {
+            List<List<String>> sourceNodeSets = List.of(List.of("e", "f"), List.of("a"), List.of("b", "d"), List.of("g"));
+
+            var config = configBuilder(graph, sourceNodeSets)
+                .batchSize(batchSize)
+                .concurrency(concurrency)
+                .topK(8)
+                .build();
+            var result = run(graph, config);
+
+            assertEquals(sourceNodeSets.size(), result.sourceNodeSetCount());
+            for (int set = 0; set < sourceNodeSets.size(); set++) {
+                var expected = personalizedPageRank(graph, config, sourceNodeSets.get(set));
+                long expectedCount = LongStream.range(0, graph.nodeCount()).filter(nodeId -> expected.score(nodeId) > 0).count();
+
+                List<Double> scores = new ArrayList<>();
+                int finalSet = set;
+                result.forEachTopK(set, (nodeId, score) -> {
+                    assertEquals(expected.score(nodeId), score, 1e-5, "Set#" + finalSet + " Node#" + nodeId);
+                    scores.add(score);
+                });
+
+                assertEquals(expectedCount, scores.size(), "Set#" + set);
+                for (int i = 1; i < scores.size(); i++) {
+                    assertTrue(scores.get(i - 1) >= scores.get(i), "Set#" + set + " is not in descending order");
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyKeepTopKNodesPerSourceNodeSet() {
+        List<List<String>> sourceNodeSets = List.of(List.of("e", "f"), List.of("d"));
+        var config = configBuilder(naturalGraph, sourceNodeSets).topK(2).build();
+        var result = run(naturalGraph, config);
+
+        List<Long> topNodes = new ArrayList<>();
+        result.forEachTopK(0, (nodeId, score) -> topNodes.add(nodeId));
+        assertEquals(List.of(naturalGraph.toMappedNodeId("b"), naturalGraph.toMappedNodeId("c")), topNodes);
+
+        List<Long> topNodesOfD = new ArrayList<>();
+        result.forEachTopK(1, (nodeId, score) -> topNodesOfD.add(nodeId));
+        assertEquals(2, topNodesOfD.size());
+    }
+
+    @Test
+    void shouldReleaseAllTrackedMemory() {
+        var config = configBuilder(naturalGraph, List.of(List.of("e", "f"), List.of("d"))).build();
+        var tracker = AllocationTracker.create();
+
+        new BatchedPersonalizedPageRank(naturalGraph, config, Pools.DEFAULT, ProgressLogger.NULL_LOGGER, tracker).compute();
+
+        assertEquals(0, tracker.trackedBytes());
+    }
+
+    @Test
+    void shouldFailOnEmptySourceNodeSets() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> ImmutableBatchedPersonalizedPageRankStreamConfig.builder().sourceNodeSets(List.of()).build()
+        );
+        assertTrue(exception.getMessage().contains("sourceNodeSets"));
+    }
+
+    @Test
+    void shouldFailOnInvalidSourceNodes() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> ImmutableBatchedPersonalizedPageRankStreamConfig.builder()
+                .sourceNodeSets(List.of(List.of(0L, "a")))
+                .build()
+        );
+        assertTrue(exception.getMessage().contains("nodes or node ids"));
+    }
+
+    private static ImmutableBatchedPersonalizedPageRankStreamConfig.Builder configBuilder(
+        TestGraph graph,
+        List<List<String>> sourceNodeSets
+    ) {
+        return ImmutableBatchedPersonalizedPageRankStreamConfig.builder()
+            .maxIterations(40)
+            .tolerance(0)
+            .sourceNodeSets(sourceNodeSets
+                .stream()
+                .map(variables -> variables.stream().map(graph::toOriginalNodeId).collect(Collectors.<Object>toList()))
+                .collect(Collectors.toList()));
+    }
+
+    private static BatchedPersonalizedPageRank.Result run(TestGraph graph, BatchedPersonalizedPageRankStreamConfig config) {
+        return new BatchedPersonalizedPageRank(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+    }
+
+    private static CentralityResult personalizedPageRank(
+        TestGraph graph,
+        BatchedPersonalizedPageRankStreamConfig config,
+        List<String> sourceNodes
+    ) {
+        var pageRankConfig = ImmutablePageRankStreamConfig.builder()
+            .maxIterations(config.maxIterations())
+            .dampingFactor(config.dampingFactor())
+            .tolerance(0)
+            .concurrency(1)
+            .build();
+        return PageRankAlgorithmType.NON_WEIGHTED
+            .create(
+                graph,
+                pageRankConfig,
+                sourceNodes.stream().mapToLong(graph::toOriginalNodeId),
+                ProgressLogger.NULL_LOGGER,
+                AllocationTracker.empty()
+            )
+            .compute()
+            .result();
+    }
+}
@@ -22,10 +22,14 @@ package org.neo4j.graphalgo.pagerank;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
@@ -49,6 +53,7 @@ final class PageRankTest {
 
     @GdlGraph(graphNamePrefix = "natural", orientation = Orientation.NATURAL)
     @GdlGraph(graphNamePrefix = "reverse", orientation = Orientation.REVERSE)
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
     private static final String GRAPH =
         "CREATE" +
         "  (a:Label)" +
@@ -71,21 +76,54 @@ final class PageRankTest {
         ", (f)-[:TYPE]->(b)" +
         ", (f)-[:TYPE]->(e)";
 
+    // `seed` holds the converged scores of GRAPH, `outdatedSeed` the ones before (e)-->(b) and (f)-->(b) were added
+    @GdlGraph(graphNamePrefix = "seeded")
+    private static final String SEEDED_GRAPH =
+        "CREATE" +
+        "  (a:Label {seed: 0.243007, outdatedSeed: 0.3, constantSeed: 1.0})" +
+        ", (b:Label {seed: 1.9183995, outdatedSeed: 1.4, constantSeed: 1.0})" +
+        ", (c:Label {seed: 1.7806315, outdatedSeed: 1.3, constantSeed: 1.0})" +
+        ", (d:Label {seed: 0.21885, outdatedSeed: 0.25, constantSeed: 1.0})" +
+        ", (e:Label {seed: 0.243007, outdatedSeed: 0.29, constantSeed: 1.0})" +
+        ", (f:Label {seed: 0.21885, outdatedSeed: 0.25, constantSeed: 1.0})" +
+        ", (g:Label {seed: 0.15, outdatedSeed: 0.15, constantSeed: 1.0})" +
+        ", (h:Label {seed: 0.15, outdatedSeed: 0.15, constantSeed: 1.0})" +
+        ", (i:Label {seed: 0.15, outdatedSeed: 0.15, constantSeed: 1.0})" +
+        ", (j:Label {seed: 0.15, outdatedSeed: 0.15, constantSeed: 1.0})" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(b)" +
+        ", (d)-[:TYPE]->(a)" +
+        ", (d)-[:TYPE]->(b)" +
+        ", (e)-[:TYPE]->(b)" +
+        ", (e)-[:TYPE]->(d)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(b)" +
+        ", (f)-[:TYPE]->(e)";
+
+    @Inject
+    private TestGraph seededGraph;
+
     @Inject
     private TestGraph naturalGraph;
 
     @Inject
     private TestGraph reverseGraph;
 
+    @Inject
+    private TestGraph undirectedGraph;
+
     private static final PageRankBaseConfig DEFAULT_CONFIG = defaultConfigBuilder().build();
 
+    private static final PageRankBaseConfig CONVERGING_CONFIG = defaultConfigBuilder().maxIterations(1000).build();
+
     static ImmutablePageRankStreamConfig.Builder defaultConfigBuilder() {
         return ImmutablePageRankStreamConfig.builder()
             .maxIterations(40);
     }
 
-    @Test
-    void testOnOutgoingRelationships() {
+    @ParameterizedTest
+    @EnumSource(value = PageRankAlgorithmType.class, names = {"NON_WEIGHTED", "PULL"})
+    void testOnOutgoingRelationships(PageRankAlgorithmType algorithmType) {
         var expected = Map.of(
             "a", 0.243007,
             "b", 1.9183995,
@@ -99,11 +137,12 @@ final class PageRankTest {
             "j", 0.15
         );
 
-        assertResult(this.naturalGraph, PageRankAlgorithmType.NON_WEIGHTED, expected);
+        assertResult(this.naturalGraph, algorithmType, expected);
     }
 
-    @Test
-    void testOnIncomingRelationships() {
+    @ParameterizedTest
+    @EnumSource(value = PageRankAlgorithmType.class, names = {"NON_WEIGHTED", "PULL"})
+    void testOnIncomingRelationships(PageRankAlgorithmType algorithmType) {
         var expected = Map.of(
             "a", 0.15,
             "b", 0.3386727,
@@ -117,7 +156,120 @@ final class PageRankTest {
             "j", 0.15
         );
 
-        assertResult(reverseGraph, PageRankAlgorithmType.NON_WEIGHTED, expected);
+        assertResult(reverseGraph, algorithmType, expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void pullModeShouldMatchPushMode(int concurrency) {
+        var config = defaultConfigBuilder().concurrency(concurrency).build();
+        for (TestGraph graph : List.of(naturalGraph, undirectedGraph)) {
+            var pushResult = PageRankAlgorithmType.NON_WEIGHTED
+                .create(graph, LongStream.empty(), config, Pools.DEFAULT, 1, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .result();
+            var pullResult = PageRankAlgorithmType.PULL
+                .create(graph, LongStream.empty(), config, Pools.DEFAULT, 1, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .result();
+
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                assertEquals(pushResult.score(nodeId), pullResult.score(nodeId), 1e-5, "Node#" + nodeId);
+            }
+        }
+    }
+
+    @Test
+    void pullModeShouldSupportSourceNodes() {
+        var config = defaultConfigBuilder().build();
+        long[] sourceNodes = {naturalGraph.toOriginalNodeId("e"), naturalGraph.toOriginalNodeId("f")};
+
+        var pushResult = PageRankAlgorithmType.NON_WEIGHTED
+            .create(naturalGraph, config, LongStream.of(sourceNodes), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+        var pullResult = PageRankAlgorithmType.PULL
+            .create(naturalGraph, config, LongStream.of(sourceNodes), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+
+        for (long nodeId = 0; nodeId < naturalGraph.nodeCount(); nodeId++) {
+            assertEquals(pushResult.score(nodeId), pullResult.score(nodeId), 1e-5, "Node#" + nodeId);
+        }
+    }
+
+    static Stream<Arguments> warmStartParameters() {
+        return Stream.of("seed", "outdatedSeed", "constantSeed").flatMap(seedProperty -> Stream.of(
+            Arguments.of(PageRankAlgorithmType.NON_WEIGHTED, seedProperty, false),
+            Arguments.of(PageRankAlgorithmType.NON_WEIGHTED, seedProperty, true),
+            Arguments.of(PageRankAlgorithmType.PULL, seedProperty, false),
+            Arguments.of(PageRankAlgorithmType.PULL, seedProperty, true)
+        ));
+    }
+
+    @ParameterizedTest
+    @MethodSource("warmStartParameters")
+    void warmStartShouldMatchColdStart(PageRankAlgorithmType algorithmType, String seedProperty, boolean deltaPropagation) {
+        var coldResult = algorithmType
+            .create(seededGraph, CONVERGING_CONFIG, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+
+        var config = defaultConfigBuilder()
+            .maxIterations(1000)
+            .seedProperty(seedProperty)
+            .deltaPropagation(deltaPropagation)
+            .build();
+        var warmResult = algorithmType
+            .create(seededGraph, config, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+
+        for (long nodeId = 0; nodeId < seededGraph.nodeCount(); nodeId++) {
+            assertEquals(coldResult.score(nodeId), warmResult.score(nodeId), 1e-5, "Node#" + nodeId);
+        }
+    }
+
+    @Test
+    void warmStartFromPreviousResultShouldNeedFewerIterations() {
+        var coldPageRank = PageRankAlgorithmType.NON_WEIGHTED
+            .create(seededGraph, CONVERGING_CONFIG, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute();
+
+        var config = defaultConfigBuilder()
+            .maxIterations(1000)
+            .seedProperty("outdatedSeed")
+            .deltaPropagation(true)
+            .build();
+        var warmPageRank = PageRankAlgorithmType.NON_WEIGHTED
+            .create(seededGraph, config, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute();
+
+        assertTrue(coldPageRank.didConverge());
+        assertTrue(warmPageRank.didConverge());
+        assertTrue(
+            warmPageRank.iterations() < coldPageRank.iterations(),
+            formatWithLocale("warm start took %d iterations, cold start %d", warmPageRank.iterations(), coldPageRank.iterations())
+        );
+    }
+
+    @Test
+    void warmStartShouldSupportSourceNodes() {
+        long[] sourceNodes = {seededGraph.toOriginalNodeId("e"), seededGraph.toOriginalNodeId("f")};
+        var coldResult = PageRankAlgorithmType.NON_WEIGHTED
+            .create(seededGraph, CONVERGING_CONFIG, LongStream.of(sourceNodes), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+
+        var config = defaultConfigBuilder().maxIterations(1000).seedProperty("seed").build();
+        var warmResult = PageRankAlgorithmType.NON_WEIGHTED
+            .create(seededGraph, config, LongStream.of(sourceNodes), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .result();
+
+        for (long nodeId = 0; nodeId < seededGraph.nodeCount(); nodeId++) {
+            assertEquals(coldResult.score(nodeId), warmResult.score(nodeId), 1e-5, "Node#" + nodeId);
+        }
     }
 
     @Test
@@ -139,9 +291,9 @@ final class PageRankTest {
 
     static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1, 2000416L, 2000416L),
-            Arguments.of(4, 3201304L, 3201304L),
-            Arguments.of(42, 18451288L, 18451288L)
+            Arguments.of(1, 2000432L, 2000432L),
+            Arguments.of(4, 3201344L, 3201344L),
+            Arguments.of(42, 18451632L, 18451632L)
         );
     }
 
@@ -159,6 +311,31 @@ final class PageRankTest {
         );
     }
 
+    static Stream<Arguments> expectedPullModeMemoryEstimation() {
+        return Stream.of(
+            Arguments.of(1, 11200560L),
+            Arguments.of(4, 11201176L),
+            Arguments.of(42, 11209112L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.neo4j.graphalgo.pagerank.PageRankTest#expectedPullModeMemoryEstimation")
+    void shouldComputeMemoryEstimationInPullMode(int concurrency, long expectedBytes) {
+        var config = defaultConfigBuilder().pullMode(true).build();
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000)
+            .maxRelCount(1_000_000)
+            .build();
+        assertMemoryEstimation(
+            () -> new PageRankFactory<>().memoryEstimation(config),
+            dimensions,
+            concurrency,
+            expectedBytes,
+            expectedBytes
+        );
+    }
+
     @Test
     void shouldLogProgress() {
         var config = ImmutablePageRankStreamConfig.builder().build();
@@ -193,8 +370,17 @@ final class PageRankTest {
     }
 
     static void assertResult(TestGraph graph, PageRankAlgorithm algorithmType, Map<String, Double> expected) {
+        assertResult(graph, algorithmType, DEFAULT_CONFIG, expected);
+    }
+
+    static void assertResult(
+        TestGraph graph,
+        PageRankAlgorithm algorithmType,
+        PageRankBaseConfig config,
+        Map<String, Double> expected
+    ) {
         var rankResult = algorithmType
-            .create(graph, DEFAULT_CONFIG, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .create(graph, config, LongStream.empty(), ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
             .compute()
             .result();
 
@@ -97,6 +97,10 @@ class WeightedPageRankTest {
         ", (f)-[:TYPE4 {weight: 0.1}]->(e)";
 
 
+    private static final PageRankBaseConfig WEIGHTED_CONFIG = PageRankTest.defaultConfigBuilder()
+        .relationshipWeightProperty("weight")
+        .build();
+
     @Inject
     private TestGraph zeroWeightsGraph;
 
@@ -125,6 +129,7 @@ class WeightedPageRankTest {
         );
 
         PageRankTest.assertResult(zeroWeightsGraph, PageRankAlgorithmType.WEIGHTED, expected);
+        PageRankTest.assertResult(zeroWeightsGraph, PageRankAlgorithmType.PULL, WEIGHTED_CONFIG, expected);
     }
 
     @Test
@@ -161,6 +166,7 @@ class WeightedPageRankTest {
         );
 
         PageRankTest.assertResult(graph, PageRankAlgorithmType.WEIGHTED, expected);
+        PageRankTest.assertResult(graph, PageRankAlgorithmType.PULL, WEIGHTED_CONFIG, expected);
     }
 
     @Test
@@ -179,5 +185,6 @@ class WeightedPageRankTest {
         );
 
         PageRankTest.assertResult(negativeWeightsGraph, PageRankAlgorithmType.WEIGHTED, expected);
+        PageRankTest.assertResult(negativeWeightsGraph, PageRankAlgorithmType.PULL, WEIGHTED_CONFIG, expected);
     }
 }
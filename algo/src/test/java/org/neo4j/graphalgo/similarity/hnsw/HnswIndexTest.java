@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+
+    private static final int NODE_COUNT = 2_000;
+    private static final int DIMENSION = 16;
+
+    private static HnswStreamConfig config() {
+        return ImmutableHnswStreamConfig.builder()
+            .nodeWeightProperty("vector")
+            .maxConnections(8)
+            .efConstruction(100)
+            .randomSeed(42L)
+            .concurrency(4)
+            .build();
+    }
+
+    private static float[][] randomVectors(long seed) {
+        var random = new Random(seed);
+        var vectors = new float[NODE_COUNT][DIMENSION];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+
+    private static HnswIndex buildIndex(NodeProperties nodeProperties) {
+        var index = HnswIndex.of(NODE_COUNT, List.of(), config());
+        index.update(nodeProperties, List.of(nodeProperties), 4, Pools.DEFAULT);
+        return index;
+    }
+
+    private static long[] exactTopK(float[][] vectors, int query, int topK) {
+        return IntStream.range(0, vectors.length)
+            .filter(nodeId -> nodeId != query && vectors[nodeId] != null)
+            .boxed()
+            .sorted(Comparator.comparingDouble(nodeId -> -Intersections.cosine(vectors[query], vectors[nodeId], DIMENSION)))
+            .limit(topK)
+            .mapToLong(Integer::longValue)
+            .toArray();
+    }
+
+    private static double recall(HnswIndex index, float[][] vectors, int topK) {
+        int found = 0;
+        int expected = 0;
+        for (int query = 0; query < NODE_COUNT; query += 10) {
+            if (vectors[query] == null) {
+                continue;
+            }
+            var exact = exactTopK(vectors, query, topK);
+            var approximate = Arrays.stream(index.search(query, topK, 64)).mapToLong(result -> result.node2).toArray();
+            expected += exact.length;
+            found += Arrays.stream(exact).filter(nodeId -> Arrays.stream(approximate).anyMatch(n -> n == nodeId)).count();
+        }
+        return (double) found / expected;
+    }
+
+    @Test
+    void shouldFindNearestNeighbors() {
+        var vectors = randomVectors(42L);
+        var index = buildIndex((FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId]);
+
+        assertThat(recall(index, vectors, 10)).isGreaterThan(0.95);
+    }
+
+    @Test
+    void shouldReturnSortedSimilarities() {
+        var vectors = randomVectors(42L);
+        var index = buildIndex((FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId]);
+
+        var results = index.search(7, 10, 64);
+
+        assertThat(results).hasSize(10);
+        assertThat(results).extracting(result -> result.node1).containsOnly(7L);
+        assertThat(results).extracting(result -> result.node2).doesNotContain(7L).doesNotHaveDuplicates();
+        assertThat(Arrays.stream(results).mapToDouble(SimilarityResult::property).toArray())
+            .isSortedAccordingTo(Comparator.reverseOrder());
+        for (SimilarityResult result : results) {
+            assertThat(result.similarity).isCloseTo(
+                Intersections.cosine(vectors[7], vectors[(int) result.node2], DIMENSION),
+                within(1e-5)
+            );
+        }
+    }
+
+    @Test
+    void shouldSupportDoubleArrays() {
+        var vectors = randomVectors(42L);
+        var index = buildIndex((DoubleArrayNodeProperties) nodeId -> {
+            var vector = vectors[(int) nodeId];
+            return IntStream.range(0, vector.length).mapToDouble(i -> vector[i]).toArray();
+        });
+
+        assertThat(recall(index, vectors, 10)).isGreaterThan(0.95);
+    }
+
+    @Test
+    void shouldSkipNodesWithoutVectors() {
+        var vectors = randomVectors(42L);
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId += 3) {
+            vectors[nodeId] = null;
+        }
+        var index = buildIndex((FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId]);
+
+        assertThat(index.search(0, 10, 64)).isEmpty();
+        assertThat(index.search(1, 10, 64))
+            .hasSize(10)
+            .allSatisfy(result -> assertThat(result.node2 % 3).isNotEqualTo(0L));
+        assertThat(recall(index, vectors, 10)).isGreaterThan(0.95);
+    }
+
+    @Test
+    void shouldOnlyReinsertChangedVectors() {
+        var vectors = randomVectors(42L);
+        NodeProperties nodeProperties = (FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId];
+        var index = HnswIndex.of(NODE_COUNT, List.of(), config());
+
+        assertThat(index.update(nodeProperties, List.of(nodeProperties), 4, Pools.DEFAULT)).isEqualTo(NODE_COUNT);
+        // the same source is not checked again
+        assertThat(index.update(nodeProperties, List.of(nodeProperties), 4, Pools.DEFAULT)).isEqualTo(0);
+
+        var changedVectors = randomVectors(1337L);
+        var updatedVectors = vectors.clone();
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId += 20) {
+            updatedVectors[nodeId] = changedVectors[nodeId];
+        }
+        NodeProperties updatedProperties = (FloatArrayNodeProperties) nodeId -> updatedVectors[(int) nodeId];
+
+        assertThat(index.update(updatedProperties, List.of(updatedProperties), 4, Pools.DEFAULT)).isEqualTo(NODE_COUNT / 20);
+        assertThat(recall(index, updatedVectors, 10)).isGreaterThan(0.95);
+    }
+
+    @Test
+    void shouldReportMemoryUsageWithBoundedSearchStates() throws InterruptedException {
+        var vectors = randomVectors(42L);
+        var index = buildIndex((FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId]);
+
+        // the search states of the construction are not kept
+        var indexBytes = index.memoryUsage();
+        assertThat(indexBytes).isGreaterThan(3 * MemoryUsage.sizeOfIntArray(NODE_COUNT));
+
+        var cores = Runtime.getRuntime().availableProcessors();
+        var threads = new Thread[4 * cores];
+        var start = new CountDownLatch(1);
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int query = 0; query < NODE_COUNT; query += 50) {
+                    index.search(query, 10, 64);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        var searchStateBytes = index.memoryUsage() - indexBytes;
+        assertThat(searchStateBytes)
+            .isGreaterThan(MemoryUsage.sizeOfIntArray(NODE_COUNT))
+            .isLessThan(cores * 2 * MemoryUsage.sizeOfIntArray(NODE_COUNT));
+    }
+
+    @Test
+    void shouldFailOnScalarProperties() {
+        NodeProperties nodeProperties = (LongNodeProperties) nodeId -> nodeId;
+        var index = HnswIndex.of(NODE_COUNT, List.of(), config());
+
+        assertThatThrownBy(() -> index.update(nodeProperties, List.of(nodeProperties), 1, Pools.DEFAULT))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("requires a property of type [FLOAT_ARRAY] or [DOUBLE_ARRAY], but got [LONG]");
+    }
+
+    @Test
+    void nodeHeapShouldPopInPriorityOrder() {
+        var heap = new NodeHeap();
+        var random = new Random(42L);
+        var priorities = new double[500];
+        for (int node = 0; node < priorities.length; node++) {
+            priorities[node] = random.nextDouble();
+            heap.push(node, priorities[node]);
+        }
+
+        var previous = Double.POSITIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            var priority = heap.topPriority();
+            var node = heap.pop();
+            assertThat(priorities[node]).isEqualTo(priority);
+            assertThat(priority).isLessThanOrEqualTo(previous);
+            previous = priority;
+        }
+    }
+}
@@ -39,12 +39,15 @@ import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.IdFunction;
 import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
 
 import java.util.Comparator;
+import java.util.Random;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -182,6 +185,95 @@ class KnnTest {
         softly.assertThat(result.neighborsOf(nodeCId)).doesNotContain(nodeAId);
     }
 
+    @Test
+    void shouldRunWithLshSampler() {
+        var knnConfig = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty("knn")
+            .topK(1)
+            .initialSampler(KnnSampler.LSH)
+            .build();
+        var knnContext = ImmutableKnnContext.builder().build();
+
+        var knn = new Knn(graph, knnConfig, knnContext);
+        var result = knn.compute();
+
+        assertThat(result).isNotNull();
+        assertThat(result.size()).isEqualTo(3);
+
+        long nodeAId = idFunction.of("a");
+        long nodeBId = idFunction.of("b");
+        long nodeCId = idFunction.of("c");
+
+        assertCorrectNeighborList(result, nodeAId, nodeBId);
+        assertCorrectNeighborList(result, nodeBId, nodeAId);
+        assertCorrectNeighborList(result, nodeCId, nodeAId);
+    }
+
+    @Test
+    void shouldFailLshSamplerWithoutNodeProperties() {
+        var knnConfig = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty("knn")
+            .initialSampler(KnnSampler.LSH)
+            .build();
+
+        assertThatThrownBy(() -> new Knn(
+            graph.nodeCount(),
+            knnConfig,
+            SimilarityComputer.ofProperty(graph, "knn"),
+            KnnContext.empty()
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("`lsh` requires the node properties");
+    }
+
+    @Test
+    void lshSamplerShouldStartCloserToTheResult() {
+        var nodeCount = 10_000;
+        var dimension = 16;
+        var random = new Random(42L);
+        var centers = new float[100][dimension];
+        for (float[] center : centers) {
+            for (int i = 0; i < dimension; i++) {
+                center[i] = (float) random.nextGaussian();
+            }
+        }
+        var vectors = new float[nodeCount][dimension];
+        for (float[] vector : vectors) {
+            var center = centers[random.nextInt(centers.length)];
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = center[i] + 0.1F * (float) random.nextGaussian();
+            }
+        }
+        NodeProperties nodeProperties = (FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId];
+
+        var uniform = runSingleIteration(nodeProperties, nodeCount, KnnSampler.UNIFORM);
+        var lsh = runSingleIteration(nodeProperties, nodeCount, KnnSampler.LSH);
+
+        assertThat(averageSimilarity(lsh)).isGreaterThan(averageSimilarity(uniform));
+    }
+
+    private static Knn.Result runSingleIteration(NodeProperties nodeProperties, long nodeCount, KnnSampler sampler) {
+        var config = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty("knn")
+            .topK(10)
+            .maxIterations(1)
+            .randomSeed(42L)
+            .concurrency(1)
+            .initialSampler(sampler)
+            .build();
+        return new Knn(
+            nodeCount,
+            config,
+            SimilarityComputer.ofProperty(nodeProperties, "knn"),
+            nodeProperties,
+            KnnContext.empty()
+        ).compute();
+    }
+
+    private static double averageSimilarity(Knn.Result result) {
+        return result.streamSimilarityResult().mapToDouble(similarityResult -> similarityResult.similarity).average().orElse(0.0);
+    }
+
     @Test
     void testReverseEmptyList() {
         var nodeCount = 42;
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalitySensitiveHashingTest {
+
+    @Test
+    void shouldParseSampler() {
+        assertThat(KnnSampler.parse("lsh")).isEqualTo(KnnSampler.LSH);
+        assertThat(KnnSampler.parse("Uniform")).isEqualTo(KnnSampler.UNIFORM);
+        assertThat(KnnSampler.parse(KnnSampler.LSH)).isEqualTo(KnnSampler.LSH);
+        assertThat(KnnSampler.toString(KnnSampler.LSH)).isEqualTo("LSH");
+        assertThatThrownBy(() -> KnnSampler.parse("minhash"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Initial sampler `minhash` is not supported.");
+    }
+
+    @Test
+    void shouldPreserveOrderOfScalars() {
+        double[] values = {Double.NEGATIVE_INFINITY, -1e9, -42.0, -0.5, 0.0, 0.5, 1.1, 1.2, 42.0, 1e9};
+        for (int i = 1; i < values.length; i++) {
+            assertThat(LocalitySensitiveHashing.orderPreserving(values[i]))
+                .isGreaterThanOrEqualTo(LocalitySensitiveHashing.orderPreserving(values[i - 1]));
+        }
+    }
+
+    @Test
+    void shouldOrderScalarsByValue() {
+        double[] values = {4.2, -1.0, 13.37, 0.0, 2.5, -7.0};
+        var hashing = LocalitySensitiveHashing.of(
+            (DoubleNodeProperties) nodeId -> values[(int) nodeId],
+            values.length,
+            42L,
+            1,
+            Pools.DEFAULT
+        );
+
+        var sorted = IntStream.range(0, values.length)
+            .mapToObj(hashing::nodeAt)
+            .mapToDouble(nodeId -> values[Math.toIntExact(nodeId)])
+            .toArray();
+        assertThat(sorted).isSorted();
+        for (int nodeId = 0; nodeId < values.length; nodeId++) {
+            assertThat(hashing.nodeAt(hashing.position(nodeId))).isEqualTo(nodeId);
+        }
+    }
+
+    @Test
+    void shouldHashParallelVectorsEqually() {
+        float[][] vectors = {
+            {1.0F, 2.0F, 3.0F},
+            {-3.0F, 0.5F, 1.0F},
+            {2.0F, 4.0F, 6.0F},
+            {-6.0F, 1.0F, 2.0F},
+        };
+        var signature = LocalitySensitiveHashing.signature(
+            (FloatArrayNodeProperties) nodeId -> vectors[(int) nodeId],
+            42L
+        );
+
+        assertThat(signature.of(0)).isEqualTo(signature.of(2));
+        assertThat(signature.of(1)).isEqualTo(signature.of(3));
+        assertThat(signature.of(0)).isNotEqualTo(signature.of(1));
+    }
+
+    @Test
+    void shouldMinHashEqualSetsEqually() {
+        long[][] sets = {
+            {1, 2, 3, 4},
+            {4, 3, 2, 1},
+            {},
+        };
+        var signature = LocalitySensitiveHashing.signature(
+            (LongArrayNodeProperties) nodeId -> sets[(int) nodeId],
+            42L
+        );
+
+        assertThat(signature.of(0)).isEqualTo(signature.of(1));
+        assertThat(signature.of(2)).isEqualTo(Integer.MAX_VALUE);
+    }
+}
@@ -29,14 +29,17 @@ import net.jqwik.api.Provide;
 import net.jqwik.api.constraints.Positive;
 import org.eclipse.collections.api.tuple.primitive.LongLongPair;
 import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import java.util.Random;
 import java.util.stream.Stream;
@@ -101,6 +104,45 @@ class SimilarityComputerTest {
         assertThat(sim.similarity(ids.getOne(), ids.getTwo())).isStrictlyBetween(0.0, 1.0);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 42, 67, PackedFloatArraySimilarityComputer.PAGE_SIZE / 4})
+    void packedFloatArrayPropertySimilarityMatchesFloatArrayPropertySimilarity(int dimension) {
+        int nodeCount = 10;
+        float[][] values = new float[nodeCount][];
+        Random random = new Random(42);
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            values[nodeId] = new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                values[nodeId][i] = random.nextFloat();
+            }
+        }
+        NodeProperties props = (FloatArrayNodeProperties) nodeId -> values[(int) nodeId];
+
+        var packed = PackedFloatArraySimilarityComputer.of(props, nodeCount, 4, AllocationTracker.empty());
+        var unpacked = SimilarityComputer.ofFloatArrayProperty(props);
+
+        assertThat(packed).isPresent();
+        for (long first = 0; first < nodeCount; first++) {
+            for (long second = 0; second < nodeCount; second++) {
+                if (dimension == 0) {
+                    assertThat(packed.get().similarity(first, second)).isNaN();
+                } else if (first == second) {
+                    assertThat(packed.get().similarity(first, second)).isEqualTo(1.0);
+                } else {
+                    // the float sums are computed in a different order
+                    assertThat(packed.get().similarity(first, second))
+                        .isCloseTo(unpacked.similarity(first, second), within(1e-4));
+                }
+            }
+        }
+    }
+
+    @Test
+    void packedFloatArrayPropertySimilarityRequiresArraysOfEqualLength() {
+        NodeProperties props = (FloatArrayNodeProperties) nodeId -> new float[nodeId == 3 ? 2 : 3];
+        assertThat(PackedFloatArraySimilarityComputer.of(props, 5, 1, AllocationTracker.empty())).isEmpty();
+    }
+
     @Property
     void doubleArrayPropertySimilarityReturns1ForEqualValues(@ForAll @Positive long id) {
         NodeProperties props = (DoubleArrayNodeProperties) nodeId -> new Random(nodeId).doubles(42, 0.0, 1.0).toArray();
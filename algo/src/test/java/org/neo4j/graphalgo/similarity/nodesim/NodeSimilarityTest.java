@@ -29,6 +29,8 @@ import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.TestSupport;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -44,6 +46,7 @@ import org.neo4j.graphalgo.extension.TestGraph;
 import org.neo4j.graphalgo.similarity.SimilarityGraphResult;
 import org.neo4j.graphalgo.similarity.SimilarityResult;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -452,6 +455,61 @@ final class NodeSimilarityTest {
         );
     }
 
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldNotLosePairsAboveTheSimilarityCutoffToDegreePruning(int concurrency) {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(300)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        double similarityCutoff = 0.2;
+        List<Set<Long>> neighbours = new ArrayList<>();
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            Set<Long> targets = new HashSet<>();
+            graph.forEachRelationship(node, (source, target) -> {
+                if (source != target) {
+                    targets.add(target);
+                }
+                return true;
+            });
+            neighbours.add(targets);
+        }
+        Set<String> expected = new HashSet<>();
+        for (int node1 = 0; node1 < graph.nodeCount(); node1++) {
+            for (int node2 = node1 + 1; node2 < graph.nodeCount(); node2++) {
+                Set<Long> intersection = new HashSet<>(neighbours.get(node1));
+                intersection.retainAll(neighbours.get(node2));
+                double union = neighbours.get(node1).size() + neighbours.get(node2).size() - intersection.size();
+                double similarity = intersection.size() / union;
+                if (similarity >= similarityCutoff) {
+                    expected.add(resultString(node1, node2, similarity));
+                }
+            }
+        }
+
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).similarityCutoff(similarityCutoff).topK(0).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        );
+        Set<String> result = nodeSimilarity
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        nodeSimilarity.release();
+
+        assertNotEquals(Collections.emptySet(), expected);
+        assertEquals(expected, result);
+    }
+
     @ParameterizedTest(name = "concurrency = {0}")
     @MethodSource("concurrencies")
     void shouldComputeForUndirectedGraphs(int concurrency) {
@@ -648,18 +706,18 @@ final class NodeSimilarityTest {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 64;
+        long thisInstance = 56;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
         MemoryRange nodeFilterRange = MemoryRange.of(nodeFilterRangeMin, nodeFilterRangeMax);
 
-        long vectorsRangeMin = 56_000_016L;
-        long vectorsRangeMax = 56_000_016L;
+        long vectorsRangeMin = 52_000_152L;
+        long vectorsRangeMax = 52_000_152L;
         MemoryRange vectorsRange = MemoryRange.of(vectorsRangeMin, vectorsRangeMax);
 
-        long weightsRangeMin = 16L;
-        long weightsRangeMax = 56_000_016L;
+        long weightsRangeMin = 0L;
+        long weightsRangeMax = 40_000_040L;
         MemoryRange weightsRange = MemoryRange.of(weightsRangeMin, weightsRangeMax);
 
         MemoryEstimations.Builder builder = MemoryEstimations.builder()
@@ -671,11 +729,11 @@ final class NodeSimilarityTest {
         long topKMapRangeMin;
         long topKMapRangeMax;
         if (topK == TOP_K_DEFAULT) {
-            topKMapRangeMin = 248_000_024L;
-            topKMapRangeMax = 248_000_024L;
+            topKMapRangeMin = 164_000_160L;
+            topKMapRangeMax = 164_000_160L;
         } else {
-            topKMapRangeMin = 1_688_000_024L;
-            topKMapRangeMax = 1_688_000_024L;
+            topKMapRangeMin = 1_604_000_160L;
+            topKMapRangeMax = 1_604_000_160L;
         }
         builder.fixed("topK map", MemoryRange.of(topKMapRangeMin, topKMapRangeMax));
 
@@ -703,18 +761,18 @@ final class NodeSimilarityTest {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 64;
+        long thisInstance = 56;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
         MemoryRange nodeFilterRange = MemoryRange.of(nodeFilterRangeMin, nodeFilterRangeMax);
 
-        long vectorsRangeMin = 56_000_016L;
-        long vectorsRangeMax = 56_000_016L;
+        long vectorsRangeMin = 52_000_152L;
+        long vectorsRangeMax = 52_000_152L;
         MemoryRange vectorsRange = MemoryRange.of(vectorsRangeMin, vectorsRangeMax);
 
-        long weightsRangeMin = 16L;
-        long weightsRangeMax = 56_000_016L;
+        long weightsRangeMin = 0L;
+        long weightsRangeMax = 40_000_040L;
         MemoryRange weightsRange = MemoryRange.of(weightsRangeMin, weightsRangeMax);
 
         long topNListMin = 2_504L;
@@ -731,11 +789,11 @@ final class NodeSimilarityTest {
         long topKMapRangeMin;
         long topKMapRangeMax;
         if (topK == TOP_K_DEFAULT) {
-            topKMapRangeMin = 248_000_024L;
-            topKMapRangeMax = 248_000_024L;
+            topKMapRangeMin = 164_000_160L;
+            topKMapRangeMax = 164_000_160L;
         } else {
-            topKMapRangeMin = 1_688_000_024L;
-            topKMapRangeMax = 1_688_000_024L;
+            topKMapRangeMin = 1_604_000_160L;
+            topKMapRangeMax = 1_604_000_160L;
         }
         builder.fixed("topK map", MemoryRange.of(topKMapRangeMin, topKMapRangeMax));
 
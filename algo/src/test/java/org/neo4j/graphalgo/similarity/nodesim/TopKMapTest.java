@@ -153,4 +153,23 @@ class TopKMapTest {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    void shouldIterateTheRowOfASingleNode() {
+        BitSet bitSet = new BitSet();
+        bitSet.set(0, 3);
+
+        TopKMap topKMap = new TopKMap(3, bitSet, 2, SimilarityResult.DESCENDING, AllocationTracker.empty());
+        topKMap.put(1, 0, 0.5);
+        topKMap.put(1, 2, 0.75);
+        topKMap.put(2, 1, 0.25);
+
+        List<SimilarityResult> actual = new ArrayList<>();
+        topKMap.forEach(1, (node2, similarity) -> actual.add(new SimilarityResult(1, node2, similarity)));
+
+        assertEquals(List.of(new SimilarityResult(1, 2, 0.75), new SimilarityResult(1, 0, 0.5)), actual);
+        assertEquals(0, topKMap.size(0));
+        assertEquals(2, topKMap.size(1));
+        assertEquals(3, topKMap.similarityPairCount());
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Runs all triangle count tests on the degree-ordered graph.
+ */
+class DegreeOrderedTriangleCountTest extends IntersectingTriangleCountTest {
+
+    @Override
+    TriangleCountResult compute(Graph graph, TriangleCountBaseConfig config) {
+        return super.compute(
+            graph,
+            ImmutableTriangleCountBaseConfig.builder().from(config).degreeOrdering(true).build()
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 9223372036854775807", "4, 9223372036854775807", "4, 20"})
+    void shouldCountTheSameTrianglesAsTheIntersection(int concurrency, long maxDegree) {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig.builder()
+            .concurrency(concurrency)
+            .maxDegree(maxDegree)
+            .build();
+
+        TriangleCountResult expected = new IntersectingTriangleCount(
+            graph,
+            config,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).compute();
+        TriangleCountResult actual = compute(graph, config);
+
+        assertEquals(expected.globalTriangles(), actual.globalTriangles());
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(
+                expected.localTriangles().get(nodeId),
+                actual.localTriangles().get(nodeId),
+                formatWithLocale("triangle count of node %d", nodeId)
+            );
+        }
+    }
+}
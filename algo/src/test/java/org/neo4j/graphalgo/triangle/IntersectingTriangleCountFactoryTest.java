@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.triangle;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -36,7 +37,7 @@ class IntersectingTriangleCountFactoryTest {
     @ParameterizedTest
     void memoryEstimation(long nodeCount) {
         MemoryEstimation estimation =
-            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(null);
+            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(ImmutableTriangleCountStreamConfig.builder().build());
 
         GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).build();
 
@@ -54,7 +55,7 @@ class IntersectingTriangleCountFactoryTest {
     @ParameterizedTest
     void memoryEstimationLargePages(long nodeCount, long sizeOfHugeArray) {
         MemoryEstimation estimation =
-            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(null);
+            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(ImmutableTriangleCountStreamConfig.builder().build());
 
         GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).build();
 
@@ -66,4 +67,21 @@ class IntersectingTriangleCountFactoryTest {
         assertEquals(expected, actual.min);
         assertEquals(expected, actual.max);
     }
+
+    @Test
+    void memoryEstimationWithDegreeOrdering() {
+        MemoryEstimation estimation = new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(
+            ImmutableTriangleCountStreamConfig.builder().degreeOrdering(true).build()
+        );
+
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(10_000)
+            .maxRelCount(100_000)
+            .build();
+
+        MemoryRange actual = estimation.estimate(dimensions, 4).memoryUsage();
+
+        assertEquals(560_400L, actual.min);
+        assertEquals(760_400L, actual.max);
+    }
 }
@@ -519,7 +519,7 @@ class IntersectingTriangleCountTest {
         return compute(graph, config);
     }
 
-    private TriangleCountResult compute(Graph graph, TriangleCountBaseConfig config) {
+    TriangleCountResult compute(Graph graph, TriangleCountBaseConfig config) {
         return new IntersectingTriangleCount(
             graph,
             config,
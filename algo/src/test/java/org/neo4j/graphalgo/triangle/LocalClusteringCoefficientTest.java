@@ -25,6 +25,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
@@ -314,6 +316,36 @@ class LocalClusteringCoefficientTest {
         assertEquals(0, result.localClusteringCoefficients().get(14)); // o
     }
 
+    @Test
+    void shouldComputeTheSameCoefficientsWithDegreeOrdering() {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(1_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        LocalClusteringCoefficient.Result expected = compute(graph);
+        LocalClusteringCoefficient.Result actual = new LocalClusteringCoefficient(
+            graph,
+            createConfig().degreeOrdering(true).build(),
+            AllocationTracker.empty(),
+            ProgressLogger.NULL_LOGGER
+        ).compute();
+
+        assertEquals(expected.averageClusteringCoefficient(), actual.averageClusteringCoefficient(), 1e-9);
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(
+                expected.localClusteringCoefficients().get(nodeId),
+                actual.localClusteringCoefficients().get(nodeId),
+                formatWithLocale("coefficient of node %d", nodeId)
+            );
+        }
+    }
+
     private LocalClusteringCoefficient.Result compute(Graph graph) {
         return new LocalClusteringCoefficient(
             graph,
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class SampledTriangleCountTest {
+
+    private static Graph graph;
+    private static long exactGlobalTriangles;
+
+    @BeforeAll
+    static void setup() {
+        graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(20)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        exactGlobalTriangles = compute(ImmutableTriangleCountBaseConfig.builder().build()).globalTriangles();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void shouldEstimateTheGlobalTriangleCountWithinTheBounds(long randomSeed) {
+        TriangleCountResult result = compute(ImmutableTriangleCountBaseConfig.builder()
+            .samplingRate(0.5)
+            .randomSeed(randomSeed)
+            .concurrency(4)
+            .build());
+
+        assertTrue(
+            result.globalTrianglesLowerBound() <= exactGlobalTriangles,
+            formatWithLocale("lower bound %d exceeds %d", result.globalTrianglesLowerBound(), exactGlobalTriangles)
+        );
+        assertTrue(
+            result.globalTrianglesUpperBound() >= exactGlobalTriangles,
+            formatWithLocale("upper bound %d is below %d", result.globalTrianglesUpperBound(), exactGlobalTriangles)
+        );
+        assertTrue(result.globalTrianglesLowerBound() <= result.globalTriangles());
+        assertTrue(result.globalTrianglesUpperBound() >= result.globalTriangles());
+        assertEquals(exactGlobalTriangles, result.globalTriangles(), 0.2 * exactGlobalTriangles);
+    }
+
+    @Test
+    void shouldEstimateLocalTriangleCounts() {
+        TriangleCountResult result = compute(ImmutableTriangleCountBaseConfig.builder()
+            .samplingRate(0.5)
+            .randomSeed(42L)
+            .build());
+
+        long localSum = 0L;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            localSum += result.localTriangles().get(nodeId);
+        }
+        // every triangle is counted at each of its three nodes, up to rounding of the scaled counts
+        assertEquals(3 * result.globalTriangles(), localSum, graph.nodeCount());
+    }
+
+    @Test
+    void shouldBeDeterministicForAFixedSeed() {
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig.builder()
+            .samplingRate(0.3)
+            .randomSeed(1337L)
+            .concurrency(4)
+            .build();
+
+        TriangleCountResult first = compute(config);
+        TriangleCountResult second = compute(config);
+
+        assertEquals(first.globalTriangles(), second.globalTriangles());
+        assertEquals(first.globalTrianglesLowerBound(), second.globalTrianglesLowerBound());
+        assertEquals(first.globalTrianglesUpperBound(), second.globalTrianglesUpperBound());
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(first.localTriangles().get(nodeId), second.localTriangles().get(nodeId));
+        }
+    }
+
+    @Test
+    void shouldWidenTheBoundsForHigherConfidence() {
+        ImmutableTriangleCountBaseConfig.Builder config = ImmutableTriangleCountBaseConfig.builder()
+            .samplingRate(0.5)
+            .randomSeed(42L);
+
+        TriangleCountResult lowConfidence = compute(config.confidenceLevel(0.5).build());
+        TriangleCountResult highConfidence = compute(config.confidenceLevel(0.99).build());
+
+        assertEquals(lowConfidence.globalTriangles(), highConfidence.globalTriangles());
+        assertTrue(highConfidence.globalTrianglesLowerBound() <= lowConfidence.globalTrianglesLowerBound());
+        assertTrue(highConfidence.globalTrianglesUpperBound() > lowConfidence.globalTrianglesUpperBound());
+    }
+
+    @Test
+    void shouldReportExactBoundsWithoutSampling() {
+        TriangleCountResult result = compute(ImmutableTriangleCountBaseConfig.builder().build());
+
+        assertEquals(exactGlobalTriangles, result.globalTrianglesLowerBound());
+        assertEquals(exactGlobalTriangles, result.globalTrianglesUpperBound());
+    }
+
+    private static TriangleCountResult compute(TriangleCountBaseConfig config) {
+        return new IntersectingTriangleCount(graph, config, Pools.DEFAULT, AllocationTracker.empty()).compute();
+    }
+}
@@ -27,6 +27,8 @@ import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -74,6 +76,48 @@ class WccTest {
 
         DisjointSetStruct result = run(graph);
 
+        assertComponents(graph, result);
+    }
+
+    @ParameterizedTest(name = "orientation = {0}")
+    @EnumSource(Orientation.class)
+    void shouldComputeComponentsWithSampling(Orientation orientation) {
+        var graph = createTestGraph(orientation);
+
+        DisjointSetStruct result = run(graph, ImmutableWccStreamConfig.builder().sampling(true).build());
+
+        assertComponents(graph, result);
+    }
+
+    @ParameterizedTest(name = "orientation = {0}")
+    @EnumSource(Orientation.class)
+    void shouldComputeSameComponentsWithAndWithoutSampling(Orientation orientation) {
+        var graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(orientation)
+            .seed(1337L)
+            .build()
+            .generate();
+
+        var config = ImmutableWccStreamConfig.builder().concurrency(4).build();
+        var samplingConfig = ImmutableWccStreamConfig.builder().concurrency(4).sampling(true).build();
+
+        DisjointSetStruct expected = run(graph, config, 4);
+        DisjointSetStruct actual = run(graph, samplingConfig, 4);
+
+        assertEquals(getSetCount(expected), getSetCount(actual));
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                assertEquals(actual.setIdOf(source), actual.setIdOf(target));
+                return true;
+            });
+            return true;
+        });
+    }
+
+    private void assertComponents(Graph graph, DisjointSetStruct result) {
         assertEquals(SETS_COUNT, getSetCount(result));
         long[] setRegions = new long[SETS_COUNT];
         Arrays.fill(setRegions, -1);
@@ -125,84 +169,104 @@ class WccTest {
         assertTrue(testLogger.containsMessage(TestLog.INFO, ":: Finished"));
     }
 
+    @Test
+    void shouldLogProgressWithSampling() {
+        var graph = createTestGraph(Orientation.UNDIRECTED);
+
+        var testLogger = new TestProgressLogger(graph.relationshipCount(), "Wcc", 2);
+
+        new Wcc(
+            graph,
+            Pools.DEFAULT,
+            communitySize() / 4,
+            ImmutableWccStreamConfig.builder().concurrency(2).sampling(true).build(),
+            testLogger,
+            AllocationTracker.empty()
+        ).compute();
+
+        List<AtomicLong> progresses = testLogger.getProgresses();
+        assertEquals(1, progresses.size());
+        assertEquals(graph.relationshipCount(), progresses.get(0).get());
+    }
+
     @Test
     void memRecParallel() {
         GraphDimensions dimensions0 = ImmutableGraphDimensions.builder().nodeCount(0).build();
 
         assertEquals(
-            MemoryRange.of(128),
+            MemoryRange.of(136),
             Wcc.memoryEstimation(false).estimate(dimensions0, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(168),
+            MemoryRange.of(176),
             Wcc.memoryEstimation(true).estimate(dimensions0, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(128),
+            MemoryRange.of(136),
             Wcc.memoryEstimation(false).estimate(dimensions0, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(168),
+            MemoryRange.of(176),
             Wcc.memoryEstimation(true).estimate(dimensions0, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(128),
+            MemoryRange.of(136),
             Wcc.memoryEstimation(false).estimate(dimensions0, 64).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(168),
+            MemoryRange.of(176),
             Wcc.memoryEstimation(true).estimate(dimensions0, 64).memoryUsage()
         );
 
         GraphDimensions dimensions100 = ImmutableGraphDimensions.builder().nodeCount(100).build();
         assertEquals(
-            MemoryRange.of(928),
+            MemoryRange.of(936),
             Wcc.memoryEstimation(false).estimate(dimensions100, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1768),
+            MemoryRange.of(1776),
             Wcc.memoryEstimation(true).estimate(dimensions100, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(928),
+            MemoryRange.of(936),
             Wcc.memoryEstimation(false).estimate(dimensions100, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1768),
+            MemoryRange.of(1776),
             Wcc.memoryEstimation(true).estimate(dimensions100, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(928),
+            MemoryRange.of(936),
             Wcc.memoryEstimation(false).estimate(dimensions100, 64).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1768),
+            MemoryRange.of(1776),
             Wcc.memoryEstimation(true).estimate(dimensions100, 64).memoryUsage()
         );
 
         GraphDimensions dimensions100B = ImmutableGraphDimensions.builder().nodeCount(100_000_000_000L).build();
         assertEquals(
-            MemoryRange.of(800_122_070_456L),
+            MemoryRange.of(800_122_070_464L),
             Wcc.memoryEstimation(false).estimate(dimensions100B, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1_600_244_140_824L),
+            MemoryRange.of(1_600_244_140_832L),
             Wcc.memoryEstimation(true).estimate(dimensions100B, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(800_122_070_456L),
+            MemoryRange.of(800_122_070_464L),
             Wcc.memoryEstimation(false).estimate(dimensions100B, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1_600_244_140_824L),
+            MemoryRange.of(1_600_244_140_832L),
             Wcc.memoryEstimation(true).estimate(dimensions100B, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(800_122_070_456L),
+            MemoryRange.of(800_122_070_464L),
             Wcc.memoryEstimation(false).estimate(dimensions100B, 64).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1_600_244_140_824L),
+            MemoryRange.of(1_600_244_140_832L),
             Wcc.memoryEstimation(true).estimate(dimensions100B, 64).memoryUsage()
         );
     }
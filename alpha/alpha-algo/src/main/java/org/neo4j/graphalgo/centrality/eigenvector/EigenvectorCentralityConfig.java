@@ -51,6 +51,18 @@ public interface EigenvectorCentralityConfig extends PageRankBaseConfig, WritePr
         return "NONE";
     }
 
+    @Value.Check
+    default void validateWarmStart() {
+        if (isIncremental() || deltaPropagation()) {
+            throw new IllegalArgumentException(
+                "Eigenvector Centrality does not support the `seedProperty` and `deltaPropagation` options."
+            );
+        }
+        if (pullMode()) {
+            throw new IllegalArgumentException("Eigenvector Centrality does not support the `pullMode` option.");
+        }
+    }
+
     static EigenvectorCentralityConfig of(
         String username,
         Optional<String> graphName,
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import org.neo4j.graphalgo.similarity.knn.LocalitySensitiveHashing;
 import org.roaringbitmap.RoaringBitmap;
 
 import java.util.HashSet;
@@ -67,4 +68,29 @@ public class ANNUtils {
         }
         return randomNeighbors;
     }
+
+    /**
+     * Half of the neighbors are the inputs next to the excluded one in the order of the hashing,
+     * the other half is random, so that the initial neighborhoods are not closed cliques.
+     */
+    public static Set<Integer> selectLshNeighbors(
+            final int topK, final int numberOfInputs, final int excludeIndex,
+            final LocalitySensitiveHashing hashing, final Random random) {
+        Set<Integer> neighbors = new HashSet<>();
+        int windowSize = Math.min((topK + 1) / 2, numberOfInputs - 1);
+        int position = hashing.position(excludeIndex);
+        int windowStart = Math.max(0, Math.min(position - windowSize / 2, numberOfInputs - 1 - windowSize));
+        for (int p = windowStart; p <= windowStart + windowSize; p++) {
+            if (p != position) {
+                neighbors.add((int) hashing.nodeAt(p));
+            }
+        }
+        while(neighbors.size() < topK && neighbors.size() < numberOfInputs - 1) {
+            int index = random.nextInt(numberOfInputs);
+            if (index != excludeIndex) {
+                neighbors.add(index);
+            }
+        }
+        return neighbors;
+    }
 }
@@ -27,7 +27,10 @@ import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.loading.CSRGraphStore;
 import org.neo4j.graphalgo.core.loading.IdMap;
@@ -37,6 +40,8 @@ import org.neo4j.graphalgo.core.loading.construction.NodesBuilder;
 import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.results.SimilarityResult;
+import org.neo4j.graphalgo.similarity.knn.KnnSampler;
+import org.neo4j.graphalgo.similarity.knn.LocalitySensitiveHashing;
 import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
@@ -128,7 +133,16 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
         double sampleSize = Math.min(config.p(), 1.0) * Math.abs(config.topK());
         int inputSize = inputs.length;
         AnnTopKConsumer[] topKConsumers = AnnTopKConsumer.initializeTopKConsumers(inputSize, topK);
-        Collection<Runnable> tasks = createInitTasks(inputs, topKConsumers, decoderFactory, computer);
+        LocalitySensitiveHashing hashing = config.initialSampler() == KnnSampler.LSH && inputSize > 0
+            ? LocalitySensitiveHashing.of(
+                hashedProperties(inputs, decoderFactory),
+                inputSize,
+                config.randomSeed(),
+                config.concurrency(),
+                executor
+            )
+            : null;
+        Collection<Runnable> tasks = createInitTasks(inputs, topKConsumers, decoderFactory, computer, hashing);
 
         ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
 
@@ -233,16 +247,44 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
         INPUT[] inputs,
         AnnTopKConsumer[] topKConsumers,
         Supplier<RleDecoder> rleDecoderFactory,
-        SimilarityComputer<INPUT> similarityComputer
+        SimilarityComputer<INPUT> similarityComputer,
+        LocalitySensitiveHashing hashing
     ) {
         nodeQueue.set(0);
         List<Runnable> tasks = new ArrayList<>();
         for (int i = 0; i < config.concurrency(); i++) {
-            tasks.add(new InitTask(inputs, topKConsumers, rleDecoderFactory, similarityComputer));
+            tasks.add(new InitTask(inputs, topKConsumers, rleDecoderFactory, similarityComputer, hashing));
         }
         return tasks;
     }
 
+    // the inputs as the properties that LocalitySensitiveHashing orders by, indexed by their position in the inputs
+    private NodeProperties hashedProperties(INPUT[] inputs, Supplier<RleDecoder> rleDecoderFactory) {
+        if (inputs[0] instanceof CategoricalInput) {
+            return (LongArrayNodeProperties) index -> ((CategoricalInput) inputs[(int) index]).targets;
+        }
+        boolean centered = config.algorithm() == ApproximateNearestNeighborsConfig.SimilarityAlgorithm.pearson;
+        return (DoubleArrayNodeProperties) index -> {
+            // the decoders reuse their buffer, so every lookup needs its own one
+            double[] weights = ((WeightedInput) inputs[(int) index]).weights(rleDecoderFactory.get());
+            // Pearson similarity is the cosine similarity of the vectors shifted by their mean
+            return centered ? centered(weights) : weights;
+        };
+    }
+
+    private static double[] centered(double[] weights) {
+        double mean = 0;
+        for (double weight : weights) {
+            mean += weight;
+        }
+        mean /= Math.max(1, weights.length);
+        double[] centered = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            centered[i] = weights[i] - mean;
+        }
+        return centered;
+    }
+
     private Collection<NeighborhoodTask> computeTasks(
         double sampleSize,
         INPUT[] inputs,
@@ -319,17 +361,20 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
         private final AnnTopKConsumer[] topKConsumers;
         private final RleDecoder rleDecoder;
         private final SimilarityComputer<INPUT> similarityComputer;
+        private final LocalitySensitiveHashing hashing;
 
         InitTask(
             INPUT[] inputs,
             AnnTopKConsumer[] topKConsumers,
             Supplier<RleDecoder> rleDecoderFactory,
-            SimilarityComputer<INPUT> similarityComputer
+            SimilarityComputer<INPUT> similarityComputer,
+            LocalitySensitiveHashing hashing
         ) {
             this.inputs = inputs;
             this.topKConsumers = topKConsumers;
             this.rleDecoder = rleDecoderFactory.get();
             this.similarityComputer = similarityComputer;
+            this.hashing = hashing;
         }
 
         @Override
@@ -343,14 +388,11 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
                 int index = Math.toIntExact(nodeId);
                 AnnTopKConsumer consumer = topKConsumers[index];
                 INPUT me = inputs[index];
-                Set<Integer> randomNeighbors = ANNUtils.selectRandomNeighbors(
-                    Math.abs(config.topK()),
-                    inputs.length,
-                    index,
-                    random
-                );
+                Set<Integer> initialNeighbors = hashing == null
+                    ? ANNUtils.selectRandomNeighbors(Math.abs(config.topK()), inputs.length, index, random)
+                    : ANNUtils.selectLshNeighbors(Math.abs(config.topK()), inputs.length, index, hashing, random);
 
-                for (Integer neighborIndex : randomNeighbors) {
+                for (Integer neighborIndex : initialNeighbors) {
                     INPUT neighbour = inputs[neighborIndex];
                     SimilarityResult result = similarityComputer.similarity(
                         rleDecoder,
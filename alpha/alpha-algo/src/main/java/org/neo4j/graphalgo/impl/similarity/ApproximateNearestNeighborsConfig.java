@@ -23,11 +23,14 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.IterationsConfig;
+import org.neo4j.graphalgo.similarity.knn.KnnSampler;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 @ValueClass
 @Configuration
 @SuppressWarnings({"immutables:subtype", "immutables:from"})
@@ -74,6 +77,24 @@ public interface ApproximateNearestNeighborsConfig extends SimilarityConfig, Ite
         return true;
     }
 
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.graphalgo.similarity.knn.KnnSampler#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.similarity.knn.KnnSampler#toString")
+    default KnnSampler initialSampler() {
+        return KnnSampler.UNIFORM;
+    }
+
+    @Value.Check
+    default void validateInitialSampler() {
+        if (initialSampler() == KnnSampler.LSH && algorithm() == SimilarityAlgorithm.euclidean) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The initial sampler `%s` is not supported for the `%s` algorithm.",
+                initialSampler(),
+                algorithm()
+            ));
+        }
+    }
+
     static SimilarityAlgorithm similarityAlgorithm(String input) {
         return SimilarityAlgorithm.valueOf(input);
     }
@@ -217,4 +217,12 @@ public class WeightedInput implements Comparable<WeightedInput>, SimilarityInput
     public int initialSize() {
         return initialSize;
     }
+
+    double[] weights(RleDecoder decoder) {
+        if (decoder == null) {
+            return weights;
+        }
+        decoder.reset(weights, weights);
+        return decoder.item1();
+    }
 }
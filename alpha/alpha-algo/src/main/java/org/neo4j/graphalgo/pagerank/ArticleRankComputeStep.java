@@ -59,7 +59,7 @@ final class ArticleRankComputeStep extends BaseComputeStep implements Relationsh
         RelationshipIterator rels = this.relationshipIterator;
         for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
             double delta = deltas[(int) (nodeId - startNode)];
-            if (delta > 0) {
+            if (isActive(delta)) {
                 int degree = degrees.degree(nodeId);
                 if (degree > 0) {
                     srcRankDelta = (float) (delta / (degree + averageDegree));
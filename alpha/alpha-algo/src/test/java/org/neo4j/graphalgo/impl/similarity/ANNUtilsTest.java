@@ -21,6 +21,9 @@ package org.neo4j.graphalgo.impl.similarity;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.similarity.knn.LocalitySensitiveHashing;
 
 import java.util.Random;
 import java.util.Set;
@@ -57,4 +60,42 @@ public class ANNUtilsTest {
         assertThat(integers, Matchers.hasSize(4));
     }
 
+    @Test
+    public void lshNeighborsContainNeighborsInHashOrder() {
+        long[][] sets = new long[10][];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = i < 5 ? new long[]{1L, 2L, 3L} : new long[]{7L, 8L, 9L};
+        }
+        LocalitySensitiveHashing hashing = LocalitySensitiveHashing.of(
+            (LongArrayNodeProperties) nodeId -> sets[(int) nodeId],
+            sets.length,
+            42L,
+            1,
+            Pools.DEFAULT
+        );
+
+        for (int index = 0; index < sets.length; index++) {
+            Set<Integer> integers = ANNUtils.selectLshNeighbors(4, sets.length, index, hashing, new Random());
+            int position = hashing.position(index);
+            int adjacentPosition = position > 0 ? position - 1 : position + 1;
+            assertThat(integers, Matchers.not(Matchers.hasItem(index)));
+            assertThat(integers, Matchers.hasSize(4));
+            assertThat(integers, Matchers.hasItem((int) hashing.nodeAt(adjacentPosition)));
+        }
+    }
+
+    @Test
+    public void lshKGreaterThanInputs() {
+        LocalitySensitiveHashing hashing = LocalitySensitiveHashing.of(
+            (LongArrayNodeProperties) nodeId -> new long[]{nodeId},
+            5,
+            42L,
+            1,
+            Pools.DEFAULT
+        );
+        Set<Integer> integers = ANNUtils.selectLshNeighbors(7, 5, 1, hashing, new Random());
+        assertThat(integers, Matchers.not(Matchers.hasItem(1)));
+        assertThat(integers, Matchers.hasSize(4));
+    }
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.neo4j.graphalgo.core.loading.VarLongEncoding;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * The random walks of Node2Vec, stored as var-long encoded deltas between consecutive nodes
+ * in paged byte arrays, similar to the compressed adjacency lists.
+ * Every walk starts with its length, followed by the zig-zag encoded differences of its nodes,
+ * the first node being stored as the difference to zero.
+ *
+ * Walks are added by a single writer and can be read concurrently once all walks have been added.
+ */
+public final class CompressedRandomWalks {
+
+    private static final int PAGE_SHIFT = 18;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    private final AllocationTracker tracker;
+    private final HugeLongArray walkAddresses;
+
+    private byte[][] pages;
+    private int pageCount;
+    // the next free position in the last page
+    private int pageOffset;
+    private long size;
+    private int maxWalkLength;
+
+    private long[] valueBuffer;
+    private byte[] encodingBuffer;
+
+    public static CompressedRandomWalks of(long[]... walks) {
+        var compressedWalks = new CompressedRandomWalks(walks.length, AllocationTracker.empty());
+        for (long[] walk : walks) {
+            compressedWalks.add(walk);
+        }
+        return compressedWalks;
+    }
+
+    public CompressedRandomWalks(long maxWalkCount, AllocationTracker tracker) {
+        this.tracker = tracker;
+        this.walkAddresses = HugeLongArray.newArray(maxWalkCount, tracker);
+        this.pages = new byte[0][];
+        this.pageOffset = PAGE_SIZE;
+        this.valueBuffer = new long[0];
+        this.encodingBuffer = new byte[0];
+    }
+
+    public void add(long[] walk) {
+        int encodedLength = encode(walk);
+
+        if (encodedLength > PAGE_SIZE - pageOffset) {
+            // walks never span pages, a walk that is longer than a page gets a page of its own
+            allocatePage(Math.max(PAGE_SIZE, encodedLength));
+        }
+        System.arraycopy(encodingBuffer, 0, pages[pageCount - 1], pageOffset, encodedLength);
+        walkAddresses.set(size++, ((long) (pageCount - 1) << PAGE_SHIFT) | pageOffset);
+        pageOffset += encodedLength;
+        if (pageOffset >= PAGE_SIZE) {
+            pageOffset = PAGE_SIZE;
+        }
+
+        maxWalkLength = Math.max(maxWalkLength, walk.length);
+    }
+
+    /**
+     * The number of walks that have been added.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * The number of nodes in the longest walk, which is the minimum buffer length for {@link #walk(long, long[])}.
+     */
+    public int maxWalkLength() {
+        return maxWalkLength;
+    }
+
+    /**
+     * Decodes the walk with the given index into the buffer.
+     *
+     * @return the number of nodes in the walk
+     */
+    public int walk(long index, long[] buffer) {
+        long address = walkAddresses.get(index);
+        byte[] page = pages[pageIndex(address, PAGE_SHIFT)];
+        int offset = indexInPage(address, PAGE_MASK);
+
+        long length = 0L;
+        int shift = 0;
+        long input;
+        do {
+            input = page[offset++];
+            length += (input & 127L) << shift;
+            shift += 7;
+        } while ((input & 128L) == 0);
+
+        long node = 0L;
+        long value = 0L;
+        shift = 0;
+        int into = 0;
+        while (into < length) {
+            input = page[offset++];
+            value += (input & 127L) << shift;
+            if ((input & 128L) == 128L) {
+                node += (value >>> 1) ^ -(value & 1);
+                buffer[into++] = node;
+                value = 0L;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+        return (int) length;
+    }
+
+    public void release() {
+        tracker.remove(walkAddresses.release());
+        for (int i = 0; i < pageCount; i++) {
+            tracker.remove(MemoryUsage.sizeOfByteArray(pages[i].length));
+        }
+        pages = null;
+    }
+
+    private int encode(long[] walk) {
+        int valueCount = walk.length + 1;
+        if (valueBuffer.length < valueCount) {
+            valueBuffer = new long[valueCount];
+            encodingBuffer = new byte[valueCount * 9];
+        }
+        valueBuffer[0] = walk.length;
+        long previous = 0L;
+        for (int i = 0; i < walk.length; i++) {
+            valueBuffer[i + 1] = VarLongEncoding.zigZag(walk[i] - previous);
+            previous = walk[i];
+        }
+        return VarLongEncoding.encodeVLongs(valueBuffer, valueCount, encodingBuffer, 0);
+    }
+
+    private void allocatePage(int pageSize) {
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(1, pages.length * 2));
+        }
+        pages[pageCount++] = new byte[pageSize];
+        tracker.add(MemoryUsage.sizeOfByteArray(pageSize));
+        pageOffset = 0;
+    }
+}
@@ -19,7 +19,6 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
@@ -44,24 +43,21 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             config.walkLength(),
-            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
+            new RandomWalk.NextNodeStrategy(
+                graph,
+                config.returnFactor(),
+                config.inOutFactor(),
+                config.concurrency(),
+                tracker
+            ),
             config.concurrency(),
             config.walksPerNode(),
             config.walkBufferSize()
         );
 
-        HugeObjectArray<long[]> walks = HugeObjectArray.newArray(
-            long[].class,
-            graph.nodeCount() * config.walksPerNode(),
-            tracker
-        );
-        MutableLong counter = new MutableLong(0);
-        randomWalk
-            .compute()
-            .forEach(walk -> {
-                walks.set(counter.longValue(), walk);
-                counter.increment();
-            });
+        var walks = new CompressedRandomWalks(graph.nodeCount() * config.walksPerNode(), tracker);
+        randomWalk.compute().forEach(walks::add);
+        randomWalk.release();
 
         var probabilityComputer = new ProbabilityComputer(
             walks,
@@ -82,6 +78,7 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
         );
 
         node2VecModel.train();
+        walks.release();
 
         return node2VecModel.getEmbeddings();
     }
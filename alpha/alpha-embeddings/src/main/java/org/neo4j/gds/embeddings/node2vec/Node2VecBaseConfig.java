@@ -23,8 +23,9 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.EmbeddingDimensionConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 
-public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig {
+public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig, RelationshipWeightConfig {
 
     @Value.Default
     @Configuration.IntegerRange(min = 1)
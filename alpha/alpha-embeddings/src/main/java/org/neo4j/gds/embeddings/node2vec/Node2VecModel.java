@@ -37,7 +37,7 @@ public class Node2VecModel {
     private final HugeObjectArray<Vector> centerEmbeddings;
     private final HugeObjectArray<Vector> contextEmbeddings;
     private final Node2VecBaseConfig config;
-    private final HugeObjectArray<long[]> walks;
+    private final CompressedRandomWalks walks;
     private final ProbabilityComputer probabilityComputer;
     private final ProgressLogger progressLogger;
     private final AllocationTracker tracker;
@@ -46,7 +46,7 @@ public class Node2VecModel {
     Node2VecModel(
         long nodeCount,
         Node2VecBaseConfig config,
-        HugeObjectArray<long[]> walks,
+        CompressedRandomWalks walks,
         ProbabilityComputer probabilityComputer,
         ProgressLogger progressLogger,
         AllocationTracker tracker
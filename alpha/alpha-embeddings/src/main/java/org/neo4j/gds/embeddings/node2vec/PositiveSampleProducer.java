@@ -21,21 +21,21 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
-import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 public class PositiveSampleProducer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final CompressedRandomWalks walks;
     private final HugeDoubleArray centerNodeProbabilities;
     private final long batchEnd;
     private final int prefixWindowSize;
     private final int postfixWindowSize;
-    private long[] currentWalk;
+    private final long[] walkBuffer;
+    private final long[] currentWalk;
+    private int currentWalkLength;
     private long currentCenterWord;
     private long walkIndex;
     private final ProgressLogger progressLogger;
@@ -43,7 +43,7 @@ public class PositiveSampleProducer {
     private int contextWordIndex;
 
     public PositiveSampleProducer(
-        HugeObjectArray<long[]> walks,
+        CompressedRandomWalks walks,
         HugeDoubleArray centerNodeProbabilities,
         long batchStart,
         long batchEnd,
@@ -54,6 +54,8 @@ public class PositiveSampleProducer {
         this.batchEnd = batchEnd;
         this.progressLogger = progressLogger;
         this.centerNodeProbabilities = centerNodeProbabilities;
+        this.walkBuffer = new long[walks.maxWalkLength()];
+        this.currentWalk = new long[walks.maxWalkLength()];
 
         prefixWindowSize = (int) ceilDiv(windowSize - 1, 2);
         postfixWindowSize = (windowSize - 1) / 2;
@@ -85,19 +87,18 @@ public class PositiveSampleProducer {
         if (walkIndex >= walks.size()) {
             return;
         }
-        long[] walk = filter(walks.get(walkIndex));
+        currentWalkLength = filter(walks.walk(walkIndex, walkBuffer));
 
-        while (walkIndex <= batchEnd && walk.length < 2) {
+        while (walkIndex <= batchEnd && currentWalkLength < 2) {
             walkIndex++;
             if (walkIndex < walks.size()) {
-                walk = filter(walks.get(walkIndex));
+                currentWalkLength = filter(walks.walk(walkIndex, walkBuffer));
             }
             progressLogger.logProgress();
         }
 
         if (hasNext()) {
             progressLogger.logProgress();
-            this.currentWalk = walk;
             centerWordIndex = -1;
             nextCenterWord();
         }
@@ -106,7 +107,7 @@ public class PositiveSampleProducer {
     private void nextCenterWord() {
         centerWordIndex++;
 
-        if (centerWordIndex < currentWalk.length) {
+        if (centerWordIndex < currentWalkLength) {
             currentCenterWord = currentWalk[centerWordIndex];
             contextWordIndex = Math.max(0, centerWordIndex - prefixWindowSize) - 1;
             nextContextWord();
@@ -121,13 +122,20 @@ public class PositiveSampleProducer {
             contextWordIndex++;
         }
 
-        if (contextWordIndex >= Math.min(centerWordIndex + postfixWindowSize + 1, currentWalk.length)) {
+        if (contextWordIndex >= Math.min(centerWordIndex + postfixWindowSize + 1, currentWalkLength)) {
             nextCenterWord();
         }
     }
 
-    private long[] filter(long[] walk) {
-        return Arrays.stream(walk).filter(this::shouldPickNode).toArray();
+    // copies the nodes of the walk that are not down-sampled into the current walk
+    private int filter(int walkLength) {
+        int length = 0;
+        for (int i = 0; i < walkLength; i++) {
+            if (shouldPickNode(walkBuffer[i])) {
+                currentWalk[length++] = walkBuffer[i];
+            }
+        }
+        return length;
     }
 
     private boolean shouldPickNode(long nodeId) {
@@ -21,13 +21,14 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
@@ -94,7 +95,9 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
     }
 
     @Override
-    public void release() { }
+    public void release() {
+        strategy.release();
+    }
 
     private Stream<long[]> doWalk(long startNodeId) {
         return IntStream.range(0, walksPerNode).mapToObj(ignored -> {
@@ -127,130 +130,108 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         } catch (InterruptedException e) {}
     }
 
+    /**
+     * Samples the next node of a second order random walk by rejection sampling (KnightKing):
+     * a candidate is drawn from the first order distribution in O(1) and accepted with a probability
+     * proportional to its node2vec bias, which only needs an O(log degree) adjacency check.
+     * The bias of returning to the previous node is handled as an outlier with its own sampling area,
+     * so that a small return factor does not lower the acceptance rate for the other neighbours.
+     * If a low acceptance rate is observed, the step falls back to computing the exact distribution,
+     * which bounds a step by the cost of the exact computation.
+     *
+     * https://doi.org/10.1145/3341301.3359634
+     */
     public static class NextNodeStrategy {
-        private final Graph graph;
-        private final double returnParam;
-        private final double inOutParam;
 
+        private static final int MIN_REJECTION_TRIALS = 16;
+
+        private final TransitionGraph graph;
+        private final AllocationTracker tracker;
+        private final double returnBias;
+        private final double inOutBias;
+        // upper bound of the bias of all neighbours except the previous node
+        private final double maxBias;
 
         public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
-            this.graph = graph;
-            this.returnParam = returnParam;
-            this.inOutParam = inOutParam;
+            this(graph, returnParam, inOutParam, 1, AllocationTracker.empty());
         }
 
-        public long getNextNode(long currentNode, long previousNode) {
-            Graph threadLocalGraph = graph.concurrentCopy();
+        public NextNodeStrategy(
+            Graph graph,
+            double returnParam,
+            double inOutParam,
+            int concurrency,
+            AllocationTracker tracker
+        ) {
+            this.graph = TransitionGraph.build(graph, concurrency, tracker);
+            this.tracker = tracker;
+            this.returnBias = 1D / returnParam;
+            this.inOutBias = 1D / inOutParam;
+            this.maxBias = Math.max(1D, inOutBias);
+        }
 
-            int degree = threadLocalGraph.degree(currentNode);
+        public long getNextNode(long currentNode, long previousNode) {
+            int degree = graph.degree(currentNode);
             if (degree == 0) {
                 return -1;
             }
+            double weightSum = graph.weightSum(currentNode);
+            if (weightSum == 0) {
+                return -1;
+            }
 
-            double[] distribution = buildProbabilityDistribution(
-                threadLocalGraph,
-                currentNode,
-                previousNode,
-                returnParam,
-                inOutParam,
-                degree
-            );
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
+            Random random = ThreadLocalRandom.current();
+            double returnWeight = graph.weight(currentNode, previousNode);
+            double outlierArea = returnWeight > 0 && returnBias > maxBias
+                ? (returnBias - maxBias) * returnWeight
+                : 0;
+            double area = maxBias * weightSum + outlierArea;
+
+            int trials = Math.max(MIN_REJECTION_TRIALS, degree);
+            for (int trial = 0; trial < trials; trial++) {
+                if (random.nextDouble() * area >= maxBias * weightSum) {
+                    return previousNode;
+                }
+                long candidate = graph.target(currentNode, graph.sampleNeighbour(currentNode, random));
+                if (random.nextDouble() * maxBias < bias(candidate, previousNode)) {
+                    return candidate;
+                }
+            }
 
-            return threadLocalGraph.getTarget(currentNode, neighbourIndex);
+            return sampleExactly(currentNode, previousNode, degree, random);
         }
 
-        private double[] buildProbabilityDistribution(
-            Graph threadLocalGraph,
-            long currentNodeId,
-            long previousNodeId,
-            double returnParam,
-            double inOutParam,
-            int degree
-        ) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(
-                threadLocalGraph.concurrentCopy(),
-                degree,
-                currentNodeId,
-                previousNodeId,
-                returnParam,
-                inOutParam
-            );
-            threadLocalGraph.forEachRelationship(currentNodeId, consumer);
-            return consumer.probabilities();
+        public void release() {
+            graph.release(tracker);
         }
 
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
+        private double bias(long candidate, long previousNode) {
+            if (candidate == previousNode) {
+                return returnBias;
             }
-            return array;
-        }
-
-        private static int pickIndexFromDistribution(double[] normalizedDistribution, double randomThreshold) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < normalizedDistribution.length; i++) {
-                cumulativeProbability += normalizedDistribution[i];
-                if (randomThreshold <= cumulativeProbability) {
-                    return i;
-                }
+            if (graph.exists(previousNode, candidate)) {
+                // node is also adjacent to previous node --> distance to previous node is 1
+                return 1D;
             }
-            return normalizedDistribution.length - 1;
+            // node is not adjacent to previous node --> distance to previous node is 2
+            return inOutBias;
         }
 
-        private class ProbabilityDistributionComputer implements RelationshipConsumer {
-            private final Graph threadLocalGraph;
-            final double[] probabilities;
-            private final long currentNodeId;
-            private final long previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
-
-            public ProbabilityDistributionComputer(
-                Graph threadLocalGraph,
-                int degree,
-                long currentNodeId,
-                long previousNodeId,
-                double returnParam,
-                double inOutParam
-            ) {
-                this.threadLocalGraph = threadLocalGraph;
-                this.currentNodeId = currentNodeId;
-                this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
+        private long sampleExactly(long currentNode, long previousNode, int degree, Random random) {
+            double probabilitySum = 0;
+            for (int i = 0; i < degree; i++) {
+                probabilitySum += graph.weight(currentNode, i) * bias(graph.target(currentNode, i), previousNode);
             }
 
-            @Override
-            public boolean accept(long start, long end) {
-                long neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (threadLocalGraph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
+            double threshold = random.nextDouble() * probabilitySum;
+            double cumulativeProbability = 0;
+            for (int i = 0; i < degree; i++) {
+                cumulativeProbability += graph.weight(currentNode, i) * bias(graph.target(currentNode, i), previousNode);
+                if (threshold < cumulativeProbability) {
+                    return graph.target(currentNode, i);
                 }
-                probabilities[index] = probability;
-                probSum += probability;
-                index++;
-                return true;
-            }
-
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
             }
+            return graph.target(currentNode, degree - 1);
         }
     }
 }
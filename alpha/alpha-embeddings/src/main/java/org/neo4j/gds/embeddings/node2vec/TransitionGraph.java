@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * An uncompressed copy of the adjacency lists of a graph, which supports the operations
+ * of a random walk step without decoding or scanning a whole adjacency list:
+ *
+ * - sampling a neighbour from the first order transition distribution in O(1),
+ *   uniformly for unweighted graphs and by Walker's alias method for weighted graphs
+ * - checking whether two nodes are adjacent in O(log degree), as the lists are sorted
+ *
+ * https://doi.org/10.1109/32.92917
+ */
+final class TransitionGraph {
+
+    private final long nodeCount;
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+
+    // only set for weighted graphs
+    private final HugeDoubleArray weightSums;
+    private final HugeDoubleArray weights;
+    private final HugeDoubleArray aliasProbabilities;
+    private final HugeIntArray aliases;
+
+    private TransitionGraph(
+        long nodeCount,
+        HugeLongArray offsets,
+        HugeLongArray targets,
+        HugeDoubleArray weightSums,
+        HugeDoubleArray weights,
+        HugeDoubleArray aliasProbabilities,
+        HugeIntArray aliases
+    ) {
+        this.nodeCount = nodeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weightSums = weightSums;
+        this.weights = weights;
+        this.aliasProbabilities = aliasProbabilities;
+        this.aliases = aliases;
+    }
+
+    static TransitionGraph build(Graph graph, int concurrency, AllocationTracker tracker) {
+        long nodeCount = graph.nodeCount();
+        boolean weighted = graph.hasRelationshipProperty();
+
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += graph.degree(nodeId);
+        }
+        offsets.set(nodeCount, offset);
+
+        HugeLongArray targets = HugeLongArray.newArray(offset, tracker);
+        HugeDoubleArray weightSums = weighted ? HugeDoubleArray.newArray(nodeCount, tracker) : null;
+        HugeDoubleArray weights = weighted ? HugeDoubleArray.newArray(offset, tracker) : null;
+        HugeDoubleArray aliasProbabilities = weighted ? HugeDoubleArray.newArray(offset, tracker) : null;
+        HugeIntArray aliases = weighted ? HugeIntArray.newArray(offset, tracker) : null;
+
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            Graph localGraph = graph.concurrentCopy();
+            var buffers = new Buffers();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                int degree = (int) (offsets.get(nodeId + 1) - offsets.get(nodeId));
+                if (degree == 0) {
+                    continue;
+                }
+                buffers.ensureCapacity(degree);
+                int[] length = {0};
+                localGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                    buffers.targets[length[0]] = target;
+                    buffers.weights[length[0]] = weight;
+                    length[0]++;
+                    return true;
+                });
+                if (weighted) {
+                    copyWeightedNeighbours(
+                        nodeId,
+                        degree,
+                        offsets.get(nodeId),
+                        buffers,
+                        targets,
+                        weightSums,
+                        weights,
+                        aliasProbabilities,
+                        aliases
+                    );
+                } else {
+                    Arrays.sort(buffers.targets, 0, degree);
+                    long nodeOffset = offsets.get(nodeId);
+                    for (int i = 0; i < degree; i++) {
+                        targets.set(nodeOffset + i, buffers.targets[i]);
+                    }
+                }
+            }
+        });
+
+        return new TransitionGraph(nodeCount, offsets, targets, weightSums, weights, aliasProbabilities, aliases);
+    }
+
+    private static void copyWeightedNeighbours(
+        long nodeId,
+        int degree,
+        long offset,
+        Buffers buffers,
+        HugeLongArray targets,
+        HugeDoubleArray weightSums,
+        HugeDoubleArray weights,
+        HugeDoubleArray aliasProbabilities,
+        HugeIntArray aliases
+    ) {
+        long[] neighbours = buffers.targets;
+        double[] neighbourWeights = buffers.weights;
+        int[] order = isSorted(neighbours, degree)
+            ? null
+            : IndirectSort.mergesort(0, degree, new AscendingLongComparator(neighbours));
+
+        double weightSum = 0;
+        for (int i = 0; i < degree; i++) {
+            int index = order == null ? i : order[i];
+            double weight = neighbourWeights[index];
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node2Vec requires non-negative relationship weights, but found %f at node %d.",
+                    weight,
+                    nodeId
+                ));
+            }
+            targets.set(offset + i, neighbours[index]);
+            weights.set(offset + i, weight);
+            weightSum += weight;
+        }
+        weightSums.set(nodeId, weightSum);
+        if (weightSum == 0) {
+            return;
+        }
+
+        // Vose's variant: split the scaled weights into those below and above the average,
+        // then let every small bucket be topped up by one large one
+        double[] scaled = buffers.scaledWeights;
+        int[] small = buffers.small;
+        int[] large = buffers.large;
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < degree; i++) {
+            scaled[i] = weights.get(offset + i) * degree / weightSum;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int lower = small[--smallCount];
+            int upper = large[--largeCount];
+            aliasProbabilities.set(offset + lower, scaled[lower]);
+            aliases.set(offset + lower, upper);
+            scaled[upper] = (scaled[upper] + scaled[lower]) - 1.0;
+            if (scaled[upper] < 1.0) {
+                small[smallCount++] = upper;
+            } else {
+                large[largeCount++] = upper;
+            }
+        }
+        // the remaining buckets are full, up to rounding errors
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            aliasProbabilities.set(offset + index, 1.0);
+            aliases.set(offset + index, index);
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            aliasProbabilities.set(offset + index, 1.0);
+            aliases.set(offset + index, index);
+        }
+    }
+
+    private static boolean isSorted(long[] values, int length) {
+        for (int i = 1; i < length; i++) {
+            if (values[i - 1] > values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long nodeCount() {
+        return nodeCount;
+    }
+
+    int degree(long nodeId) {
+        return (int) (offsets.get(nodeId + 1) - offsets.get(nodeId));
+    }
+
+    /**
+     * The sum of the weights of the relationships of the node, which is the degree for unweighted graphs.
+     */
+    double weightSum(long nodeId) {
+        return weightSums == null ? degree(nodeId) : weightSums.get(nodeId);
+    }
+
+    long target(long nodeId, int index) {
+        return targets.get(offsets.get(nodeId) + index);
+    }
+
+    double weight(long nodeId, int index) {
+        return weights == null ? 1.0 : weights.get(offsets.get(nodeId) + index);
+    }
+
+    /**
+     * The sum of the weights of all relationships from source to target, which is zero if there are none.
+     */
+    double weight(long source, long target) {
+        long start = offsets.get(source);
+        long end = offsets.get(source + 1);
+        long index = lowerBound(start, end, target);
+        double weight = 0;
+        while (index < end && targets.get(index) == target) {
+            weight += weights == null ? 1.0 : weights.get(index);
+            index++;
+        }
+        return weight;
+    }
+
+    boolean exists(long source, long target) {
+        long end = offsets.get(source + 1);
+        long index = lowerBound(offsets.get(source), end, target);
+        return index < end && targets.get(index) == target;
+    }
+
+    /**
+     * Samples the index of a neighbour with a probability proportional to the weight of its relationship.
+     * The node must have a positive {@link #weightSum(long)}.
+     */
+    int sampleNeighbour(long nodeId, Random random) {
+        long offset = offsets.get(nodeId);
+        int degree = (int) (offsets.get(nodeId + 1) - offset);
+        int index = random.nextInt(degree);
+        if (aliases == null || random.nextDouble() < aliasProbabilities.get(offset + index)) {
+            return index;
+        }
+        return aliases.get(offset + index);
+    }
+
+    void release(AllocationTracker tracker) {
+        tracker.remove(offsets.release());
+        tracker.remove(targets.release());
+        if (weights != null) {
+            tracker.remove(weightSums.release());
+            tracker.remove(weights.release());
+            tracker.remove(aliasProbabilities.release());
+            tracker.remove(aliases.release());
+        }
+    }
+
+    // returns the first index in [start, end) whose target is not smaller than the given one
+    private long lowerBound(long start, long end, long target) {
+        long low = start;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (targets.get(mid) < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Buffers {
+        long[] targets = new long[0];
+        double[] weights = new double[0];
+        double[] scaledWeights = new double[0];
+        int[] small = new int[0];
+        int[] large = new int[0];
+
+        void ensureCapacity(int degree) {
+            if (targets.length < degree) {
+                targets = new long[degree];
+                weights = new double[degree];
+                scaledWeights = new double[degree];
+                small = new int[degree];
+                large = new int[degree];
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedRandomWalksTest {
+
+    @Test
+    void shouldReadWalksAsAdded() {
+        var random = new Random(42L);
+        var walks = new long[10_000][];
+        for (int i = 0; i < walks.length; i++) {
+            walks[i] = random.longs(1 + random.nextInt(80), 0, 1L << 40).toArray();
+        }
+        var compressedWalks = new CompressedRandomWalks(walks.length, AllocationTracker.empty());
+        for (long[] walk : walks) {
+            compressedWalks.add(walk);
+        }
+
+        assertThat(compressedWalks.size()).isEqualTo(walks.length);
+        assertThat(compressedWalks.maxWalkLength()).isEqualTo(Arrays.stream(walks).mapToInt(w -> w.length).max().orElseThrow());
+
+        var buffer = new long[compressedWalks.maxWalkLength()];
+        for (int i = 0; i < walks.length; i++) {
+            int length = compressedWalks.walk(i, buffer);
+            assertThat(Arrays.copyOf(buffer, length)).containsExactly(walks[i]);
+        }
+    }
+
+    @Test
+    void shouldStoreWalksLongerThanAPage() {
+        var longWalk = new Random(42L).longs(100_000, 0, Long.MAX_VALUE / 4).toArray();
+        var walks = CompressedRandomWalks.of(new long[]{1, 2, 3}, longWalk, new long[]{4, 2});
+
+        var buffer = new long[walks.maxWalkLength()];
+        assertThat(Arrays.copyOf(buffer, walks.walk(0, buffer))).containsExactly(1, 2, 3);
+        assertThat(Arrays.copyOf(buffer, walks.walk(1, buffer))).containsExactly(longWalk);
+        assertThat(Arrays.copyOf(buffer, walks.walk(2, buffer))).containsExactly(4, 2);
+    }
+
+    @Test
+    void shouldTrackMemory() {
+        var tracker = AllocationTracker.create();
+        var walks = new CompressedRandomWalks(2, tracker);
+        walks.add(new long[]{0, 1, 2});
+        walks.add(new long[]{2, 1, 0});
+
+        assertThat(tracker.trackedBytes()).isGreaterThan(0L);
+        walks.release();
+        assertThat(tracker.trackedBytes()).isEqualTo(0L);
+    }
+}
@@ -19,12 +19,10 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Random;
 import java.util.stream.LongStream;
@@ -41,9 +39,7 @@ class Node2VecModelTest {
         int numberOfWalks = 10;
         int walkLength = 80;
 
-        MutableLong counter = new MutableLong(0);
-        var walks = HugeObjectArray.newArray(
-            long[].class,
+        var walks = new CompressedRandomWalks(
             numberOfClusters * clusterSize * numberOfWalks,
             AllocationTracker.empty()
         );
@@ -60,7 +56,7 @@ class Node2VecModelTest {
                                     .toArray()
                             )
                     )
-            ).forEach(walk -> walks.set(counter.getAndIncrement(), walk));
+            ).forEach(walks::add);
 
 
         Node2VecStreamConfig config = ImmutableNode2VecStreamConfig.builder()
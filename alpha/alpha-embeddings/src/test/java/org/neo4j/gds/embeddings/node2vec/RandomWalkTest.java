@@ -20,18 +20,24 @@
 package org.neo4j.gds.embeddings.node2vec;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.TestGraphLoader;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.extension.TestGraph;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.FactoryType.NATIVE;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 class RandomWalkTest extends AlgoTestBase {
@@ -179,4 +185,75 @@ class RandomWalkTest extends AlgoTestBase {
         assertTrue(nodeCounter.get(3L) > nodeCounter.get(4L) * 10, formatWithLocale("occurrences: %s", nodeCounter));
         assertTrue(nodeCounter.get(3L) > nodeCounter.get(5L) * 10, formatWithLocale("occurrences: %s", nodeCounter));
     }
+
+    // c is the current node and p the previous one, a and b are also adjacent to p while x and y are not
+    private static final String BIASED_STEP_GDL =
+        "  (p), (c), (a), (b), (x), (y)" +
+        ", (p)-[{w: 1.0}]->(c)" +
+        ", (p)-[{w: 1.0}]->(a)" +
+        ", (p)-[{w: 1.0}]->(b)" +
+        ", (c)-[{w: 1.0}]->(p)" +
+        ", (c)-[{w: 2.0}]->(a)" +
+        ", (c)-[{w: 1.0}]->(b)" +
+        ", (c)-[{w: 3.0}]->(x)" +
+        ", (c)-[{w: 1.0}]->(y)";
+
+    // x has a tiny weight but a huge bias, which makes nearly every rejection trial fail
+    private static final String LOW_ACCEPTANCE_GDL =
+        "  (p), (c), (a), (b), (x), (y)" +
+        ", (p)-[{w: 1.0}]->(c)" +
+        ", (p)-[{w: 1.0}]->(a)" +
+        ", (p)-[{w: 1.0}]->(b)" +
+        ", (c)-[{w: 1.0}]->(p)" +
+        ", (c)-[{w: 2.0}]->(a)" +
+        ", (c)-[{w: 1.0}]->(b)" +
+        ", (c)-[{w: 0.000001}]->(x)";
+
+    static Stream<Arguments> biasedSteps() {
+        return Stream.of(
+            // rejection sampling, the return bias is below the maximum bias
+            Arguments.of(BIASED_STEP_GDL, 2.0, 0.5),
+            // rejection sampling with the previous node as outlier, its bias exceeds the maximum bias
+            Arguments.of(BIASED_STEP_GDL, 0.25, 0.5),
+            // the trials are exhausted and the step is computed from the exact distribution
+            Arguments.of(LOW_ACCEPTANCE_GDL, 0.5, 0.000001)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("biasedSteps")
+    void shouldSampleNextNodeFromTheBiasedDistribution(String gdl, double returnParam, double inOutParam) {
+        TestGraph graph = fromGdl(gdl);
+        var strategy = new RandomWalk.NextNodeStrategy(graph, returnParam, inOutParam);
+        long current = graph.toMappedNodeId("c");
+        long previous = graph.toMappedNodeId("p");
+
+        var expected = new double[(int) graph.nodeCount()];
+        double expectedSum = 0;
+        for (String variable : List.of("p", "a", "b", "x", "y")) {
+            long node = graph.toMappedNodeId(variable);
+            double[] weight = {0};
+            graph.forEachRelationship(current, 0.0, (source, target, w) -> {
+                if (target == node) {
+                    weight[0] += w;
+                }
+                return true;
+            });
+            double bias = node == previous
+                ? 1 / returnParam
+                : graph.exists(previous, node) ? 1 : 1 / inOutParam;
+            expected[(int) node] = weight[0] * bias;
+            expectedSum += weight[0] * bias;
+        }
+
+        int samples = 200_000;
+        var counts = new double[(int) graph.nodeCount()];
+        for (int i = 0; i < samples; i++) {
+            counts[(int) strategy.getNextNode(current, previous)]++;
+        }
+
+        for (int node = 0; node < counts.length; node++) {
+            assertEquals(expected[node] / expectedSum, counts[node] / samples, 0.01, String.valueOf(node));
+        }
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class TransitionGraphTest {
+
+    private static final String WEIGHTED_GDL =
+        "  (a), (b), (c), (d), (e)" +
+        ", (a)-[{w: 1.0}]->(b)" +
+        ", (a)-[{w: 2.0}]->(c)" +
+        ", (a)-[{w: 3.0}]->(d)" +
+        ", (a)-[{w: 6.0}]->(e)" +
+        ", (b)-[{w: 1.0}]->(c)";
+
+    @Test
+    void shouldCopyAdjacencyAndWeights() {
+        TestGraph graph = fromGdl(WEIGHTED_GDL);
+        var transitionGraph = TransitionGraph.build(graph, 1, AllocationTracker.empty());
+
+        long a = graph.toMappedNodeId("a");
+        assertThat(transitionGraph.degree(a)).isEqualTo(4);
+        assertThat(transitionGraph.weightSum(a)).isEqualTo(12.0);
+        assertThat(transitionGraph.weight(a, graph.toMappedNodeId("e"))).isEqualTo(6.0);
+        assertThat(transitionGraph.weight(a, graph.toMappedNodeId("a"))).isEqualTo(0.0);
+
+        assertThat(transitionGraph.exists(graph.toMappedNodeId("b"), graph.toMappedNodeId("c"))).isTrue();
+        assertThat(transitionGraph.exists(graph.toMappedNodeId("c"), graph.toMappedNodeId("b"))).isFalse();
+        assertThat(transitionGraph.degree(graph.toMappedNodeId("e"))).isEqualTo(0);
+    }
+
+    @Test
+    void shouldSampleNeighboursProportionallyToTheirWeight() {
+        TestGraph graph = fromGdl(WEIGHTED_GDL);
+        var transitionGraph = TransitionGraph.build(graph, 1, AllocationTracker.empty());
+        long a = graph.toMappedNodeId("a");
+
+        int samples = 120_000;
+        var counts = new double[(int) graph.nodeCount()];
+        var random = new Random(42L);
+        for (int i = 0; i < samples; i++) {
+            long target = transitionGraph.target(a, transitionGraph.sampleNeighbour(a, random));
+            counts[(int) target]++;
+        }
+
+        assertThat(counts[(int) graph.toMappedNodeId("b")] / samples).isCloseTo(1.0 / 12, within(0.01));
+        assertThat(counts[(int) graph.toMappedNodeId("c")] / samples).isCloseTo(2.0 / 12, within(0.01));
+        assertThat(counts[(int) graph.toMappedNodeId("d")] / samples).isCloseTo(3.0 / 12, within(0.01));
+        assertThat(counts[(int) graph.toMappedNodeId("e")] / samples).isCloseTo(6.0 / 12, within(0.01));
+    }
+
+    @Test
+    void shouldFailOnNegativeWeights() {
+        TestGraph graph = fromGdl("(a)-[{w: -1.0}]->(b)");
+
+        assertThatThrownBy(() -> TransitionGraph.build(graph, 1, AllocationTracker.empty()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("non-negative relationship weights");
+    }
+}
@@ -39,6 +39,13 @@ public interface ArticleRankConfig extends PageRankWriteConfig {
         return "articlerank";
     }
 
+    @Value.Check
+    default void validatePullMode() {
+        if (pullMode()) {
+            throw new IllegalArgumentException("ArticleRank does not support the `pullMode` option.");
+        }
+    }
+
     static ArticleRankConfig of(
         String username,
         Optional<String> graphName,
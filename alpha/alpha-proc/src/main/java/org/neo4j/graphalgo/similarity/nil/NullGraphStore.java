@@ -173,6 +173,11 @@ public class NullGraphStore implements GraphStore {
         return Set.of();
     }
 
+    @Override
+    public Relationships.Topology relationshipTopology(RelationshipType relationshipType) {
+        throw new NullGraphException();
+    }
+
     @Override
     public void addRelationshipType(
         RelationshipType relationshipType,
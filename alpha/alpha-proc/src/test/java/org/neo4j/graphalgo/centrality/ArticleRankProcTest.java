@@ -138,4 +138,16 @@ class ArticleRankProcTest extends BaseProcTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void shouldRejectPullMode() {
+        String query = GdsCypher.call()
+            .withNodeLabel("Paper")
+            .withRelationshipType("CITES")
+            .algo("gds.alpha.articleRank")
+            .streamMode()
+            .addParameter("pullMode", true)
+            .yields();
+
+        assertError(query, "ArticleRank does not support the `pullMode` option.");
+    }
 }
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.centrality.eigenvector;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -398,6 +399,18 @@ class EigenvectorCentralityProcTest extends BaseProcTest {
         );
     }
 
+    @Test
+    void shouldRejectPullMode() {
+        String query = GdsCypher.call()
+            .explicitCreation(EXPLICIT_GRAPH_NAME)
+            .algo("gds", "alpha", "eigenvector")
+            .streamMode()
+            .addParameter("pullMode", true)
+            .yields();
+
+        assertError(query, "Eigenvector Centrality does not support the `pullMode` option.");
+    }
+
     private void createExplicitGraph(String graphName) {
         String graphCreateQuery = GdsCypher.call()
             .withNodeLabel("Character")
@@ -20,6 +20,8 @@
 package org.neo4j.graphalgo.similarity;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -32,6 +34,7 @@ import org.neo4j.graphalgo.impl.similarity.ImmutableJaccardConfig;
 import org.neo4j.graphalgo.impl.similarity.JaccardAlgorithm;
 import org.neo4j.graphalgo.impl.similarity.JaccardConfig;
 import org.neo4j.graphalgo.impl.similarity.SimilarityAlgorithmResult;
+import org.neo4j.graphalgo.similarity.knn.KnnSampler;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Transaction;
@@ -44,13 +47,15 @@ import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.compat.MapUtil.genericMap;
 import static org.neo4j.graphalgo.core.loading.ImportSizing.MIN_PAGE_SIZE;
 
 class ApproximateNearestNeighborsTest extends AlgoTestBase {
 
-    @Test
-    void testRunningAnnWithIdGaps() {
+    @ParameterizedTest
+    @EnumSource(KnnSampler.class)
+    void testRunningAnnWithIdGaps(KnnSampler initialSampler) {
         Transaction transaction = db.beginTx();
 
         for (long i = 0; i < MIN_PAGE_SIZE; i++) {
@@ -76,6 +81,7 @@ class ApproximateNearestNeighborsTest extends AlgoTestBase {
         ApproximateNearestNeighborsConfig annConfig = ImmutableApproximateNearestNeighborsConfig
             .builder()
             .algorithm(ApproximateNearestNeighborsConfig.SimilarityAlgorithm.jaccard)
+            .initialSampler(initialSampler)
             .addAllData(inputData)
             .build();
 
@@ -94,4 +100,17 @@ class ApproximateNearestNeighborsTest extends AlgoTestBase {
         result.stream().forEach(res -> assertEquals(1.0, res.similarity));
     }
 
+    @Test
+    void shouldNotSupportLshForEuclidean() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> ImmutableApproximateNearestNeighborsConfig
+                .builder()
+                .algorithm(ApproximateNearestNeighborsConfig.SimilarityAlgorithm.euclidean)
+                .initialSampler(KnnSampler.LSH)
+                .build()
+        );
+        assertEquals("The initial sampler `LSH` is not supported for the `euclidean` algorithm.", exception.getMessage());
+    }
+
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-node work of the adjacency list builder: sorting and delta encoding
+ * the target ids of a single node and writing them as variable length longs.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AdjacencyCompressionBenchmark {
+
+    @Param({"16", "256", "4096"})
+    int degree;
+
+    @Param({"1000000"})
+    long nodeCount;
+
+    private long[] targets;
+    private LongsRef buffer;
+    private LongsRef deltaEncoded;
+    private byte[] out;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(BenchmarkGraphs.SEED);
+        targets = random.longs(degree, 0, nodeCount).toArray();
+        buffer = new LongsRef(new long[degree], 0, degree);
+
+        deltaEncoded = new LongsRef(Arrays.copyOf(targets, degree), 0, degree);
+        AdjacencyCompression.applyDeltaEncoding(deltaEncoded, Aggregation.NONE);
+
+        // a variable length long uses at most 10 bytes
+        out = new byte[degree * 10];
+    }
+
+    @Benchmark
+    public int deltaEncodeAndCompress() {
+        System.arraycopy(targets, 0, buffer.longs, 0, degree);
+        buffer.length = degree;
+        AdjacencyCompression.applyDeltaEncoding(buffer, Aggregation.NONE);
+        return AdjacencyCompression.compress(buffer, out);
+    }
+
+    @Benchmark
+    public int compress() {
+        return AdjacencyCompression.compress(deltaEncoded, out);
+    }
+}
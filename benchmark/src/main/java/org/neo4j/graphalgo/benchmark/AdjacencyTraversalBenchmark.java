@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single-threaded scan over all relationships of the graph.
+ * <p>
+ * {@link #decompressingCursor()} drives the {@link TransientAdjacencyList.DecompressingCursor} directly,
+ * {@link #forEachRelationship()} goes through the {@link org.neo4j.graphalgo.api.Graph} API
+ * as the algorithms do.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AdjacencyTraversalBenchmark {
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution relationshipDistribution;
+
+    @Param({"1000000"})
+    long nodeCount;
+
+    private HugeGraph graph;
+    private TransientAdjacencyList adjacencyList;
+    private AdjacencyOffsets adjacencyOffsets;
+    private TransientAdjacencyList.DecompressingCursor cursor;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.generate(nodeCount, relationshipDistribution, Orientation.NATURAL);
+        var topology = graph.relationshipTopology();
+        adjacencyList = (TransientAdjacencyList) topology.list();
+        adjacencyOffsets = topology.offsets();
+        cursor = adjacencyList.rawDecompressingCursor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    public long decompressingCursor() {
+        long sum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long offset = adjacencyOffsets.get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            var adjacencyCursor = TransientAdjacencyList.decompressingCursor(cursor, offset);
+            while (adjacencyCursor.hasNextVLong()) {
+                sum += adjacencyCursor.nextVLong();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long forEachRelationship() {
+        var sum = new long[1];
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                sum[0] += target;
+                return true;
+            });
+        }
+        return sum[0];
+    }
+}
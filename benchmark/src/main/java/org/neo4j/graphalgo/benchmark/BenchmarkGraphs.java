@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGeneratorBuilder;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+
+/**
+ * Generates the benchmark input graphs.
+ * <p>
+ * All graphs are generated from a fixed seed, so that results
+ * from different runs and releases are measured on the same input.
+ */
+final class BenchmarkGraphs {
+
+    static final long SEED = 42L;
+
+    static final int AVERAGE_DEGREE = 10;
+
+    private BenchmarkGraphs() {}
+
+    static HugeGraph generate(long nodeCount, RelationshipDistribution distribution, Orientation orientation) {
+        return builder(nodeCount, distribution, orientation).build().generate();
+    }
+
+    static HugeGraph generate(
+        long nodeCount,
+        RelationshipDistribution distribution,
+        Orientation orientation,
+        PropertyProducer nodePropertyProducer
+    ) {
+        return builder(nodeCount, distribution, orientation)
+            .nodePropertyProducer(nodePropertyProducer)
+            .build()
+            .generate();
+    }
+
+    static RandomGraphGeneratorBuilder builder(
+        long nodeCount,
+        RelationshipDistribution distribution,
+        Orientation orientation
+    ) {
+        return RandomGraphGenerator.builder()
+            .nodeCount(nodeCount)
+            .averageDegree(AVERAGE_DEGREE)
+            .relationshipDistribution(distribution)
+            .orientation(orientation)
+            .seed(SEED);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HugeAtomicDisjointSetStruct#union(long, long)} for all relationships of a graph.
+ * The relationships are materialized into a flat array up front,
+ * so that the measurement does not include adjacency decompression.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DisjointSetStructBenchmark {
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution relationshipDistribution;
+
+    @Param({"1000000"})
+    long nodeCount;
+
+    private long[] relationships;
+
+    @Setup
+    public void setup() {
+        HugeGraph graph = BenchmarkGraphs.generate(nodeCount, relationshipDistribution, Orientation.NATURAL);
+        relationships = new long[Math.toIntExact(graph.relationshipCount() * 2)];
+        var index = new int[1];
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                relationships[index[0]++] = source;
+                relationships[index[0]++] = target;
+                return true;
+            });
+            return true;
+        });
+        graph.release();
+    }
+
+    @TearDown
+    public void tearDown() {
+        relationships = null;
+    }
+
+    @Benchmark
+    public long union() {
+        var dss = new HugeAtomicDisjointSetStruct(nodeCount, AllocationTracker.empty(), 1);
+        for (int i = 0; i < relationships.length; i += 2) {
+            dss.union(relationships[i], relationships[i + 1]);
+        }
+        return dss.setIdOf(0);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.similarity.knn.ImmutableKnnBaseConfig;
+import org.neo4j.graphalgo.similarity.knn.ImmutableKnnContext;
+import org.neo4j.graphalgo.similarity.knn.Knn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures KNN on a random scalar node property.
+ * The relationships of the generated graph are not used by the algorithm.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KnnBenchmark {
+
+    private static final String PROPERTY = "knn";
+
+    @Param({"100000"})
+    long nodeCount;
+
+    @Param({"4"})
+    int concurrency;
+
+    @Param({"10"})
+    int topK;
+
+    private HugeGraph graph;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.generate(
+            nodeCount,
+            RelationshipDistribution.UNIFORM,
+            Orientation.NATURAL,
+            PropertyProducer.random(PROPERTY, 0, 1)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    public Knn.Result knn() {
+        var config = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty(PROPERTY)
+            .topK(topK)
+            .randomSeed(BenchmarkGraphs.SEED)
+            .concurrency(concurrency)
+            .build();
+
+        return new Knn(graph, config, ImmutableKnnContext.builder().build()).compute();
+    }
+}
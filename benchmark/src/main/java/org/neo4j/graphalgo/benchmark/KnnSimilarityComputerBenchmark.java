@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.FilterGraph;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.similarity.knn.SimilarityComputer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the KNN similarity of float array properties, computed either on the
+ * arrays of the node properties or on the matrix they have been packed into.
+ * The node pairs are random, like the candidates KNN compares.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KnnSimilarityComputerBenchmark {
+
+    private static final String PROPERTY = "embedding";
+
+    private static final int PAIRS = 1 << 16;
+
+    @Param({"1000000"})
+    long nodeCount;
+
+    @Param({"64", "256"})
+    int dimension;
+
+    private HugeGraph graph;
+    private long[] firstNodes;
+    private long[] secondNodes;
+    private SimilarityComputer floatArrayComputer;
+    private SimilarityComputer packedComputer;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.generate(nodeCount, RelationshipDistribution.UNIFORM, Orientation.NATURAL);
+
+        var random = new SplittableRandom(BenchmarkGraphs.SEED);
+        float[][] embeddings = new float[Math.toIntExact(nodeCount)][dimension];
+        for (float[] embedding : embeddings) {
+            for (int i = 0; i < dimension; i++) {
+                embedding[i] = (float) random.nextDouble();
+            }
+        }
+        NodeProperties nodeProperties = (FloatArrayNodeProperties) nodeId -> embeddings[(int) nodeId];
+        Graph graphWithEmbeddings = new FilterGraph(graph) {
+            @Override
+            public NodeProperties nodeProperties(String propertyKey) {
+                return nodeProperties;
+            }
+
+            @Override
+            public Graph concurrentCopy() {
+                return this;
+            }
+        };
+
+        floatArrayComputer = SimilarityComputer.ofFloatArrayProperty(nodeProperties);
+        packedComputer = SimilarityComputer.ofProperty(
+            graphWithEmbeddings,
+            PROPERTY,
+            4,
+            AllocationTracker.empty()
+        );
+
+        firstNodes = random.longs(PAIRS, 0, nodeCount).toArray();
+        secondNodes = random.longs(PAIRS, 0, nodeCount).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double floatArrayProperty() {
+        return sumOfSimilarities(floatArrayComputer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double packedFloatArrayProperty() {
+        return sumOfSimilarities(packedComputer);
+    }
+
+    private double sumOfSimilarities(SimilarityComputer computer) {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += computer.similarity(firstNodes[i], secondNodes[i]);
+        }
+        return sum;
+    }
+}
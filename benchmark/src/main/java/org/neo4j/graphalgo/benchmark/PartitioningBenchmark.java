@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.pregel.ImmutablePregelConfig;
+import org.neo4j.graphalgo.beta.pregel.NodeSchemaBuilder;
+import org.neo4j.graphalgo.beta.pregel.Pregel;
+import org.neo4j.graphalgo.beta.pregel.PregelComputation;
+import org.neo4j.graphalgo.beta.pregel.PregelConfig;
+import org.neo4j.graphalgo.beta.pregel.PregelContext;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
+import org.neo4j.graphalgo.utils.CloseableThreadLocal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the partitioning strategies on a graph with a skewed degree distribution.
+ * <p>
+ * The power law graph is loaded in reverse orientation. The generator samples
+ * relationship targets from a power law distribution that favors low node ids.
+ * As a result, the high degree nodes are concentrated at the beginning of the
+ * id space, which is the worst case for equally sized node ranges.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PartitioningBenchmark {
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    RelationshipDistribution relationshipDistribution;
+
+    @Param({"RANGE", "DEGREE"})
+    Partitioning partitioning;
+
+    @Param({"1000000"})
+    long nodeCount;
+
+    @Param({"4"})
+    int concurrency;
+
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkGraphs.generate(nodeCount, relationshipDistribution, Orientation.REVERSE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    /**
+     * Baseline: one node range per thread, as used by Pregel before batches were claimed dynamically.
+     */
+    @Benchmark
+    public long staticRangePartitions() {
+        var sum = new LongAdder();
+        try (var graphCopy = CloseableThreadLocal.withInitial(graph::concurrentCopy)) {
+            var tasks = PartitionUtils
+                .rangePartition(concurrency, graph.nodeCount())
+                .stream()
+                .map(partition -> (Runnable) () -> sumTargets(graphCopy.get(), partition, sum))
+                .collect(Collectors.toList());
+            ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        }
+        return sum.sum();
+    }
+
+    @Benchmark
+    public long parallelForEachNode() {
+        var sum = new LongAdder();
+        try (var graphCopy = CloseableThreadLocal.withInitial(graph::concurrentCopy)) {
+            ParallelUtil.parallelForEachNode(graph, concurrency, partitioning, nodeId -> {
+                var nodeSum = new long[1];
+                graphCopy.get().forEachRelationship(nodeId, (source, target) -> {
+                    nodeSum[0] += target;
+                    return true;
+                });
+                sum.add(nodeSum[0]);
+            });
+        }
+        return sum.sum();
+    }
+
+    @Benchmark
+    public long parallelPartitionsConsume() {
+        var sum = new LongAdder();
+        try (var graphCopy = CloseableThreadLocal.withInitial(graph::concurrentCopy)) {
+            ParallelUtil.parallelPartitionsConsume(
+                partitioning.partition(graph, concurrency),
+                concurrency,
+                Pools.DEFAULT,
+                partition -> sumTargets(graphCopy.get(), partition, sum)
+            );
+        }
+        return sum.sum();
+    }
+
+    @Benchmark
+    public Pregel.PregelResult pregel() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(5)
+            .concurrency(concurrency)
+            .partitioning(partitioning)
+            .build();
+
+        var pregel = Pregel.create(graph, config, new SumComputation(), Pools.DEFAULT, AllocationTracker.empty());
+        try {
+            return pregel.run();
+        } finally {
+            pregel.release();
+        }
+    }
+
+    private static void sumTargets(Graph graph, Partition partition, LongAdder sum) {
+        long localSum = 0L;
+        long end = partition.startNode() + partition.nodeCount();
+        for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+            var nodeSum = new long[1];
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                nodeSum[0] += target;
+                return true;
+            });
+            localSum += nodeSum[0];
+        }
+        sum.add(localSum);
+    }
+
+    public static final class SumComputation implements PregelComputation<PregelConfig> {
+
+        private static final String KEY = "sum";
+
+        @Override
+        public Pregel.NodeSchema nodeSchema() {
+            return new NodeSchemaBuilder().putElement(KEY, ValueType.DOUBLE).build();
+        }
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            double sum = 0;
+            for (var message : messages) {
+                sum += message;
+            }
+            context.setNodeValue(KEY, sum);
+            context.sendToNeighbors(1.0);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.PropertyStorage;
 
 import java.util.AbstractMap;
 import java.util.Collections;
@@ -39,6 +40,7 @@ public abstract class PropertyMapping {
 
     public static final String PROPERTY_KEY = "property";
     public static final String DEFAULT_VALUE_KEY = "defaultValue";
+    public static final String STORAGE_KEY = "storage";
 
     /**
      * property key in the result map Graph.nodeProperties(`propertyKey`)
@@ -63,6 +65,15 @@ public abstract class PropertyMapping {
         return Aggregation.DEFAULT;
     }
 
+    /**
+     * How the values of a relationship property are stored, ignored for node properties.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    public PropertyStorage storage() {
+        return PropertyStorage.DOUBLE;
+    }
+
     @Value.Check
     public void validateProperties() {
         if (neoPropertyKey().equals(PROJECT_ALL) && aggregation() != Aggregation.COUNT) {
@@ -104,12 +115,27 @@ public abstract class PropertyMapping {
                 ));
             }
 
-            return PropertyMapping.of(
-                propertyKey,
-                neoPropertyKey,
-                relPropertyMap.get(DEFAULT_VALUE_KEY),
-                aggregation
-            );
+            final Object storageValue = relPropertyMap.get(STORAGE_KEY);
+            PropertyStorage storage;
+            if (storageValue == null) {
+                storage = PropertyStorage.DOUBLE;
+            } else if (storageValue instanceof String) {
+                storage = PropertyStorage.lookup((String) storageValue);
+            } else {
+                throw new IllegalStateException(formatWithLocale(
+                    "Expected the value of '%s' to be of type String, but was '%s'",
+                    STORAGE_KEY, storageValue.getClass().getSimpleName()
+                ));
+            }
+
+            return ImmutablePropertyMapping
+                .builder()
+                .propertyKey(propertyKey)
+                .neoPropertyKey(neoPropertyKey)
+                .defaultValue(DefaultValue.of(relPropertyMap.get(DEFAULT_VALUE_KEY)))
+                .aggregation(aggregation)
+                .storage(storage)
+                .build();
         } else {
             throw new IllegalStateException(formatWithLocale(
                 "Expected stringOrMap to be of type String or Map, but got %s",
@@ -134,6 +160,9 @@ public abstract class PropertyMapping {
         if (includeAggregation) {
             value.put(RelationshipProjection.AGGREGATION_KEY, aggregation().name());
         }
+        if (storage() != PropertyStorage.DOUBLE) {
+            value.put(STORAGE_KEY, storage().name());
+        }
         return new AbstractMap.SimpleImmutableEntry<>(propertyKey(), value);
     }
 
@@ -124,6 +124,12 @@ public interface GraphStore {
 
     Set<String> relationshipPropertyKeys(RelationshipType relationshipType);
 
+    /**
+     * Returns the topology that is stored for the given relationship type.
+     * The instance changes when the relationship type is deleted and added again.
+     */
+    Relationships.Topology relationshipTopology(RelationshipType relationshipType);
+
     void addRelationshipType(
         RelationshipType relationshipType,
         Optional<String> relationshipPropertyKey,
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+/**
+ * Messenger for asynchronous Pregel computations.
+ * <p>
+ * Each node owns a growable primitive message buffer. Senders and the
+ * receiver of a node synchronize on one of a fixed number of lock stripes.
+ * The receiver drains all pending messages at once into an iterator-local
+ * array, which keeps the time spent holding a lock short. Messages that
+ * arrive while the receiver iterates are drained as well, which matches
+ * the semantics of the asynchronous execution mode.
+ */
+final class AsyncMessenger implements Messenger<AsyncMessenger.DrainingMessageIterator> {
+
+    private static final int LOCK_STRIPES = 1 << 10;
+    private static final int LOCK_MASK = LOCK_STRIPES - 1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final HugeObjectArray<double[]> buffers;
+    private final HugeIntArray bufferSizes;
+    private final Object[] locks;
+
+    static AsyncMessenger of(long nodeCount, AllocationTracker tracker) {
+        return new AsyncMessenger(
+            HugeObjectArray.newArray(double[].class, nodeCount, tracker),
+            HugeIntArray.newArray(nodeCount, tracker)
+        );
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(AsyncMessenger.class)
+            .add("message buffers", MemoryEstimations.setup("", (dimensions, concurrency) ->
+                HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfDoubleArray(dimensions.averageDegree()))
+            ))
+            .perNode("buffer sizes", HugeIntArray::memoryEstimation)
+            .fixed("locks", MemoryUsage.sizeOfObjectArray(LOCK_STRIPES) + LOCK_STRIPES * MemoryUsage.sizeOfInstance(Object.class))
+            .build();
+    }
+
+    private AsyncMessenger(HugeObjectArray<double[]> buffers, HugeIntArray bufferSizes) {
+        this.buffers = buffers;
+        this.bufferSizes = bufferSizes;
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double message) {
+        synchronized (lock(targetNodeId)) {
+            int size = bufferSizes.get(targetNodeId);
+            double[] buffer = buffers.get(targetNodeId);
+            if (buffer == null) {
+                buffer = new double[INITIAL_CAPACITY];
+                buffers.set(targetNodeId, buffer);
+            } else if (size == buffer.length) {
+                var newBuffer = new double[ArrayUtil.oversize(size + 1, Double.BYTES)];
+                System.arraycopy(buffer, 0, newBuffer, 0, size);
+                buffer = newBuffer;
+                buffers.set(targetNodeId, buffer);
+            }
+            buffer[size] = message;
+            bufferSizes.set(targetNodeId, size + 1);
+        }
+    }
+
+    @Override
+    public DrainingMessageIterator messageIterator() {
+        return new DrainingMessageIterator(this);
+    }
+
+    @Override
+    public void initMessageIterator(DrainingMessageIterator messageIterator, long nodeId, boolean hasMessages) {
+        messageIterator.init(nodeId, hasMessages);
+    }
+
+    @Override
+    public void release() {
+        buffers.release();
+        bufferSizes.release();
+    }
+
+    /**
+     * Moves all pending messages of the given node into the given
+     * array and returns the number of moved messages. If the given array
+     * is too small to hold the pending messages, nothing is moved and
+     * the negated number of pending messages is returned.
+     */
+    private int drain(long nodeId, double[] target) {
+        synchronized (lock(nodeId)) {
+            int size = bufferSizes.get(nodeId);
+            if (size > target.length) {
+                return -size;
+            }
+            if (size > 0) {
+                System.arraycopy(buffers.get(nodeId), 0, target, 0, size);
+                bufferSizes.set(nodeId, 0);
+            }
+            return size;
+        }
+    }
+
+    private Object lock(long nodeId) {
+        return locks[(int) (nodeId & LOCK_MASK)];
+    }
+
+    static final class DrainingMessageIterator extends Pregel.MessageIterator {
+
+        private final AsyncMessenger messenger;
+
+        private double[] messages;
+        private long nodeId;
+        private boolean hasMessages;
+        private int length;
+        private int position;
+
+        DrainingMessageIterator(AsyncMessenger messenger) {
+            this.messenger = messenger;
+            this.messages = new double[INITIAL_CAPACITY];
+        }
+
+        void init(long nodeId, boolean hasMessages) {
+            this.nodeId = nodeId;
+            this.hasMessages = hasMessages;
+            this.length = 0;
+            this.position = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < length) {
+                return true;
+            }
+            if (!hasMessages) {
+                return false;
+            }
+            int drained;
+            while ((drained = messenger.drain(nodeId, messages)) < 0) {
+                messages = new double[ArrayUtil.oversize(-drained, Double.BYTES)];
+            }
+            length = drained;
+            position = 0;
+            return drained > 0;
+        }
+
+        @Override
+        public double nextDouble() {
+            return messages[position++];
+        }
+    }
+}
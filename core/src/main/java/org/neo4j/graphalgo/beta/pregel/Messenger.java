@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * A messenger stores the messages that are sent between nodes
+ * during a Pregel computation and provides them to the receiving
+ * node via a primitive {@link Pregel.MessageIterator}.
+ *
+ * Implementations are tailored to either the synchronous or
+ * the asynchronous execution mode.
+ */
+interface Messenger<ITERATOR extends Pregel.MessageIterator> {
+
+    /**
+     * Called by the framework once before each superstep.
+     */
+    void initIteration(int iteration);
+
+    /**
+     * Stores the given message for the target node.
+     * This method is called concurrently by the compute steps.
+     */
+    void sendTo(long targetNodeId, double message);
+
+    /**
+     * Creates a new iterator which is re-used by a single compute step.
+     */
+    ITERATOR messageIterator();
+
+    /**
+     * Initializes the iterator with the messages of the given node.
+     * If {@code hasMessages} is {@code false}, the iterator is empty.
+     */
+    void initMessageIterator(ITERATOR messageIterator, long nodeId, boolean hasMessages);
+
+    void release();
+}
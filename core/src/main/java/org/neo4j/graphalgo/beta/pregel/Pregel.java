@@ -21,9 +21,7 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.builder.Builder;
 import org.immutables.value.Value;
-import org.jctools.queues.MpscLinkedQueue;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.Degrees;
@@ -31,6 +29,7 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -40,16 +39,16 @@ import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
-import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.PrimitiveIterator;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
@@ -58,9 +57,6 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
 public final class Pregel<CONFIG extends PregelConfig> {
 
-    // Marks the end of messages from the previous iteration in synchronous mode.
-    private static final Double TERMINATION_SYMBOL = Double.NaN;
-
     private final CONFIG config;
 
     private final PregelComputation<CONFIG> computation;
@@ -69,7 +65,12 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final CompositeNodeValue nodeValues;
 
-    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private final Messenger<?> messenger;
+
+    // Batches of bit set words, i.e. 64 nodes each,
+    // that are claimed by the compute steps.
+    private final long[] wordBatchOffsets;
+    private final AtomicLong batchCursor;
 
     private final int concurrency;
     private final ExecutorService executor;
@@ -98,23 +99,19 @@ public final class Pregel<CONFIG extends PregelConfig> {
         );
     }
 
-    public static MemoryEstimation memoryEstimation(NodeSchema nodeSchema) {
+    public static MemoryEstimation memoryEstimation(NodeSchema nodeSchema, boolean isAsynchronous, boolean isReducing) {
         return MemoryEstimations.builder(Pregel.class)
             .perNode("message bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perNode("previous message bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perNode("vote bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perThread("compute steps", MemoryEstimations.builder(ComputeStep.class).build())
             .add(
-                "message queues",
-                MemoryEstimations.setup("", (dimensions, concurrency) ->
-                    MemoryEstimations.builder()
-                        .fixed(HugeObjectArray.class.getSimpleName(), MemoryUsage.sizeOfInstance(HugeObjectArray.class))
-                        .perNode("node queue", MemoryEstimations.builder(MpscLinkedQueue.class)
-                            .fixed("messages", dimensions.averageDegree() * Double.BYTES)
-                            .build()
-                        )
-                        .build()
-                )
+                "messenger",
+                isAsynchronous
+                    ? AsyncMessenger.memoryEstimation()
+                    : isReducing
+                        ? ReducingMessenger.memoryEstimation()
+                        : SyncMessenger.memoryEstimation()
             )
             .add(
                 "composite node value",
@@ -168,8 +165,15 @@ public final class Pregel<CONFIG extends PregelConfig> {
         this.concurrency = config.concurrency();
         this.executor = executor;
         this.tracker = tracker;
-
-        this.messageQueues = initLinkedQueues(graph, tracker);
+        this.wordBatchOffsets = wordBatchOffsets(config.partitioning().partition(graph, concurrency), graph.nodeCount());
+        this.batchCursor = new AtomicLong();
+
+        var reducer = computation.reducer();
+        this.messenger = config.isAsynchronous()
+            ? AsyncMessenger.of(graph.nodeCount(), tracker)
+            : reducer.isPresent()
+                ? ReducingMessenger.of(graph.nodeCount(), config, reducer.get(), tracker)
+                : SyncMessenger.of(graph, config, executor, tracker);
     }
 
     public PregelResult run() {
@@ -181,7 +185,7 @@ public final class Pregel<CONFIG extends PregelConfig> {
         // Tracks if a node voted to halt in the previous iteration
         HugeAtomicBitSet voteBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
 
-        List<ComputeStep<CONFIG>> computeSteps = createComputeSteps(voteBits);
+        List<ComputeStep<CONFIG, ?>> computeSteps = createComputeSteps(voteBits);
 
         int iterations;
         for (iterations = 0; iterations < config.maxIterations(); iterations++) {
@@ -189,12 +193,15 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 messageBits.clear();
             }
 
+            messenger.initIteration(iterations);
+            batchCursor.set(0L);
+
             // Init compute steps with the updated state
-            for (ComputeStep<CONFIG> computeStep : computeSteps) {
+            for (ComputeStep<CONFIG, ?> computeStep : computeSteps) {
                 computeStep.init(iterations, messageBits, prevMessageBits);
             }
 
-            runComputeSteps(computeSteps, iterations, prevMessageBits);
+            ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
 
             // No messages have been sent
             if (messageBits.isEmpty()) {
@@ -216,23 +223,22 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     public void release() {
-        messageQueues.release();
+        messenger.release();
     }
 
-    private List<ComputeStep<CONFIG>> createComputeSteps(HugeAtomicBitSet voteBits) {
-        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, graph.nodeCount());
-
-        List<ComputeStep<CONFIG>> computeSteps = new ArrayList<>(concurrency);
+    private List<ComputeStep<CONFIG, ?>> createComputeSteps(HugeAtomicBitSet voteBits) {
+        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(concurrency);
 
-        for (Partition partition : partitions) {
+        for (int i = 0; i < concurrency; i++) {
             computeSteps.add(new ComputeStep<>(
                 graph,
                 computation,
                 config,
                 0,
-                partition,
+                wordBatchOffsets,
+                batchCursor,
                 nodeValues,
-                messageQueues,
+                messenger,
                 voteBits,
                 graph
             ));
@@ -240,61 +246,36 @@ public final class Pregel<CONFIG extends PregelConfig> {
         return computeSteps;
     }
 
-    private void runComputeSteps(
-        Collection<ComputeStep<CONFIG>> computeSteps,
-        final int iteration,
-        HugeAtomicBitSet messageBits
-    ) {
-
-        if (!config.isAsynchronous()) {
-            // Synchronization barrier:
-            // Add termination flag to message queues that
-            // received messages in the previous iteration.
-            if (iteration > 0) {
-                ParallelUtil.parallelStreamConsume(
-                        LongStream.range(0, graph.nodeCount()),
-                        concurrency,
-                        nodeIds -> nodeIds.forEach(nodeId -> {
-                            if (messageBits.get(nodeId)) {
-                                messageQueues.get(nodeId).add(TERMINATION_SYMBOL);
-                            }
-                        }));
+    /**
+     * Aligns the given node partitions to bit set words. Partitions
+     * that start within the same word are merged into a single batch.
+     */
+    private static long[] wordBatchOffsets(List<Partition> partitions, long nodeCount) {
+        var offsets = new long[partitions.size() + 1];
+        int batchCount = 0;
+        for (Partition partition : partitions) {
+            long wordOffset = partition.startNode() / Long.SIZE;
+            if (batchCount == 0 || offsets[batchCount - 1] < wordOffset) {
+                offsets[batchCount++] = wordOffset;
             }
         }
-
-        ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
+        offsets[batchCount++] = BitUtil.ceilDiv(nodeCount, Long.SIZE);
+        return Arrays.copyOf(offsets, batchCount);
     }
 
-    @SuppressWarnings({"unchecked"})
-    private HugeObjectArray<MpscLinkedQueue<Double>> initLinkedQueues(Graph graph, AllocationTracker tracker) {
-        // sad java 😞
-        Class<MpscLinkedQueue<Double>> queueClass = (Class<MpscLinkedQueue<Double>>) new MpscLinkedQueue<Double>().getClass();
-
-        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues = HugeObjectArray.newArray(
-                queueClass,
-                graph.nodeCount(),
-                tracker);
-
-        ParallelUtil.parallelStreamConsume(
-                LongStream.range(0, graph.nodeCount()),
-                concurrency,
-                nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, new MpscLinkedQueue<Double>())));
-
-        return messageQueues;
-    }
-
-    public static final class ComputeStep<CONFIG extends PregelConfig> implements Runnable {
+    public static final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends MessageIterator> implements Runnable {
 
         private final long nodeCount;
         private final long relationshipCount;
-        private final boolean isAsync;
         private final PregelComputation<CONFIG> computation;
         private final PregelContext.InitContext<CONFIG> initContext;
         private final PregelContext.ComputeContext<CONFIG> computeContext;
-        private final Partition nodeBatch;
+        private final long[] wordBatchOffsets;
+        private final AtomicLong batchCursor;
+        private final long wordCount;
         private final Degrees degrees;
         private final CompositeNodeValue nodeValues;
-        private final HugeObjectArray<? extends Queue<Double>> messageQueues;
+        private final Messenger<ITERATOR> messenger;
         private final RelationshipIterator relationshipIterator;
 
         private int iteration;
@@ -307,22 +288,24 @@ public final class Pregel<CONFIG extends PregelConfig> {
             PregelComputation<CONFIG> computation,
             CONFIG config,
             int iteration,
-            Partition nodeBatch,
+            long[] wordBatchOffsets,
+            AtomicLong batchCursor,
             CompositeNodeValue nodeValues,
-            HugeObjectArray<? extends Queue<Double>> messageQueues,
+            Messenger<ITERATOR> messenger,
             HugeAtomicBitSet voteBits,
             RelationshipIterator relationshipIterator
         ) {
             this.iteration = iteration;
             this.nodeCount = graph.nodeCount();
             this.relationshipCount = graph.relationshipCount();
-            this.isAsync = config.isAsynchronous();
             this.computation = computation;
             this.voteBits = voteBits;
-            this.nodeBatch = nodeBatch;
+            this.wordBatchOffsets = wordBatchOffsets;
+            this.batchCursor = batchCursor;
+            this.wordCount = BitUtil.ceilDiv(nodeCount, Long.SIZE);
             this.degrees = graph;
             this.nodeValues = nodeValues;
-            this.messageQueues = messageQueues;
+            this.messenger = messenger;
             this.relationshipIterator = relationshipIterator.concurrentCopy();
             this.computeContext = PregelContext.computeContext(this, config);
             this.initContext = PregelContext.initContext(this, config, graph);
@@ -338,31 +321,59 @@ public final class Pregel<CONFIG extends PregelConfig> {
             this.prevMessageBits = prevMessageBits;
         }
 
+        /**
+         * Computes all active nodes, i.e. nodes that received messages
+         * or did not vote to halt in the previous superstep. Instead of
+         * checking each node individually, the active nodes are derived
+         * from whole words of the message and vote bit sets. Batches of
+         * words are claimed dynamically, which balances the work across
+         * compute steps if the active nodes are unevenly distributed.
+         * The batches are derived from the configured {@link Partitioning}.
+         */
         @Override
         public void run() {
-            var messageIterator = isAsync
-                ? new MessageIterator.Async()
-                : new MessageIterator.Sync();
+            var messageIterator = messenger.messageIterator();
             var messages = new Messages(messageIterator);
 
-            long batchStart = nodeBatch.startNode();
-            long batchEnd = batchStart + nodeBatch.nodeCount();
-
-            for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
-
-                if (computeContext.isInitialSuperstep()) {
-                    initContext.setNodeId(nodeId);
-                    computation.init(initContext);
+            long batchCount = wordBatchOffsets.length - 1;
+            long batchIndex;
+            while ((batchIndex = batchCursor.getAndIncrement()) < batchCount) {
+                long batchStart = wordBatchOffsets[(int) batchIndex];
+                long batchEnd = wordBatchOffsets[(int) batchIndex + 1];
+
+                for (long wordIndex = batchStart; wordIndex < batchEnd; wordIndex++) {
+                    long messageWord = prevMessageBits.getWord(wordIndex);
+                    long activeWord = computeContext.isInitialSuperstep()
+                        ? -1L
+                        : messageWord | ~voteBits.getWord(wordIndex);
+
+                    if (wordIndex == wordCount - 1) {
+                        // mask out bits beyond the last node
+                        activeWord &= -1L >>> -nodeCount;
+                    }
+
+                    long nodeOffset = wordIndex * Long.SIZE;
+                    while (activeWord != 0) {
+                        int bit = Long.numberOfTrailingZeros(activeWord);
+                        activeWord ^= 1L << bit;
+                        long nodeId = nodeOffset + bit;
+                        computeNode(nodeId, (messageWord & (1L << bit)) != 0, messageIterator, messages);
+                    }
                 }
+            }
+        }
 
-                if (prevMessageBits.get(nodeId) || !voteBits.get(nodeId)) {
-                    voteBits.clear(nodeId);
-                    computeContext.setNodeId(nodeId);
-
-                    messageIterator.init(receiveMessages(nodeId));
-                    computation.compute(computeContext, messages);
-                }
+        private void computeNode(long nodeId, boolean hasMessages, ITERATOR messageIterator, Messages messages) {
+            if (computeContext.isInitialSuperstep()) {
+                initContext.setNodeId(nodeId);
+                computation.init(initContext);
             }
+
+            voteBits.clear(nodeId);
+            computeContext.setNodeId(nodeId);
+
+            messenger.initMessageIterator(messageIterator, nodeId, hasMessages);
+            computation.compute(computeContext, messages);
         }
 
         public int iteration() {
@@ -393,22 +404,18 @@ public final class Pregel<CONFIG extends PregelConfig> {
         }
 
         void sendTo(long targetNodeId, double message) {
-            messageQueues.get(targetNodeId).add(message);
+            messenger.sendTo(targetNodeId, message);
             messageBits.set(targetNodeId);
         }
 
         void sendToNeighborsWeighted(long sourceNodeId, double message) {
             relationshipIterator.forEachRelationship(sourceNodeId, 1.0, (source, target, weight) -> {
-                messageQueues.get(target).add(computation.applyRelationshipWeight(message, weight));
+                messenger.sendTo(target, computation.applyRelationshipWeight(message, weight));
                 messageBits.set(target);
                 return true;
             });
         }
 
-        private @Nullable Queue<Double> receiveMessages(long nodeId) {
-            return prevMessageBits.get(nodeId) ? messageQueues.get(nodeId) : null;
-        }
-
         double doubleNodeValue(String key, long nodeId) {
             return nodeValues.doubleValue(key, nodeId);
         }
@@ -584,47 +591,22 @@ public final class Pregel<CONFIG extends PregelConfig> {
             this.iterator = iterator;
         }
 
+        /**
+         * Returns a primitive iterator over the messages received by the current node.
+         * Calling {@link java.util.PrimitiveIterator.OfDouble#nextDouble()} avoids boxing.
+         */
         @NotNull
         @Override
-        public Iterator<Double> iterator() {
+        public PrimitiveIterator.OfDouble iterator() {
             return iterator;
         }
     }
 
-    abstract static class MessageIterator implements Iterator<Double> {
-
-        Queue<Double> queue;
-
-        @Nullable Double next;
-
-        @Override
-        public @Nullable Double next() {
-            return next;
-        }
-
-        void init(@Nullable Queue<Double> queue) {
-            this.queue = queue;
-        }
-
-        static class Sync extends MessageIterator {
-            @Override
-            public boolean hasNext() {
-                if (queue == null) {
-                    return false;
-                }
-                return !Double.isNaN(next = queue.poll());
-            }
-        }
-
-        static class Async extends MessageIterator {
-            @Override
-            public boolean hasNext() {
-                if (queue == null) {
-                    return false;
-                }
-                return (next = queue.poll()) != null;
-            }
-        }
+    /**
+     * Iterates the messages of a single node. Instances are
+     * re-used for all nodes processed by a compute step.
+     */
+    abstract static class MessageIterator implements PrimitiveIterator.OfDouble {
     }
 
     @ValueClass
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import java.util.Optional;
+
 /**
  * Main interface to express user-defined logic using the
  * Pregel framework. An algorithm is expressed using a
@@ -74,6 +76,21 @@ public interface PregelComputation<C extends PregelConfig> {
      */
     void compute(PregelContext.ComputeContext<C> context, Pregel.Messages messages);
 
+    /**
+     * A reducer is used to combine the messages sent to a single node.
+     * If a reducer is specified, a node receives at most one message
+     * per superstep, i.e. the reduced value of all messages sent to it.
+     * This reduces the memory needed to store messages from one slot
+     * per relationship to one slot per node.
+     * <br>
+     * The reducer is only applied in synchronous computations.
+     *
+     * @see org.neo4j.graphalgo.beta.pregel.Reducer
+     */
+    default Optional<Reducer> reducer() {
+        return Optional.empty();
+    }
+
     /**
      * If the input graph is weighted, i.e. relationships have a
      * property, this method can be overridden to apply that weight
@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.config.MutatePropertyConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 import org.neo4j.graphalgo.config.WritePropertyConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 
 import java.util.Optional;
 
@@ -49,6 +50,13 @@ public interface PregelConfig extends
         return false;
     }
 
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.utils.partition.Partitioning#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.core.utils.partition.Partitioning#toString")
+    default Partitioning partitioning() {
+        return Partitioning.RANGE;
+    }
+
     @Value.Default
     @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
     default String writeProperty() {
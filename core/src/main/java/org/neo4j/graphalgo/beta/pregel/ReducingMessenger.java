@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.DoublePageCreator;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+
+/**
+ * Messenger for synchronous Pregel computations that define a {@link Reducer}.
+ * <p>
+ * Instead of storing each message, messages are folded into a single
+ * slot per node at the time they are sent. A receiving node therefore
+ * sees at most one message, which is the reduced value of all messages
+ * sent to it in the previous superstep.
+ */
+final class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIterator> {
+
+    private final Reducer reducer;
+
+    private HugeAtomicDoubleArray sendArray;
+    private HugeAtomicDoubleArray receiveArray;
+
+    static ReducingMessenger of(long nodeCount, PregelConfig config, Reducer reducer, AllocationTracker tracker) {
+        var pageCreator = DoublePageCreator.of(config.concurrency(), index -> reducer.identity());
+        return new ReducingMessenger(
+            reducer,
+            HugeAtomicDoubleArray.newArray(nodeCount, pageCreator, tracker),
+            HugeAtomicDoubleArray.newArray(nodeCount, pageCreator, tracker)
+        );
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ReducingMessenger.class)
+            .perNode("send array", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("receive array", HugeAtomicDoubleArray::memoryEstimation)
+            .build();
+    }
+
+    private ReducingMessenger(
+        Reducer reducer,
+        HugeAtomicDoubleArray sendArray,
+        HugeAtomicDoubleArray receiveArray
+    ) {
+        this.reducer = reducer;
+        this.sendArray = sendArray;
+        this.receiveArray = receiveArray;
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        if (iteration == 0) {
+            return;
+        }
+
+        // Receive slots have been reset to the identity
+        // while reading messages in the previous superstep.
+        var tmp = receiveArray;
+        receiveArray = sendArray;
+        sendArray = tmp;
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double message) {
+        double current = sendArray.get(targetNodeId);
+        while (true) {
+            double reduced = reducer.reduce(current, message);
+            double witness = sendArray.compareAndExchange(targetNodeId, current, reduced);
+            if (Double.doubleToRawLongBits(witness) == Double.doubleToRawLongBits(current)) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    @Override
+    public SingleMessageIterator messageIterator() {
+        return new SingleMessageIterator();
+    }
+
+    @Override
+    public void initMessageIterator(SingleMessageIterator messageIterator, long nodeId, boolean hasMessages) {
+        if (!hasMessages) {
+            messageIterator.init(Double.NaN, false);
+            return;
+        }
+
+        double message = receiveArray.get(nodeId);
+        receiveArray.set(nodeId, reducer.identity());
+        messageIterator.init(message, true);
+    }
+
+    @Override
+    public void release() {
+        sendArray.release();
+        receiveArray.release();
+    }
+
+    static final class SingleMessageIterator extends Pregel.MessageIterator {
+
+        private double message;
+        private boolean hasNext;
+
+        void init(double message, boolean hasNext) {
+            this.message = message;
+            this.hasNext = hasNext;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public double nextDouble() {
+            hasNext = false;
+            return message;
+        }
+    }
+}
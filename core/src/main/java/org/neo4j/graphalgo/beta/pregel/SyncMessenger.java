@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Messenger for synchronous Pregel computations.
+ * <p>
+ * Messages are stored in a CSR-shaped double buffer. Each node owns
+ * a slice of that buffer which is sized by the number of incoming
+ * relationships, i.e. the number of messages a node receives if each
+ * of its neighbors calls {@code sendToNeighbors} once. Messages that
+ * do not fit into the slice, for example via {@code sendTo}, are
+ * spilled into a per-node overflow array.
+ * <p>
+ * Messages sent in superstep {@code i} are written to the send buffer
+ * and read from the receive buffer in superstep {@code i + 1}. Both
+ * buffers are swapped at the beginning of each superstep.
+ */
+final class SyncMessenger implements Messenger<SyncMessenger.CsrMessageIterator> {
+
+    private static final int LOCK_STRIPES = 1 << 10;
+    private static final int LOCK_MASK = LOCK_STRIPES - 1;
+    private static final int INITIAL_OVERFLOW_CAPACITY = 4;
+
+    private final long nodeCount;
+    private final HugeLongArray offsets;
+    private final Object[] overflowLocks;
+    private final AllocationTracker tracker;
+
+    private HugeDoubleArray sendBuffer;
+    private HugeDoubleArray receiveBuffer;
+
+    private HugeAtomicLongArray sendCounts;
+    private HugeAtomicLongArray receiveCounts;
+
+    // Overflow arrays are only allocated if a node receives
+    // more messages than it has incoming relationships.
+    private volatile HugeObjectArray<double[]> sendOverflow;
+    private HugeObjectArray<double[]> receiveOverflow;
+
+    static SyncMessenger of(
+        Graph graph,
+        PregelConfig config,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+
+        var sendCounts = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        var receiveCounts = HugeAtomicLongArray.newArray(nodeCount, tracker);
+
+        // Count incoming relationships, using the
+        // send counts as temporary storage.
+        var tasks = PartitionUtils
+            .rangePartition(config.concurrency(), nodeCount)
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                var relationshipIterator = graph.concurrentCopy();
+                long end = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                    relationshipIterator.forEachRelationship(nodeId, (source, target) -> {
+                        sendCounts.getAndAdd(target, 1L);
+                        return true;
+                    });
+                }
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
+
+        var offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += sendCounts.get(nodeId);
+        }
+        offsets.set(nodeCount, offset);
+        sendCounts.setAll(0L);
+
+        return new SyncMessenger(
+            nodeCount,
+            offsets,
+            HugeDoubleArray.newArray(offset, tracker),
+            HugeDoubleArray.newArray(offset, tracker),
+            sendCounts,
+            receiveCounts,
+            tracker
+        );
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(SyncMessenger.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("send counts", HugeAtomicLongArray::memoryEstimation)
+            .perNode("receive counts", HugeAtomicLongArray::memoryEstimation)
+            .perGraphDimension("send buffer", (dimensions, concurrency) ->
+                MemoryRange.of(HugeDoubleArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .perGraphDimension("receive buffer", (dimensions, concurrency) ->
+                MemoryRange.of(HugeDoubleArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .fixed("overflow locks", MemoryUsage.sizeOfObjectArray(LOCK_STRIPES) + LOCK_STRIPES * MemoryUsage.sizeOfInstance(Object.class))
+            .build();
+    }
+
+    private SyncMessenger(
+        long nodeCount,
+        HugeLongArray offsets,
+        HugeDoubleArray sendBuffer,
+        HugeDoubleArray receiveBuffer,
+        HugeAtomicLongArray sendCounts,
+        HugeAtomicLongArray receiveCounts,
+        AllocationTracker tracker
+    ) {
+        this.nodeCount = nodeCount;
+        this.offsets = offsets;
+        this.sendBuffer = sendBuffer;
+        this.receiveBuffer = receiveBuffer;
+        this.sendCounts = sendCounts;
+        this.receiveCounts = receiveCounts;
+        this.tracker = tracker;
+        this.overflowLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            overflowLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        if (iteration == 0) {
+            return;
+        }
+
+        // Receive counts have been reset to 0 while
+        // reading messages in the previous superstep.
+        var tmpCounts = receiveCounts;
+        receiveCounts = sendCounts;
+        sendCounts = tmpCounts;
+
+        var tmpBuffer = receiveBuffer;
+        receiveBuffer = sendBuffer;
+        sendBuffer = tmpBuffer;
+
+        var tmpOverflow = receiveOverflow;
+        receiveOverflow = sendOverflow;
+        sendOverflow = tmpOverflow;
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double message) {
+        long index = sendCounts.getAndAdd(targetNodeId, 1L);
+        long offset = offsets.get(targetNodeId);
+        long capacity = offsets.get(targetNodeId + 1) - offset;
+
+        if (index < capacity) {
+            sendBuffer.set(offset + index, message);
+        } else {
+            overflow(targetNodeId, Math.toIntExact(index - capacity), message);
+        }
+    }
+
+    @Override
+    public CsrMessageIterator messageIterator() {
+        return new CsrMessageIterator();
+    }
+
+    @Override
+    public void initMessageIterator(CsrMessageIterator messageIterator, long nodeId, boolean hasMessages) {
+        if (!hasMessages) {
+            messageIterator.init(receiveBuffer, 0L, 0L, 0L, null);
+            return;
+        }
+
+        long messageCount = receiveCounts.get(nodeId);
+        receiveCounts.set(nodeId, 0L);
+
+        long offset = offsets.get(nodeId);
+        long capacity = offsets.get(nodeId + 1) - offset;
+        double[] overflow = messageCount > capacity ? receiveOverflow.get(nodeId) : null;
+
+        messageIterator.init(receiveBuffer, offset, capacity, messageCount, overflow);
+    }
+
+    @Override
+    public void release() {
+        offsets.release();
+        sendBuffer.release();
+        receiveBuffer.release();
+        sendCounts.release();
+        receiveCounts.release();
+        if (sendOverflow != null) {
+            sendOverflow.release();
+        }
+        if (receiveOverflow != null) {
+            receiveOverflow.release();
+        }
+    }
+
+    private void overflow(long targetNodeId, int index, double message) {
+        var overflow = sendOverflow();
+        synchronized (overflowLocks[(int) (targetNodeId & LOCK_MASK)]) {
+            double[] buffer = overflow.get(targetNodeId);
+            if (buffer == null) {
+                buffer = new double[Math.max(INITIAL_OVERFLOW_CAPACITY, index + 1)];
+                overflow.set(targetNodeId, buffer);
+            } else if (index >= buffer.length) {
+                var newBuffer = new double[ArrayUtil.oversize(index + 1, Double.BYTES)];
+                System.arraycopy(buffer, 0, newBuffer, 0, buffer.length);
+                buffer = newBuffer;
+                overflow.set(targetNodeId, buffer);
+            }
+            buffer[index] = message;
+        }
+    }
+
+    private HugeObjectArray<double[]> sendOverflow() {
+        var overflow = sendOverflow;
+        if (overflow == null) {
+            synchronized (this) {
+                overflow = sendOverflow;
+                if (overflow == null) {
+                    overflow = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                    sendOverflow = overflow;
+                }
+            }
+        }
+        return overflow;
+    }
+
+    static final class CsrMessageIterator extends Pregel.MessageIterator {
+
+        private HugeDoubleArray buffer;
+        private long offset;
+        private long capacity;
+        private long messageCount;
+        private long position;
+        private @Nullable double[] overflow;
+
+        void init(
+            HugeDoubleArray buffer,
+            long offset,
+            long capacity,
+            long messageCount,
+            @Nullable double[] overflow
+        ) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.capacity = capacity;
+            this.messageCount = messageCount;
+            this.overflow = overflow;
+            this.position = 0L;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < messageCount;
+        }
+
+        @Override
+        public double nextDouble() {
+            long index = position++;
+            return index < capacity
+                ? buffer.get(offset + index)
+                : overflow[(int) (index - capacity)];
+        }
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROJECTION_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROPERTIES_KEY;
@@ -50,6 +51,9 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
 
     String NODE_QUERY_KEY = "nodeQuery";
     String RELATIONSHIP_QUERY_KEY = "relationshipQuery";
+    String RELATIONSHIP_PARTITIONS_KEY = "relationshipPartitions";
+    String PARTITION_PARAMETER = "partition";
+    String PARTITION_COUNT_PARAMETER = "partitionCount";
     String ALL_NODES_QUERY = "MATCH (n) RETURN id(n) AS id";
     String ALL_RELATIONSHIPS_QUERY = "MATCH (a)-->(b) RETURN id(a) AS source, id(b) AS target";
     String ALL_RELATIONSHIPS_UNDIRECTED_QUERY = "MATCH (a)--(b) RETURN id(a) AS source, id(b) AS target";
@@ -65,6 +69,42 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
         return Collections.emptyMap();
     }
 
+    /**
+     * The number of partitions the relationship query is run for.
+     * Each partition runs the query in its own transaction with the additional
+     * {@code $partition} and {@code $partitionCount} parameters.
+     * The query is expected to return a disjoint subset of the relationships for each partition.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int relationshipPartitions() {
+        return 1;
+    }
+
+    @Value.Check
+    default void validateRelationshipPartitions() {
+        if (relationshipPartitions() == 1) {
+            return;
+        }
+        // `$partitionCount` alone does not make the query partitioned
+        if (!Pattern.compile("\\$" + PARTITION_PARAMETER + "\\b").matcher(relationshipQuery()).find()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The relationship query must use the `$%s` parameter when `%s` is greater than 1.",
+                PARTITION_PARAMETER,
+                RELATIONSHIP_PARTITIONS_KEY
+            ));
+        }
+        for (String parameter : List.of(PARTITION_PARAMETER, PARTITION_COUNT_PARAMETER)) {
+            if (parameters().containsKey(parameter)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The parameter `%s` is reserved when `%s` is greater than 1.",
+                    parameter,
+                    RELATIONSHIP_PARTITIONS_KEY
+                ));
+            }
+        }
+    }
+
     @Override
     @Value.Default
     @Value.Parameter(false)
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Describes how the values of a relationship property are stored in the adjacency lists.
+ */
+public enum PropertyStorage {
+    /**
+     * Every value is stored as the 8 bytes of its {@code double} representation.
+     */
+    DOUBLE(Long.BYTES, Long.BYTES),
+    /**
+     * Every value is narrowed to a {@code float} and stored in 4 bytes.
+     * This loses precision for values that are not representable as a {@code float}.
+     */
+    FLOAT(Float.BYTES, Float.BYTES),
+    /**
+     * Every value is compressed with {@link org.neo4j.graphalgo.core.loading.TrimmingDoubleCodec}.
+     * The compression is lossless, integral values and values with short significands need the least space.
+     */
+    COMPRESSED(1, 1 + Long.BYTES);
+
+    private final int minBytesPerValue;
+    private final int maxBytesPerValue;
+
+    PropertyStorage(int minBytesPerValue, int maxBytesPerValue) {
+        this.minBytesPerValue = minBytesPerValue;
+        this.maxBytesPerValue = maxBytesPerValue;
+    }
+
+    public int minBytesPerValue() {
+        return minBytesPerValue;
+    }
+
+    public int maxBytesPerValue() {
+        return maxBytesPerValue;
+    }
+
+    public static PropertyStorage lookup(String name) {
+        try {
+            return PropertyStorage.valueOf(name.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableStorages = Arrays
+                .stream(PropertyStorage.values())
+                .map(PropertyStorage::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Property storage `%s` is not supported. Must be one of: %s.",
+                name,
+                availableStorages
+            ));
+        }
+    }
+}
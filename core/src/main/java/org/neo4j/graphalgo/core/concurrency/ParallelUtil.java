@@ -27,12 +27,15 @@ import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
@@ -49,6 +52,7 @@ import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
@@ -103,6 +107,58 @@ public final class ParallelUtil {
         });
     }
 
+    /**
+     * Executes the given consumer for each node of the graph using at most {@code concurrency} threads.
+     * The nodes are split into batches according to the given {@link Partitioning}, which are then
+     * claimed dynamically by the threads.
+     *
+     * @see #parallelPartitionsConsume(List, int, ExecutorService, Consumer)
+     */
+    public static void parallelForEachNode(
+        Graph graph,
+        int concurrency,
+        Partitioning partitioning,
+        LongConsumer consumer
+    ) {
+        parallelPartitionsConsume(
+            partitioning.partition(graph, concurrency),
+            concurrency,
+            Pools.DEFAULT,
+            partition -> {
+                long end = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                    consumer.accept(nodeId);
+                }
+            }
+        );
+    }
+
+    /**
+     * Consumes the given partitions using at most {@code concurrency} threads.
+     * Instead of assigning partitions to threads upfront, each thread claims the
+     * next unprocessed partition through a shared atomic cursor once it is done
+     * with its previous one. Threads that get cheap partitions therefore take over
+     * more of the remaining work.
+     */
+    public static void parallelPartitionsConsume(
+        List<Partition> partitions,
+        int concurrency,
+        ExecutorService executor,
+        Consumer<Partition> consumer
+    ) {
+        var cursor = new AtomicInteger();
+        var tasks = new ArrayList<Runnable>(concurrency);
+        for (int i = 0; i < Math.min(concurrency, partitions.size()); i++) {
+            tasks.add(() -> {
+                int partitionIndex;
+                while ((partitionIndex = cursor.getAndIncrement()) < partitions.size()) {
+                    consumer.accept(partitions.get(partitionIndex));
+                }
+            });
+        }
+        runWithConcurrency(concurrency, tasks, executor);
+    }
+
     /**
      * @return the number of threads required to compute elementCount with the given batchSize
      */
@@ -20,21 +20,31 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
 
 final class AdjacencyDecompressingReader {
 
-    static final int CHUNK_SIZE = 64;
+    static final int CHUNK_SIZE = AdjacencyCompression.BLOCK_SIZE;
 
     private final long[] block;
     private int pos;
+    // exactly one of both is set, depending on whether the adjacency list is kept on or off the heap
     private byte[] array;
+    private ByteBuffer buffer;
     private int offset;
 
+    private int numAdjacencies;
+    private int currentBlock;
+    private int skipEntries;
+    private int skipIndexOffset;
+    private int targetsOffset;
+
     private boolean blockAlreadyDecoded;
 
     AdjacencyDecompressingReader() {
@@ -68,14 +78,42 @@ final class AdjacencyDecompressingReader {
         System.arraycopy(other.block, 0, block, 0, CHUNK_SIZE);
         pos = other.pos;
         array = other.array;
+        buffer = other.buffer;
         offset = other.offset;
+        numAdjacencies = other.numAdjacencies;
+        currentBlock = other.currentBlock;
+        skipEntries = other.skipEntries;
+        skipIndexOffset = other.skipIndexOffset;
+        targetsOffset = other.targetsOffset;
+        blockAlreadyDecoded = other.blockAlreadyDecoded;
     }
 
     int reset(byte[] adjacencyPage, int offset) {
         this.array = adjacencyPage;
-        int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
-        this.offset = decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
+        this.buffer = null;
+        return reset(offset);
+    }
+
+    /**
+     * Same as {@link #reset(byte[], int)} for a page that is kept off the heap.
+     * The buffer must use little-endian byte order.
+     */
+    int reset(ByteBuffer adjacencyPage, int offset) {
+        this.array = null;
+        this.buffer = adjacencyPage;
+        return reset(offset);
+    }
+
+    private int reset(int offset) {
+        int numAdjacencies = readIntAt(offset); // offset should not be 0
+        this.numAdjacencies = numAdjacencies;
+        this.skipEntries = AdjacencyCompression.skipEntries(numAdjacencies);
+        this.skipIndexOffset = Integer.BYTES + offset;
+        this.targetsOffset = skipIndexOffset + skipEntries * AdjacencyCompression.SKIP_ENTRY_BYTES;
+        this.offset = decode(0L, targetsOffset, Math.min(numAdjacencies, CHUNK_SIZE));
         pos = 0;
+        currentBlock = 0;
+        blockAlreadyDecoded = false;
         return numAdjacencies;
     }
 
@@ -102,7 +140,8 @@ final class AdjacencyDecompressingReader {
 
     private long readNextBlock(int remaining) {
         if (!blockAlreadyDecoded) {
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
+            offset = decode(block[CHUNK_SIZE - 1], offset, Math.min(remaining, CHUNK_SIZE));
+            currentBlock++;
             return block[0];
         }
         blockAlreadyDecoded = false;
@@ -114,11 +153,18 @@ final class AdjacencyDecompressingReader {
         long[] block = this.block;
         int available = remaining;
 
+        // jump over all blocks that only contain smaller or equal targets
+        if (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target && jumpToBlockBefore(target + 1L)) {
+            available -= currentBlockStart() - (numAdjacencies - remaining);
+            pos = 0;
+        }
+
         // skip blocks until we have either not enough available to decode or have advanced far enough
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decode(block[CHUNK_SIZE - 1], offset, needToDecode);
+            currentBlock++;
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -141,11 +187,18 @@ final class AdjacencyDecompressingReader {
         long[] block = this.block;
         int available = remaining;
 
+        // jump over all blocks that only contain smaller targets
+        if (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target && jumpToBlockBefore(target)) {
+            available -= currentBlockStart() - (numAdjacencies - remaining);
+            pos = 0;
+        }
+
         // skip blocks until we have either not enough available to decode or have advanced far enough
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decode(block[CHUNK_SIZE - 1], offset, needToDecode);
+            currentBlock++;
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -159,6 +212,72 @@ final class AdjacencyDecompressingReader {
         return block[targetPos];
     }
 
+    /**
+     * Number of occurrences of {@code target} in the current block directly before the last consumed target.
+     * Used to find the first of several parallel relationships after {@link #advance(long, int, MutableIntValue)}.
+     */
+    int precedingOccurrences(long target) {
+        int occurrences = 0;
+        for (int i = pos - 2; i >= 0 && block[i] == target; i--) {
+            occurrences++;
+        }
+        return occurrences;
+    }
+
+    /**
+     * Uses the skip index to decode the last block whose preceding target is smaller than {@code bound},
+     * without decoding any of the blocks in between.
+     * Returns {@code false} if there is no skip index or the block is not beyond the next block.
+     */
+    private boolean jumpToBlockBefore(long bound) {
+        int low = currentBlock + 1;
+        int high = skipEntries;
+        int blockIndex = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (readLongAt(skipEntryOffset(mid) + Integer.BYTES) < bound) {
+                blockIndex = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (blockIndex <= currentBlock + 1) {
+            return false;
+        }
+
+        int entryOffset = skipEntryOffset(blockIndex);
+        int blockOffset = readIntAt(entryOffset);
+        long base = readLongAt(entryOffset + Integer.BYTES);
+        int needToDecode = Math.min(CHUNK_SIZE, numAdjacencies - blockIndex * CHUNK_SIZE);
+        offset = decode(base, targetsOffset + blockOffset, needToDecode);
+        currentBlock = blockIndex;
+        blockAlreadyDecoded = false;
+        return true;
+    }
+
+    private int readIntAt(int offset) {
+        return array != null ? readInt(array, offset) : buffer.getInt(offset);
+    }
+
+    private long readLongAt(int offset) {
+        return array != null ? readLong(array, offset) : buffer.getLong(offset);
+    }
+
+    private int decode(long startValue, int offset, int limit) {
+        return array != null
+            ? decodeDeltaVLongs(startValue, array, offset, limit, block)
+            : decodeDeltaVLongs(startValue, buffer, offset, limit, block);
+    }
+
+    private int skipEntryOffset(int blockIndex) {
+        return skipIndexOffset + (blockIndex - 1) * AdjacencyCompression.SKIP_ENTRY_BYTES;
+    }
+
+    private int currentBlockStart() {
+        return currentBlock * CHUNK_SIZE;
+    }
+
     private int findPosStrictlyGreaterInBlock(long target, int pos, int limit, long[] block) {
         return findPosInBlock(1L + target, pos, limit, block);
     }
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.huge;
 
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.CSRGraph;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -236,15 +237,16 @@ public class HugeGraph implements CSRGraph {
         if (relOffset == NO_SUCH_NODE) {
             return NO_PROPERTY_VALUE;
         }
-        long propertyOffset = propertyOffsets.get(fromId);
 
         DecompressingCursor relDecompressingCursor = adjacencyList.decompressingCursor(relOffset);
-        Cursor propertyCursor = properties.cursor(propertyOffset);
-
-        while (relDecompressingCursor.hasNextVLong() && propertyCursor.hasNextLong() && relDecompressingCursor.nextVLong() != toId) {
-            propertyCursor.nextLong();
+        int index = relDecompressingCursor.indexOf(toId);
+        if (index == AdjacencyCursor.NOT_FOUND) {
+            return NO_PROPERTY_VALUE;
         }
 
+        long propertyOffset = propertyOffsets.get(fromId);
+        Cursor propertyCursor = properties.cursor(propertyOffset);
+        propertyCursor.skip(index);
         if (!propertyCursor.hasNextLong()) {
             return NO_PROPERTY_VALUE;
         }
@@ -345,13 +347,11 @@ public class HugeGraph implements CSRGraph {
     }
 
     /**
-     * O(n) !
+     * O(log n) for adjacency lists with a skip index, O(n) otherwise.
      */
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
-        ExistsConsumer consumer = new ExistsConsumer(targetNodeId);
-        runForEach(sourceNodeId, consumer);
-        return consumer.found;
+        return adjacencyCursorForIteration(sourceNodeId).advance(targetNodeId) == targetNodeId;
     }
 
     /*
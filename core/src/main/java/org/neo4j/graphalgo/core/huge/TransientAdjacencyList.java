@@ -19,31 +19,49 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.apache.commons.lang3.mutable.MutableDouble;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.AdjacencyList;
 import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.PropertyStorage;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+import org.neo4j.graphalgo.core.loading.DoubleCodec;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
+import org.neo4j.graphalgo.core.loading.TrimmingDoubleCodec;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
 
+/**
+ * Compressed adjacency lists, stored in pages of at most {@link #PAGE_SIZE} bytes.
+ * The pages are either {@code byte[]} on the heap, or {@link ByteBuffer}s off the heap,
+ * e.g. memory-mapped regions of a graph snapshot that are paged in and out by the operating system.
+ * Both are read by the same cursors.
+ */
 public final class TransientAdjacencyList implements AdjacencyList {
 
     public static final int PAGE_SHIFT = 18;
     public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
     public static final long PAGE_MASK = PAGE_SIZE - 1;
 
-    private final long allocatedMemory;
+    private final PropertyStorage propertyStorage;
     private byte[][] pages;
+    // only set if the pages are kept off the heap, pages is null then
+    private ByteBuffer[] offHeapPages;
 
     public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
         // Best case scenario:
@@ -93,7 +111,14 @@ public final class TransientAdjacencyList implements AdjacencyList {
     }
 
     public static MemoryEstimation uncompressedMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return propertiesMemoryEstimation(relationshipType, undirected, PropertyStorage.DOUBLE);
+    }
 
+    public static MemoryEstimation propertiesMemoryEstimation(
+        RelationshipType relationshipType,
+        boolean undirected,
+        PropertyStorage storage
+    ) {
         return MemoryEstimations
             .builder(TransientAdjacencyList.class)
             .perGraphDimension("pages", (dimensions, concurrency) -> {
@@ -101,66 +126,141 @@ public final class TransientAdjacencyList implements AdjacencyList {
                 long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
                 long relCount = undirected ? relCountForType * 2 : relCountForType;
 
-                long uncompressedAdjacencySize = relCount * Long.BYTES + nodeCount * Integer.BYTES;
-                int pages = PageUtil.numPagesFor(uncompressedAdjacencySize, PAGE_SHIFT, PAGE_MASK);
-                long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
-
-                return MemoryRange.of(pages * bytesPerPage + MemoryUsage.sizeOfObjectArray(pages));
+                long minPropertiesSize = relCount * storage.minBytesPerValue() + nodeCount * Integer.BYTES;
+                long maxPropertiesSize = relCount * storage.maxBytesPerValue() + nodeCount * Integer.BYTES;
+                return MemoryRange.of(pagesMemory(minPropertiesSize), pagesMemory(maxPropertiesSize));
             })
             .build();
     }
 
+    private static long pagesMemory(long size) {
+        int pages = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+        long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
+        return pages * bytesPerPage + MemoryUsage.sizeOfObjectArray(pages);
+    }
+
     /* test private */
     static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
         long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
         int relationshipByteSize = encodedVLongSize(delta);
         int degreeByteSize = Integer.BYTES;
         long compressedAdjacencyByteSize = relationshipByteSize * Math.max(0, (avgDegree - 1));
-        return (degreeByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
+        long skipIndexByteSize = skipIndexByteSize(avgDegree);
+        return (degreeByteSize + skipIndexByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
+    }
+
+    /* test private */
+    static long skipIndexByteSize(long degree) {
+        int skipEntries = AdjacencyCompression.skipEntries((int) Math.min(degree, Integer.MAX_VALUE));
+        return (long) skipEntries * AdjacencyCompression.SKIP_ENTRY_BYTES;
     }
 
     public TransientAdjacencyList(byte[][] pages) {
-        this.pages = pages;
-        this.allocatedMemory = memoryOfPages(pages);
+        this(pages, PropertyStorage.DOUBLE);
     }
 
-    private static long memoryOfPages(byte[][] pages) {
-        long memory = MemoryUsage.sizeOfObjectArray(pages.length);
-        for (byte[] page : pages) {
-            if (page != null) {
-                memory += MemoryUsage.sizeOfByteArray(page.length);
+    /**
+     * @param propertyStorage how the values are encoded if this list stores relationship properties.
+     */
+    public TransientAdjacencyList(byte[][] pages, PropertyStorage propertyStorage) {
+        this(pages, null, propertyStorage);
+    }
+
+    /**
+     * An adjacency list whose pages are kept off the heap.
+     * The buffers contain the same bytes as the heap pages would, a {@code null} entry is an unused page.
+     */
+    public static TransientAdjacencyList offHeap(ByteBuffer[] pages, PropertyStorage propertyStorage) {
+        ByteBuffer[] littleEndianPages = new ByteBuffer[pages.length];
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i] != null) {
+                littleEndianPages[i] = pages[i].duplicate().order(ByteOrder.LITTLE_ENDIAN);
             }
         }
-        return memory;
+        return new TransientAdjacencyList(null, littleEndianPages, propertyStorage);
+    }
+
+    private TransientAdjacencyList(byte[][] pages, ByteBuffer[] offHeapPages, PropertyStorage propertyStorage) {
+        this.pages = pages;
+        this.offHeapPages = offHeapPages;
+        this.propertyStorage = propertyStorage;
     }
 
     @Override
     public int degree(long index) {
-        return AdjacencyDecompressingReader.readInt(
-                pages[pageIndex(index, PAGE_SHIFT)],
-                indexInPage(index, PAGE_MASK));
+        int pageIndex = pageIndex(index, PAGE_SHIFT);
+        int indexInPage = indexInPage(index, PAGE_MASK);
+        return pages != null
+            ? AdjacencyDecompressingReader.readInt(pages[pageIndex], indexInPage)
+            : offHeapPages[pageIndex].getInt(indexInPage);
+    }
+
+    public boolean isOffHeap() {
+        return offHeapPages != null;
+    }
+
+    public int pageCount() {
+        return pages != null ? pages.length : offHeapPages.length;
+    }
+
+    /**
+     * The length of the given page in bytes, or {@code -1} if the page is unused.
+     */
+    public int pageLength(int pageIndex) {
+        if (pages != null) {
+            return pages[pageIndex] == null ? -1 : pages[pageIndex].length;
+        }
+        return offHeapPages[pageIndex] == null ? -1 : offHeapPages[pageIndex].capacity();
+    }
+
+    /**
+     * Writes the raw bytes of the given page, e.g. to persist them.
+     */
+    public void writePage(int pageIndex, OutputStream out) throws IOException {
+        if (pages != null) {
+            if (pages[pageIndex] != null) {
+                out.write(pages[pageIndex]);
+            }
+            return;
+        }
+        ByteBuffer page = offHeapPages[pageIndex];
+        if (page != null) {
+            byte[] chunk = new byte[Math.min(page.capacity(), 1 << 16)];
+            ByteBuffer source = page.duplicate();
+            source.clear();
+            while (source.hasRemaining()) {
+                int length = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+    }
+
+    public PropertyStorage propertyStorage() {
+        return propertyStorage;
     }
 
     @Override
     public void close() {
         pages = null;
+        offHeapPages = null;
     }
 
     // Cursors
 
     @Override
     public Cursor rawCursor() {
-        return new Cursor(pages);
+        return new Cursor(pages, offHeapPages, propertyStorage);
     }
 
     @Override
     public Cursor cursor(long offset) {
-        return new Cursor(pages).init(offset);
+        return rawCursor().init(offset);
     }
 
     @Override
     public DecompressingCursor rawDecompressingCursor() {
-        return new DecompressingCursor(pages);
+        return new DecompressingCursor(pages, offHeapPages);
     }
 
     @Override
@@ -184,17 +284,30 @@ public final class TransientAdjacencyList implements AdjacencyList {
 
     public static final class Cursor extends MutableIntValue implements PropertyCursor {
 
-        static final Cursor EMPTY = new Cursor(new byte[0][]);
+        static final Cursor EMPTY = new Cursor(new byte[0][], null, PropertyStorage.DOUBLE);
 
         private byte[][] pages;
-
+        private ByteBuffer[] offHeapPages;
+        private final PropertyStorage storage;
+        private final DoubleCodec codec;
+        private final MutableDouble decompressed;
+        // off-heap compressed values are copied here to be decoded
+        private final byte[] compressedValue;
+
+        // exactly one of both is set, depending on whether the pages are kept on or off the heap
         private byte[] currentPage;
+        private ByteBuffer currentOffHeapPage;
         private int degree;
         private int offset;
-        private int limit;
+        private int remaining;
 
-        private Cursor(byte[][] pages) {
+        private Cursor(byte[][] pages, ByteBuffer[] offHeapPages, PropertyStorage storage) {
             this.pages = pages;
+            this.offHeapPages = offHeapPages;
+            this.storage = storage;
+            this.codec = TrimmingDoubleCodec.instance();
+            this.decompressed = new MutableDouble();
+            this.compressedValue = new byte[PropertyStorage.COMPRESSED.maxBytesPerValue()];
         }
 
         public int length() {
@@ -203,48 +316,105 @@ public final class TransientAdjacencyList implements AdjacencyList {
 
         @Override
         public boolean hasNextLong() {
-            return offset < limit;
+            return remaining > 0;
         }
 
         @Override
         public long nextLong() {
-            long value = AdjacencyDecompressingReader.readLong(currentPage, offset);
-            offset += Long.BYTES;
-            return value;
+            remaining--;
+            switch (storage) {
+                case FLOAT:
+                    float floatValue = Float.intBitsToFloat(currentPage != null
+                        ? AdjacencyDecompressingReader.readInt(currentPage, offset)
+                        : currentOffHeapPage.getInt(offset));
+                    offset += Float.BYTES;
+                    return Double.doubleToRawLongBits(floatValue);
+                case COMPRESSED:
+                    if (currentPage != null) {
+                        offset = codec.decompressDouble(currentPage, offset, decompressed);
+                    } else {
+                        int size = 1 + (currentOffHeapPage.get(offset) & 0x0F);
+                        for (int i = 0; i < size; i++) {
+                            compressedValue[i] = currentOffHeapPage.get(offset + i);
+                        }
+                        codec.decompressDouble(compressedValue, 0, decompressed);
+                        offset += size;
+                    }
+                    return Double.doubleToRawLongBits(decompressed.doubleValue());
+                default:
+                    long value = currentPage != null
+                        ? AdjacencyDecompressingReader.readLong(currentPage, offset)
+                        : currentOffHeapPage.getLong(offset);
+                    offset += Long.BYTES;
+                    return value;
+            }
+        }
+
+        /**
+         * Skip the given number of values without reading them.
+         * Compressed values are of variable length, skipping them requires to read their sizes.
+         */
+        public void skip(int count) {
+            count = Math.min(remaining, count);
+            remaining -= count;
+            switch (storage) {
+                case FLOAT:
+                    offset += count * Float.BYTES;
+                    break;
+                case COMPRESSED:
+                    for (int i = 0; i < count; i++) {
+                        offset += currentPage != null
+                            ? codec.compressedSize(currentPage, offset)
+                            : 1 + (currentOffHeapPage.get(offset) & 0x0F);
+                    }
+                    break;
+                default:
+                    offset += count * Long.BYTES;
+            }
         }
 
         Cursor init(long fromIndex) {
-            this.currentPage = pages[pageIndex(fromIndex, PAGE_SHIFT)];
             this.offset = indexInPage(fromIndex, PAGE_MASK);
-            this.degree = AdjacencyDecompressingReader.readInt(currentPage, offset);
+            if (pages != null) {
+                this.currentPage = pages[pageIndex(fromIndex, PAGE_SHIFT)];
+                this.degree = AdjacencyDecompressingReader.readInt(currentPage, offset);
+            } else {
+                this.currentOffHeapPage = offHeapPages[pageIndex(fromIndex, PAGE_SHIFT)];
+                this.degree = currentOffHeapPage.getInt(offset);
+            }
             this.offset += Integer.BYTES;
-            this.limit = offset + degree * Long.BYTES;
+            this.remaining = degree;
             return this;
         }
 
         @Override
         public void close() {
             pages = null;
+            offHeapPages = null;
         }
     }
 
     public static final class DecompressingCursor extends MutableIntValue implements AdjacencyCursor {
 
         private byte[][] pages;
+        private ByteBuffer[] offHeapPages;
         private final AdjacencyDecompressingReader decompress;
 
         private int maxTargets;
         private int currentPosition;
 
-        private DecompressingCursor(byte[][] pages) {
+        private DecompressingCursor(byte[][] pages, ByteBuffer[] offHeapPages) {
             this.pages = pages;
+            this.offHeapPages = offHeapPages;
             this.decompress = new AdjacencyDecompressingReader();
         }
 
         DecompressingCursor init(long fromIndex) {
-            maxTargets = decompress.reset(
-                pages[pageIndex(fromIndex, PAGE_SHIFT)],
-                indexInPage(fromIndex, PAGE_MASK));
+            int pageIndex = pageIndex(fromIndex, PAGE_SHIFT);
+            int indexInPage = indexInPage(fromIndex, PAGE_MASK);
+            maxTargets = pages != null
+                ? decompress.reset(pages[pageIndex], indexInPage)
+                : decompress.reset(offHeapPages[pageIndex], indexInPage);
             currentPosition = 0;
             return this;
         }
@@ -318,9 +488,25 @@ public final class TransientAdjacencyList implements AdjacencyList {
             return value;
         }
 
+        /**
+         * Read and decode target ids until the first occurrence of {@code target} and return its index
+         * within the adjacency list, or {@link AdjacencyCursor#NOT_FOUND} if the adjacency list does not contain it.
+         * Adjacency lists with a skip index are not decoded entirely, only the block that might contain
+         * {@code target} is decoded, see {@link org.neo4j.graphalgo.core.loading.AdjacencyCompression#SKIP_INDEX_THRESHOLD}.
+         */
+        public int indexOf(long target) {
+            int start = currentPosition;
+            if (advance(target) != target) {
+                return (int) AdjacencyCursor.NOT_FOUND;
+            }
+            int index = currentPosition - 1;
+            return index - Math.min(decompress.precedingOccurrences(target), index - start);
+        }
+
         @Override
         public void close() {
             pages = null;
+            offHeapPages = null;
         }
     }
 }
@@ -27,9 +27,27 @@ import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 import java.util.Arrays;
 
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 
 public final class AdjacencyCompression {
 
+    /**
+     * Number of targets that are decoded together when reading a compressed adjacency list.
+     */
+    public static final int BLOCK_SIZE = 64;
+
+    /**
+     * Adjacency lists with more targets than this are preceded by a skip index,
+     * which allows to seek to a target without decoding all blocks before it.
+     */
+    public static final int SKIP_INDEX_THRESHOLD = 4 * BLOCK_SIZE;
+
+    /**
+     * A skip index entry consists of the offset of a block within the compressed targets
+     * and the last target of the preceding block, which is the base for decoding the block.
+     */
+    public static final int SKIP_ENTRY_BYTES = Integer.BYTES + Long.BYTES;
+
     private static long[] growWithDestroy(long[] values, int newLength) {
         if (values.length < newLength) {
             // give leeway in case of nodes with a reference to themselves
@@ -88,6 +106,39 @@ public final class AdjacencyCompression {
         return encodeVLongs(data, length, out, 0);
     }
 
+    /**
+     * Number of skip index entries for an adjacency list of the given degree; one for every block but the first.
+     */
+    public static int skipEntries(int degree) {
+        return degree > SKIP_INDEX_THRESHOLD ? (degree - 1) / BLOCK_SIZE : 0;
+    }
+
+    /**
+     * Writes the skip index for the delta encoded targets in {@code data} into {@code out}.
+     *
+     * @return the number of bytes written
+     */
+    static int writeSkipIndex(LongsRef data, byte[] out, int offset) {
+        int entries = skipEntries(data.length);
+        if (entries == 0) {
+            return 0;
+        }
+        long[] deltas = data.longs;
+        long value = 0L;
+        int blockOffset = 0;
+        int into = offset;
+        for (int i = 0, end = entries * BLOCK_SIZE; i < end; i++) {
+            value += deltas[i];
+            blockOffset += encodedVLongSize(deltas[i]);
+            if ((i + 1) % BLOCK_SIZE == 0) {
+                writeDegree(out, into, blockOffset);
+                writeLong(out, into + Integer.BYTES, value);
+                into += SKIP_ENTRY_BYTES;
+            }
+        }
+        return into - offset;
+    }
+
     //@formatter:off
     static void writeDegree(byte[] out, int offset, int degree) {
         out[    offset] = (byte) (degree);
@@ -97,6 +148,19 @@ public final class AdjacencyCompression {
     }
     //@formatter:on
 
+    //@formatter:off
+    private static void writeLong(byte[] out, int offset, long value) {
+        out[    offset] = (byte) (value);
+        out[1 + offset] = (byte) (value >>> 8);
+        out[2 + offset] = (byte) (value >>> 16);
+        out[3 + offset] = (byte) (value >>> 24);
+        out[4 + offset] = (byte) (value >>> 32);
+        out[5 + offset] = (byte) (value >>> 40);
+        out[6 + offset] = (byte) (value >>> 48);
+        out[7 + offset] = (byte) (value >>> 56);
+    }
+    //@formatter:on
+
     private static int applyDelta(long[] values, int length, Aggregation aggregation) {
         long value = values[0], delta;
         int in = 1, out = 1;
@@ -19,8 +19,11 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-@FunctionalInterface
+import org.neo4j.graphalgo.core.PropertyStorage;
+
 public interface AdjacencyListBuilderFactory {
 
     AdjacencyListBuilder newAdjacencyListBuilder();
+
+    AdjacencyListBuilder newPropertyListBuilder(PropertyStorage storage);
 }
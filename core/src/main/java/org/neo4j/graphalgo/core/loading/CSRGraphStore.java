@@ -335,6 +335,15 @@ public final class CSRGraphStore implements GraphStore {
         return relationshipProperties.getOrDefault(relationshipType, RelationshipPropertyStore.empty()).keySet();
     }
 
+    @Override
+    public Relationships.Topology relationshipTopology(RelationshipType relationshipType) {
+        return relationships.get(relationshipType);
+    }
+
+    public RelationshipProperty relationshipProperty(RelationshipType relationshipType, String propertyKey) {
+        return relationshipProperties.getOrDefault(relationshipType, RelationshipPropertyStore.empty()).get(propertyKey);
+    }
+
     @Override
     public void addRelationshipType(
         RelationshipType relationshipType,
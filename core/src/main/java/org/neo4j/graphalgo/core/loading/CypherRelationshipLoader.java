@@ -36,6 +36,7 @@ import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.SecureTransaction;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -51,10 +52,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.PARTITION_COUNT_PARAMETER;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.PARTITION_PARAMETER;
 import static org.neo4j.graphalgo.core.loading.CypherNodePropertyImporter.NO_PROPERTY_VALUE;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PRE_AGGREGATION;
+import static org.neo4j.internal.kernel.api.security.AccessMode.Static.READ;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP_TYPE;
 
 @Value.Enclosing
@@ -137,30 +142,37 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
 
     @Override
     BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx);
-
-        List<String> allColumns = queryResult.columns();
+        int partitionCount = cypherConfig.relationshipPartitions();
+        if (partitionCount > 1) {
+            return loadPartitions(partitionCount, bufferSize);
+        }
+        return loadFromResult(runLoadingQuery(tx), bufferSize);
+    }
 
-        // If the user specifies property mappings, we use those.
-        // Otherwise, we create new property mappings from the result columns.
-        // We do that only once, as each batch has the same columns.
-        Collection<String> propertyColumns = getPropertyColumns(queryResult);
-        if (!initializedFromResult) {
+    /**
+     * Runs the relationship query once per partition, each in its own read-only transaction.
+     * The partitions are imported concurrently into the shared relationship builders.
+     */
+    private BatchLoadResult loadPartitions(int partitionCount, int bufferSize) {
+        SecureTransaction transaction = loadingContext.transaction().withRestrictedAccess(READ);
+        LongAdder rows = new LongAdder();
+        List<Runnable> tasks = IntStream.range(0, partitionCount)
+            .mapToObj(partition -> (Runnable) () -> transaction.accept((tx, ktx) -> {
+                Map<String, Object> parameters = new HashMap<>(cypherConfig.parameters());
+                parameters.put(PARTITION_PARAMETER, partition);
+                parameters.put(PARTITION_COUNT_PARAMETER, partitionCount);
+                rows.add(loadFromResult(runLoadingQuery(tx, parameters), bufferSize).rows());
+            }))
+            .collect(Collectors.toList());
 
-            List<PropertyMapping> propertyMappings = propertyColumns
-                .stream()
-                .map(propertyColumn -> PropertyMapping.of(
-                    propertyColumn,
-                    propertyColumn,
-                    NO_PROPERTY_VALUE,
-                    Aggregation.NONE
-                ))
-                .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(cypherConfig.readConcurrency(), tasks, loadingContext.executor());
+        return new BatchLoadResult(rows.sum(), -1L);
+    }
 
-            initFromPropertyMappings(PropertyMappings.of(propertyMappings));
+    private BatchLoadResult loadFromResult(Result queryResult, int bufferSize) {
+        List<String> allColumns = queryResult.columns();
 
-            initializedFromResult = true;
-        }
+        initFromPropertyColumns(getPropertyColumns(queryResult));
 
         boolean isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
 
@@ -183,6 +195,28 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         return new BatchLoadResult(visitor.rows(), -1L);
     }
 
+    // If the user specifies property mappings, we use those.
+    // Otherwise, we create new property mappings from the result columns.
+    // We do that only once, as each batch and partition has the same columns.
+    private synchronized void initFromPropertyColumns(Collection<String> propertyColumns) {
+        if (!initializedFromResult) {
+
+            List<PropertyMapping> propertyMappings = propertyColumns
+                .stream()
+                .map(propertyColumn -> PropertyMapping.of(
+                    propertyColumn,
+                    propertyColumn,
+                    NO_PROPERTY_VALUE,
+                    Aggregation.NONE
+                ))
+                .collect(Collectors.toList());
+
+            initFromPropertyMappings(PropertyMappings.of(propertyMappings));
+
+            initializedFromResult = true;
+        }
+    }
+
     @Override
     void updateCounts(BatchLoadResult result) { }
 
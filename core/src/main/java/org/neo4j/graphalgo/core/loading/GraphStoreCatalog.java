@@ -31,6 +31,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -103,6 +104,7 @@ public final class GraphStoreCatalog {
             graphStore.canRelease(true);
             graphStore.release();
             getUserCatalog(username).removeDegreeDistribution(userCatalogKey);
+            getUserCatalog(username).removeAlgorithmStates(userCatalogKey);
         };
     }
 
@@ -129,6 +131,52 @@ public final class GraphStoreCatalog {
         getUserCatalog(username).setDegreeDistribution(UserCatalog.UserCatalogKey.of(databaseId, graphName), degreeDistribution);
     }
 
+    /**
+     * Returns the state of type {@code stateType} that an algorithm keeps next to the given graph, if present.
+     */
+    public static <T> Optional<T> getAlgorithmState(String username, NamedDatabaseId databaseId, String graphName, Class<T> stateType) {
+        return getUserCatalog(username).getAlgorithmState(UserCatalog.UserCatalogKey.of(databaseId, graphName), stateType);
+    }
+
+    /**
+     * Atomically replaces the state of type {@code stateType} that is kept next to the given graph
+     * by the result of applying the given function to the present state, if any.
+     * Concurrent calls for the same graph and state type are serialized.
+     */
+    public static <T> T computeAlgorithmState(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        Class<T> stateType,
+        Function<Optional<T>, T> remappingFunction
+    ) {
+        return getUserCatalog(username).computeAlgorithmState(
+            UserCatalog.UserCatalogKey.of(databaseId, graphName),
+            stateType,
+            remappingFunction
+        );
+    }
+
+    /**
+     * Returns the state of type {@code stateType} that is kept next to the given graph
+     * and atomically creates it with the given supplier if it is not present.
+     */
+    public static <T> T computeAlgorithmStateIfAbsent(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        Class<T> stateType,
+        Supplier<T> stateSupplier
+    ) {
+        return computeAlgorithmState(
+            username,
+            databaseId,
+            graphName,
+            stateType,
+            state -> state.orElseGet(stateSupplier)
+        );
+    }
+
     public static void removeAllLoadedGraphs() {
         userCatalogs.clear();
     }
@@ -176,6 +224,8 @@ public final class GraphStoreCatalog {
 
         private final Map<UserCatalogKey, Map<String, Object>> degreeDistributionByName = new ConcurrentHashMap<>();
 
+        private final Map<UserCatalogKey, Map<Class<?>, Object>> algorithmStatesByName = new ConcurrentHashMap<>();
+
         private void set(UserCatalogKey userCatalogKey, GraphCreateConfig config, GraphStore graphStore) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
@@ -209,6 +259,43 @@ public final class GraphStoreCatalog {
             degreeDistributionByName.remove(userCatalogKey);
         }
 
+        private <T> T computeAlgorithmState(
+            UserCatalogKey userCatalogKey,
+            Class<T> stateType,
+            Function<Optional<T>, T> remappingFunction
+        ) {
+            if (!graphsByName.containsKey(userCatalogKey)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Cannot set algorithm state because graph %s does not exist",
+                    userCatalogKey.graphName()
+                ));
+            }
+            Object state = algorithmStatesByName
+                .computeIfAbsent(userCatalogKey, key -> new ConcurrentHashMap<>())
+                .compute(stateType, (type, presentState) -> {
+                    T newState = remappingFunction.apply(Optional.ofNullable(presentState).map(stateType::cast));
+                    if (newState == null) {
+                        throw new IllegalArgumentException("The algorithm state must be not null");
+                    }
+                    return newState;
+                });
+            return stateType.cast(state);
+        }
+
+        private <T> Optional<T> getAlgorithmState(UserCatalogKey userCatalogKey, Class<T> stateType) {
+            if (!graphsByName.containsKey(userCatalogKey)) {
+                return Optional.empty();
+            }
+            return Optional
+                .ofNullable(algorithmStatesByName.get(userCatalogKey))
+                .map(states -> states.get(stateType))
+                .map(stateType::cast);
+        }
+
+        private void removeAlgorithmStates(UserCatalogKey userCatalogKey) {
+            algorithmStatesByName.remove(userCatalogKey);
+        }
+
         private GraphStoreWithConfig get(UserCatalogKey userCatalogKey) {
             if (graphsByName.containsKey(userCatalogKey)) {
                 return graphsByName.get(userCatalogKey);
@@ -86,7 +86,7 @@ public final class IdMapBuilder {
     }
 
     @NotNull
-    static HugeSparseLongArray buildSparseNodeMapping(
+    public static HugeSparseLongArray buildSparseNodeMapping(
         long nodeCount,
         long highestNodeId,
         int concurrency,
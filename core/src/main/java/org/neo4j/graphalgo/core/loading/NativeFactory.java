@@ -106,7 +106,11 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
             relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
                 builder.add(
                     formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
+                    TransientAdjacencyList.propertiesMemoryEstimation(
+                        relationshipType,
+                        undirected,
+                        resolvedPropertyMapping.storage()
+                    )
                 );
                 builder.add(
                     formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
@@ -20,10 +20,12 @@
 package org.neo4j.graphalgo.core.loading;
 
 
+import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.api.AdjacencyList;
 import org.neo4j.graphalgo.api.AdjacencyOffsets;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.PropertyStorage;
 
 import java.util.Arrays;
 import java.util.function.Predicate;
@@ -33,11 +35,13 @@ import static java.util.Objects.requireNonNull;
 public class RelationshipsBuilder {
 
     private static final AdjacencyListBuilder[] EMPTY_PROPERTY_BUILDERS = new AdjacencyListBuilder[0];
+    private static final PropertyStorage[] EMPTY_PROPERTY_STORAGES = new PropertyStorage[0];
 
     private final RelationshipProjection projection;
     private final AdjacencyListBuilder adjacencyListBuilder;
     private final AdjacencyOffsetsFactory offsetsFactory;
     private final AdjacencyListBuilder[] propertyBuilders;
+    private final PropertyStorage[] propertyStorages;
     private long[][] globalAdjacencyOffsetsPages;
     private AdjacencyOffsets globalAdjacencyOffsets;
     private long[][][] globalPropertyOffsetsPages;
@@ -54,9 +58,16 @@ public class RelationshipsBuilder {
 
         if (projection.properties().isEmpty()) {
             this.propertyBuilders = EMPTY_PROPERTY_BUILDERS;
+            this.propertyStorages = EMPTY_PROPERTY_STORAGES;
         } else {
-            this.propertyBuilders = new AdjacencyListBuilder[projection.properties().numberOfMappings()];
-            Arrays.setAll(propertyBuilders, i -> listBuilderFactory.newAdjacencyListBuilder());
+            this.propertyStorages = projection
+                .properties()
+                .mappings()
+                .stream()
+                .map(PropertyMapping::storage)
+                .toArray(PropertyStorage[]::new);
+            this.propertyBuilders = new AdjacencyListBuilder[propertyStorages.length];
+            Arrays.setAll(propertyBuilders, i -> listBuilderFactory.newPropertyListBuilder(propertyStorages[i]));
         }
     }
 
@@ -72,6 +83,7 @@ public class RelationshipsBuilder {
                 .toArray(AdjacencyListAllocator[]::new),
             adjacencyOffsets,
             propertyOffsets,
+            propertyStorages,
             aggregations
         );
     }
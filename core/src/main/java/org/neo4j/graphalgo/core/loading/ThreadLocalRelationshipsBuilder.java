@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.PropertyStorage;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -34,20 +35,25 @@ class ThreadLocalRelationshipsBuilder {
     private final AdjacencyListAllocator[] propertiesAllocators;
     private final long[] adjacencyOffsets;
     private final long[][] propertyOffsets;
+    private final PropertyStorage[] propertyStorages;
     private final boolean noAggregation;
     private final Aggregation[] aggregations;
+    private byte[] propertyBuffer;
 
     ThreadLocalRelationshipsBuilder(
         AdjacencyListAllocator adjacencyAllocator,
         AdjacencyListAllocator[] propertiesAllocators,
         long[] adjacencyOffsets,
         long[][] propertyOffsets,
+        PropertyStorage[] propertyStorages,
         Aggregation[] aggregations
     ) {
         this.adjacencyAllocator = adjacencyAllocator;
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
         this.propertyOffsets = propertyOffsets;
+        this.propertyStorages = propertyStorages;
+        this.propertyBuffer = new byte[0];
         this.aggregations = aggregations;
         this.lock = new ReentrantLock();
         this.noAggregation = Stream.of(aggregations).allMatch(aggregation -> aggregation == Aggregation.NONE);
@@ -104,7 +110,7 @@ class ThreadLocalRelationshipsBuilder {
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
         int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        long address = copyIds(storage, requiredBytes, degree);
+        long address = copyIds(buffer, storage, requiredBytes, degree);
         adjacencyOffsets[localId] = address;
         array.release();
         return degree;
@@ -120,17 +126,19 @@ class ThreadLocalRelationshipsBuilder {
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
         int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
+        adjacencyOffsets[localId] = copyIds(buffer, storage, requiredBytes, degree);
         copyProperties(weights, degree, localId, propertyOffsets);
 
         array.release();
         return degree;
     }
 
-    private long copyIds(byte[] targets, int requiredBytes, int degree) {
-        // sizeOf(degree) + compression bytes
-        var slice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
+    private long copyIds(LongsRef deltas, byte[] targets, int requiredBytes, int degree) {
+        // sizeOf(degree) + skip index + compression bytes
+        int skipIndexBytes = AdjacencyCompression.skipEntries(degree) * AdjacencyCompression.SKIP_ENTRY_BYTES;
+        var slice = adjacencyAllocator.allocate(Integer.BYTES + skipIndexBytes + requiredBytes);
         slice.writeInt(degree);
+        slice.bytesWritten(AdjacencyCompression.writeSkipIndex(deltas, slice.page(), slice.offset()));
         slice.insert(targets, 0, requiredBytes);
         return slice.address();
     }
@@ -139,7 +147,17 @@ class ThreadLocalRelationshipsBuilder {
         for (int i = 0; i < properties.length; i++) {
             long[] property = properties[i];
             var propertiesAllocator = propertiesAllocators[i];
-            long address = copyProperties(property, degree, propertiesAllocator);
+            long address;
+            switch (propertyStorages[i]) {
+                case FLOAT:
+                    address = copyFloatProperties(property, degree, propertiesAllocator);
+                    break;
+                case COMPRESSED:
+                    address = copyCompressedProperties(property, degree, propertiesAllocator);
+                    break;
+                default:
+                    address = copyProperties(property, degree, propertiesAllocator);
+            }
             offsets[i][localId] = address;
         }
     }
@@ -157,4 +175,31 @@ class ThreadLocalRelationshipsBuilder {
         slice.bytesWritten(requiredBytes);
         return slice.address();
     }
+
+    private long copyFloatProperties(long[] properties, int degree, AdjacencyListAllocator propertiesAllocator) {
+        int requiredBytes = degree * Float.BYTES;
+        var slice = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+        slice.writeInt(degree);
+        var buffer = ByteBuffer
+            .wrap(slice.page(), slice.offset(), requiredBytes)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asFloatBuffer();
+        for (int i = 0; i < degree; i++) {
+            buffer.put((float) Double.longBitsToDouble(properties[i]));
+        }
+        slice.bytesWritten(requiredBytes);
+        return slice.address();
+    }
+
+    private long copyCompressedProperties(long[] properties, int degree, AdjacencyListAllocator propertiesAllocator) {
+        int maxBytes = degree * PropertyStorage.COMPRESSED.maxBytesPerValue();
+        if (propertyBuffer.length < maxBytes) {
+            propertyBuffer = new byte[maxBytes];
+        }
+        int requiredBytes = TrimmingDoubleCodec.instance().compressDoubles(properties, degree, propertyBuffer);
+        var slice = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+        slice.writeInt(degree);
+        slice.insert(propertyBuffer, 0, requiredBytes);
+        return slice.address();
+    }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.neo4j.graphalgo.core.PropertyStorage;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
@@ -43,6 +44,7 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
     private static final int NO_SKIP = -1;
 
     private final AllocationTracker tracker;
+    private final PropertyStorage propertyStorage;
     private final ReentrantLock growLock;
     private final AtomicInteger allocatedPages;
 
@@ -50,11 +52,22 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
     private volatile byte[][] pages;
 
     public static AdjacencyListBuilderFactory builderFactory(AllocationTracker tracker){
-        return () -> new TransientAdjacencyListBuilder(tracker);
+        return new AdjacencyListBuilderFactory() {
+            @Override
+            public AdjacencyListBuilder newAdjacencyListBuilder() {
+                return new TransientAdjacencyListBuilder(tracker, PropertyStorage.DOUBLE);
+            }
+
+            @Override
+            public AdjacencyListBuilder newPropertyListBuilder(PropertyStorage storage) {
+                return new TransientAdjacencyListBuilder(tracker, storage);
+            }
+        };
     }
 
-    private TransientAdjacencyListBuilder(AllocationTracker tracker) {
+    private TransientAdjacencyListBuilder(AllocationTracker tracker, PropertyStorage propertyStorage) {
         this.tracker = tracker;
+        this.propertyStorage = propertyStorage;
         growLock = new ReentrantLock(true);
         allocatedPages = new AtomicInteger();
         pages = new byte[0][];
@@ -66,7 +79,7 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
     }
 
     public TransientAdjacencyList build() {
-        return new TransientAdjacencyList(pages);
+        return new TransientAdjacencyList(pages, propertyStorage);
     }
 
     @Override
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.commons.lang3.mutable.MutableDouble;
+
+import java.util.Arrays;
+
+/**
+ * A lossless {@link DoubleCodec} that removes redundant bytes from a value.
+ *
+ * Every value starts with a header byte, the upper four bits are the compression type
+ * and the lower four bits are the number of bytes that follow the header.
+ * Integral values with an absolute value of less than {@code 2^53} are stored as
+ * their absolute {@code long} value in as few bytes as possible, which covers counts and ids.
+ * All other values are stored as their bit representation without the trailing zero bytes,
+ * which covers values with a short significand, such as {@code 0.5} or {@code 1.25}.
+ * A value takes between 1 and 9 bytes.
+ */
+public final class TrimmingDoubleCodec extends DoubleCodec {
+
+    private static final DoubleCodec INSTANCE = new TrimmingDoubleCodec();
+
+    private static final int POSITIVE_INTEGRAL = 0;
+    private static final int NEGATIVE_INTEGRAL = 1;
+    private static final int TRIMMED_BITS = 2;
+
+    private static final long MAX_INTEGRAL = 1L << SIGNIFICAND_WIDTH;
+
+    public static DoubleCodec instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public int compressDouble(long doubleBits, byte[] out, int outPos) {
+        double value = Double.longBitsToDouble(doubleBits);
+        long integral = (long) value;
+        if (integral == value && doubleBits != SIGN_BIT_MASK && integral > -MAX_INTEGRAL && integral < MAX_INTEGRAL) {
+            int type = integral < 0 ? NEGATIVE_INTEGRAL : POSITIVE_INTEGRAL;
+            long magnitude = Math.abs(integral);
+            int length = (Long.SIZE - Long.numberOfLeadingZeros(magnitude) + 7) >>> 3;
+            out[outPos++] = header(type, length);
+            for (int shift = (length - 1) << 3; shift >= 0; shift -= 8) {
+                out[outPos++] = (byte) (magnitude >>> shift);
+            }
+            return outPos;
+        }
+
+        int length = Long.BYTES - (Long.numberOfTrailingZeros(doubleBits) >>> 3);
+        out[outPos++] = header(TRIMMED_BITS, length);
+        for (int i = 0, shift = 56; i < length; i++, shift -= 8) {
+            out[outPos++] = (byte) (doubleBits >>> shift);
+        }
+        return outPos;
+    }
+
+    @Override
+    public int decompressDouble(byte[] data, int pos, MutableDouble out) {
+        int header = data[pos++] & 0xFF;
+        int length = header & 0x0F;
+        long bits = 0L;
+        for (int i = 0; i < length; i++) {
+            bits = (bits << 8) | (data[pos++] & 0xFFL);
+        }
+        switch (header >>> 4) {
+            case POSITIVE_INTEGRAL:
+                out.setValue((double) bits);
+                break;
+            case NEGATIVE_INTEGRAL:
+                out.setValue((double) -bits);
+                break;
+            default:
+                out.setValue(Double.longBitsToDouble(bits << ((Long.BYTES - length) << 3)));
+        }
+        return pos;
+    }
+
+    @Override
+    public int compressedSize(byte[] data, int pos) {
+        return 1 + (data[pos] & 0x0F);
+    }
+
+    @Override
+    public String describeCompression(int type) {
+        switch (type) {
+            case POSITIVE_INTEGRAL:
+                return "POSITIVE_INTEGRAL";
+            case NEGATIVE_INTEGRAL:
+                return "NEGATIVE_INTEGRAL";
+            case TRIMMED_BITS:
+                return "TRIMMED_BITS";
+            default:
+                return "UNKNOWN";
+        }
+    }
+
+    @Override
+    public CompressionInfo describeCompressedValue(byte[] data, int pos, double originalInput) {
+        int size = compressedSize(data, pos);
+        int type = (data[pos] & 0xFF) >>> 4;
+        return ImmutableCompressionInfo.builder()
+            .input(originalInput)
+            .compressed(Arrays.copyOfRange(data, pos, pos + size))
+            .decompressed(decompressDouble(data, pos))
+            .compressedSize(size)
+            .compressedType(type)
+            .compressionDescription(describeCompression(type))
+            .build();
+    }
+
+    private static byte header(int type, int length) {
+        return (byte) (type << 4 | length);
+    }
+
+    private TrimmingDoubleCodec() {
+    }
+}
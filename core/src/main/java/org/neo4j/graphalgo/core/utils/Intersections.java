@@ -81,6 +81,151 @@ public class Intersections {
         return intersection;
     }
 
+    // Intersection kernels for strictly ascending ranges, shared by triangle counting and node similarity.
+    // Ranges of similar length are merged with a loop whose index updates do not branch on the
+    // comparison result, so that the JIT can compile them to conditional moves.
+    // If one range is much shorter than the other, the shorter one is galloped through the longer one.
+
+    // merging costs O(a + b), galloping O(a * log(b / a))
+    static final int GALLOP_THRESHOLD = 32;
+
+    /**
+     * Writes all values that are contained in both {@code a[aFrom, aTo)} and {@code b[bFrom, bTo)}
+     * into {@code out}, which must be able to hold the smaller of both ranges.
+     *
+     * @return the number of common values
+     */
+    public static int intersection(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] out) {
+        long aLength = aTo - aFrom;
+        long bLength = bTo - bFrom;
+        if (aLength == 0 || bLength == 0) {
+            return 0;
+        }
+        if (aLength * GALLOP_THRESHOLD < bLength) {
+            return gallop(a, aFrom, aTo, b, bFrom, bTo, out);
+        }
+        if (bLength * GALLOP_THRESHOLD < aLength) {
+            return gallop(b, bFrom, bTo, a, aFrom, aTo, out);
+        }
+        return merge(a, aFrom, aTo, b, bFrom, bTo, out);
+    }
+
+    /**
+     * Counts the values that are contained in both {@code a[aFrom, aTo)} and {@code b[bFrom, bTo)}.
+     */
+    public static long intersection(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo) {
+        long aLength = aTo - aFrom;
+        long bLength = bTo - bFrom;
+        if (aLength == 0 || bLength == 0) {
+            return 0;
+        }
+        if (aLength * GALLOP_THRESHOLD < bLength) {
+            return gallop(a, aFrom, aTo, b, bFrom, bTo);
+        }
+        if (bLength * GALLOP_THRESHOLD < aLength) {
+            return gallop(b, bFrom, bTo, a, aFrom, aTo);
+        }
+        return merge(a, aFrom, aTo, b, bFrom, bTo);
+    }
+
+    static int merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] out) {
+        int i = aFrom;
+        int j = bFrom;
+        int count = 0;
+        while (i < aTo && j < bTo) {
+            int x = a[i];
+            int y = b[j];
+            // always write, but only keep the value if it is a match
+            out[count] = x;
+            count += x == y ? 1 : 0;
+            i += x <= y ? 1 : 0;
+            j += x >= y ? 1 : 0;
+        }
+        return count;
+    }
+
+    static long merge(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo) {
+        int i = aFrom;
+        int j = bFrom;
+        long count = 0;
+        while (i < aTo && j < bTo) {
+            long x = a[i];
+            long y = b[j];
+            count += x == y ? 1 : 0;
+            i += x <= y ? 1 : 0;
+            j += x >= y ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int gallop(int[] small, int smallFrom, int smallTo, int[] large, int largeFrom, int largeTo, int[] out) {
+        int count = 0;
+        int low = largeFrom;
+        for (int i = smallFrom; i < smallTo && low < largeTo; i++) {
+            int target = small[i];
+
+            // exponential search for an upper bound of the first value >= target
+            int high = low;
+            int step = 1;
+            while (high < largeTo && large[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+
+            // binary search for the first value >= target within [low, high)
+            high = Math.min(high, largeTo);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (large[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            if (low < largeTo && large[low] == target) {
+                out[count++] = target;
+                low++;
+            }
+        }
+        return count;
+    }
+
+    static long gallop(long[] small, int smallFrom, int smallTo, long[] large, int largeFrom, int largeTo) {
+        long count = 0;
+        int low = largeFrom;
+        for (int i = smallFrom; i < smallTo && low < largeTo; i++) {
+            long target = small[i];
+
+            // exponential search for an upper bound of the first value >= target
+            int high = low;
+            int step = 1;
+            while (high < largeTo && large[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+
+            // binary search for the first value >= target within [low, high)
+            high = Math.min(high, largeTo);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (large[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            if (low < largeTo && large[low] == target) {
+                count++;
+                low++;
+            }
+        }
+        return count;
+    }
+
     private static int[] EMPTY = new int[0];
 
     public static int[] getIntersection(int[] values1, int[] values2) {
@@ -330,6 +475,26 @@ public class Intersections {
         return dotProduct;
     }
 
+    // Four independent sums break the dependency chain of the additions, so that consecutive
+    // multiply-adds can be pipelined. The result may differ from a sequential sum in the last bits.
+    public static float dotProduct(float[] vector1, int offset1, float[] vector2, int offset2, int len) {
+        float sum0 = 0F;
+        float sum1 = 0F;
+        float sum2 = 0F;
+        float sum3 = 0F;
+        int i = 0;
+        for (int unrolledLen = len & ~3; i < unrolledLen; i += 4) {
+            sum0 += vector1[offset1 + i] * vector2[offset2 + i];
+            sum1 += vector1[offset1 + i + 1] * vector2[offset2 + i + 1];
+            sum2 += vector1[offset1 + i + 2] * vector2[offset2 + i + 2];
+            sum3 += vector1[offset1 + i + 3] * vector2[offset2 + i + 3];
+        }
+        for (; i < len; i++) {
+            sum0 += vector1[offset1 + i] * vector2[offset2 + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
     public static float cosine(float[] vector1, float[] vector2, int len) {
         float dotProduct = 0F;
         float xLength = 0F;
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import org.neo4j.graphalgo.compat.Neo4jProxy;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Layout of the on-disk snapshot of a graph store.
+ * <p>
+ * A snapshot is a directory with one file per component of the graph store.
+ * The {@link #META_FILE} describes the graph (name, projection, schema and the
+ * files of each component), all other files contain the raw data of a single
+ * component and can be written and read independently of each other.
+ * All values are stored in big-endian byte order.
+ */
+public final class GraphStoreSnapshot {
+
+    static final int MAGIC = 0x47445353;
+    static final int VERSION = 2;
+
+    static final String META_FILE = "graph.meta";
+    static final String NODES_FILE = "nodes.bin";
+    static final String LABELS_FILE = "labels.bin";
+
+    static final byte STORE_PROJECTION = 0;
+    static final byte CYPHER_PROJECTION = 1;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte LONG_VALUE = 2;
+    private static final byte DOUBLE_VALUE = 3;
+    private static final byte BOOLEAN_VALUE = 4;
+    private static final byte LIST_VALUE = 5;
+    private static final byte MAP_VALUE = 6;
+
+    private GraphStoreSnapshot() {}
+
+    /**
+     * The root directory of all snapshots, located in the data directory of the Neo4j installation.
+     */
+    public static Path rootDirectory(GraphDatabaseAPI api) {
+        return Neo4jProxy.homeDirectory(api.databaseLayout()).resolve("data").resolve("gds");
+    }
+
+    /**
+     * The snapshot directory of a graph, relative to the given root directory.
+     * User, database and graph names are URL encoded to be safe as file names.
+     * Dots are encoded as well, so that no name resolves to `.` or `..` and no encoded name
+     * contains a dot, which leaves names with a dot free for the temporary directories of the writer.
+     */
+    public static Path directory(Path root, String username, String databaseName, String graphName) {
+        Path normalizedRoot = root.normalize();
+        Path directory = normalizedRoot
+            .resolve(fileName(username))
+            .resolve(fileName(databaseName))
+            .resolve(fileName(graphName))
+            .normalize();
+        if (!directory.startsWith(normalizedRoot) || directory.getNameCount() != normalizedRoot.getNameCount() + 3) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The graph name `%s` cannot be used as a snapshot directory.",
+                graphName
+            ));
+        }
+        return directory;
+    }
+
+    private static String fileName(String name) {
+        if (name.isEmpty()) {
+            // the encoder only emits `%` followed by two hex digits, so a single `%` is not taken by any other name
+            return "%";
+        }
+        return URLEncoder.encode(name, UTF_8).replace(".", "%2E");
+    }
+
+    static String nodePropertyFile(int index) {
+        return formatWithLocale("node-property-%d.bin", index);
+    }
+
+    static String adjacencyFile(int relationshipTypeIndex) {
+        return formatWithLocale("relationships-%d.adjacency", relationshipTypeIndex);
+    }
+
+    static String offsetsFile(int relationshipTypeIndex) {
+        return formatWithLocale("relationships-%d.offsets", relationshipTypeIndex);
+    }
+
+    static String propertyAdjacencyFile(int relationshipTypeIndex, int propertyIndex) {
+        return formatWithLocale("relationships-%d-property-%d.adjacency", relationshipTypeIndex, propertyIndex);
+    }
+
+    static String propertyOffsetsFile(int relationshipTypeIndex, int propertyIndex) {
+        return formatWithLocale("relationships-%d-property-%d.offsets", relationshipTypeIndex, propertyIndex);
+    }
+
+    /**
+     * Writes a value of a projection, which consists of maps, lists, strings, numbers and booleans.
+     */
+    static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            out.writeUTF((String) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof double[]) {
+            writeValue(out, Arrays.stream((double[]) value).boxed().collect(Collectors.toList()));
+        } else if (value instanceof float[]) {
+            var floats = (float[]) value;
+            var doubles = new ArrayList<Double>(floats.length);
+            for (float f : floats) {
+                doubles.add((double) f);
+            }
+            writeValue(out, doubles);
+        } else if (value instanceof long[]) {
+            writeValue(out, Arrays.stream((long[]) value).boxed().collect(Collectors.toList()));
+        } else if (value instanceof List) {
+            var list = (List<?>) value;
+            out.writeByte(LIST_VALUE);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map) {
+            var map = (Map<?, ?>) value;
+            out.writeByte(MAP_VALUE);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeUTF(String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            // enums and other value objects are represented by their configuration string
+            out.writeByte(STRING_VALUE);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return in.readUTF();
+            case LONG_VALUE:
+                return in.readLong();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            case BOOLEAN_VALUE:
+                return in.readBoolean();
+            case LIST_VALUE:
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            case MAP_VALUE:
+                int entries = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    map.put(in.readUTF(), readValue(in));
+                }
+                return map;
+            default:
+                throw new IllegalStateException(formatWithLocale("Unknown value type %d in snapshot.", type));
+        }
+    }
+}
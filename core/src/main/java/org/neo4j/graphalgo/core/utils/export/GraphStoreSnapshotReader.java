@@ -0,0 +1,564 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationships;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.PropertyStorage;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.IdMapBuilder;
+import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.ImportSizing;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.neo4j.kernel.database.NamedDatabaseId;
+import org.neo4j.values.storable.NumberType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.CYPHER_PROJECTION;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.LABELS_FILE;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.MAGIC;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.META_FILE;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.NODES_FILE;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.VERSION;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.adjacencyFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.nodePropertyFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.offsetsFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.propertyAdjacencyFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.propertyOffsetsFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.readValue;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Reads a graph store from a snapshot directory written by {@link GraphStoreSnapshotWriter}.
+ * <p>
+ * All data files are memory-mapped and read in parallel. The adjacency lists are restored
+ * from their compressed pages, so that loading a snapshot is bound by the disk throughput.
+ * With {@link GraphStoreSnapshotConfig#offHeap()} the compressed pages are not copied at all,
+ * the adjacency lists are read directly from the mapped snapshot files.
+ */
+public final class GraphStoreSnapshotReader {
+
+    private final Path directory;
+    private final GraphStoreSnapshotConfig config;
+
+    public GraphStoreSnapshotReader(Path directory, GraphStoreSnapshotConfig config) {
+        this.directory = directory;
+        this.config = config;
+    }
+
+    public GraphStoreWithConfig read(NamedDatabaseId databaseId, AllocationTracker tracker) {
+        Path metaFile = directory.resolve(META_FILE);
+        if (!Files.exists(metaFile)) {
+            throw new IllegalArgumentException(formatWithLocale("No snapshot found at `%s`.", directory));
+        }
+
+        Meta meta;
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(metaFile)))) {
+            meta = readMeta(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long nodeCount = meta.nodeCount;
+        int concurrency = config.concurrency();
+        int offsetsPageSize = ImportSizing.of(concurrency, nodeCount).pageSize();
+        List<Runnable> tasks = new ArrayList<>();
+
+        HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        tasks.add(() -> read(NODES_FILE, reader -> {
+            try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor())) {
+                while (cursor.next()) {
+                    reader.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                }
+            }
+        }));
+
+        BitSet[] labelBitSets = new BitSet[meta.nodeLabels.size()];
+        tasks.add(() -> read(LABELS_FILE, reader -> {
+            for (int i = 0; i < labelBitSets.length; i++) {
+                int wordCount = reader.readInt();
+                long[] words = new long[wordCount];
+                reader.readLongs(words, 0, wordCount);
+                labelBitSets[i] = new BitSet(words, wordCount);
+            }
+        }));
+
+        NodeProperties[] nodePropertyValues = new NodeProperties[meta.nodeProperties.size()];
+        for (int i = 0; i < nodePropertyValues.length; i++) {
+            int propertyIndex = i;
+            ValueType type = meta.nodeProperties.get(i).type;
+            tasks.add(() -> read(
+                nodePropertyFile(propertyIndex),
+                reader -> nodePropertyValues[propertyIndex] = readNodeProperty(reader, type, nodeCount, tracker)
+            ));
+        }
+
+        List<RelationshipTypeEntry> relationshipTypes = meta.relationshipTypes;
+        for (int typeIndex = 0; typeIndex < relationshipTypes.size(); typeIndex++) {
+            RelationshipTypeEntry entry = relationshipTypes.get(typeIndex);
+            entry.adjacency = new CsrFiles(adjacencyFile(typeIndex), offsetsFile(typeIndex), PropertyStorage.DOUBLE);
+            entry.adjacency.addTasks(tasks, nodeCount, offsetsPageSize);
+            for (int propertyIndex = 0; propertyIndex < entry.properties.size(); propertyIndex++) {
+                RelationshipPropertyEntry property = entry.properties.get(propertyIndex);
+                property.adjacency = new CsrFiles(
+                    propertyAdjacencyFile(typeIndex, propertyIndex),
+                    propertyOffsetsFile(typeIndex, propertyIndex),
+                    property.storage
+                );
+                property.adjacency.addTasks(tasks, nodeCount, offsetsPageSize);
+            }
+        }
+
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>();
+        for (int i = 0; i < labelBitSets.length; i++) {
+            labelInformation.put(meta.nodeLabels.get(i), labelBitSets[i]);
+        }
+        HugeSparseLongArray nodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+            nodeCount,
+            meta.highestNeoId,
+            concurrency,
+            IdMapBuilder.add(graphIds),
+            tracker
+        );
+        IdMap idMap = new IdMap(graphIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+
+        GraphStore graphStore = createGraphStore(meta, databaseId, idMap, nodePropertyValues, tracker);
+        return ImmutableGraphStoreWithConfig.of(graphStore, meta.createConfig);
+    }
+
+    private GraphStore createGraphStore(
+        Meta meta,
+        NamedDatabaseId databaseId,
+        IdMap idMap,
+        NodeProperties[] nodePropertyValues,
+        AllocationTracker tracker
+    ) {
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = new HashMap<>();
+        for (int i = 0; i < nodePropertyValues.length; i++) {
+            NodePropertyEntry entry = meta.nodeProperties.get(i);
+            if (entry.state == GraphStore.PropertyState.PERSISTENT) {
+                nodeProperties
+                    .computeIfAbsent(entry.label, ignore -> new HashMap<>())
+                    .put(entry.key, nodePropertyValues[i]);
+            }
+        }
+
+        // relationship types that have been added by a mutation carry a single transient property
+        // and are added after the graph store has been created, in order to restore the property state
+        Map<RelationshipType, Relationships.Topology> topologies = new HashMap<>();
+        Map<RelationshipType, Map<String, Relationships.Properties>> relationshipProperties = new HashMap<>();
+        List<RelationshipTypeEntry> mutatedRelationshipTypes = new ArrayList<>();
+        for (RelationshipTypeEntry entry : meta.relationshipTypes) {
+            if (entry.properties.size() == 1 && entry.properties.get(0).state == GraphStore.PropertyState.TRANSIENT) {
+                mutatedRelationshipTypes.add(entry);
+                continue;
+            }
+            topologies.put(entry.type, entry.topology());
+            for (RelationshipPropertyEntry property : entry.properties) {
+                relationshipProperties
+                    .computeIfAbsent(entry.type, ignore -> new HashMap<>())
+                    .put(property.key, property.properties(entry));
+            }
+        }
+
+        CSRGraphStore graphStore = CSRGraphStore.of(
+            databaseId,
+            idMap,
+            nodeProperties,
+            topologies,
+            relationshipProperties,
+            config.concurrency(),
+            tracker
+        );
+
+        for (int i = 0; i < nodePropertyValues.length; i++) {
+            NodePropertyEntry entry = meta.nodeProperties.get(i);
+            if (entry.state == GraphStore.PropertyState.TRANSIENT) {
+                graphStore.addNodeProperty(entry.label, entry.key, nodePropertyValues[i]);
+            }
+        }
+
+        for (RelationshipTypeEntry entry : mutatedRelationshipTypes) {
+            RelationshipPropertyEntry property = entry.properties.get(0);
+            graphStore.addRelationshipType(
+                entry.type,
+                Optional.of(property.key),
+                Optional.of(property.type),
+                ImmutableRelationships.of(entry.topology(), Optional.of(property.properties(entry)))
+            );
+        }
+
+        return graphStore;
+    }
+
+    private Meta readMeta(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IllegalStateException(formatWithLocale("`%s` is not a graph snapshot.", directory));
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IllegalStateException(formatWithLocale(
+                "Unsupported snapshot version %d, expected version %d.",
+                version,
+                VERSION
+            ));
+        }
+
+        Meta meta = new Meta();
+        String graphName = in.readUTF();
+        String username = config.username();
+        if (in.readByte() == CYPHER_PROJECTION) {
+            meta.createConfig = GraphCreateFromCypherConfig.of(
+                username,
+                graphName,
+                in.readUTF(),
+                in.readUTF(),
+                CypherMapWrapper.empty()
+            );
+        } else {
+            meta.createConfig = GraphCreateFromStoreConfig.of(
+                username,
+                graphName,
+                readValue(in),
+                readValue(in),
+                CypherMapWrapper.empty()
+            );
+        }
+
+        meta.nodeCount = in.readLong();
+        meta.highestNeoId = in.readLong();
+
+        int labelCount = in.readInt();
+        for (int i = 0; i < labelCount; i++) {
+            meta.nodeLabels.add(NodeLabel.of(in.readUTF()));
+        }
+
+        int nodePropertyCount = in.readInt();
+        for (int i = 0; i < nodePropertyCount; i++) {
+            meta.nodeProperties.add(new NodePropertyEntry(
+                NodeLabel.of(in.readUTF()),
+                in.readUTF(),
+                ValueType.valueOf(in.readUTF()),
+                GraphStore.PropertyState.valueOf(in.readUTF())
+            ));
+        }
+
+        int relationshipTypeCount = in.readInt();
+        for (int i = 0; i < relationshipTypeCount; i++) {
+            RelationshipTypeEntry entry = new RelationshipTypeEntry(
+                RelationshipType.of(in.readUTF()),
+                Orientation.valueOf(in.readUTF()),
+                in.readBoolean(),
+                in.readLong()
+            );
+            int propertyCount = in.readInt();
+            for (int j = 0; j < propertyCount; j++) {
+                entry.properties.add(new RelationshipPropertyEntry(
+                    in.readUTF(),
+                    NumberType.valueOf(in.readUTF()),
+                    GraphStore.PropertyState.valueOf(in.readUTF()),
+                    in.readDouble(),
+                    in.readLong(),
+                    PropertyStorage.valueOf(in.readUTF())
+                ));
+            }
+            meta.relationshipTypes.add(entry);
+        }
+
+        return meta;
+    }
+
+    private static NodeProperties readNodeProperty(
+        MappedFileReader reader,
+        ValueType type,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        switch (type) {
+            case LONG:
+                HugeLongArray longValues = HugeLongArray.newArray(nodeCount, tracker);
+                try (HugeCursor<long[]> cursor = longValues.initCursor(longValues.newCursor())) {
+                    while (cursor.next()) {
+                        reader.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                    }
+                }
+                return longValues.asNodeProperties();
+            case DOUBLE:
+                HugeDoubleArray doubleValues = HugeDoubleArray.newArray(nodeCount, tracker);
+                try (HugeCursor<double[]> cursor = doubleValues.initCursor(doubleValues.newCursor())) {
+                    while (cursor.next()) {
+                        reader.readDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                    }
+                }
+                return doubleValues.asNodeProperties();
+            case DOUBLE_ARRAY:
+                HugeObjectArray<double[]> doubleArrays = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = reader.readInt();
+                    if (length >= 0) {
+                        double[] value = new double[length];
+                        reader.readDoubles(value, 0, length);
+                        doubleArrays.set(nodeId, value);
+                    }
+                }
+                return new DoubleArrayNodeProperties() {
+                    @Override
+                    public double[] doubleArrayValue(long nodeId) {
+                        return doubleArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return nodeCount;
+                    }
+                };
+            case FLOAT_ARRAY:
+                HugeObjectArray<float[]> floatArrays = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = reader.readInt();
+                    if (length >= 0) {
+                        float[] value = new float[length];
+                        for (int i = 0; i < length; i++) {
+                            value[i] = reader.readFloat();
+                        }
+                        floatArrays.set(nodeId, value);
+                    }
+                }
+                return new FloatArrayNodeProperties() {
+                    @Override
+                    public float[] floatArrayValue(long nodeId) {
+                        return floatArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return nodeCount;
+                    }
+                };
+            case LONG_ARRAY:
+                HugeObjectArray<long[]> longArrays = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = reader.readInt();
+                    if (length >= 0) {
+                        long[] value = new long[length];
+                        reader.readLongs(value, 0, length);
+                        longArrays.set(nodeId, value);
+                    }
+                }
+                return new LongArrayNodeProperties() {
+                    @Override
+                    public long[] longArrayValue(long nodeId) {
+                        return longArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return nodeCount;
+                    }
+                };
+            default:
+                throw new IllegalStateException(formatWithLocale("Unsupported node property type %s in snapshot.", type));
+        }
+    }
+
+    private void read(String fileName, FileReader fileReader) {
+        try (var reader = new MappedFileReader(directory.resolve(fileName))) {
+            fileReader.read(reader);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileReader {
+        void read(MappedFileReader reader);
+    }
+
+    private static final class Meta {
+        GraphCreateConfig createConfig;
+        long nodeCount;
+        long highestNeoId;
+        final List<NodeLabel> nodeLabels = new ArrayList<>();
+        final List<NodePropertyEntry> nodeProperties = new ArrayList<>();
+        final List<RelationshipTypeEntry> relationshipTypes = new ArrayList<>();
+    }
+
+    private static final class NodePropertyEntry {
+        final NodeLabel label;
+        final String key;
+        final ValueType type;
+        final GraphStore.PropertyState state;
+
+        NodePropertyEntry(NodeLabel label, String key, ValueType type, GraphStore.PropertyState state) {
+            this.label = label;
+            this.key = key;
+            this.type = type;
+            this.state = state;
+        }
+    }
+
+    private static final class RelationshipTypeEntry {
+        final RelationshipType type;
+        final Orientation orientation;
+        final boolean isMultiGraph;
+        final long elementCount;
+        final List<RelationshipPropertyEntry> properties = new ArrayList<>();
+        CsrFiles adjacency;
+
+        RelationshipTypeEntry(RelationshipType type, Orientation orientation, boolean isMultiGraph, long elementCount) {
+            this.type = type;
+            this.orientation = orientation;
+            this.isMultiGraph = isMultiGraph;
+            this.elementCount = elementCount;
+        }
+
+        Relationships.Topology topology() {
+            return ImmutableTopology.of(adjacency.list, adjacency.offsets, elementCount, orientation, isMultiGraph);
+        }
+    }
+
+    private static final class RelationshipPropertyEntry {
+        final String key;
+        final NumberType type;
+        final GraphStore.PropertyState state;
+        final double defaultValue;
+        final long elementCount;
+        final PropertyStorage storage;
+        CsrFiles adjacency;
+
+        RelationshipPropertyEntry(
+            String key,
+            NumberType type,
+            GraphStore.PropertyState state,
+            double defaultValue,
+            long elementCount,
+            PropertyStorage storage
+        ) {
+            this.key = key;
+            this.type = type;
+            this.state = state;
+            this.defaultValue = defaultValue;
+            this.elementCount = elementCount;
+            this.storage = storage;
+        }
+
+        Relationships.Properties properties(RelationshipTypeEntry relationshipType) {
+            return ImmutableProperties.of(
+                adjacency.list,
+                adjacency.offsets,
+                elementCount,
+                relationshipType.orientation,
+                relationshipType.isMultiGraph,
+                defaultValue
+            );
+        }
+    }
+
+    /**
+     * The adjacency list and offsets of a single CSR, filled by two independent read tasks.
+     */
+    private final class CsrFiles {
+        final String adjacencyFile;
+        final String offsetsFile;
+        final PropertyStorage storage;
+        TransientAdjacencyList list;
+        AdjacencyOffsets offsets;
+
+        CsrFiles(String adjacencyFile, String offsetsFile, PropertyStorage storage) {
+            this.adjacencyFile = adjacencyFile;
+            this.offsetsFile = offsetsFile;
+            this.storage = storage;
+        }
+
+        void addTasks(List<Runnable> tasks, long nodeCount, int pageSize) {
+            tasks.add(() -> read(adjacencyFile, reader -> {
+                int pageCount = reader.readInt();
+                int[] pageLengths = new int[pageCount];
+                for (int i = 0; i < pageCount; i++) {
+                    pageLengths[i] = reader.readInt();
+                }
+                if (config.offHeap()) {
+                    list = TransientAdjacencyList.offHeap(reader.mapPages(pageLengths), storage);
+                    return;
+                }
+                byte[][] pages = new byte[pageCount][];
+                for (int i = 0; i < pageCount; i++) {
+                    if (pageLengths[i] >= 0) {
+                        pages[i] = new byte[pageLengths[i]];
+                        reader.readBytes(pages[i], 0, pageLengths[i]);
+                    }
+                }
+                list = new TransientAdjacencyList(pages, storage);
+            }));
+
+            tasks.add(() -> read(offsetsFile, reader -> {
+                int pageCount = Math.toIntExact(ParallelUtil.threadCount(pageSize, nodeCount));
+                long[][] pages = new long[pageCount][];
+                long remaining = nodeCount;
+                for (int i = 0; i < pageCount; i++) {
+                    int length = (int) Math.min(pageSize, remaining);
+                    pages[i] = new long[pageSize];
+                    reader.readLongs(pages[i], 0, length);
+                    remaining -= length;
+                }
+                offsets = TransientAdjacencyOffsets.forPageSize(pageSize).newOffsets(pages);
+            }));
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipProperty;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.PropertyStorage;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.NodeLabel.ALL_NODES;
+import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.CYPHER_PROJECTION;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.LABELS_FILE;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.MAGIC;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.META_FILE;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.NODES_FILE;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.STORE_PROJECTION;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.VERSION;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.adjacencyFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.nodePropertyFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.offsetsFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.propertyAdjacencyFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.propertyOffsetsFile;
+import static org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot.writeValue;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes a graph store into a snapshot directory, see {@link GraphStoreSnapshot} for the layout.
+ * <p>
+ * The compressed adjacency lists and the offsets are written as is, so that they can be
+ * read back without decompressing or re-importing any relationships.
+ * The files of the individual components are written in parallel.
+ * A snapshot is first written into a temporary directory which replaces the target directory
+ * once all files have been written, so that a failed write never leaves a partial snapshot behind.
+ */
+public final class GraphStoreSnapshotWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final CSRGraphStore graphStore;
+    private final GraphCreateConfig createConfig;
+    private final Path directory;
+    private final GraphStoreSnapshotConfig config;
+
+    public GraphStoreSnapshotWriter(
+        GraphStoreWithConfig graphStoreWithConfig,
+        Path directory,
+        GraphStoreSnapshotConfig config
+    ) {
+        GraphStore graphStore = graphStoreWithConfig.graphStore();
+        if (!(graphStore instanceof CSRGraphStore)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Graph stores of type %s cannot be persisted.",
+                graphStore.getClass().getSimpleName()
+            ));
+        }
+        this.graphStore = (CSRGraphStore) graphStore;
+        this.createConfig = graphStoreWithConfig.config();
+        this.directory = directory;
+        this.config = config;
+    }
+
+    /**
+     * Writes the snapshot and returns its size in bytes.
+     */
+    public long run() {
+        if (Files.exists(directory) && !config.overwrite()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "A snapshot of graph `%s` already exists. Use `overwrite: true` to replace it.",
+                createConfig.graphName()
+            ));
+        }
+
+        Path tempDirectory;
+        try {
+            // a fresh directory with a random name, which never clashes with the snapshot of another graph
+            Files.createDirectories(directory.getParent());
+            tempDirectory = Files.createTempDirectory(directory.getParent(), directory.getFileName() + ".");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+
+            ParallelUtil.runWithConcurrency(config.concurrency(), tasks(tempDirectory), Pools.DEFAULT);
+            write(tempDirectory.resolve(META_FILE), this::writeMeta);
+
+            long size = sizeOf(tempDirectory);
+            deleteRecursively(directory);
+            try {
+                Files.move(tempDirectory, directory, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempDirectory, directory);
+            }
+            return size;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                deleteRecursively(tempDirectory);
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    private List<Runnable> tasks(Path target) {
+        NodeMapping nodes = graphStore.nodes();
+        long nodeCount = graphStore.nodeCount();
+        List<Runnable> tasks = new ArrayList<>();
+
+        tasks.add(() -> write(target.resolve(NODES_FILE), out -> {
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                out.writeLong(nodes.toOriginalNodeId(nodeId));
+            }
+        }));
+
+        tasks.add(() -> write(target.resolve(LABELS_FILE), out -> {
+            for (NodeLabel label : nodeLabels()) {
+                BitSet bitSet = new BitSet(nodeCount);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    if (nodes.hasLabel(nodeId, label)) {
+                        bitSet.set(nodeId);
+                    }
+                }
+                long[] words = bitSet.bits;
+                int wordCount = bitSet.wlen;
+                out.writeInt(wordCount);
+                for (int i = 0; i < wordCount; i++) {
+                    out.writeLong(words[i]);
+                }
+            }
+        }));
+
+        List<NodePropertyEntry> nodeProperties = nodeProperties();
+        for (int i = 0; i < nodeProperties.size(); i++) {
+            NodePropertyEntry entry = nodeProperties.get(i);
+            NodeProperties values = graphStore.nodePropertyValues(entry.label, entry.key);
+            Path file = target.resolve(nodePropertyFile(i));
+            tasks.add(() -> write(
+                file,
+                out -> writeNodeProperty(out, entry.type, values, nodeCount)
+            ));
+        }
+
+        List<RelationshipType> relationshipTypes = relationshipTypes();
+        for (int typeIndex = 0; typeIndex < relationshipTypes.size(); typeIndex++) {
+            RelationshipType type = relationshipTypes.get(typeIndex);
+            Relationships.Topology topology = graphStore.relationshipTopology(type);
+            addAdjacencyTasks(
+                tasks,
+                topology,
+                target.resolve(adjacencyFile(typeIndex)),
+                target.resolve(offsetsFile(typeIndex)),
+                nodeCount
+            );
+
+            List<String> propertyKeys = relationshipPropertyKeys(type);
+            for (int propertyIndex = 0; propertyIndex < propertyKeys.size(); propertyIndex++) {
+                RelationshipProperty property = graphStore.relationshipProperty(type, propertyKeys.get(propertyIndex));
+                addAdjacencyTasks(
+                    tasks,
+                    property.values(),
+                    target.resolve(propertyAdjacencyFile(typeIndex, propertyIndex)),
+                    target.resolve(propertyOffsetsFile(typeIndex, propertyIndex)),
+                    nodeCount
+                );
+            }
+        }
+
+        return tasks;
+    }
+
+    private static PropertyStorage propertyStorage(AdjacencyList list) {
+        return list instanceof TransientAdjacencyList
+            ? ((TransientAdjacencyList) list).propertyStorage()
+            : PropertyStorage.DOUBLE;
+    }
+
+    private static void addAdjacencyTasks(
+        List<Runnable> tasks,
+        Relationships.Topology topology,
+        Path adjacencyFile,
+        Path offsetsFile,
+        long nodeCount
+    ) {
+        AdjacencyList list = topology.list();
+        if (!(list instanceof TransientAdjacencyList)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Adjacency lists of type %s cannot be persisted.",
+                list.getClass().getSimpleName()
+            ));
+        }
+        TransientAdjacencyList adjacencyList = (TransientAdjacencyList) list;
+        tasks.add(() -> write(adjacencyFile, out -> {
+            int pageCount = adjacencyList.pageCount();
+            out.writeInt(pageCount);
+            for (int i = 0; i < pageCount; i++) {
+                out.writeInt(adjacencyList.pageLength(i));
+            }
+            for (int i = 0; i < pageCount; i++) {
+                adjacencyList.writePage(i, out);
+            }
+        }));
+
+        AdjacencyOffsets offsets = topology.offsets();
+        tasks.add(() -> write(offsetsFile, out -> {
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                out.writeLong(offsets.get(nodeId));
+            }
+        }));
+    }
+
+    private static void writeNodeProperty(
+        DataOutputStream out,
+        ValueType type,
+        NodeProperties values,
+        long nodeCount
+    ) throws IOException {
+        switch (type) {
+            case LONG:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeLong(values.longValue(nodeId));
+                }
+                break;
+            case DOUBLE:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeDouble(values.doubleValue(nodeId));
+                }
+                break;
+            case DOUBLE_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    double[] value = values.doubleArrayValue(nodeId);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(value.length);
+                        for (double v : value) {
+                            out.writeDouble(v);
+                        }
+                    }
+                }
+                break;
+            case FLOAT_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    float[] value = values.floatArrayValue(nodeId);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(value.length);
+                        for (float v : value) {
+                            out.writeFloat(v);
+                        }
+                    }
+                }
+                break;
+            case LONG_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    long[] value = values.longArrayValue(nodeId);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(value.length);
+                        for (long v : value) {
+                            out.writeLong(v);
+                        }
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale("Node properties of type %s cannot be persisted.", type));
+        }
+    }
+
+    private void writeMeta(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(createConfig.graphName());
+
+        if (createConfig instanceof GraphCreateFromCypherConfig) {
+            var cypherConfig = (GraphCreateFromCypherConfig) createConfig;
+            out.writeByte(CYPHER_PROJECTION);
+            out.writeUTF(cypherConfig.nodeQuery());
+            out.writeUTF(cypherConfig.relationshipQuery());
+        } else if (createConfig instanceof GraphCreateFromStoreConfig) {
+            var storeConfig = (GraphCreateFromStoreConfig) createConfig;
+            out.writeByte(STORE_PROJECTION);
+            writeValue(out, storeConfig.nodeProjections().toObject());
+            writeValue(out, storeConfig.relationshipProjections().toObject());
+        } else {
+            // graphs that have not been projected from the database are described by their schema
+            out.writeByte(STORE_PROJECTION);
+            writeValue(out, graphStore.nodeLabels().stream()
+                .map(label -> label.equals(ALL_NODES) ? "*" : label.name)
+                .collect(Collectors.toList()));
+            writeValue(out, graphStore.relationshipTypes().stream()
+                .map(type -> type.equals(ALL_RELATIONSHIPS) ? "*" : type.name)
+                .collect(Collectors.toList()));
+        }
+
+        NodeMapping nodes = graphStore.nodes();
+        out.writeLong(graphStore.nodeCount());
+        long highestNeoId = -1L;
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            highestNeoId = Math.max(highestNeoId, nodes.toOriginalNodeId(nodeId));
+        }
+        out.writeLong(highestNeoId);
+
+        List<NodeLabel> nodeLabels = nodeLabels();
+        out.writeInt(nodeLabels.size());
+        for (NodeLabel label : nodeLabels) {
+            out.writeUTF(label.name);
+        }
+
+        List<NodePropertyEntry> nodeProperties = nodeProperties();
+        out.writeInt(nodeProperties.size());
+        for (NodePropertyEntry entry : nodeProperties) {
+            out.writeUTF(entry.label.name);
+            out.writeUTF(entry.key);
+            out.writeUTF(entry.type.name());
+            out.writeUTF(graphStore.nodePropertyState(entry.key).name());
+        }
+
+        List<RelationshipType> relationshipTypes = relationshipTypes();
+        out.writeInt(relationshipTypes.size());
+        for (RelationshipType type : relationshipTypes) {
+            Relationships.Topology topology = graphStore.relationshipTopology(type);
+            out.writeUTF(type.name);
+            out.writeUTF(topology.orientation().name());
+            out.writeBoolean(topology.isMultiGraph());
+            out.writeLong(topology.elementCount());
+
+            List<String> propertyKeys = relationshipPropertyKeys(type);
+            out.writeInt(propertyKeys.size());
+            for (String propertyKey : propertyKeys) {
+                RelationshipProperty property = graphStore.relationshipProperty(type, propertyKey);
+                out.writeUTF(propertyKey);
+                out.writeUTF(property.type().name());
+                out.writeUTF(property.state().name());
+                out.writeDouble(property.values().defaultPropertyValue());
+                out.writeLong(property.values().elementCount());
+                out.writeUTF(propertyStorage(property.values().list()).name());
+            }
+        }
+    }
+
+    /**
+     * Labels that are stored in the label bit sets; a graph without labels has no bit sets.
+     */
+    private List<NodeLabel> nodeLabels() {
+        if (graphStore.nodes().containsOnlyAllNodesLabel()) {
+            return List.of();
+        }
+        return graphStore.nodeLabels().stream()
+            .sorted(Comparator.comparing(NodeLabel::name))
+            .collect(Collectors.toList());
+    }
+
+    private List<NodePropertyEntry> nodeProperties() {
+        return graphStore.nodeLabels().stream()
+            .sorted(Comparator.comparing(NodeLabel::name))
+            .flatMap(label -> graphStore.nodePropertyKeys(label).stream().sorted().map(key -> new NodePropertyEntry(
+                label,
+                key,
+                graphStore.nodePropertyType(label, key)
+            )))
+            .collect(Collectors.toList());
+    }
+
+    private List<RelationshipType> relationshipTypes() {
+        return graphStore.relationshipTypes().stream()
+            .sorted(Comparator.comparing(RelationshipType::name))
+            .collect(Collectors.toList());
+    }
+
+    private List<String> relationshipPropertyKeys(RelationshipType type) {
+        return graphStore.relationshipPropertyKeys(type).stream().sorted().collect(Collectors.toList());
+    }
+
+    private static long sizeOf(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void write(Path file, FileWriter writer) {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static final class NodePropertyEntry {
+        final NodeLabel label;
+        final String key;
+        final ValueType type;
+
+        NodePropertyEntry(NodeLabel label, String key, ValueType type) {
+            this.label = label;
+            this.key = key;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Sequential reader over a memory-mapped file.
+ * Files larger than {@link #SEGMENT_SIZE} are mapped in consecutive segments,
+ * values that span two segments are read byte by byte.
+ */
+final class MappedFileReader implements AutoCloseable {
+
+    static final long SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private long segmentStart;
+    private MappedByteBuffer segment;
+
+    MappedFileReader(Path file) {
+        try {
+            this.channel = FileChannel.open(file, READ);
+            this.size = channel.size();
+            this.segmentStart = 0L;
+            this.segment = map(0L);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int readInt() {
+        if (segment.remaining() >= Integer.BYTES) {
+            return segment.getInt();
+        }
+        return (int) readSpanning(Integer.BYTES);
+    }
+
+    long readLong() {
+        if (segment.remaining() >= Long.BYTES) {
+            return segment.getLong();
+        }
+        return readSpanning(Long.BYTES);
+    }
+
+    double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    void readBytes(byte[] target, int offset, int length) {
+        while (length > 0) {
+            nextSegmentIfExhausted();
+            int toRead = Math.min(length, segment.remaining());
+            segment.get(target, offset, toRead);
+            offset += toRead;
+            length -= toRead;
+        }
+    }
+
+    void readLongs(long[] target, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            target[i] = readLong();
+        }
+    }
+
+    void readDoubles(double[] target, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            target[i] = readDouble();
+        }
+    }
+
+    /**
+     * Maps the next pages of the file instead of copying them to the heap.
+     * Consecutive pages share one mapping of at most {@link #SEGMENT_SIZE} bytes, a page never spans two mappings.
+     * The returned buffers stay valid after this reader is closed, a negative length denotes a missing page.
+     */
+    ByteBuffer[] mapPages(int[] pageLengths) {
+        ByteBuffer[] pages = new ByteBuffer[pageLengths.length];
+        long position = segmentStart + segment.position();
+        try {
+            int first = 0;
+            while (first < pageLengths.length) {
+                long length = 0L;
+                int end = first;
+                while (end < pageLengths.length && length + Math.max(0, pageLengths[end]) <= SEGMENT_SIZE) {
+                    length += Math.max(0, pageLengths[end]);
+                    end++;
+                }
+                if (position + length > size) {
+                    throw new IllegalStateException("Unexpected end of snapshot file.");
+                }
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int offset = 0;
+                for (int i = first; i < end; i++) {
+                    if (pageLengths[i] >= 0) {
+                        pages[i] = mapping.duplicate().position(offset).limit(offset + pageLengths[i]).slice();
+                        offset += pageLengths[i];
+                    }
+                }
+                position += length;
+                first = end;
+            }
+            segmentStart = position;
+            segment = map(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return pages;
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readSpanning(int bytes) {
+        long value = 0L;
+        for (int i = 0; i < bytes; i++) {
+            nextSegmentIfExhausted();
+            value = (value << 8) | (segment.get() & 0xFF);
+        }
+        return value;
+    }
+
+    private void nextSegmentIfExhausted() {
+        if (!segment.hasRemaining()) {
+            segmentStart += segment.capacity();
+            if (segmentStart >= size) {
+                throw new IllegalStateException("Unexpected end of snapshot file.");
+            }
+            try {
+                segment = map(segmentStart);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+    }
+}
@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import static org.neo4j.graphalgo.core.utils.ArrayUtil.MAX_ARRAY_LENGTH;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public final class HugeAtomicBitSet {
@@ -37,6 +38,11 @@ public final class HugeAtomicBitSet {
         return new HugeAtomicBitSet(HugeAtomicLongArray.newArray(wordsSize, tracker), size);
     }
 
+    public static long memoryEstimation(long size) {
+        var wordsSize = BitUtil.ceilDiv(size, NUM_BITS);
+        return sizeOfInstance(HugeAtomicBitSet.class) + HugeAtomicLongArray.memoryEstimation(wordsSize);
+    }
+
     private HugeAtomicBitSet(HugeAtomicLongArray bits, long numBits) {
         this.bits = bits;
         this.numBits = numBits;
@@ -53,6 +59,15 @@ public final class HugeAtomicBitSet {
         return (bits.get(wordIndex) & bitmask) != 0;
     }
 
+    /**
+     * Returns the word at the given word index. The word holds
+     * the bits from {@code wordIndex * 64} (inclusive) to
+     * {@code wordIndex * 64 + 64} (exclusive).
+     */
+    public long getWord(long wordIndex) {
+        return bits.get(wordIndex);
+    }
+
     /**
      * Sets the bit at the given index to true.
      */
@@ -97,7 +112,7 @@ public final class HugeAtomicBitSet {
         } else {
             // set within range
             setWord(startWordIndex, startBitMask);
-            for (long wordIndex = startWordIndex + 1; wordIndex <= endWordIndex; wordIndex++) {
+            for (long wordIndex = startWordIndex + 1; wordIndex < endWordIndex; wordIndex++) {
                 bits.set(wordIndex, -1L);
             }
             setWord(endWordIndex, endBitMask);
@@ -172,6 +187,30 @@ public final class HugeAtomicBitSet {
         }
     }
 
+    /**
+     * Returns the index of the first set bit that is greater than or equal
+     * to the given index, or {@code -1} if there is no such bit.
+     * <p>
+     * Note: bits that are concurrently set or cleared may or may not be observed.
+     */
+    public long nextSetBit(long index) {
+        if (index >= numBits) {
+            return -1;
+        }
+
+        long wordIndex = index / NUM_BITS;
+        long word = bits.get(wordIndex) & (-1L << index);
+
+        while (word == 0) {
+            if (++wordIndex == bits.size()) {
+                return -1;
+            }
+            word = bits.get(wordIndex);
+        }
+
+        return wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+    }
+
     /**
      * Returns the number of set bits in the bit set.
      * <p>
@@ -106,11 +106,48 @@ public final class HugeAtomicDisjointSetStruct implements DisjointSetStruct {
         maxCommunityId = new AtomicLong(communityMapping.getMaxLongPropertyValue().orElse(NO_SUCH_SEED_VALUE));
     }
 
+    private HugeAtomicDisjointSetStruct(
+        HugeAtomicLongArray parent,
+        HugeAtomicLongArray communities,
+        AtomicLong maxCommunityId
+    ) {
+        this.parent = parent;
+        this.communities = communities;
+        this.maxCommunityId = maxCommunityId;
+    }
+
+    /**
+     * Returns a copy of this struct in which every id points directly to the root of its set.
+     * The copy is only consistent if no other thread merges sets while it is created.
+     */
+    public HugeAtomicDisjointSetStruct copy(AllocationTracker tracker, int concurrency) {
+        long capacity = parent.size();
+        HugeAtomicLongArray parentCopy = HugeAtomicLongArray.newArray(
+            capacity,
+            LongPageCreator.of(concurrency, this::find),
+            tracker
+        );
+        if (communities == null) {
+            return new HugeAtomicDisjointSetStruct(parentCopy, null, null);
+        }
+        HugeAtomicLongArray communitiesCopy = HugeAtomicLongArray.newArray(
+            capacity,
+            LongPageCreator.of(concurrency, communities::get),
+            tracker
+        );
+        return new HugeAtomicDisjointSetStruct(parentCopy, communitiesCopy, new AtomicLong(maxCommunityId.get()));
+    }
+
     private long parent(long id) {
         return parent.get(id);
     }
 
-    private long find(long id) {
+    /**
+     * Find the root of the set that contains the given id.
+     * Unlike {@link #setIdOf(long)}, the root is not mapped to a seed community.
+     * The root of a set might change while other threads merge sets.
+     */
+    public long find(long id) {
         long parent;
         while (id != (parent = parent(id))) {
             long grandParent = parent(parent);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.partition;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.graphalgo.utils.StringFormatting.toUpperCaseWithLocale;
+
+/**
+ * Strategies to split the nodes of a graph into batches that are processed in parallel.
+ * <p>
+ * Both strategies create more batches than threads. The batches are meant to be
+ * claimed dynamically by the worker threads, e.g. via
+ * {@link org.neo4j.graphalgo.core.concurrency.ParallelUtil#parallelPartitionsConsume},
+ * so that threads which finish early continue with the remaining batches.
+ */
+public enum Partitioning {
+    /**
+     * Batches contain the same number of nodes.
+     */
+    RANGE {
+        @Override
+        public List<Partition> partition(Graph graph, int concurrency) {
+            long nodeCount = graph.nodeCount();
+            long batchSize = Math.max(1L, BitUtil.ceilDiv(nodeCount, (long) concurrency * BATCHES_PER_THREAD));
+            return PartitionUtils.rangePartition(concurrency, nodeCount, batchSize);
+        }
+    },
+    /**
+     * Batches contain roughly the same number of relationships.
+     * This is beneficial for graphs with a skewed degree distribution,
+     * where equally sized node ranges lead to very different workloads.
+     */
+    DEGREE {
+        @Override
+        public List<Partition> partition(Graph graph, int concurrency) {
+            long relationshipCount = graph.relationshipCount();
+            long batchSize = Math.max(1L, BitUtil.ceilDiv(relationshipCount, (long) concurrency * BATCHES_PER_THREAD));
+            return PartitionUtils.degreePartition(graph, batchSize);
+        }
+    };
+
+    static final int BATCHES_PER_THREAD = 16;
+
+    public abstract List<Partition> partition(Graph graph, int concurrency);
+
+    public static Partitioning of(String value) {
+        try {
+            return Partitioning.valueOf(toUpperCaseWithLocale(value));
+        } catch (IllegalArgumentException e) {
+            String availablePartitionings = Arrays
+                .stream(Partitioning.values())
+                .map(Partitioning::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Partitioning `%s` is not supported. Must be one of: %s.",
+                value,
+                availablePartitionings));
+        }
+    }
+
+    public static Partitioning parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof Partitioning) {
+            return (Partitioning) object;
+        }
+        return null;
+    }
+
+    public static String toString(Partitioning partitioning) {
+        return partitioning.toString();
+    }
+}
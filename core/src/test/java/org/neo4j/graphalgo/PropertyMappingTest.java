@@ -23,6 +23,9 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.compat.MapUtil;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.PropertyStorage;
+
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -68,6 +71,28 @@ class PropertyMappingTest {
         assertEquals(propertyMapping.defaultValue(), DefaultValue.of(42.0));
     }
 
+    @Test
+    void testFromObjectWithStorage() {
+        PropertyMapping propertyMapping = PropertyMapping.fromObject(
+            "transaction_count",
+            MapUtil.map(
+                "property", "usd",
+                "storage", "compressed"
+        ));
+        assertEquals(PropertyStorage.COMPRESSED, propertyMapping.storage());
+        assertEquals("COMPRESSED", ((Map<?, ?>) propertyMapping.toObject(false).getValue()).get("storage"));
+        assertEquals(PropertyStorage.DOUBLE, PropertyMapping.fromObject("transaction_count", "usd").storage());
+    }
+
+    @Test
+    void failsOnUnknownStorage() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class, () -> PropertyMapping.fromObject("transaction_count", MapUtil.map(
+                        "storage", "zip"
+                )));
+        assertThat(ex.getMessage(), containsString("Property storage `zip` is not supported. Must be one of: DOUBLE, FLOAT, COMPRESSED."));
+    }
+
     @Test
     void failsOnWrongKeyType() {
         IllegalArgumentException ex = assertThrows(
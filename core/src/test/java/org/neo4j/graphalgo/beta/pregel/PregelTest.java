@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.beta.pregel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
@@ -30,22 +31,27 @@ import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 import org.neo4j.graphalgo.extension.TestGraph;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.DOUBLE_ARRAY_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.DOUBLE_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.LONG_ARRAY_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.LONG_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.TestPregelComputation.KEY;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @GdlExtension
 class PregelTest {
@@ -98,6 +104,87 @@ class PregelTest {
         assertEquals(Double.NaN, nodeValues.doubleProperties(KEY).get(2L));
     }
 
+    @Test
+    void sendMessagesBeyondIncomingRelationships() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestSendTwice(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertArrayEquals(new double[]{0.0, 3.0, 3.0}, nodeValues.doubleProperties(KEY).toArray());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Partitioning.class)
+    void computeOnlyActiveNodes(Partitioning partitioning) {
+        int nodeCount = 5_000;
+        var gdl = new StringBuilder("CREATE (n0)");
+        for (int i = 1; i < nodeCount; i++) {
+            gdl.append(formatWithLocale(", (n%d)<-[:REL]-(n%d)", i, i - 1));
+        }
+        var chain = fromGdl(gdl.toString());
+
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(nodeCount)
+            .concurrency(4)
+            .partitioning(partitioning)
+            .build();
+
+        var pregelJob = Pregel.create(
+            chain,
+            config,
+            new TestForwardComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var result = pregelJob.run();
+        assertTrue(result.didConverge());
+
+        var nodeValues = result.nodeValues().doubleProperties(KEY);
+        for (int i = 0; i < nodeCount; i++) {
+            assertEquals(i, nodeValues.get(chain.toMappedNodeId(chain.toOriginalNodeId("n" + i))));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("reducers")
+    void reduceMessages(Reducer reducer, double[] expected) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestReduceComputation(reducer),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertArrayEquals(expected, nodeValues.doubleProperties(KEY).toArray());
+    }
+
+    static Stream<Arguments> reducers() {
+        return Stream.of(
+            Arguments.of(new Reducer.Sum(), new double[]{0.0, 3.0, 3.0}),
+            Arguments.of(new Reducer.Min(), new double[]{0.0, 1.0, 1.0}),
+            Arguments.of(new Reducer.Max(), new double[]{0.0, 2.0, 2.0}),
+            Arguments.of(new Reducer.Count(), new double[]{0.0, 2.0, 2.0})
+        );
+    }
+
     @Test
     void compositeNodeValueTest() {
         var config = ImmutableCompositeTestComputationConfig.builder()
@@ -135,15 +222,21 @@ class PregelTest {
 
     static Stream<Arguments> estimations() {
         return Stream.of(
-            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), 4_884_072L),
-            Arguments.of(10, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), 4_884_792L),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, false, 1_944_832L),
+            Arguments.of(10, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, false, 1_945_624L),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), true, false, 1_144_672L),
+            Arguments.of(10, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), true, false, 1_145_464L),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, true, 244_176L),
+            Arguments.of(10, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, true, 244_968L),
             Arguments.of(1, new NodeSchemaBuilder()
                     .putElement("key1", ValueType.LONG)
                     .putElement("key2", ValueType.DOUBLE)
                     .putElement("key3", ValueType.LONG_ARRAY)
                     .putElement("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
-                6_884_144L
+                false,
+                false,
+                3_944_904L
             ),
             Arguments.of(10, new NodeSchemaBuilder()
                     .putElement("key1", ValueType.LONG)
@@ -151,14 +244,32 @@ class PregelTest {
                     .putElement("key3", ValueType.LONG_ARRAY)
                     .putElement("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
-                6_884_864L
+                false,
+                false,
+                3_945_696L
+            ),
+            Arguments.of(1, new NodeSchemaBuilder()
+                    .putElement("key1", ValueType.LONG)
+                    .putElement("key2", ValueType.DOUBLE)
+                    .putElement("key3", ValueType.LONG_ARRAY)
+                    .putElement("key4", ValueType.DOUBLE_ARRAY)
+                    .build(),
+                true,
+                false,
+                3_144_744L
             )
         );
     }
 
     @ParameterizedTest
     @MethodSource("estimations")
-    void memoryEstimation(int concurrency, Pregel.NodeSchema nodeSchema, long expectedBytes) {
+    void memoryEstimation(
+        int concurrency,
+        Pregel.NodeSchema nodeSchema,
+        boolean isAsync,
+        boolean isReducing,
+        long expectedBytes
+    ) {
         var dimensions = ImmutableGraphDimensions.builder()
             .nodeCount(10_000)
             .maxRelCount(100_000)
@@ -166,7 +277,7 @@ class PregelTest {
 
         assertEquals(
             MemoryRange.of(expectedBytes).max,
-            Pregel.memoryEstimation(nodeSchema).estimate(dimensions, concurrency).memoryUsage().max
+            Pregel.memoryEstimation(nodeSchema, isAsync, isReducing).estimate(dimensions, concurrency).memoryUsage().max
         );
     }
 
@@ -186,6 +297,16 @@ class PregelTest {
                 ImmutablePregelConfig.builder().maxIterations(2).relationshipWeightProperty("prop").build(),
                 new TestWeightComputation(),
                 new double[]{0.0, 2.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).isAsynchronous(true).build(),
+                new TestPregelComputation(),
+                new double[]{0.0, 1.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).partitioning(Partitioning.DEGREE).build(),
+                new TestPregelComputation(),
+                new double[]{0.0, 1.0, 1.0}
             )
         );
     }
@@ -274,6 +395,59 @@ class PregelTest {
         }
     }
 
+    public static class TestSendTwice extends TestPregelComputation {
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.isInitialSuperstep()) {
+                context.setNodeValue(KEY, 0.0);
+                context.sendToNeighbors(1.0);
+                context.sendToNeighbors(2.0);
+            } else {
+                double messageSum = 0.0;
+                var iterator = messages.iterator();
+                while (iterator.hasNext()) {
+                    messageSum += iterator.nextDouble();
+                }
+                context.setNodeValue(KEY, messageSum);
+            }
+            context.voteToHalt();
+        }
+    }
+
+    public static class TestForwardComputation extends TestPregelComputation {
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.isInitialSuperstep()) {
+                context.setNodeValue(KEY, 0.0);
+                if (context.nodeId() == 0) {
+                    context.sendToNeighbors(1.0);
+                }
+            } else {
+                for (var message : messages) {
+                    context.setNodeValue(KEY, message);
+                    context.sendToNeighbors(message + 1);
+                }
+            }
+            context.voteToHalt();
+        }
+    }
+
+    public static class TestReduceComputation extends TestSendTwice {
+
+        private final Reducer reducer;
+
+        TestReduceComputation(Reducer reducer) {
+            this.reducer = reducer;
+        }
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(reducer);
+        }
+    }
+
     @ValueClass
     @Configuration
     @SuppressWarnings("immutables:subtype")
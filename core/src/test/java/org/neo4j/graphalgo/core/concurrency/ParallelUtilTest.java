@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.concurrency;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
@@ -28,12 +29,16 @@ import org.neo4j.function.ThrowingConsumer;
 import org.neo4j.graphalgo.api.BatchNodeIterable;
 import org.neo4j.graphalgo.core.loading.HugeParallelGraphImporter;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 
 import java.util.AbstractCollection;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -43,6 +48,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.locks.LockSupport;
@@ -68,6 +74,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.graphalgo.TestSupport.assertTransactionTermination;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.ExceptionUtil.throwIfUnchecked;
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStream;
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStreamConsume;
@@ -133,6 +140,34 @@ final class ParallelUtilTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(Partitioning.class)
+    void shouldVisitEachNodeOnce(Partitioning partitioning) {
+        var gdl = new StringBuilder("(hub)");
+        for (int i = 0; i < 1000; i++) {
+            gdl.append(formatWithLocale(", (hub)-->(n%d), (n%d)-->(n%d)", i, i, (i + 1) % 1000));
+        }
+        var graph = fromGdl(gdl.toString());
+
+        var visits = new AtomicIntegerArray((int) graph.nodeCount());
+        ParallelUtil.parallelForEachNode(graph, 4, partitioning, nodeId -> visits.incrementAndGet((int) nodeId));
+
+        for (int i = 0; i < visits.length(); i++) {
+            assertEquals(1, visits.get(i));
+        }
+    }
+
+    @Test
+    void shouldConsumeEachPartitionOnce() {
+        var partitions = PartitionUtils.rangePartition(4, 1000, 10);
+        var consumed = new ConcurrentLinkedQueue<Partition>();
+
+        ParallelUtil.parallelPartitionsConsume(partitions, 4, Pools.DEFAULT, consumed::add);
+
+        assertEquals(partitions.size(), consumed.size());
+        assertEquals(Set.copyOf(partitions), Set.copyOf(consumed));
+    }
+
     @Test
     void shouldTakeBaseStreams() {
         double[] data = {1.0, 2.5, 3.14};
@@ -21,16 +21,20 @@ package org.neo4j.graphalgo.core.huge;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.BaseTest;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.PropertyStorage;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -71,6 +75,59 @@ final class HugeGraphWeightTest extends BaseTest {
         loadGraph(db);
     }
 
+    @ParameterizedTest
+    @EnumSource(PropertyStorage.class)
+    void shouldLookupWeightsOfHighDegreeNode(PropertyStorage storage) {
+        int degree = 1000;
+        runInTransaction(db, tx -> {
+            var center = tx.createNode();
+            for (int i = 0; i < degree; i++) {
+                var leaf = tx.createNode();
+                if (i % 3 != 0) {
+                    center.createRelationshipTo(leaf, TYPE).setProperty("weight", (int) leaf.getId());
+                }
+            }
+        });
+
+        Graph graph = loadGraph(db, storage);
+        long center = graph.toMappedNodeId(0);
+
+        for (long leaf = 1; leaf <= degree; leaf++) {
+            long target = graph.toMappedNodeId(leaf);
+            boolean connected = (leaf - 1) % 3 != 0;
+            assertEquals(connected, graph.exists(center, target), "Wrong existence for (0)->(" + leaf + ")");
+            assertEquals(
+                connected ? leaf : 0.0,
+                graph.relationshipProperty(center, target, Double.NaN),
+                "Wrong propertyValue for (0)->(" + leaf + ")"
+            );
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PropertyStorage.class)
+    void shouldIterateWeightsWithPropertyStorage(PropertyStorage storage) {
+        int degree = 300;
+        runInTransaction(db, tx -> {
+            var center = tx.createNode();
+            for (int i = 0; i < degree; i++) {
+                var leaf = tx.createNode();
+                center.createRelationshipTo(leaf, TYPE).setProperty("weight", leaf.getId() / 3.0);
+            }
+        });
+
+        Graph graph = loadGraph(db, storage);
+        double delta = storage == PropertyStorage.FLOAT ? 1e-5 : 0.0;
+
+        var count = new long[1];
+        graph.forEachRelationship(graph.toMappedNodeId(0), Double.NaN, (src, tgt, weight) -> {
+            assertEquals(graph.toOriginalNodeId(tgt) / 3.0, weight, delta);
+            count[0]++;
+            return true;
+        });
+        assertEquals(degree, count[0]);
+    }
+
     private void mkDb(int nodes, int relsPerNode) {
         long[] nodeIds = new long[nodes];
 
@@ -100,9 +157,19 @@ final class HugeGraphWeightTest extends BaseTest {
     }
 
     private Graph loadGraph(final GraphDatabaseAPI db) {
+        return loadGraph(db, PropertyStorage.DOUBLE);
+    }
+
+    private Graph loadGraph(final GraphDatabaseAPI db, PropertyStorage storage) {
         return new StoreLoaderBuilder()
             .api(db)
-            .addRelationshipProperty(PropertyMapping.of("weight", 0))
+            .addRelationshipProperty(PropertyMapping.fromObject(
+                "weight",
+                Map.of(
+                    PropertyMapping.DEFAULT_VALUE_KEY, 0,
+                    PropertyMapping.STORAGE_KEY, storage.name()
+                )
+            ))
             .build()
             .graph();
     }
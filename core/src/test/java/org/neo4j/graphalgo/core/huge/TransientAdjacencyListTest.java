@@ -20,14 +20,19 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.Relationships;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.PropertyStorage;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.TrimmingDoubleCodec;
 import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
 import org.neo4j.graphalgo.core.loading.construction.NodesBuilder;
 import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
@@ -37,14 +42,22 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.CHUNK_SIZE;
 import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
 import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
 import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.computeAdjacencyByteSize;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.skipIndexByteSize;
+import static org.neo4j.graphalgo.core.loading.AdjacencyCompression.SKIP_ENTRY_BYTES;
+import static org.neo4j.graphalgo.core.loading.AdjacencyCompression.SKIP_INDEX_THRESHOLD;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 class TransientAdjacencyListTest {
@@ -90,6 +103,130 @@ class TransientAdjacencyListTest {
         assertEquals(64, adjacencyCursor.nextVLong());
     }
 
+    @Test
+    void shouldSkipUntilAcrossBlocksUsingSkipIndex() {
+        long[] targets = new long[20 * CHUNK_SIZE];
+        Arrays.setAll(targets, i -> 2L * i);
+        TransientAdjacencyList.DecompressingCursor adjacencyCursor = adjacencyCursorFromTargets(targets);
+
+        assertEquals(2 * 700 + 2, adjacencyCursor.skipUntil(2 * 700));
+        assertEquals(targets.length - 702, adjacencyCursor.remaining());
+        assertEquals(2 * 702, adjacencyCursor.nextVLong());
+
+        assertEquals(2 * 1000, adjacencyCursor.skipUntil(2 * 1000 - 1));
+        assertEquals(targets.length - 1001, adjacencyCursor.remaining());
+
+        adjacencyCursor.skipUntil(targets[targets.length - 1]);
+        assertFalse(adjacencyCursor.hasNextVLong());
+    }
+
+    @Test
+    void shouldAdvanceAcrossBlocksUsingSkipIndex() {
+        long[] targets = new long[20 * CHUNK_SIZE];
+        Arrays.setAll(targets, i -> 2L * i);
+        TransientAdjacencyList.DecompressingCursor adjacencyCursor = adjacencyCursorFromTargets(targets);
+
+        assertEquals(2 * 640, adjacencyCursor.advance(2 * 640));
+        assertEquals(targets.length - 641, adjacencyCursor.remaining());
+        assertEquals(2 * 641, adjacencyCursor.nextVLong());
+
+        assertEquals(2 * 1000, adjacencyCursor.advance(2 * 1000 - 1));
+        assertEquals(targets.length - 1001, adjacencyCursor.remaining());
+
+        for (int i = 1001; i < targets.length; i++) {
+            assertEquals(targets[i], adjacencyCursor.nextVLong());
+        }
+        assertFalse(adjacencyCursor.hasNextVLong());
+    }
+
+    @Test
+    void shouldNotFindMissingTargetUsingSkipIndex() {
+        long[] targets = new long[20 * CHUNK_SIZE];
+        Arrays.setAll(targets, i -> 2L * i);
+
+        assertEquals(AdjacencyCursor.NOT_FOUND, adjacencyCursorFromTargets(targets).indexOf(2 * 900 + 1));
+        assertEquals(AdjacencyCursor.NOT_FOUND, adjacencyCursorFromTargets(targets).indexOf(2L * targets.length));
+        assertEquals(900, adjacencyCursorFromTargets(targets).indexOf(2 * 900));
+        assertEquals(targets.length - 1, adjacencyCursorFromTargets(targets).indexOf(targets[targets.length - 1]));
+    }
+
+    @Test
+    void shouldFindFirstOfParallelTargetsAcrossBlocks() {
+        long[] targets = new long[20 * CHUNK_SIZE];
+        // targets 5 * CHUNK_SIZE - 2 until 5 * CHUNK_SIZE + 2 have the same value
+        Arrays.setAll(targets, i -> Math.abs(i - 5 * CHUNK_SIZE) < 3 ? 5 * CHUNK_SIZE - 2 : i);
+
+        assertEquals(5 * CHUNK_SIZE - 2, adjacencyCursorFromTargets(targets).indexOf(5 * CHUNK_SIZE - 2));
+        assertEquals(5 * CHUNK_SIZE + 3, adjacencyCursorFromTargets(targets).indexOf(5 * CHUNK_SIZE + 3));
+        assertEquals(AdjacencyCursor.NOT_FOUND, adjacencyCursorFromTargets(targets).indexOf(5 * CHUNK_SIZE));
+    }
+
+    @Test
+    void shouldReadTargetsOffHeap() throws IOException {
+        long[] targets = new long[20 * CHUNK_SIZE];
+        Arrays.setAll(targets, i -> 2L * i);
+        SourceAdjacency source = sourceAdjacencyFromTargets(targets);
+        long offset = source.offset;
+        TransientAdjacencyList offHeapList = offHeapCopy(source.list, PropertyStorage.DOUBLE);
+
+        assertTrue(offHeapList.isOffHeap());
+        assertEquals(targets.length, offHeapList.degree(offset));
+
+        TransientAdjacencyList.DecompressingCursor cursor = offHeapList.decompressingCursor(offset);
+        for (long target : targets) {
+            assertEquals(target, cursor.nextVLong());
+        }
+        assertFalse(cursor.hasNextVLong());
+
+        cursor = offHeapList.decompressingCursor(offset);
+        assertEquals(2 * 700 + 2, cursor.skipUntil(2 * 700));
+        assertEquals(2 * 1000, cursor.advance(2 * 1000 - 1));
+        assertEquals(targets.length - 1001, cursor.remaining());
+        assertEquals(900, offHeapList.decompressingCursor(offset).indexOf(2 * 900));
+        assertEquals(AdjacencyCursor.NOT_FOUND, offHeapList.decompressingCursor(offset).indexOf(2 * 900 + 1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PropertyStorage.class)
+    void shouldReadPropertiesOffHeap(PropertyStorage storage) throws IOException {
+        double[] values = {0.0, 1.0, -42.0, 1.5, 0.1, Math.PI, 1e300};
+        byte[] page = new byte[Integer.BYTES + values.length * Long.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(page).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(values.length);
+        for (double value : values) {
+            switch (storage) {
+                case FLOAT:
+                    buffer.putFloat((float) value);
+                    break;
+                case COMPRESSED:
+                    buffer.position(TrimmingDoubleCodec.instance().compressDouble(
+                        Double.doubleToRawLongBits(value),
+                        page,
+                        buffer.position()
+                    ));
+                    break;
+                default:
+                    buffer.putDouble(value);
+            }
+        }
+        TransientAdjacencyList heapList = new TransientAdjacencyList(new byte[][]{page}, storage);
+        TransientAdjacencyList offHeapList = offHeapCopy(heapList, storage);
+
+        TransientAdjacencyList.Cursor heapCursor = heapList.cursor(0);
+        TransientAdjacencyList.Cursor offHeapCursor = offHeapList.cursor(0);
+        assertEquals(values.length, offHeapCursor.length());
+        while (heapCursor.hasNextLong()) {
+            assertEquals(heapCursor.nextLong(), offHeapCursor.nextLong());
+        }
+        assertFalse(offHeapCursor.hasNextLong());
+
+        heapCursor = heapList.cursor(0);
+        offHeapCursor = offHeapList.cursor(0);
+        heapCursor.skip(4);
+        offHeapCursor.skip(4);
+        assertEquals(heapCursor.nextLong(), offHeapCursor.nextLong());
+    }
+
     @Test
     void shouldComputeCompressedMemoryEstimationForSinglePage() {
         GraphDimensions dimensions = ImmutableGraphDimensions.builder()
@@ -145,8 +282,9 @@ class TransientAdjacencyListTest {
         MemoryTree memRec = TransientAdjacencyList.compressedMemoryEstimation(false).estimate(dimensions, 1);
 
         long classSize = 24;
-        long bestCaseAdjacencySize = 100_500_000_000L;
-        long worstCaseAdjacencySize = 300_300_000_000L;
+        // 15 skip index entries of 12 bytes per adjacency list
+        long bestCaseAdjacencySize = 118_500_000_000L;
+        long worstCaseAdjacencySize = 318_300_000_000L;
 
         int minPages = PageUtil.numPagesFor(bestCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
         int maxPages = PageUtil.numPagesFor(worstCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
@@ -181,6 +319,46 @@ class TransientAdjacencyListTest {
         assertEquals(expected, memRec.memoryUsage());
     }
 
+    @Test
+    void shouldComputePropertiesMemoryEstimationForPropertyStorage() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(100_000_000_000L)
+            .build();
+
+        long classSize = 24;
+        long bytesPerPage = BitUtil.align(16 + 262144L, 8);
+        long degreesSize = 400_000_000L;
+
+        MemoryRange doubles = TransientAdjacencyList
+            .propertiesMemoryEstimation(RelationshipType.ALL_RELATIONSHIPS, false, PropertyStorage.DOUBLE)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+        MemoryRange floats = TransientAdjacencyList
+            .propertiesMemoryEstimation(RelationshipType.ALL_RELATIONSHIPS, false, PropertyStorage.FLOAT)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+        MemoryRange compressed = TransientAdjacencyList
+            .propertiesMemoryEstimation(RelationshipType.ALL_RELATIONSHIPS, false, PropertyStorage.COMPRESSED)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+
+        int doublePages = PageUtil.numPagesFor(800_000_000_000L + degreesSize, PAGE_SHIFT, PAGE_MASK);
+        int floatPages = PageUtil.numPagesFor(400_000_000_000L + degreesSize, PAGE_SHIFT, PAGE_MASK);
+        int minCompressedPages = PageUtil.numPagesFor(100_000_000_000L + degreesSize, PAGE_SHIFT, PAGE_MASK);
+        int maxCompressedPages = PageUtil.numPagesFor(900_000_000_000L + degreesSize, PAGE_SHIFT, PAGE_MASK);
+
+        assertEquals(MemoryRange.of(doublePages * bytesPerPage + BitUtil.align(16 + doublePages * 4, 8) + classSize), doubles);
+        assertEquals(MemoryRange.of(floatPages * bytesPerPage + BitUtil.align(16 + floatPages * 4, 8) + classSize), floats);
+        assertEquals(
+            MemoryRange.of(
+                minCompressedPages * bytesPerPage + BitUtil.align(16 + minCompressedPages * 4, 8) + classSize,
+                maxCompressedPages * bytesPerPage + BitUtil.align(16 + maxCompressedPages * 4, 8) + classSize
+            ),
+            compressed
+        );
+    }
+
     @Test
     void shouldComputeAdjacencyByteSize() {
         long avgDegree = 1000;
@@ -192,11 +370,21 @@ class TransientAdjacencyListTest {
         // int degreeByteSize = Integer.BYTES;
         int degreeByteSize = 4;
         long compressedAdjacencyByteSize = relationshipByteSize * (avgDegree - 1);
-        long expected = (degreeByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
+        // (avgDegree - 1) / BLOCK_SIZE entries of an int offset and a long target
+        long skipIndexByteSize = 15 * 12;
+        long expected = (degreeByteSize + skipIndexByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
 
         assertEquals(expected, computeAdjacencyByteSize(avgDegree, nodeCount, delta));
     }
 
+    @Test
+    void shouldComputeSkipIndexByteSize() {
+        assertEquals(0, skipIndexByteSize(0));
+        assertEquals(0, skipIndexByteSize(SKIP_INDEX_THRESHOLD));
+        assertEquals(4 * SKIP_ENTRY_BYTES, skipIndexByteSize(SKIP_INDEX_THRESHOLD + 1));
+        assertEquals(15 * SKIP_ENTRY_BYTES, skipIndexByteSize(1000));
+    }
+
     @Test
     void shouldComputeAdjacencyByteSizeNoNodes() {
         long avgDegree = 0;
@@ -213,14 +401,31 @@ class TransientAdjacencyListTest {
         assertEquals(400, computeAdjacencyByteSize(avgDegree, nodeCount, delta));
     }
 
+    private static TransientAdjacencyList offHeapCopy(TransientAdjacencyList list, PropertyStorage storage) throws IOException {
+        ByteBuffer[] pages = new ByteBuffer[list.pageCount()];
+        for (int i = 0; i < pages.length; i++) {
+            if (list.pageLength(i) >= 0) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                list.writePage(i, bytes);
+                pages[i] = ByteBuffer.allocateDirect(bytes.size()).put(bytes.toByteArray()).flip();
+            }
+        }
+        return TransientAdjacencyList.offHeap(pages, storage);
+    }
+
     private TransientAdjacencyList.DecompressingCursor adjacencyCursorFromTargets(long[] targets) {
+        SourceAdjacency source = sourceAdjacencyFromTargets(targets);
+        return source.list.decompressingCursor(source.offset);
+    }
+
+    private SourceAdjacency sourceAdjacencyFromTargets(long[] targets) {
         long sourceNodeId = targets[0];
         NodesBuilder nodesBuilder = GraphFactory.initNodesBuilder()
             .maxOriginalId(targets[targets.length - 1])
             .build();
 
-        for (long target : targets) {
-            nodesBuilder.addNode(target);
+        for (long nodeId = 0; nodeId <= targets[targets.length - 1]; nodeId++) {
+            nodesBuilder.addNode(nodeId);
         }
         IdMap idMap = nodesBuilder.build();
         RelationshipsBuilder relationshipsBuilder = new RelationshipsBuilder(
@@ -238,6 +443,16 @@ class TransientAdjacencyListTest {
         }
         Relationships relationships = relationshipsBuilder.build();
         long offset = relationships.topology().offsets().get(idMap.toMappedNodeId(sourceNodeId));
-        return (TransientAdjacencyList.DecompressingCursor) relationships.topology().list().decompressingCursor(offset);
+        return new SourceAdjacency((TransientAdjacencyList) relationships.topology().list(), offset);
+    }
+
+    private static final class SourceAdjacency {
+        final TransientAdjacencyList list;
+        final long offset;
+
+        SourceAdjacency(TransientAdjacencyList list, long offset) {
+            this.list = list;
+            this.offset = offset;
+        }
     }
 }
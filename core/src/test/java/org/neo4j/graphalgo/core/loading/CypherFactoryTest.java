@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.BaseTest;
 import org.neo4j.graphalgo.CypherLoaderBuilder;
 import org.neo4j.graphalgo.NodeLabel;
@@ -209,6 +210,53 @@ class CypherFactoryTest extends BaseTest {
         assertGraphEquals(fromGdl("(a { nodeProp: 42 })-[{ w: 21 }]->(a)"), graph);
     }
 
+    @Test
+    void loadGraphWithPartitionedRelationshipQuery() {
+        String nodeStatement = "MATCH (n) RETURN id(n) AS id";
+        String relStatement = "MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target, r.prop AS weight";
+        String partitionedRelStatement = "MATCH (n)-[r:REL]->(m) WHERE n.id % $partitionCount = $partition " +
+                                         "RETURN id(n) AS source, id(m) AS target, r.prop AS weight";
+
+        Graph expected = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .build()
+            .graph()
+        );
+
+        Graph partitioned = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(partitionedRelStatement)
+            .relationshipPartitions(4)
+            .concurrency(4)
+            .build()
+            .graph()
+        );
+
+        assertEquals(COUNT, partitioned.relationshipCount());
+        assertGraphEquals(expected, partitioned);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "MATCH (n)-->(m) RETURN id(n) AS source, id(m) AS target",
+        "MATCH (n)-->(m) WHERE id(n) % $partitionCount = 0 RETURN id(n) AS source, id(m) AS target"
+    })
+    void failOnPartitionedRelationshipQueryWithoutPartitionParameter(String relationshipQuery) {
+        IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> new CypherLoaderBuilder()
+                .api(db)
+                .relationshipQuery(relationshipQuery)
+                .relationshipPartitions(4)
+                .build()
+        );
+
+        assertTrue(ex.getMessage().contains("must use the `$partition` parameter"));
+    }
+
     @Test
     void testLoadingGraphWithLabelInformation() {
         clearDb();
@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.gdl.GdlFactory;
 import org.neo4j.kernel.database.DatabaseIdFactory;
 import org.neo4j.kernel.database.NamedDatabaseId;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -73,6 +74,43 @@ class GraphStoreCatalogTest {
         assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, GRAPH_NAME));
     }
 
+    @Test
+    void algorithmState() {
+        GraphStoreCatalog.set(CONFIG, graphStore);
+        assertEquals(Optional.empty(), GraphStoreCatalog.getAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class));
+
+        GraphStoreCatalog.computeAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class, state -> "state");
+        GraphStoreCatalog.computeAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, Long.class, state -> 42L);
+        assertEquals(Optional.of("state"), GraphStoreCatalog.getAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class));
+        assertEquals(Optional.of(42L), GraphStoreCatalog.getAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, Long.class));
+
+        GraphStoreCatalog.computeAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class, state -> "newState");
+        assertEquals(Optional.of("newState"), GraphStoreCatalog.getAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class));
+
+        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, graphStoreWithConfig -> {}, true);
+        GraphStoreCatalog.set(CONFIG, graphStore);
+        assertEquals(Optional.empty(), GraphStoreCatalog.getAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class));
+    }
+
+    @Test
+    void computeAlgorithmState() {
+        GraphStoreCatalog.set(CONFIG, graphStore);
+
+        assertEquals("state", GraphStoreCatalog.computeAlgorithmStateIfAbsent(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class, () -> "state"));
+        assertEquals("state", GraphStoreCatalog.computeAlgorithmStateIfAbsent(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class, () -> "otherState"));
+        assertEquals(
+            "state, updated",
+            GraphStoreCatalog.computeAlgorithmState(
+                USER_NAME,
+                DATABASE_ID,
+                GRAPH_NAME,
+                String.class,
+                state -> state.map(s -> s + ", updated").orElse("newState")
+            )
+        );
+        assertEquals(Optional.of("state, updated"), GraphStoreCatalog.getAlgorithmState(USER_NAME, DATABASE_ID, GRAPH_NAME, String.class));
+    }
+
     @Test
     void graphStoresCount() {
         assertEquals(0, GraphStoreCatalog.graphStoresCount(DATABASE_ID));
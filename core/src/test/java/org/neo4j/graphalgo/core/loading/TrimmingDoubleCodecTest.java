@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class TrimmingDoubleCodecTest extends DoubleCodecTestBase {
+
+    TrimmingDoubleCodecTest() {
+        super(TrimmingDoubleCodec.instance());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0.0, 1",
+        "1.0, 2",
+        "-1.0, 2",
+        "255.0, 2",
+        "256.0, 3",
+        "-0.0, 2",
+        "0.5, 3",
+        "1.25, 3",
+        "0.1, 9",
+        "9007199254740992.0, 3",
+        "-9223372036854775808.0, 3"
+    })
+    void shouldTrimRedundantBytes(double value, int expectedSize) {
+        byte[] compressed = TrimmingDoubleCodec.instance().compressDouble(value);
+        assertEquals(expectedSize, compressed.length);
+        assertEquals(
+            Double.doubleToRawLongBits(value),
+            Double.doubleToRawLongBits(TrimmingDoubleCodec.instance().decompressDouble(compressed))
+        );
+    }
+}
@@ -21,9 +21,15 @@ package org.neo4j.graphalgo.core.utils;
 
 import com.carrotsearch.hppc.LongHashSet;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class IntersectionTest {
@@ -75,4 +81,113 @@ class IntersectionTest {
             assertEquals(row[2][0], Intersections.intersection4(row[0],row[1]), Arrays.toString(row));
         }
     }
+
+    @Test
+    void intersectionOfRanges() {
+        for (long[][] row : data) {
+            long[] targets1 = padded(row[0]);
+            long[] targets2 = padded(row[1]);
+            assertEquals(
+                row[2][0],
+                Intersections.intersection(targets1, 1, targets1.length - 1, targets2, 1, targets2.length - 1),
+                Arrays.toString(row)
+            );
+        }
+    }
+
+    @Test
+    void intersectionOfRangesWithSkewedLengths() {
+        long[] large = LongStream.range(0, 1000).map(i -> 3 * i).toArray();
+        long[] small = {-1, 0, 4, 6, 299, 300, 2997, 3000};
+
+        assertEquals(4, Intersections.intersection(small, 0, small.length, large, 0, large.length));
+        assertEquals(4, Intersections.intersection(large, 0, large.length, small, 0, small.length));
+        assertEquals(2, Intersections.intersection(small, 0, 4, large, 0, large.length));
+        assertEquals(1, Intersections.intersection(small, 0, small.length, large, 500, large.length));
+    }
+
+    @Test
+    void shouldMergeIntRanges() {
+        int[] a = {1, 3, 5, 7, 9};
+        int[] b = {0, 3, 4, 5, 9, 10};
+        int[] out = new int[5];
+
+        int count = Intersections.merge(a, 0, a.length, b, 0, b.length, out);
+
+        assertArrayEquals(new int[]{3, 5, 9}, Arrays.copyOf(out, count));
+    }
+
+    @Test
+    void shouldGallopThroughLongerIntRange() {
+        int[] small = {2, 64, 65, 999};
+        int[] large = IntStream.range(0, 1000).filter(i -> i % 2 == 0).toArray();
+        int[] out = new int[small.length];
+
+        int count = Intersections.gallop(small, 0, small.length, large, 0, large.length, out);
+
+        assertArrayEquals(new int[]{2, 64}, Arrays.copyOf(out, count));
+    }
+
+    @Test
+    void shouldRespectIntRanges() {
+        int[] a = {1, 2, 3, 4, 5};
+        int[] b = {1, 2, 3, 4, 5};
+        int[] out = new int[5];
+
+        assertEquals(2, Intersections.intersection(a, 1, 3, b, 0, 5, out));
+        assertArrayEquals(new int[]{2, 3}, Arrays.copyOf(out, 2));
+        assertEquals(0, Intersections.intersection(a, 0, 2, b, 2, 5, out));
+        assertEquals(0, Intersections.intersection(a, 2, 2, b, 0, 5, out));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100, 1000})
+    void shouldMatchNaiveIntersection(int smallLength) {
+        Random random = new Random(42L);
+        for (int run = 0; run < 100; run++) {
+            int[] small = randomSortedSet(random, smallLength, 10_000);
+            int[] large = randomSortedSet(random, 1000, 10_000);
+            int[] expected = Arrays.stream(small).filter(value -> Arrays.binarySearch(large, value) >= 0).toArray();
+
+            int[] out = new int[Math.min(small.length, large.length)];
+            int count = Intersections.intersection(small, 0, small.length, large, 0, large.length, out);
+            assertArrayEquals(expected, Arrays.copyOf(out, count));
+
+            count = Intersections.merge(small, 0, small.length, large, 0, large.length, out);
+            assertArrayEquals(expected, Arrays.copyOf(out, count));
+
+            count = Intersections.gallop(small, 0, small.length, large, 0, large.length, out);
+            assertArrayEquals(expected, Arrays.copyOf(out, count));
+
+            long[] smallLongs = Arrays.stream(small).asLongStream().toArray();
+            long[] largeLongs = Arrays.stream(large).asLongStream().toArray();
+            assertEquals(expected.length, Intersections.intersection(smallLongs, 0, smallLongs.length, largeLongs, 0, largeLongs.length));
+            assertEquals(expected.length, Intersections.merge(smallLongs, 0, smallLongs.length, largeLongs, 0, largeLongs.length));
+            assertEquals(expected.length, Intersections.gallop(smallLongs, 0, smallLongs.length, largeLongs, 0, largeLongs.length));
+        }
+    }
+
+    @Test
+    void dotProductOfRanges() {
+        float[] vector1 = {9, 1, 2, 3, 4, 5, 6, 7};
+        float[] vector2 = {1, 1, 1, 2, 2, 2, 2};
+
+        // 1 + 2 + 3 + 8 + 10 + 12 + 14, covering both the unrolled loop and the remainder
+        assertEquals(50F, Intersections.dotProduct(vector1, 1, vector2, 0, 7));
+        assertEquals(6F, Intersections.dotProduct(vector1, 1, vector2, 0, 3));
+        assertEquals(0F, Intersections.dotProduct(vector1, 1, vector2, 0, 0));
+    }
+
+    private static int[] randomSortedSet(Random random, int length, int bound) {
+        return random.ints(length, 0, bound).sorted().distinct().toArray();
+    }
+
+    // surrounds the values with ones that must not be counted
+    private static long[] padded(long[] values) {
+        long[] padded = new long[values.length + 2];
+        System.arraycopy(values, 0, padded, 1, values.length);
+        padded[0] = 1;
+        padded[padded.length - 1] = 1;
+        return padded;
+    }
 }
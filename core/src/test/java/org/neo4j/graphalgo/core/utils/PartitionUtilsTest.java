@@ -28,12 +28,14 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.core.utils.partition.Partitioning;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -153,4 +155,44 @@ class PartitionUtilsTest {
         assertEquals(3, partitions.get(0).nodeCount());
     }
 
+    @Test
+    void testRangePartitioningCreatesMultipleBatchesPerThread() {
+        Graph graph = fromGdl("(a)-->(b), (c), (d), (e), (f), (g), (h)");
+
+        List<Partition> partitions = Partitioning.RANGE.partition(graph, 2);
+        assertEquals(8, partitions.size());
+        assertEquals(
+            graph.nodeCount(),
+            partitions.stream().mapToLong(Partition::nodeCount).sum()
+        );
+    }
+
+    @Test
+    void testDegreePartitioningIsolatesHighDegreeNodes() {
+        var gdl = new StringBuilder("(hub)");
+        for (int i = 0; i < 100; i++) {
+            gdl.append(formatWithLocale(", (hub)-->(n%d)", i));
+        }
+        Graph graph = fromGdl(gdl.toString());
+
+        List<Partition> partitions = Partitioning.DEGREE.partition(graph, 4);
+
+        var hubPartition = partitions.get(0);
+        assertEquals(0, hubPartition.startNode());
+        assertEquals(1, hubPartition.nodeCount());
+        assertEquals(
+            graph.nodeCount(),
+            partitions.stream().mapToLong(Partition::nodeCount).sum()
+        );
+    }
+
+    @Test
+    void testPartitioningParsing() {
+        assertEquals(Partitioning.RANGE, Partitioning.parse("range"));
+        assertEquals(Partitioning.DEGREE, Partitioning.parse("DEGREE"));
+        assertEquals(Partitioning.DEGREE, Partitioning.parse(Partitioning.DEGREE));
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> Partitioning.parse("random"));
+        assertEquals("Partitioning `random` is not supported. Must be one of: RANGE, DEGREE.", exception.getMessage());
+    }
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreWithConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.gdl.ImmutableGraphCreateFromGdlConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.extension.GdlSupportExtension.DATABASE_ID;
+
+@GdlExtension
+class GraphStoreSnapshotTest {
+
+    @GdlGraph
+    private static final String GRAPH =
+        "CREATE" +
+        "  (a:A { prop1: 42, prop2: 1.5 })" +
+        ", (b:A { prop1: 43, prop2: 2.5 })" +
+        ", (c:B { prop1: 44, prop2: 3.5 })" +
+        ", (d:B { prop1: 45, prop2: 4.5 })" +
+        ", (a)-[:REL1 { weight: 1.0 }]->(b)" +
+        ", (a)-[:REL1 { weight: 2.0 }]->(c)" +
+        ", (b)-[:REL1 { weight: 3.0 }]->(d)" +
+        ", (c)-[:REL2 { weight: 4.0 }]->(a)" +
+        ", (d)-[:REL2 { weight: 5.0 }]->(a)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRoundTripGraphStore() {
+        var directory = tempDir.resolve("graph");
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+
+        new GraphStoreSnapshotWriter(withConfig(graphStore, storeConfig()), directory, config).run();
+        var actual = new GraphStoreSnapshotReader(directory, config).read(DATABASE_ID, AllocationTracker.empty());
+        var actualGraphStore = actual.graphStore();
+
+        assertEquals(graphStore.nodeCount(), actualGraphStore.nodeCount());
+        assertEquals(graphStore.relationshipCount(), actualGraphStore.relationshipCount());
+        assertEquals(graphStore.nodeLabels(), actualGraphStore.nodeLabels());
+        assertEquals(graphStore.relationshipTypes(), actualGraphStore.relationshipTypes());
+        assertEquals(graphStore.schema(), actualGraphStore.schema());
+        assertGraphEquals(graphStore.getUnion(), actualGraphStore.getUnion());
+
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertEquals(
+                graphStore.nodes().toOriginalNodeId(nodeId),
+                actualGraphStore.nodes().toOriginalNodeId(nodeId)
+            );
+            for (String propertyKey : List.of("prop1", "prop2")) {
+                assertEquals(
+                    graphStore.nodePropertyValues(propertyKey).value(nodeId),
+                    actualGraphStore.nodePropertyValues(propertyKey).value(nodeId)
+                );
+            }
+        }
+
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            assertGraphEquals(
+                graphStore.getGraph(relationshipType, Optional.of("weight")),
+                actualGraphStore.getGraph(relationshipType, Optional.of("weight"))
+            );
+        }
+
+        assertEquals("graph", actual.config().graphName());
+        assertThat(actual.config()).isInstanceOf(GraphCreateFromStoreConfig.class);
+    }
+
+    @Test
+    void shouldReadAdjacencyListsOffHeap() {
+        var directory = tempDir.resolve("graph");
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+        var offHeapConfig = GraphStoreSnapshotConfig.of("", CypherMapWrapper.create(Map.of("offHeap", true)));
+
+        new GraphStoreSnapshotWriter(withConfig(graphStore, storeConfig()), directory, config).run();
+        var actualGraphStore = new GraphStoreSnapshotReader(directory, offHeapConfig)
+            .read(DATABASE_ID, AllocationTracker.empty())
+            .graphStore();
+
+        assertGraphEquals(graphStore.getUnion(), actualGraphStore.getUnion());
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            assertGraphEquals(
+                graphStore.getGraph(relationshipType, Optional.of("weight")),
+                actualGraphStore.getGraph(relationshipType, Optional.of("weight"))
+            );
+        }
+
+        // an off-heap graph can be persisted again
+        var copyDirectory = tempDir.resolve("copy");
+        new GraphStoreSnapshotWriter(withConfig(actualGraphStore, storeConfig()), copyDirectory, config).run();
+        var copiedGraphStore = new GraphStoreSnapshotReader(copyDirectory, config)
+            .read(DATABASE_ID, AllocationTracker.empty())
+            .graphStore();
+        assertGraphEquals(graphStore.getUnion(), copiedGraphStore.getUnion());
+    }
+
+    @Test
+    void shouldRoundTripArrayProperties() {
+        var directory = tempDir.resolve("arrays");
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+        var arrayGraphStore = GdlFactory.of(
+            "(a { doubles: [1.0, 2.0], longs: [1L, 2L, 3L] })" +
+            ", (b { doubles: [3.0], longs: [4L] })" +
+            ", (a)-->(b)"
+        ).build().graphStore();
+
+        new GraphStoreSnapshotWriter(withConfig(arrayGraphStore, storeConfig()), directory, config).run();
+        var actualGraphStore = new GraphStoreSnapshotReader(directory, config)
+            .read(DATABASE_ID, AllocationTracker.empty())
+            .graphStore();
+
+        for (long nodeId = 0; nodeId < arrayGraphStore.nodeCount(); nodeId++) {
+            for (String propertyKey : List.of("doubles", "longs")) {
+                assertEquals(
+                    arrayGraphStore.nodePropertyValues(propertyKey).value(nodeId),
+                    actualGraphStore.nodePropertyValues(propertyKey).value(nodeId)
+                );
+            }
+        }
+        assertGraphEquals(arrayGraphStore.getUnion(), actualGraphStore.getUnion());
+    }
+
+    @Test
+    void shouldRestoreMutatedProperties() {
+        var directory = tempDir.resolve("graph");
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+
+        var values = HugeLongArray.of(1, 2, 3, 4);
+        graphStore.addNodeProperty(NodeLabel.of("A"), "mutated", values.asNodeProperties());
+        graphStore.addNodeProperty(NodeLabel.of("B"), "mutated", values.asNodeProperties());
+
+        new GraphStoreSnapshotWriter(withConfig(graphStore, storeConfig()), directory, config).run();
+        var actualGraphStore = new GraphStoreSnapshotReader(directory, config)
+            .read(DATABASE_ID, AllocationTracker.empty())
+            .graphStore();
+
+        assertEquals(GraphStore.PropertyState.TRANSIENT, actualGraphStore.nodePropertyState("mutated"));
+        assertEquals(GraphStore.PropertyState.PERSISTENT, actualGraphStore.nodePropertyState("prop1"));
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertEquals(
+                graphStore.nodePropertyValues("mutated").longValue(nodeId),
+                actualGraphStore.nodePropertyValues("mutated").longValue(nodeId)
+            );
+        }
+    }
+
+    @Test
+    void shouldDescribeGraphsWithoutProjectionBySchema() {
+        var directory = tempDir.resolve("graph");
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+
+        var gdlConfig = ImmutableGraphCreateFromGdlConfig.builder()
+            .username("")
+            .graphName("graph")
+            .gdlGraph(GRAPH)
+            .build();
+        new GraphStoreSnapshotWriter(withConfig(graphStore, gdlConfig), directory, config).run();
+        var actualConfig = (GraphCreateFromStoreConfig) new GraphStoreSnapshotReader(directory, config)
+            .read(DATABASE_ID, AllocationTracker.empty())
+            .config();
+
+        assertEquals(Set.of(NodeLabel.of("A"), NodeLabel.of("B")), actualConfig.nodeProjections().projections().keySet());
+        assertEquals(
+            Set.of(RelationshipType.of("REL1"), RelationshipType.of("REL2")),
+            actualConfig.relationshipProjections().projections().keySet()
+        );
+    }
+
+    @Test
+    void shouldNotOverwriteExistingSnapshotByDefault() throws Exception {
+        var directory = tempDir.resolve("graph");
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+        var graphStoreWithConfig = withConfig(graphStore, storeConfig());
+
+        new GraphStoreSnapshotWriter(graphStoreWithConfig, directory, config).run();
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new GraphStoreSnapshotWriter(graphStoreWithConfig, directory, config).run()
+        );
+        assertThat(exception).hasMessageContaining("already exists");
+
+        var overwriteConfig = GraphStoreSnapshotConfig.of("", CypherMapWrapper.create(Map.of("overwrite", true)));
+        long size = new GraphStoreSnapshotWriter(graphStoreWithConfig, directory, overwriteConfig).run();
+        assertThat(size).isPositive();
+        assertThat(Files.list(tempDir).map(path -> path.getFileName().toString())).containsExactly("graph");
+    }
+
+    @Test
+    void shouldFailOnMissingSnapshot() {
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.empty());
+        var reader = new GraphStoreSnapshotReader(tempDir.resolve("missing"), config);
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> reader.read(DATABASE_ID, AllocationTracker.empty())
+        );
+        assertThat(exception).hasMessageContaining("No snapshot found");
+    }
+
+    @Test
+    void shouldEncodeDirectoryNames() {
+        var directory = GraphStoreSnapshot.directory(tempDir, "alice", "neo4j", "my/graph");
+        assertEquals(tempDir.resolve("alice").resolve("neo4j").resolve("my%2Fgraph"), directory);
+    }
+
+    @Test
+    void shouldEncodeRelativeDirectoryNames() {
+        var databaseDirectory = tempDir.resolve("alice").resolve("neo4j");
+        assertEquals(databaseDirectory.resolve("%2E"), GraphStoreSnapshot.directory(tempDir, "alice", "neo4j", "."));
+        assertEquals(databaseDirectory.resolve("%2E%2E"), GraphStoreSnapshot.directory(tempDir, "alice", "neo4j", ".."));
+        assertEquals(databaseDirectory.resolve("g%2Etmp"), GraphStoreSnapshot.directory(tempDir, "alice", "neo4j", "g.tmp"));
+        assertEquals(tempDir.resolve("%").resolve("neo4j").resolve("g"), GraphStoreSnapshot.directory(tempDir, "", "neo4j", "g"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"g.tmp", ".", ".."})
+    void shouldNotTouchSnapshotsOfOtherGraphs(String otherGraphName) {
+        var config = GraphStoreSnapshotConfig.of("", CypherMapWrapper.create(Map.of("overwrite", true)));
+        var graphStoreWithConfig = withConfig(graphStore, storeConfig());
+        var directory = GraphStoreSnapshot.directory(tempDir, "alice", "neo4j", "g");
+        var otherDirectory = GraphStoreSnapshot.directory(tempDir, "alice", "neo4j", otherGraphName);
+
+        new GraphStoreSnapshotWriter(graphStoreWithConfig, directory, config).run();
+        new GraphStoreSnapshotWriter(graphStoreWithConfig, otherDirectory, config).run();
+        new GraphStoreSnapshotWriter(graphStoreWithConfig, directory, config).run();
+        new GraphStoreSnapshotWriter(graphStoreWithConfig, otherDirectory, config).run();
+
+        for (Path snapshot : List.of(directory, otherDirectory)) {
+            var actual = new GraphStoreSnapshotReader(snapshot, config).read(DATABASE_ID, AllocationTracker.empty());
+            assertEquals(graphStore.relationshipCount(), actual.graphStore().relationshipCount());
+        }
+        assertThat(directory.getParent().toFile().list()).containsExactlyInAnyOrder(
+            directory.getFileName().toString(),
+            otherDirectory.getFileName().toString()
+        );
+    }
+
+    @Test
+    void shouldRoundTripProjectionValues() throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        var value = Map.of(
+            "list", List.of("a", 1L, 2.5, true),
+            "nested", Map.of("key", "value"),
+            "array", new double[]{1.0, 2.0}
+        );
+        GraphStoreSnapshot.writeValue(new DataOutputStream(bytes), value);
+        var actual = GraphStoreSnapshot.readValue(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(
+            Map.of(
+                "list", List.of("a", 1L, 2.5, true),
+                "nested", Map.of("key", "value"),
+                "array", List.of(1.0, 2.0)
+            ),
+            actual
+        );
+    }
+
+    private static GraphCreateFromStoreConfig storeConfig() {
+        return GraphCreateFromStoreConfig.of(
+            "",
+            "graph",
+            List.of("A", "B"),
+            Map.of(
+                "REL1", Map.of("properties", "weight"),
+                "REL2", Map.of("properties", "weight")
+            ),
+            CypherMapWrapper.empty()
+        );
+    }
+
+    private static GraphStoreWithConfig withConfig(GraphStore graphStore, GraphCreateConfig config) {
+        return ImmutableGraphStoreWithConfig.of(graphStore, config);
+    }
+}
@@ -50,6 +50,36 @@ class HugeAtomicBitSetTest {
         assertFalse(bitSet.get(9));
     }
 
+    @Test
+    void testGetWord() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        bitSet.set(1);
+        bitSet.set(63);
+        bitSet.set(64);
+        bitSet.set(199);
+        assertEquals((1L << 1) | (1L << 63), bitSet.getWord(0));
+        assertEquals(1L, bitSet.getWord(1));
+        assertEquals(0L, bitSet.getWord(2));
+        assertEquals(1L << (199 - 3 * 64), bitSet.getWord(3));
+    }
+
+    @Test
+    void testNextSetBit() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        bitSet.set(1);
+        bitSet.set(63);
+        bitSet.set(64);
+        bitSet.set(199);
+        assertEquals(1L, bitSet.nextSetBit(0));
+        assertEquals(1L, bitSet.nextSetBit(1));
+        assertEquals(63L, bitSet.nextSetBit(2));
+        assertEquals(64L, bitSet.nextSetBit(64));
+        assertEquals(199L, bitSet.nextSetBit(65));
+        assertEquals(-1L, bitSet.nextSetBit(200));
+        bitSet.clear(199);
+        assertEquals(-1L, bitSet.nextSetBit(65));
+    }
+
     @Test
     void getAndSetReturnsTrueIfTheBitWasSet() {
         var bitSet = HugeAtomicBitSet.create(1, AllocationTracker.empty());
@@ -85,6 +115,16 @@ class HugeAtomicBitSetTest {
         }
     }
 
+    @ParameterizedTest
+    @CsvSource({"0,1337", "0,1336", "70,140", "3,200"})
+    void setRangeDoesNotSetBitsBeyondEndIndex(int startIndex, int endIndex) {
+        var bitSet = HugeAtomicBitSet.create(1337, AllocationTracker.empty());
+        bitSet.set(startIndex, endIndex);
+        assertEquals(endIndex - startIndex, bitSet.cardinality());
+        assertEquals(startIndex, bitSet.nextSetBit(0));
+        assertEquals(-1L, bitSet.nextSetBit(endIndex));
+    }
+
     @Test
     void setRangeParallel() {
         var bitSet = HugeAtomicBitSet.create(128, AllocationTracker.empty());
@@ -19,12 +19,32 @@
  */
 package org.neo4j.graphalgo.core.utils.paged.dss;
 
+import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 class HugeAtomicDisjointSetStructTest extends DisjointSetStructTest {
 
     @Override
     DisjointSetStruct newSet(int capacity) {
         return new HugeAtomicDisjointSetStruct(capacity, AllocationTracker.empty(), 4);
     }
+
+    @Test
+    void copyIsIndependentOfTheOriginal() {
+        var dss = new HugeAtomicDisjointSetStruct(4, AllocationTracker.empty(), 4);
+        dss.union(0, 1);
+        dss.union(1, 2);
+
+        var copy = dss.copy(AllocationTracker.empty(), 4);
+        dss.union(2, 3);
+
+        assertEquals(4, copy.size());
+        assertEquals(copy.setIdOf(0), copy.setIdOf(2));
+        assertFalse(copy.sameSet(0, 3));
+        assertTrue(dss.sameSet(0, 3));
+    }
 }
@@ -82,7 +82,9 @@ public class EstimationCli implements Runnable {
     private static final double DEFAULT_PEAK_MEMORY_FACTOR = 1.0;
     public static final List<String> EXCLUDED_PROCEDURE_PREFIXES = List.of(
         "gds.testProc.test.estimate",
-        "gds.beta.graphSage"
+        "gds.beta.graphSage",
+        // requires source node sets, which cannot be derived from node and relationship counts
+        "gds.alpha.pageRank.personalized"
     );
 
     @CommandLine.Spec
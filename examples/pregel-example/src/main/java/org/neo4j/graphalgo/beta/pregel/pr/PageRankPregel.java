@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.beta.pregel.Pregel;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
+import org.neo4j.graphalgo.beta.pregel.Reducer;
 import org.neo4j.graphalgo.beta.pregel.annotation.GDSMode;
 import org.neo4j.graphalgo.beta.pregel.annotation.PregelProcedure;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
@@ -88,6 +89,11 @@ public class PageRankPregel implements PregelComputation<PageRankPregel.PageRank
         }
     }
 
+    @Override
+    public Optional<Reducer> reducer() {
+        return Optional.of(new Reducer.Sum());
+    }
+
     @Override
     public double applyRelationshipWeight(double nodeValue, double relationshipWeight) {
         // ! assuming normalized relationshipWeights (sum of outgoing edge weights = 1 and none negative weights)
@@ -205,8 +205,11 @@ abstract class ProcedureGenerator extends PregelGenerator {
                 .addModifiers(Modifier.PUBLIC)
                 .returns(MemoryEstimation.class)
                 .addParameter(pregelSpec.configTypeName(), "configuration")
-                .addStatement("var nodeSchema = new $T().nodeSchema()", computationClassName(pregelSpec, ""))
-                .addStatement("return $T.memoryEstimation(nodeSchema)", Pregel.class)
+                .addStatement("var computation = new $T()", computationClassName(pregelSpec, ""))
+                .addStatement(
+                    "return $T.memoryEstimation(computation.nodeSchema(), configuration.isAsynchronous(), computation.reducer().isPresent())",
+                    Pregel.class
+                )
                 .build()
             )
             .build();
@@ -71,8 +71,8 @@ public final class ComputationMutateProc extends PregelMutateProc<ComputationAlg
 
             @Override
             public MemoryEstimation memoryEstimation(PregelConfig configuration) {
-                var nodeSchema = new Computation().nodeSchema();
-                return Pregel.memoryEstimation(nodeSchema);
+                var computation = new Computation();
+                return Pregel.memoryEstimation(computation.nodeSchema(), configuration.isAsynchronous(), computation.reducer().isPresent());
             }
         };
     }
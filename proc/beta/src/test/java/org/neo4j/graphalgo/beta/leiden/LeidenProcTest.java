@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+import static org.neo4j.graphalgo.GdsCypher.ExecutionModes.WRITE;
+
+class LeidenProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name:'a', seed: 0})" +
+        ", (b:Node {name:'b', seed: 0})" +
+        ", (c:Node {name:'c', seed: 2})" +
+        ", (d:Node {name:'d', seed: 2})" +
+        ", (e:Node {name:'e', seed: 2})" +
+        ", (f:Node {name:'f', seed: 2})" +
+        ", (a)-[:TYPE {weight: 0.01}]->(b)" +
+        ", (a)-[:TYPE {weight: 5.0}]->(e)" +
+        ", (a)-[:TYPE {weight: 5.0}]->(f)" +
+        ", (b)-[:TYPE {weight: 5.0}]->(c)" +
+        ", (b)-[:TYPE {weight: 5.0}]->(d)" +
+        ", (c)-[:TYPE {weight: 0.01}]->(e)" +
+        ", (f)-[:TYPE {weight: 0.01}]->(d)";
+
+    private static final long[][] WEIGHTED_COMMUNITIES = {new long[]{0, 4, 5}, new long[]{1, 2, 3}};
+
+    private static final String GRAPH_NAME = "myGraph";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            LeidenStreamProc.class,
+            LeidenMutateProc.class,
+            LeidenWriteProc.class,
+            GraphCreateProc.class
+        );
+        runQuery(DB_CYPHER);
+        runQuery(GdsCypher.call()
+            .withNodeProperty("seed")
+            .withRelationshipProperty("weight")
+            .loadEverything(Orientation.UNDIRECTED)
+            .graphCreate(GRAPH_NAME)
+            .yields());
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        String query = GdsCypher.call()
+            .explicitCreation(GRAPH_NAME)
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .addParameter("relationshipWeightProperty", "weight")
+            .yields("nodeId", "communityId");
+
+        long[] communities = new long[6];
+        runQueryWithRowConsumer(query, row -> communities[row.getNumber("nodeId").intValue()] = row
+            .getNumber("communityId")
+            .longValue());
+
+        assertCommunities(communities, WEIGHTED_COMMUNITIES);
+    }
+
+    @Test
+    void testStreamSeeded() {
+        String query = GdsCypher.call()
+            .explicitCreation(GRAPH_NAME)
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .addParameter("relationshipWeightProperty", "weight")
+            .addParameter("seedProperty", "seed")
+            .addParameter("maxLevels", 1)
+            .addParameter("maxIterations", 1)
+            .yields("nodeId", "communityId");
+
+        runQueryWithRowConsumer(query, row -> {
+            long communityId = row.getNumber("communityId").longValue();
+            assertTrue(communityId == 0 || communityId == 2, "community " + communityId + " must be a seed value");
+        });
+    }
+
+    @Test
+    void testWrite() {
+        String query = GdsCypher.call()
+            .explicitCreation(GRAPH_NAME)
+            .algo("gds", "beta", "leiden")
+            .writeMode()
+            .addParameter("relationshipWeightProperty", "weight")
+            .addParameter("writeProperty", "community")
+            .yields("nodePropertiesWritten", "communityCount", "ranLevels", "modularity", "modularities");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(6, row.getNumber("nodePropertiesWritten").longValue());
+            assertEquals(2, row.getNumber("communityCount").longValue());
+            assertTrue(row.getNumber("ranLevels").longValue() >= 1);
+            assertEquals(0.4985, row.getNumber("modularity").doubleValue(), 0.001);
+            assertEquals(
+                row.getNumber("ranLevels").longValue(),
+                ((List<?>) row.get("modularities")).size()
+            );
+        });
+
+        Map<String, Long> communities = new HashMap<>();
+        runQueryWithRowConsumer(
+            "MATCH (n) RETURN n.name AS name, n.community AS community",
+            row -> communities.put(row.getString("name"), row.getNumber("community").longValue())
+        );
+        assertEquals(communities.get("a"), communities.get("e"));
+        assertEquals(communities.get("a"), communities.get("f"));
+        assertEquals(communities.get("b"), communities.get("c"));
+        assertEquals(communities.get("b"), communities.get("d"));
+        assertTrue(!communities.get("a").equals(communities.get("b")));
+    }
+
+    @Test
+    void testMutate() {
+        String query = GdsCypher.call()
+            .explicitCreation(GRAPH_NAME)
+            .algo("gds", "beta", "leiden")
+            .mutateMode()
+            .addParameter("relationshipWeightProperty", "weight")
+            .addParameter("mutateProperty", "community")
+            .yields("nodePropertiesWritten", "communityCount");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(6, row.getNumber("nodePropertiesWritten").longValue());
+            assertEquals(2, row.getNumber("communityCount").longValue());
+        });
+
+        var graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), GRAPH_NAME).graphStore();
+        assertTrue(graphStore.hasNodeProperty(graphStore.nodeLabels(), "community"));
+    }
+
+    @Test
+    void testEstimate() {
+        String query = GdsCypher.call()
+            .explicitCreation(GRAPH_NAME)
+            .algo("gds", "beta", "leiden")
+            .estimationMode(WRITE)
+            .addParameter("writeProperty", "community")
+            .yields("bytesMin", "bytesMax");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+            assertTrue(row.getNumber("bytesMax").longValue() >= row.getNumber("bytesMin").longValue());
+        });
+    }
+}
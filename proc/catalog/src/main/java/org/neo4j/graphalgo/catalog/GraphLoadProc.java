@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot;
+import org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshotConfig;
+import org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshotReader;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphLoadProc extends CatalogProc {
+
+    private static final String DESCRIPTION = "Loads a named graph from a binary snapshot on disk into the catalog.";
+
+    @Procedure(name = "gds.graph.load", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<GraphLoadResult> load(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(username(), graphName);
+
+        var cypherConfig = CypherMapWrapper.create(configuration);
+        var snapshotConfig = GraphStoreSnapshotConfig.of(username(), cypherConfig);
+        validateConfig(cypherConfig, snapshotConfig);
+
+        var result = runWithExceptionLogging(
+            "Graph load failed", () -> {
+                var directory = GraphStoreSnapshot.directory(
+                    GraphStoreSnapshot.rootDirectory(api),
+                    username(),
+                    databaseId().name(),
+                    graphName
+                );
+
+                var start = System.nanoTime();
+                var graphStoreWithConfig = new GraphStoreSnapshotReader(directory, snapshotConfig)
+                    .read(databaseId(), allocationTracker());
+                var end = System.nanoTime();
+
+                var graphStore = graphStoreWithConfig.graphStore();
+                GraphStoreCatalog.set(graphStoreWithConfig.config(), graphStore);
+
+                return new GraphLoadResult(
+                    graphName,
+                    graphStore.nodeCount(),
+                    graphStore.relationshipCount(),
+                    TimeUnit.NANOSECONDS.toMillis(end - start)
+                );
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    public static class GraphLoadResult {
+        public final String graphName;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long loadMillis;
+
+        public GraphLoadResult(String graphName, long nodeCount, long relationshipCount, long loadMillis) {
+            this.graphName = graphName;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.loadMillis = loadMillis;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshot;
+import org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshotConfig;
+import org.neo4j.graphalgo.core.utils.export.GraphStoreSnapshotWriter;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphPersistProc extends CatalogProc {
+
+    private static final String DESCRIPTION = "Persists a named graph into a binary snapshot on disk.";
+
+    @Procedure(name = "gds.graph.persist", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<GraphPersistResult> persist(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(graphName);
+
+        var cypherConfig = CypherMapWrapper.create(configuration);
+        var snapshotConfig = GraphStoreSnapshotConfig.of(username(), cypherConfig);
+        validateConfig(cypherConfig, snapshotConfig);
+
+        var result = runWithExceptionLogging(
+            "Graph persist failed", () -> {
+                var graphStoreWithConfig = GraphStoreCatalog.get(username(), databaseId(), graphName);
+                var graphStore = graphStoreWithConfig.graphStore();
+                var directory = GraphStoreSnapshot.directory(
+                    GraphStoreSnapshot.rootDirectory(api),
+                    username(),
+                    databaseId().name(),
+                    graphName
+                );
+
+                var start = System.nanoTime();
+                var sizeInBytes = new GraphStoreSnapshotWriter(graphStoreWithConfig, directory, snapshotConfig).run();
+                var end = System.nanoTime();
+
+                return new GraphPersistResult(
+                    graphName,
+                    graphStore.nodeCount(),
+                    graphStore.relationshipCount(),
+                    sizeInBytes,
+                    TimeUnit.NANOSECONDS.toMillis(end - start)
+                );
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    public static class GraphPersistResult {
+        public final String graphName;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long sizeInBytes;
+        public final long persistMillis;
+
+        public GraphPersistResult(
+            String graphName,
+            long nodeCount,
+            long relationshipCount,
+            long sizeInBytes,
+            long persistMillis
+        ) {
+            this.graphName = graphName;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.sizeInBytes = sizeInBytes;
+            this.persistMillis = persistMillis;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class GraphPersistProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A { prop: 0 })" +
+        ", (b:A { prop: 1 })" +
+        ", (c:B { prop: 2 })" +
+        ", (a)-[:REL { weight: 1.0 }]->(b)" +
+        ", (b)-[:REL { weight: 2.0 }]->(c)" +
+        ", (c)-[:REL { weight: 3.0 }]->(a)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphDropProc.class, GraphPersistProc.class, GraphLoadProc.class);
+        runQuery(DB_CYPHER);
+        runQuery(
+            "CALL gds.graph.create('test-graph', ['A', 'B'], {REL: {properties: 'weight'}}, {nodeProperties: 'prop'})"
+        );
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void persistAndLoadGraph() {
+        runQueryWithRowConsumer("CALL gds.graph.persist('test-graph')", row -> {
+            assertEquals("test-graph", row.getString("graphName"));
+            assertEquals(3, row.getNumber("nodeCount").longValue());
+            assertEquals(3, row.getNumber("relationshipCount").longValue());
+            assertTrue(row.getNumber("sizeInBytes").longValue() > 0);
+        });
+
+        runQuery("CALL gds.graph.drop('test-graph')");
+
+        runQueryWithRowConsumer("CALL gds.graph.load('test-graph')", row -> {
+            assertEquals("test-graph", row.getString("graphName"));
+            assertEquals(3, row.getNumber("nodeCount").longValue());
+            assertEquals(3, row.getNumber("relationshipCount").longValue());
+        });
+
+        var actual = GraphStoreCatalog.get(getUsername(), db.databaseId(), "test-graph").graphStore().getUnion();
+        assertGraphEquals(fromGdl(DB_CYPHER), actual);
+    }
+
+    @Test
+    void failOnExistingSnapshot() {
+        runQuery("CALL gds.graph.persist('test-graph')");
+        assertError("CALL gds.graph.persist('test-graph')", "already exists");
+        runQuery("CALL gds.graph.persist('test-graph', {overwrite: true})");
+    }
+
+    @Test
+    void failOnLoadingIntoExistingGraph() {
+        runQuery("CALL gds.graph.persist('test-graph')");
+        assertError("CALL gds.graph.load('test-graph')", "A graph with name 'test-graph' already exists.");
+    }
+}
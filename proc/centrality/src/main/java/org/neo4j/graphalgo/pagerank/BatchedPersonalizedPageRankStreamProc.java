@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StreamProc;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class BatchedPersonalizedPageRankStreamProc extends StreamProc<
+    BatchedPersonalizedPageRank,
+    BatchedPersonalizedPageRank.Result,
+    BatchedPersonalizedPageRankStreamProc.StreamResult,
+    BatchedPersonalizedPageRankStreamConfig> {
+
+    static final String DESCRIPTION =
+        "Computes personalized Page Rank for many sets of source nodes and streams the top-k nodes per set.";
+
+    @Procedure(value = "gds.alpha.pageRank.personalized.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<StreamResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<BatchedPersonalizedPageRank, BatchedPersonalizedPageRank.Result, BatchedPersonalizedPageRankStreamConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        Graph graph = computationResult.graph();
+
+        if (computationResult.isGraphEmpty()) {
+            graph.release();
+            return Stream.empty();
+        }
+
+        BatchedPersonalizedPageRank.Result result = computationResult.result();
+        return IntStream.range(0, result.sourceNodeSetCount())
+            .boxed()
+            .flatMap(sourceNodeSet -> {
+                List<StreamResult> rows = new ArrayList<>();
+                result.forEachTopK(sourceNodeSet, (nodeId, score) -> rows.add(new StreamResult(
+                    sourceNodeSet,
+                    graph.toOriginalNodeId(nodeId),
+                    score
+                )));
+                return rows.stream();
+            });
+    }
+
+    @Procedure(value = "gds.alpha.pageRank.personalized.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected BatchedPersonalizedPageRankStreamConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return BatchedPersonalizedPageRankStreamConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<BatchedPersonalizedPageRank, BatchedPersonalizedPageRankStreamConfig> algorithmFactory() {
+        return new BatchedPersonalizedPageRankFactory();
+    }
+
+    @Override
+    protected StreamResult streamResult(
+        long originalNodeId, long internalNodeId, NodeProperties nodeProperties
+    ) {
+        throw new UnsupportedOperationException("Batched personalized Page Rank handles result building individually.");
+    }
+
+    public static final class StreamResult {
+        public final long sourceNodeSet;
+        public final long nodeId;
+        public final double score;
+
+        StreamResult(long sourceNodeSet, long nodeId, double score) {
+            this.sourceNodeSet = sourceNodeSet;
+            this.nodeId = nodeId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphdb.Label;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class BatchedPersonalizedPageRankStreamProcTest extends BaseProcTest {
+
+    @Language("Cypher")
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (iphone:Product {name: 'iPhone5'})" +
+        ", (kindle:Product {name: 'Kindle Fire'})" +
+        ", (fitbit:Product {name: 'Fitbit Flex Wireless'})" +
+        ", (potter:Product {name: 'Harry Potter'})" +
+        ", (hobbit:Product {name: 'Hobbit'})" +
+
+        ", (todd:Person {name: 'Todd'})" +
+        ", (mary:Person {name: 'Mary'})" +
+        ", (jill:Person {name: 'Jill'})" +
+        ", (john:Person {name: 'John'})" +
+
+        ",  (john)-[:PURCHASED]->(iphone)" +
+        ",  (john)-[:PURCHASED]->(kindle)" +
+        ",  (mary)-[:PURCHASED]->(iphone)" +
+        ",  (mary)-[:PURCHASED]->(kindle)" +
+        ",  (mary)-[:PURCHASED]->(fitbit)" +
+        ",  (jill)-[:PURCHASED]->(iphone)" +
+        ",  (jill)-[:PURCHASED]->(kindle)" +
+        ",  (jill)-[:PURCHASED]->(fitbit)" +
+        ",  (todd)-[:PURCHASED]->(fitbit)" +
+        ",  (todd)-[:PURCHASED]->(potter)" +
+        ",  (todd)-[:PURCHASED]->(hobbit)";
+
+    private static final Label PERSON_LABEL = Label.label("Person");
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        registerProcedures(BatchedPersonalizedPageRankStreamProc.class, PageRankStreamProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', '*', {PURCHASED: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void cleanup() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldStreamScoresPerSourceNodeSet() {
+        long john = personId("John");
+        long mary = personId("Mary");
+        long todd = personId("Todd");
+        List<List<Long>> sourceNodeSets = List.of(List.of(john), List.of(john, mary), List.of(todd));
+
+        Map<Long, Map<Long, Double>> actual = new HashMap<>();
+        Map<Long, List<Double>> scoresInOrder = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.pageRank.personalized.stream('graph', {sourceNodeSets: $sourceNodeSets, topK: 9, batchSize: 2})" +
+            " YIELD sourceNodeSet, nodeId, score",
+            map("sourceNodeSets", sourceNodeSets),
+            row -> {
+                long sourceNodeSet = row.getNumber("sourceNodeSet").longValue();
+                double score = row.getNumber("score").doubleValue();
+                actual.computeIfAbsent(sourceNodeSet, ignore -> new HashMap<>()).put(row.getNumber("nodeId").longValue(), score);
+                scoresInOrder.computeIfAbsent(sourceNodeSet, ignore -> new ArrayList<>()).add(score);
+            }
+        );
+
+        assertThat(actual).hasSize(sourceNodeSets.size());
+        for (int set = 0; set < sourceNodeSets.size(); set++) {
+            Map<Long, Double> expected = new HashMap<>();
+            runQueryWithRowConsumer(
+                "MATCH (n) WHERE id(n) IN $sourceNodeIds WITH collect(n) AS sourceNodes" +
+                " CALL gds.pageRank.stream('graph', {sourceNodes: sourceNodes, maxIterations: 20, tolerance: 1E-7})" +
+                " YIELD nodeId, score RETURN nodeId, score",
+                map("sourceNodeIds", sourceNodeSets.get(set)),
+                row -> expected.put(row.getNumber("nodeId").longValue(), row.getNumber("score").doubleValue())
+            );
+
+            assertMapEqualsWithTolerance(expected, actual.get((long) set), 1e-5);
+            assertThat(scoresInOrder.get((long) set)).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        }
+    }
+
+    @Test
+    void shouldEstimateMemory() {
+        long john = personId("John");
+        assertCypherResult(
+            "CALL gds.alpha.pageRank.personalized.stream.estimate('graph', {sourceNodeSets: [[$john]]})" +
+            " YIELD nodeCount, relationshipCount RETURN nodeCount, relationshipCount",
+            map("john", john),
+            List.of(map("nodeCount", 9L, "relationshipCount", 22L))
+        );
+    }
+
+    private long personId(String name) {
+        long[] id = new long[1];
+        runInTransaction(db, tx -> id[0] = tx.findNode(PERSON_LABEL, "name", name).getId());
+        return id[0];
+    }
+}
@@ -111,6 +111,14 @@ public abstract class AlgoBaseProc<
 
     protected abstract AlgorithmFactory<ALGO, CONFIG> algorithmFactory();
 
+    /**
+     * Returns the factory for the algorithm that is computed on a graph from the given graph store.
+     * Procedures can override this method if the algorithm needs more than the graph itself.
+     */
+    protected AlgorithmFactory<ALGO, CONFIG> algorithmFactory(GraphStore graphStore) {
+        return algorithmFactory();
+    }
+
     public Pair<CONFIG, Optional<String>> processInput(Object graphNameOrConfig, Map<String, Object> configuration) {
         CONFIG config;
         Optional<String> graphName = Optional.empty();
@@ -193,7 +201,7 @@ public abstract class AlgoBaseProc<
                 .build();
         }
 
-        ALGO algo = newAlgorithm(graph, config, tracker);
+        ALGO algo = newAlgorithm(graphStore, graph, config, tracker);
 
         ALGO_RESULT result = runWithExceptionLogging(
             "Computation failed",
@@ -284,12 +292,13 @@ public abstract class AlgoBaseProc<
     }
 
     private ALGO newAlgorithm(
+        final GraphStore graphStore,
         final Graph graph,
         final CONFIG config,
         final AllocationTracker tracker
     ) {
         TerminationFlag terminationFlag = TerminationFlag.wrap(transaction);
-        return algorithmFactory()
+        return algorithmFactory(graphStore)
             .build(graph, config, tracker, log)
             .withTerminationFlag(terminationFlag);
     }
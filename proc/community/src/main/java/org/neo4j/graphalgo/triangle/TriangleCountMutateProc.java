@@ -102,6 +102,8 @@ public class TriangleCountMutateProc extends MutatePropertyProc<IntersectingTria
 
         MutateResult(
             long globalTriangleCount,
+            long globalTriangleCountLowerBound,
+            long globalTriangleCountUpperBound,
             long nodeCount,
             long createMillis,
             long computeMillis,
@@ -111,6 +113,8 @@ public class TriangleCountMutateProc extends MutatePropertyProc<IntersectingTria
         ) {
             super(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
@@ -127,6 +131,8 @@ public class TriangleCountMutateProc extends MutatePropertyProc<IntersectingTria
         public MutateResult build() {
             return new MutateResult(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
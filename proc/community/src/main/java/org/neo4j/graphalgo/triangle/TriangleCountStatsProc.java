@@ -91,10 +91,14 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
     public static class StatsResult extends StandardStatsResult {
 
         public final long globalTriangleCount;
+        public final long globalTriangleCountLowerBound;
+        public final long globalTriangleCountUpperBound;
         public final long nodeCount;
 
         StatsResult(
             long globalTriangleCount,
+            long globalTriangleCountLowerBound,
+            long globalTriangleCountUpperBound,
             long nodeCount,
             long createMillis,
             long computeMillis,
@@ -103,6 +107,8 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
             // post-processing is instant for TC
             super(createMillis, computeMillis, 0L, configuration);
             this.globalTriangleCount = globalTriangleCount;
+            this.globalTriangleCountLowerBound = globalTriangleCountLowerBound;
+            this.globalTriangleCountUpperBound = globalTriangleCountUpperBound;
             this.nodeCount = nodeCount;
         }
     }
@@ -113,6 +119,8 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
         public StatsResult build() {
             return new StatsResult(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.logging.Log;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link Wcc} for the {@link WccBaseConfig#maintainComponents()} option.
+ * The components are kept next to the graph in the catalog and the algorithm
+ * only links the relationship types that have not been linked into these components yet.
+ *
+ * Stale components, whose linked relationship types have been deleted from the graph, are replaced.
+ * Requests that cannot update the maintained components, e.g. because they filter
+ * fewer relationship types than have been linked, compute new components instead
+ * and leave the maintained components untouched.
+ */
+final class MaintainedWccFactory<CONFIG extends WccBaseConfig> implements AlgorithmFactory<Wcc, CONFIG> {
+
+    private final GraphStore graphStore;
+
+    MaintainedWccFactory(GraphStore graphStore) {
+        this.graphStore = graphStore;
+    }
+
+    @Override
+    public Wcc build(Graph graph, CONFIG configuration, AllocationTracker tracker, Log log) {
+        if (!configuration.maintainComponents()) {
+            return new WccFactory<CONFIG>().build(graph, configuration, tracker, log);
+        }
+
+        String graphName = configuration.graphName().orElseThrow(() -> new IllegalArgumentException(
+            "The `maintainComponents` option requires a graph from the graph catalog."
+        ));
+
+        Collection<NodeLabel> nodeLabels = configuration.nodeLabelIdentifiers(graphStore);
+        Collection<RelationshipType> relationshipTypes = configuration.internalRelationshipTypes(graphStore);
+
+        MaintainedComponents components = GraphStoreCatalog.computeAlgorithmState(
+            configuration.username(),
+            graphStore.databaseId(),
+            graphName,
+            MaintainedComponents.class,
+            maintainedComponents -> maintainedComponents
+                .filter(presentComponents -> presentComponents.isValid(graphStore))
+                .orElseGet(() -> MaintainedComponents.of(graph.nodeCount(), nodeLabels, configuration))
+        );
+
+        if (!components.canBeUpdated(graphStore, nodeLabels, relationshipTypes, configuration)) {
+            log.info("The maintained components of graph `%s` do not match the given configuration and are not updated.", graphName);
+            return new WccFactory<CONFIG>().build(graph, configuration, tracker, log);
+        }
+
+        List<RelationshipType> unlinkedRelationshipTypes = components.unlinkedRelationshipTypes(relationshipTypes);
+        Graph unlinkedGraph = unlinkedRelationshipTypes.isEmpty()
+            ? graph
+            : graphStore.getGraph(
+                nodeLabels,
+                unlinkedRelationshipTypes,
+                Optional.ofNullable(configuration.relationshipWeightProperty())
+            );
+
+        return new WccFactory<CONFIG>(
+            components,
+            unlinkedRelationshipTypes
+                .stream()
+                .collect(Collectors.toMap(Function.identity(), graphStore::relationshipTopology))
+        ).build(
+            unlinkedGraph,
+            configuration,
+            tracker,
+            log
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG config) {
+        MemoryEstimation wccEstimation = new WccFactory<CONFIG>().memoryEstimation(config);
+        if (!config.maintainComponents()) {
+            return wccEstimation;
+        }
+        return MemoryEstimations
+            .builder(MaintainedWccFactory.class)
+            .add("algorithm", wccEstimation)
+            .add("maintained components", MaintainedComponents.memoryEstimation())
+            .build();
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.wcc;
 
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.MutatePropertyProc;
+import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
@@ -81,6 +82,11 @@ public class WccMutateProc extends MutatePropertyProc<Wcc, DisjointSetStruct, Wc
         return WccProc.algorithmFactory();
     }
 
+    @Override
+    protected AlgorithmFactory<Wcc, WccMutateConfig> algorithmFactory(GraphStore graphStore) {
+        return WccProc.algorithmFactory(graphStore);
+    }
+
     @Override
     protected NodeProperties nodeProperties(
         ComputationResult<Wcc, DisjointSetStruct, WccMutateConfig> computationResult
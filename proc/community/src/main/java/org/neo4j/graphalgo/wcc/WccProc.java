@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.wcc;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.CommunityProcCompanion;
+import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
@@ -38,6 +39,10 @@ final class WccProc {
         return new WccFactory<>();
     }
 
+    static <CONFIG extends WccBaseConfig> AlgorithmFactory<Wcc, CONFIG> algorithmFactory(GraphStore graphStore) {
+        return new MaintainedWccFactory<>(graphStore);
+    }
+
     static <PROC_RESULT, CONFIG extends WccBaseConfig> AbstractCommunityResultBuilder<PROC_RESULT> resultBuilder(
         AbstractCommunityResultBuilder<PROC_RESULT> procResultBuilder,
         AlgoBaseProc.ComputationResult<Wcc, DisjointSetStruct, CONFIG> computationResult
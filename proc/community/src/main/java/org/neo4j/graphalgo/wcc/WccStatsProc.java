@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.wcc;
 
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.StatsProc;
+import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -87,6 +88,11 @@ public class WccStatsProc extends StatsProc<Wcc, DisjointSetStruct, WccStatsProc
         return WccProc.algorithmFactory();
     }
 
+    @Override
+    protected AlgorithmFactory<Wcc, WccStatsConfig> algorithmFactory(GraphStore graphStore) {
+        return WccProc.algorithmFactory(graphStore);
+    }
+
     public static class StatsResult extends StandardStatsResult {
 
         public final long componentCount;
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.wcc;
 
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.StreamProc;
+import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.ConsecutiveLongNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
@@ -83,6 +84,11 @@ public class WccStreamProc extends StreamProc<
         return WccProc.algorithmFactory();
     }
 
+    @Override
+    protected AlgorithmFactory<Wcc, WccStreamConfig> algorithmFactory(GraphStore graphStore) {
+        return WccProc.algorithmFactory(graphStore);
+    }
+
     @Override
     protected StreamResult streamResult(
         long originalNodeId, long internalNodeId, NodeProperties nodeProperties
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.wcc;
 
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.WriteProc;
+import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
@@ -81,6 +82,11 @@ public class WccWriteProc extends WriteProc<Wcc, DisjointSetStruct, WccWriteProc
         return WccProc.algorithmFactory();
     }
 
+    @Override
+    protected AlgorithmFactory<Wcc, WccWriteConfig> algorithmFactory(GraphStore graphStore) {
+        return WccProc.algorithmFactory(graphStore);
+    }
+
     @Override
     protected NodeProperties nodeProperties(
         ComputationResult<Wcc, DisjointSetStruct, WccWriteConfig> computationResult
@@ -428,8 +428,8 @@ class LabelPropagationWriteProcTest extends LabelPropagationProcTest<LabelPropag
         assertCypherResult(query, Arrays.asList(MapUtil.map(
             "nodeCount", 12L,
             "relationshipCount", 10L,
-            "bytesMin", 1656L,
-            "bytesMax", 2168L
+            "bytesMin", 1728L,
+            "bytesMax", 2240L
         )));
     }
 
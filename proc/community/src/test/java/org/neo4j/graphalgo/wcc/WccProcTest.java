@@ -171,6 +171,25 @@ abstract class WccProcTest<CONFIG extends WccBaseConfig> extends BaseProcTest im
         });
     }
 
+    @Test
+    void testFailSeedingAndMaintainComponents() {
+        CypherMapWrapper config = createMinimalConfig(CypherMapWrapper.create(anonymousGraphConfig(MapUtil.map(
+            "maintainComponents", true,
+            "seedProperty", "seed"
+        ))));
+
+        applyOnProcedure(proc -> {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> proc.newConfig(Optional.empty(), config)
+            );
+
+            assertTrue(exception
+                .getMessage()
+                .contains("Seeding and the `maintainComponents` option cannot be used at the same time.")
+            );
+        });
+    }
+
     @Test
     void testFailThresholdWithoutRelationshipWeight() {
         CypherMapWrapper config = createMinimalConfig(CypherMapWrapper.create(anonymousGraphConfig(
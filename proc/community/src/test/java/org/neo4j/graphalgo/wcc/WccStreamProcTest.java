@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.ConsecutiveIdsConfigTest;
 import org.neo4j.graphalgo.GdsCypher;
 import org.neo4j.graphalgo.NodeProjections;
 import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
@@ -35,10 +36,14 @@ import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class WccStreamProcTest extends WccProcTest<WccStreamConfig> implements
     ConsecutiveIdsConfigTest<Wcc, WccStreamConfig, DisjointSetStruct> {
@@ -109,6 +114,108 @@ class WccStreamProcTest extends WccProcTest<WccStreamConfig> implements
         CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
     }
 
+    @Test
+    void testStreamWithMaintainedComponents() {
+        runQuery("MATCH (g {nodeId: 6}), (h {nodeId: 7}) CREATE (g)-[:NEW]->(h)");
+        runQuery("CALL gds.graph.create('maintainedGraph', '*', ['TYPE', 'NEW'])");
+
+        String typeQuery = GdsCypher.call()
+            .explicitCreation("maintainedGraph")
+            .algo("wcc")
+            .streamMode()
+            .addParameter("relationshipTypes", List.of("TYPE"))
+            .addParameter("maintainComponents", true)
+            .yields("nodeId", "componentId");
+
+        long[] communities = new long[10];
+        runQueryWithRowConsumer(typeQuery, row -> communities[row.getNumber("nodeId").intValue()] = row.getNumber("componentId").longValue());
+        CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
+
+        var maintainedComponents = GraphStoreCatalog
+            .getAlgorithmState(getUsername(), db.databaseId(), "maintainedGraph", MaintainedComponents.class)
+            .orElseThrow();
+        var types = List.of(RelationshipType.of("TYPE"), RelationshipType.of("NEW"));
+        assertEquals(List.of(RelationshipType.of("NEW")), maintainedComponents.unlinkedRelationshipTypes(types));
+
+        String allTypesQuery = GdsCypher.call()
+            .explicitCreation("maintainedGraph")
+            .algo("wcc")
+            .streamMode()
+            .addParameter("maintainComponents", true)
+            .yields("nodeId", "componentId");
+
+        runQueryWithRowConsumer(allTypesQuery, row -> communities[row.getNumber("nodeId").intValue()] = row.getNumber("componentId").longValue());
+        CommunityHelper.assertCommunities(communities, new long[][]{new long[]{0L, 1L, 2L, 3L, 4, 5, 6, 7, 8}, new long[]{9}});
+
+        assertEquals(List.of(), maintainedComponents.unlinkedRelationshipTypes(types));
+        assertSame(
+            maintainedComponents,
+            GraphStoreCatalog
+                .getAlgorithmState(getUsername(), db.databaseId(), "maintainedGraph", MaintainedComponents.class)
+                .orElseThrow()
+        );
+
+        // fewer relationship types than linked into the maintained components are computed without them
+        runQueryWithRowConsumer(typeQuery, row -> communities[row.getNumber("nodeId").intValue()] = row.getNumber("componentId").longValue());
+        CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
+        assertEquals(List.of(), maintainedComponents.unlinkedRelationshipTypes(types));
+        assertSame(
+            maintainedComponents,
+            GraphStoreCatalog
+                .getAlgorithmState(getUsername(), db.databaseId(), "maintainedGraph", MaintainedComponents.class)
+                .orElseThrow()
+        );
+    }
+
+    @Test
+    void testStreamWithMaintainedComponentsAfterDeletingRelationships() {
+        runQuery("MATCH (g {nodeId: 6}), (h {nodeId: 7}) CREATE (g)-[:NEW]->(h)");
+        runQuery("CALL gds.graph.create('maintainedGraph', '*', ['TYPE', 'NEW'])");
+
+        String query = GdsCypher.call()
+            .explicitCreation("maintainedGraph")
+            .algo("wcc")
+            .streamMode()
+            .addParameter("maintainComponents", true)
+            .yields("nodeId", "componentId");
+
+        long[] communities = new long[10];
+        runQueryWithRowConsumer(query, row -> communities[row.getNumber("nodeId").intValue()] = row.getNumber("componentId").longValue());
+        CommunityHelper.assertCommunities(communities, new long[][]{new long[]{0L, 1L, 2L, 3L, 4, 5, 6, 7, 8}, new long[]{9}});
+
+        var maintainedComponents = GraphStoreCatalog
+            .getAlgorithmState(getUsername(), db.databaseId(), "maintainedGraph", MaintainedComponents.class)
+            .orElseThrow();
+        assertTrue(maintainedComponents.memoryUsage() > 0);
+
+        GraphStoreCatalog
+            .get(getUsername(), db.databaseId(), "maintainedGraph")
+            .graphStore()
+            .deleteRelationships(RelationshipType.of("NEW"));
+
+        runQueryWithRowConsumer(query, row -> communities[row.getNumber("nodeId").intValue()] = row.getNumber("componentId").longValue());
+        CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
+        assertNotSame(
+            maintainedComponents,
+            GraphStoreCatalog
+                .getAlgorithmState(getUsername(), db.databaseId(), "maintainedGraph", MaintainedComponents.class)
+                .orElseThrow()
+        );
+    }
+
+    @Test
+    void testStreamWithMaintainedComponentsFailsOnAnonymousGraph() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("wcc")
+            .streamMode()
+            .addParameter("maintainComponents", true)
+            .yields("nodeId", "componentId");
+
+        assertError(query, "The `maintainComponents` option requires a graph from the graph catalog.");
+    }
+
     @Test
     void testStreamRunsOnLoadedGraphWithNodeLabelFilter() {
         clearDb();
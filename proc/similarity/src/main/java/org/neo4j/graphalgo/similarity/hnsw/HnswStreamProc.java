@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StreamProc;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class HnswStreamProc extends StreamProc<Hnsw, Hnsw.Result, SimilarityResult, HnswStreamConfig> {
+
+    static final String DESCRIPTION =
+        "Finds the most similar nodes of the given nodes by the cosine similarity of a node property, " +
+        "using an HNSW index that is kept next to the graph in the graph catalog.";
+
+    @Procedure(value = "gds.alpha.hnsw.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<SimilarityResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<Hnsw, Hnsw.Result, HnswStreamConfig> result = compute(graphNameOrConfig, configuration);
+        Graph graph = result.graph();
+
+        if (result.isGraphEmpty()) {
+            graph.release();
+            return Stream.empty();
+        }
+
+        return result.result()
+            .streamSimilarityResult()
+            .map(similarityResult -> new SimilarityResult(
+                graph.toOriginalNodeId(similarityResult.node1),
+                graph.toOriginalNodeId(similarityResult.node2),
+                similarityResult.similarity
+            ));
+    }
+
+    @Procedure(value = "gds.alpha.hnsw.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected SimilarityResult streamResult(
+        long originalNodeId, long internalNodeId, NodeProperties nodeProperties
+    ) {
+        throw new UnsupportedOperationException("HNSW handles result building individually.");
+    }
+
+    @Override
+    protected HnswStreamConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return HnswStreamConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Hnsw, HnswStreamConfig> algorithmFactory() {
+        return new HnswFactory();
+    }
+
+    @Override
+    protected AlgorithmFactory<Hnsw, HnswStreamConfig> algorithmFactory(GraphStore graphStore) {
+        return new HnswFactory(graphStore);
+    }
+}
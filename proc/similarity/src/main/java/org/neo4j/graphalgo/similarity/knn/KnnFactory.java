@@ -60,7 +60,7 @@ public class KnnFactory<CONFIG extends KnnBaseConfig> implements AlgorithmFactor
                         sizeOfInstance(LongArrayList.class) + sizeOfLongArray(sampledK)
                     ))
                 );
-                return MemoryEstimations
+                var builder = MemoryEstimations
                     .builder(Knn.class)
                     .add(
                         "top-k-neighbors-list",
@@ -81,8 +81,14 @@ public class KnnFactory<CONFIG extends KnnBaseConfig> implements AlgorithmFactor
                         MemoryRange.of(
                             sizeOfIntArray(sizeOfOpenHashContainer(sampledK)) * concurrency
                         )
-                    )
-                    .build();
+                    );
+                if (configuration.initialSampler() == KnnSampler.LSH) {
+                    builder.fixed(
+                        "locality-sensitive-hashing",
+                        LocalitySensitiveHashing.memoryEstimation(dim.nodeCount())
+                    );
+                }
+                return builder.build();
             }
         );
     }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.hnsw;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HnswStreamProcTest extends BaseProcTest {
+
+    private static final String GRAPH_NAME = "myGraph";
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a { embedding: [1.0, 0.0] } )" +
+        ", (b { embedding: [0.9, 0.1] } )" +
+        ", (c { embedding: [0.0, 1.0] } )" +
+        ", (d { embedding: [0.1, 0.9] } )" +
+        ", (e { embedding: [-1.0, 0.0] } )";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(HnswStreamProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withNodeProperty("embedding")
+            .withAnyRelationshipType()
+            .graphCreate(GRAPH_NAME)
+            .yields());
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    private List<Long> streamNeighbors(long sourceNode) {
+        String query = GdsCypher.call()
+            .explicitCreation(GRAPH_NAME)
+            .algo("gds.alpha.hnsw")
+            .streamMode()
+            .addParameter("nodeWeightProperty", "embedding")
+            .addParameter("sourceNodes", List.of(sourceNode))
+            .addParameter("topK", 2)
+            .addParameter("randomSeed", 42L)
+            .addParameter("concurrency", 1)
+            .yields();
+
+        List<Long> neighbors = new ArrayList<>();
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(sourceNode, row.getNumber("node1").longValue());
+            neighbors.add(row.getNumber("node2").longValue());
+        });
+        return neighbors;
+    }
+
+    @Test
+    void shouldStreamMostSimilarNodes() {
+        assertThat(streamNeighbors(0L)).containsExactly(1L, 3L);
+        assertThat(streamNeighbors(2L)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void shouldKeepIndexInCatalog() {
+        streamNeighbors(0L);
+        var indexes = GraphStoreCatalog
+            .getAlgorithmState(getUsername(), db.databaseId(), GRAPH_NAME, HnswIndexes.class)
+            .orElseThrow();
+
+        assertThat(indexes.memoryUsage()).isPositive();
+
+        streamNeighbors(4L);
+        assertSame(
+            indexes,
+            GraphStoreCatalog
+                .getAlgorithmState(getUsername(), db.databaseId(), GRAPH_NAME, HnswIndexes.class)
+                .orElseThrow()
+        );
+    }
+}
@@ -44,6 +44,7 @@ import org.neo4j.graphalgo.similarity.EuclideanProc;
 import org.neo4j.graphalgo.similarity.OverlapProc;
 import org.neo4j.graphalgo.similarity.PearsonProc;
 import org.neo4j.graphalgo.similarity.SimilaritiesFunc;
+import org.neo4j.graphalgo.similarity.hnsw.HnswStreamProc;
 import org.neo4j.graphalgo.spanningtree.KSpanningTreeProc;
 import org.neo4j.graphalgo.spanningtree.SpanningTreeProc;
 import org.neo4j.graphalgo.traverse.TraverseProc;
@@ -109,6 +110,8 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.kShortestPaths.stream",
         "gds.alpha.ml.ann.write",
         "gds.alpha.ml.ann.stream",
+        "gds.alpha.hnsw.stream",
+        "gds.alpha.hnsw.stream.estimate",
         "gds.alpha.shortestPath.astar.stream"
     ));
 
@@ -148,6 +151,7 @@ class AlphaListProcTest extends BaseProcTest {
             DijkstraProc.class,
             EigenvectorCentralityProc.class,
             HarmonicCentralityProc.class,
+            HnswStreamProc.class,
             IsFiniteFunc.class,
             KShortestPathsProc.class,
             KSpanningTreeProc.class,
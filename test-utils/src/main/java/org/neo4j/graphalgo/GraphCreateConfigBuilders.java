@@ -135,7 +135,8 @@ public final class GraphCreateConfigBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Map<String, Object>> parameters,
+        Optional<Integer> relationshipPartitions
     ) {
 
         return ImmutableGraphCreateFromCypherConfig.builder()
@@ -146,6 +147,7 @@ public final class GraphCreateConfigBuilders {
             .readConcurrency(concurrency.orElse(ConcurrencyConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(true))
             .parameters(parameters.orElse(Collections.emptyMap()))
+            .relationshipPartitions(relationshipPartitions.orElse(1))
             .build();
     }
 }